@@ -0,0 +1,70 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.AstFormat;
+import compiler.ast.Program;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de obter a AST por cada caminho: analisando a fonte, decodificando
+ * o {@link AstFormat} ou desserializando com a serialização Java (pelo
+ * espelho de {@link SerializedAst}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AstFormatBenchmark {
+
+    @Param({ "small", "medium", "huge" })
+    public String size;
+
+    private SourceFile source;
+    private byte[] binary;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = SourceFile.of(null, Inputs.of(size));
+        Program program = parse();
+        binary = AstFormat.encode(program);
+        serialized = SerializedAst.write(program);
+        // As duas leituras precisam devolver a mesma árvore para a comparação valer
+        if (!Arrays.equals(binary, AstFormat.encode(SerializedAst.read(serialized)))) {
+            throw new IllegalStateException("SerializedAst não reconstrói a mesma AST");
+        }
+    }
+
+    @Benchmark
+    public Program parse() throws Exception {
+        return new Parser(new Lexer(source), CoolSymbolFactory.INSTANCE).parseProgram();
+    }
+
+    @Benchmark
+    public Program decode() throws Exception {
+        return AstFormat.decode(binary);
+    }
+
+    @Benchmark
+    public Program deserialize() throws Exception {
+        return SerializedAst.read(serialized);
+    }
+}
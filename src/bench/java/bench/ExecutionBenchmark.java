@@ -0,0 +1,116 @@
+package bench;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import compiler.Diagnostics;
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.Program;
+import compiler.interp.Interpreter;
+import compiler.jvm.JvmBackend;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.semant.TypeChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Execução de um programa Cool de cálculo pesado (recursão, laços,
+ * despacho dinâmico e atributos) pelo {@link Interpreter} e pelo
+ * {@link JvmBackend}. No backend, cada operação carrega as classes num
+ * {@link ClassLoader} novo, então a medida inclui a carga e o aquecimento
+ * do JIT.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    static final String PROGRAM = ""
+            + "class Counter {\n"
+            + "    n : Int;\n"
+            + "    add(k : Int) : Counter { { n <- n + k; self; } };\n"
+            + "    get() : Int { n };\n"
+            + "};\n"
+            + "class Doubler inherits Counter {\n"
+            + "    add(k : Int) : Counter { self@Counter.add(k * 2) };\n"
+            + "};\n"
+            + "class Main inherits IO {\n"
+            + "    fib(n : Int) : Int { if n < 2 then n else fib(n - 1) + fib(n - 2) fi };\n"
+            + "    sieve(max : Int) : Int {\n"
+            + "        let count : Int, i : Int <- 2 in {\n"
+            + "            while i <= max loop {\n"
+            + "                let d : Int <- 2, prime : Bool <- true in {\n"
+            + "                    while if prime then d * d <= i else false fi loop\n"
+            + "                        if i - i / d * d = 0 then prime <- false else d <- d + 1 fi\n"
+            + "                    pool;\n"
+            + "                    if prime then count <- count + 1 else 0 fi;\n"
+            + "                };\n"
+            + "                i <- i + 1;\n"
+            + "            } pool;\n"
+            + "            count;\n"
+            + "        }\n"
+            + "    };\n"
+            + "    main() : Object {\n"
+            + "        let c : Counter <- new Counter, i : Int in {\n"
+            + "            while i < 100000 loop {\n"
+            + "                (if i - i / 2 * 2 = 0 then c else new Doubler fi).add(i);\n"
+            + "                i <- i + 1;\n"
+            + "            } pool;\n"
+            + "            out_int(fib(27) + sieve(50000) + c.get()).out_string(\"\\n\");\n"
+            + "        }\n"
+            + "    };\n"
+            + "};\n";
+
+    private ClassTable classes;
+    private DispatchTables tables;
+    private JvmBackend backend;
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+
+    @Setup
+    public void setUp() throws Exception {
+        Lexer lexer = new Lexer(SourceFile.of(null, PROGRAM));
+        Program program = new Parser(lexer, CoolSymbolFactory.INSTANCE).parseProgram();
+        Diagnostics diags = new Diagnostics();
+        classes = ClassTable.of(program, "bench.cl", diags);
+        TypeChecker checker = new TypeChecker(classes, diags);
+        checker.check(1);
+        if (diags.hasErrors()) {
+            throw new IllegalStateException(diags.getDiagnostics().toString());
+        }
+        tables = checker.dispatchTables();
+        backend = new JvmBackend(classes, tables);
+        backend.compile();
+    }
+
+    private static BufferedReader noInput() {
+        return new BufferedReader(new StringReader(""));
+    }
+
+    @Benchmark
+    public void interpreter() {
+        new Interpreter(classes, tables, noInput(), out).run();
+    }
+
+    @Benchmark
+    public void jvm() {
+        backend.run(noInput(), out);
+    }
+}
@@ -0,0 +1,31 @@
+package bench;
+
+import compiler.corpus.CorpusGenerator;
+
+/**
+ * Entradas dos benchmarks, geradas pelo {@link CorpusGenerator} com uma
+ * semente fixa para que as medidas sejam comparáveis entre execuções.
+ * O tamanho é o nome de uma das formas do gerador ("small", "medium",
+ * "huge", "deep-nesting", ...).
+ */
+final class Inputs {
+
+    static final long SEED = 42;
+
+    private Inputs() {
+    }
+
+    static String of(String size) {
+        return new CorpusGenerator(SEED, CorpusGenerator.Shape.named(size)).generate();
+    }
+
+    static int lines(String code) {
+        int lines = 0;
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
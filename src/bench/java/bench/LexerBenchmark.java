@@ -0,0 +1,68 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import compiler.Lexer;
+import compiler.SourceFile;
+import compiler.sym;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vazão do {@link Lexer#next_token()}. A pontuação principal é em entradas
+ * por segundo; o contador auxiliar {@code tokens} dá os tokens por segundo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+    @Param({ "small", "medium", "huge" })
+    public String size;
+
+    private SourceFile source;
+    private Lexer lexer;
+
+    /** Tokens lidos na iteração, relatados pelo JMH como tokens/s. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokens = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = SourceFile.of(null, Inputs.of(size));
+        lexer = new Lexer(source);
+    }
+
+    @Benchmark
+    public int nextToken(Counters counters) throws Exception {
+        lexer.yyreset(source.chars(), source.length());
+        int count = 0;
+        while (lexer.next_token().sym != sym.EOF) {
+            count++;
+        }
+        counters.tokens += count;
+        return count;
+    }
+}
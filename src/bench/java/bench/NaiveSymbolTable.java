@@ -0,0 +1,60 @@
+package bench;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+
+import compiler.util.IdSymbol;
+
+/**
+ * Tabela de símbolos ingênua, com um {@code HashMap} por escopo numa pilha.
+ * Serve só de referência para o {@code SymbolTableBenchmark}; tem a mesma
+ * interface de {@link compiler.semant.SymbolTable}.
+ */
+public final class NaiveSymbolTable {
+
+    /** Resultado de {@link #lookup} e {@link #probe} para nomes não declarados. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private final Deque<HashMap<IdSymbol, Integer>> scopes = new ArrayDeque<>();
+
+    public void enterScope() {
+        scopes.push(new HashMap<>());
+    }
+
+    public void exitScope() {
+        if (scopes.isEmpty()) {
+            throw new IllegalStateException("exitScope sem enterScope");
+        }
+        scopes.pop();
+    }
+
+    /** Declara {@code name} no escopo atual, escondendo declarações anteriores. */
+    public void add(IdSymbol name, int value) {
+        if (scopes.isEmpty()) {
+            throw new IllegalStateException("add fora de um escopo");
+        }
+        scopes.peek().put(name, value);
+    }
+
+    /** Valor da declaração mais interna de {@code name}, ou {@link #NOT_FOUND}. */
+    public int lookup(IdSymbol name) {
+        for (HashMap<IdSymbol, Integer> scope : scopes) {
+            Integer value = scope.get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /** Como {@link #lookup}, mas só no escopo atual. */
+    public int probe(IdSymbol name) {
+        Integer value = scopes.isEmpty() ? null : scopes.peek().get(name);
+        return value == null ? NOT_FOUND : value;
+    }
+
+    public int depth() {
+        return scopes.size();
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.Program;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vazão do {@link Parser#parse()}, incluindo o lexer e a construção da AST.
+ * O contador auxiliar {@code lines} dá as linhas de código por segundo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "small", "medium", "huge" })
+    public String size;
+
+    private SourceFile source;
+    private int lines;
+
+    /** Linhas analisadas na iteração, relatadas pelo JMH como linhas/s. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long lines;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lines = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String code = Inputs.of(size);
+        source = SourceFile.of(null, code);
+        lines = Inputs.lines(code);
+    }
+
+    @Benchmark
+    public Program parse(Counters counters) throws Exception {
+        Program program = (Program) new Parser(new Lexer(source), CoolSymbolFactory.INSTANCE).parse().value;
+        counters.lines += lines;
+        return program;
+    }
+}
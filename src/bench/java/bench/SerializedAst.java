@@ -0,0 +1,160 @@
+package bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+
+import compiler.ast.*;
+import compiler.util.AbstractSymbol;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import compiler.util.IntSymbol;
+import compiler.util.StringSymbol;
+
+/**
+ * A AST pela serialização Java, só como referência para o
+ * {@code AstFormatBenchmark}. Os nós não são {@link Serializable}; aqui cada
+ * um vira um {@link Node} com a classe, a posição e os argumentos do seu
+ * construtor, e a leitura chama o construtor de volta, internando os
+ * símbolos como o {@code readResolve} faria.
+ */
+public final class SerializedAst {
+
+    private SerializedAst() {
+    }
+
+    private static final class Node implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Class<?> type;
+        final int line;
+        final int column;
+        final Object[] args;
+
+        Node(TreeNode node, Object... args) {
+            this.type = node.getClass();
+            this.line = node.line;
+            this.column = node.column;
+            this.args = args;
+        }
+    }
+
+    public static byte[] write(Program program) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(program.accept(MIRROR, null));
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Program read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Program) rebuild((Node) in.readObject());
+        }
+    }
+
+    private static final ConcurrentHashMap<Class<?>, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private static TreeNode rebuild(Node node) {
+        if (node == null) {
+            return null;
+        }
+        Constructor<?> constructor = CONSTRUCTORS.computeIfAbsent(node.type, c -> c.getConstructors()[0]);
+        Class<?>[] params = constructor.getParameterTypes();
+        Object[] values = new Object[params.length];
+        values[0] = node.line;
+        values[1] = node.column;
+        for (int i = 2; i < params.length; i++) {
+            values[i] = value(params[i], node.args[i - 2]);
+        }
+        try {
+            return (TreeNode) constructor.newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object value(Class<?> type, Object arg) {
+        if (type.isArray()) {
+            Object[] items = (Object[]) arg;
+            Object array = Array.newInstance(type.getComponentType(), items.length);
+            for (int i = 0; i < items.length; i++) {
+                Array.set(array, i, rebuild((Node) items[i]));
+            }
+            return array;
+        }
+        if (type == IdSymbol.class) {
+            return AbstractTable.idtable.addString((String) arg);
+        }
+        if (type == IntSymbol.class) {
+            return AbstractTable.inttable.addString((String) arg);
+        }
+        if (type == StringSymbol.class) {
+            return AbstractTable.stringtable.addString((String) arg);
+        }
+        if (TreeNode.class.isAssignableFrom(type)) {
+            return rebuild((Node) arg);
+        }
+        return arg;
+    }
+
+    /* Argumentos na ordem do construtor de cada nó; símbolos viram String */
+    private static final Visitor<Node, Void> MIRROR = new Visitor<Node, Void>() {
+
+        private Object n(TreeNode node) {
+            return node == null ? null : node.accept(this, null);
+        }
+
+        private Object[] n(TreeNode[] nodes) {
+            Object[] a = new Object[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                a[i] = n(nodes[i]);
+            }
+            return a;
+        }
+
+        private String s(AbstractSymbol symbol) {
+            return symbol.getString();
+        }
+
+        @Override public Node visit(Program node, Void arg) { return new Node(node, (Object) n(node.classes)); }
+        @Override public Node visit(ClassDecl node, Void arg) { return new Node(node, s(node.name), s(node.parent), n(node.features)); }
+        @Override public Node visit(Method node, Void arg) { return new Node(node, s(node.name), n(node.formals), s(node.type), n(node.body)); }
+        @Override public Node visit(Attribute node, Void arg) { return new Node(node, s(node.name), s(node.type), n(node.init)); }
+        @Override public Node visit(Formal node, Void arg) { return new Node(node, s(node.name), s(node.type)); }
+        @Override public Node visit(CaseBranch node, Void arg) { return new Node(node, s(node.name), s(node.type), n(node.expr)); }
+        @Override public Node visit(Assign node, Void arg) { return new Node(node, s(node.name), n(node.expr)); }
+        @Override public Node visit(StaticDispatch node, Void arg) { return new Node(node, n(node.expr), s(node.typeName), s(node.name), n(node.args)); }
+        @Override public Node visit(Dispatch node, Void arg) { return new Node(node, n(node.expr), s(node.name), n(node.args)); }
+        @Override public Node visit(Cond node, Void arg) { return new Node(node, n(node.pred), n(node.thenExpr), n(node.elseExpr)); }
+        @Override public Node visit(Loop node, Void arg) { return new Node(node, n(node.pred), n(node.body)); }
+        @Override public Node visit(Block node, Void arg) { return new Node(node, (Object) n(node.body)); }
+        @Override public Node visit(Let node, Void arg) { return new Node(node, s(node.name), s(node.type), n(node.init), n(node.body)); }
+        @Override public Node visit(Case node, Void arg) { return new Node(node, n(node.expr), n(node.branches)); }
+        @Override public Node visit(New node, Void arg) { return new Node(node, s(node.typeName)); }
+        @Override public Node visit(IsVoid node, Void arg) { return new Node(node, n(node.expr)); }
+        @Override public Node visit(Neg node, Void arg) { return new Node(node, n(node.expr)); }
+        @Override public Node visit(Not node, Void arg) { return new Node(node, n(node.expr)); }
+        @Override public Node visit(Plus node, Void arg) { return binary(node); }
+        @Override public Node visit(Sub node, Void arg) { return binary(node); }
+        @Override public Node visit(Mul node, Void arg) { return binary(node); }
+        @Override public Node visit(Divide node, Void arg) { return binary(node); }
+        @Override public Node visit(Lt node, Void arg) { return binary(node); }
+        @Override public Node visit(Le node, Void arg) { return binary(node); }
+        @Override public Node visit(Eq node, Void arg) { return binary(node); }
+        @Override public Node visit(ObjectRef node, Void arg) { return new Node(node, s(node.name)); }
+        @Override public Node visit(IntConst node, Void arg) { return new Node(node, s(node.symbol)); }
+        @Override public Node visit(StringConst node, Void arg) { return new Node(node, s(node.value)); }
+        @Override public Node visit(BoolConst node, Void arg) { return new Node(node, node.value); }
+
+        private Node binary(BinaryExpr node) {
+            return new Node(node, n(node.left), n(node.right));
+        }
+    };
+}
@@ -0,0 +1,101 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import compiler.semant.SymbolTable;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SymbolTable} contra a pilha de {@code HashMap}s
+ * ({@link NaiveSymbolTable}) no padrão de uso do verificador de tipos: um
+ * escopo por método com os formais, {@code nesting} lets aninhados e, em
+ * cada nível, algumas consultas a variáveis locais, externas e atributos
+ * (nomes que não estão na tabela). Cada operação é um método inteiro.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolTableBenchmark {
+
+    @Param({ "4", "32" })
+    public int nesting;
+
+    private IdSymbol[] formals;
+    private IdSymbol[] locals;
+    private IdSymbol[] attributes;
+
+    private final SymbolTable flat = new SymbolTable();
+    private final NaiveSymbolTable naive = new NaiveSymbolTable();
+
+    @Setup
+    public void setUp() {
+        formals = new IdSymbol[] { id("x"), id("y") };
+        locals = new IdSymbol[nesting];
+        for (int i = 0; i < nesting; i++) {
+            // Alguns lets reaproveitam o nome e escondem o externo
+            locals[i] = id(i % 5 == 4 ? "x" : "v" + i);
+        }
+        attributes = new IdSymbol[] { id("attr0"), id("attr1") };
+    }
+
+    private static IdSymbol id(String name) {
+        return AbstractTable.idtable.addString(name);
+    }
+
+    @Benchmark
+    public int flat() {
+        SymbolTable t = flat;
+        int sum = 0;
+        t.enterScope();
+        for (int i = 0; i < formals.length; i++) {
+            t.add(formals[i], i);
+        }
+        for (int d = 0; d < nesting; d++) {
+            t.enterScope();
+            t.add(locals[d], d);
+            sum += t.lookup(locals[d]) + t.lookup(formals[1]) + t.lookup(locals[d / 2]);
+            sum += t.lookup(attributes[d & 1]);
+        }
+        for (int d = 0; d < nesting; d++) {
+            t.exitScope();
+        }
+        t.exitScope();
+        return sum;
+    }
+
+    @Benchmark
+    public int naive() {
+        NaiveSymbolTable t = naive;
+        int sum = 0;
+        t.enterScope();
+        for (int i = 0; i < formals.length; i++) {
+            t.add(formals[i], i);
+        }
+        for (int d = 0; d < nesting; d++) {
+            t.enterScope();
+            t.add(locals[d], d);
+            sum += t.lookup(locals[d]) + t.lookup(formals[1]) + t.lookup(locals[d / 2]);
+            sum += t.lookup(attributes[d & 1]);
+        }
+        for (int d = 0; d < nesting; d++) {
+            t.exitScope();
+        }
+        t.exitScope();
+        return sum;
+    }
+}
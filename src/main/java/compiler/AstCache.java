@@ -0,0 +1,120 @@
+package compiler;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import compiler.ast.AstFormat;
+import compiler.ast.Program;
+
+/**
+ * Cache em disco das ASTs, indexado pelo hash do conteúdo de cada arquivo.
+ *
+ * Um arquivo cujo conteúdo já foi analisado sem erros é carregado do cache
+ * em vez de passar de novo pelo lexer e pelo parser. Como a chave é o
+ * SHA-256 do texto, não há invalidação explícita: um arquivo alterado tem
+ * outra chave, e entradas antigas só ocupam espaço.
+ *
+ * As entradas estão no formato de {@link AstFormat} e são lidas de um
+ * arquivo mapeado em memória, o que é bem mais rápido que reanalisar a
+ * fonte. Cada entrada é gravada num arquivo temporário e depois renomeada de uma
+ * vez, então builds concorrentes nunca leem uma entrada pela metade; se
+ * dois processos gravam a mesma chave, o conteúdo é o mesmo. Uma entrada
+ * ilegível é tratada como ausente, e uma árvore aninhada demais para a pilha
+ * de {@link AstFormat} simplesmente não entra no cache.
+ */
+public final class AstCache {
+
+    /** Diretório padrão, dentro da saída do Maven. */
+    public static final Path DEFAULT_DIR = Paths.get("target", "cool-cache");
+
+    /* Muda quando o formato das entradas ou a AST mudam */
+    private static final int FORMAT = 2;
+    private static final String SUFFIX = ".v" + FORMAT + ".ast";
+
+    private final Path dir;
+
+    public AstCache(Path dir) {
+        this.dir = dir;
+    }
+
+    /** SHA-256 do texto da fonte, em hexadecimal. */
+    public static String key(SourceFile source) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        char[] chars = source.chars();
+        byte[] chunk = new byte[8192];
+        int n = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = chars[i];
+            chunk[n++] = (byte) (c >>> 8);
+            chunk[n++] = (byte) c;
+            if (n == chunk.length) {
+                digest.update(chunk, 0, n);
+                n = 0;
+            }
+        }
+        digest.update(chunk, 0, n);
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /** AST da chave, ou {@code null} se não existe ou não pôde ser lida. */
+    public Program load(String key) {
+        Path file = dir.resolve(key + SUFFIX);
+        try {
+            return AstFormat.load(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException | StackOverflowError e) {
+            // Entrada de outra versão do compilador, corrompida ou aninhada demais para a
+            // leitura recursiva: conta como falta e é apagada
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // será sobrescrita pelo próximo store
+            }
+            return null;
+        }
+    }
+
+    /** Grava a AST de um arquivo sem erros. Falhas de gravação são ignoradas. */
+    public void store(String key, Program program) {
+        Path file = dir.resolve(key + SUFFIX);
+        Path tmp = null;
+        try {
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.write(tmp, AstFormat.encode(program));
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmp = null;
+        } catch (IOException | StackOverflowError e) {
+            // O cache é só uma otimização: sem ele o arquivo é analisado de novo
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    // Sobra um .tmp que a próxima limpeza do target remove
+                }
+            }
+        }
+    }
+}
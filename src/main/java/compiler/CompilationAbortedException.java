@@ -0,0 +1,15 @@
+package compiler;
+
+/**
+ * Lançada quando uma fase não tem como continuar (por exemplo, um erro
+ * sintático do qual o parser não se recupera). O erro em si já foi
+ * registrado nos {@link Diagnostics}; a exceção só interrompe a fase.
+ */
+public class CompilationAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CompilationAbortedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,250 @@
+package compiler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import compiler.ast.TreeConstants;
+import compiler.util.AbstractTable;
+
+/**
+ * Processo de longa duração que atende pedidos de compilação, para que
+ * editores e ferramentas não paguem a partida da JVM, o carregamento das
+ * tabelas do CUP e o aquecimento do JIT a cada arquivo.
+ *
+ * O protocolo é de linhas de texto em UTF-8, pela entrada/saída padrão ou
+ * por um socket Unix:
+ * <pre>
+ *   check ARQ [ARQ ...]   analisa os arquivos
+ *   ping                  responde "pong"
+ *   quit                  encerra a conexão
+ *   shutdown              encerra o daemon
+ * </pre>
+ * A resposta a {@code check} é um diagnóstico por linha, no formato de
+ * {@link Diagnostic#toString()}, seguido de
+ * {@code fim ok|erro <arquivos> <erros> <microssegundos>}.
+ *
+ * Todos os pedidos usam o mesmo {@link Driver}, que reaproveita os pares
+ * lexer/parser de uma compilação para a outra.
+ *
+ * As tabelas globais de símbolos ({@link AbstractTable}) guardariam cada
+ * identificador e constante de cada arquivo já analisado. Nenhum símbolo
+ * sobrevive a um pedido, então, quando as tabelas passam de
+ * {@code symbolLimit} símbolos novos, elas voltam ao tamanho que tinham na
+ * criação do daemon, entre dois pedidos e sem nenhum outro em andamento.
+ */
+public class CompileDaemon {
+
+    /** Símbolos novos, somadas as três tabelas, tolerados antes de limpá-las. */
+    public static final int DEFAULT_SYMBOL_LIMIT = 1 << 16;
+
+    private final Driver driver;
+    private final int symbolLimit;
+    /* Tamanho de cada tabela na criação do daemon */
+    private final int ids;
+    private final int ints;
+    private final int strings;
+    /* Pedidos em andamento ficam com a leitura; a limpeza das tabelas, com a escrita */
+    private final ReadWriteLock requests = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+    private ServerSocketChannel server;
+
+    public CompileDaemon(Driver driver) {
+        this(driver, DEFAULT_SYMBOL_LIMIT);
+    }
+
+    public CompileDaemon(Driver driver, int symbolLimit) {
+        this.driver = driver;
+        this.symbolLimit = symbolLimit;
+        // Os nomes pré-definidos são campos estáticos: têm de estar na tabela antes da medida
+        Objects.requireNonNull(TreeConstants.No_class);
+        this.ids = AbstractTable.idtable.size();
+        this.ints = AbstractTable.inttable.size();
+        this.strings = AbstractTable.stringtable.size();
+    }
+
+    /** Atende pedidos pela entrada e saída padrão até "quit", "shutdown" ou EOF. */
+    public void serveStdio() throws IOException {
+        serve(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+              new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Atende conexões no socket Unix {@code socket} até receber "shutdown".
+     * Cada conexão é atendida por uma thread. Um socket antigo no mesmo
+     * caminho é removido; qualquer outro arquivo ali é um erro.
+     */
+    public void serveSocket(Path socket) throws IOException {
+        if (!removeSocket(socket) && Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException(socket + " já existe e não é um socket");
+        }
+        ExecutorService connections = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "cool-daemon-conexao");
+            t.setDaemon(true);
+            return t;
+        });
+        try (ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.bind(UnixDomainSocketAddress.of(socket));
+            synchronized (this) {
+                server = channel;
+            }
+            while (running) {
+                SocketChannel client;
+                try {
+                    client = channel.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+                connections.execute(() -> {
+                    try (SocketChannel c = client) {
+                        serve(Channels.newReader(c, StandardCharsets.UTF_8),
+                              Channels.newWriter(c, StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        // Conexão perdida: nada a responder
+                    }
+                });
+            }
+        } finally {
+            connections.shutdown();
+            removeSocket(socket);
+        }
+    }
+
+    /* Apaga o caminho só se for um socket; devolve se apagou */
+    private static boolean removeSocket(Path socket) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(socket, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        boolean isSocket;
+        try {
+            int mode = (Integer) Files.getAttribute(socket, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+            isSocket = (mode & 0170000) == 0140000;
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // Sem a visão "unix": um socket aparece como "outro" tipo de arquivo
+            isSocket = attributes.isOther();
+        }
+        return isSocket && Files.deleteIfExists(socket);
+    }
+
+    /** Encerra o daemon: nenhuma conexão nova é aceita. */
+    public synchronized void shutdown() {
+        running = false;
+        if (server != null) {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+    }
+
+    /** Atende uma conexão: lê pedidos de {@code input} e responde em {@code output}. */
+    public void serve(Reader input, Writer output) throws IOException {
+        BufferedReader in = new BufferedReader(input);
+        PrintWriter out = new PrintWriter(output);
+        String line;
+        while (running && (line = in.readLine()) != null) {
+            String[] words = line.trim().split("\\s+");
+            switch (words[0]) {
+            case "":
+                continue;
+            case "ping":
+                out.println("pong");
+                break;
+            case "check":
+                check(words, out);
+                break;
+            case "quit":
+                out.flush();
+                return;
+            case "shutdown":
+                out.println("fim ok");
+                out.flush();
+                shutdown();
+                return;
+            default:
+                out.println("fim erro comando desconhecido: " + words[0]);
+            }
+            out.flush();
+        }
+        out.flush();
+    }
+
+    private void check(String[] words, PrintWriter out) {
+        long start = System.nanoTime();
+        List<Path> files = new ArrayList<>();
+        for (int i = 1; i < words.length; i++) {
+            files.add(Paths.get(words[i]));
+        }
+        boolean ok = true;
+        int errors = 0;
+        int count;
+        requests.readLock().lock();
+        try {
+            // Um arquivo só (o caso do editor ao salvar) é analisado nesta thread
+            List<Driver.FileResult> results = files.size() == 1
+                    ? List.of(driver.parseFile(files.get(0)))
+                    : driver.parseAll(files);
+            count = results.size();
+            for (Driver.FileResult r : results) {
+                for (Diagnostic d : r.diagnostics) {
+                    out.println(d);
+                }
+                errors += r.diagnostics.size();
+                ok &= r.ok();
+            }
+        } finally {
+            requests.readLock().unlock();
+        }
+        trimSymbols();
+        long micros = (System.nanoTime() - start) / 1000;
+        out.println("fim " + (ok ? "ok" : "erro") + " " + count + " " + errors + " " + micros);
+    }
+
+    /* Com outro pedido em andamento, a limpeza fica para o fim dele */
+    private void trimSymbols() {
+        if (newSymbols() <= symbolLimit || !requests.writeLock().tryLock()) {
+            return;
+        }
+        try {
+            AbstractTable.idtable.truncate(ids);
+            AbstractTable.inttable.truncate(ints);
+            AbstractTable.stringtable.truncate(strings);
+        } finally {
+            requests.writeLock().unlock();
+        }
+    }
+
+    /** Símbolos criados desde a partida do daemon, somadas as três tabelas. */
+    public int newSymbols() {
+        return AbstractTable.idtable.size() - ids + AbstractTable.inttable.size() - ints
+                + AbstractTable.stringtable.size() - strings;
+    }
+}
@@ -0,0 +1,150 @@
+package compiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Medidas das fases da compilação de um arquivo (ou da soma de vários):
+ * tempo de relógio, tempo de CPU e bytes alocados pela thread, além de uma
+ * contagem de itens da fase (tokens no lexer, nós da AST no parser).
+ *
+ * As medidas de CPU e alocação vêm do {@link ThreadMXBean} e valem para a
+ * thread que executou a fase; ficam em -1 quando a JVM não as oferece.
+ */
+public final class CompileStats {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** Medidas de uma fase. */
+    public static final class Phase {
+        public final String name;
+        /** O que {@link #items} conta ("tokens", "nodes", ...). */
+        public final String unit;
+        public long wallNanos;
+        public long cpuNanos;
+        public long allocatedBytes;
+        public long items;
+
+        Phase(String name, String unit) {
+            this.name = name;
+            this.unit = unit;
+        }
+
+        void add(Phase other) {
+            wallNanos += other.wallNanos;
+            cpuNanos = cpuNanos < 0 || other.cpuNanos < 0 ? -1 : cpuNanos + other.cpuNanos;
+            allocatedBytes = allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes;
+            items += other.items;
+        }
+    }
+
+    /** Medição em andamento, iniciada por {@link CompileStats#start}. */
+    public final class Timer {
+        private final Phase phase;
+        private final long wall, cpu, allocated;
+
+        private Timer(Phase phase) {
+            this.phase = phase;
+            this.allocated = allocatedBytes();
+            this.cpu = cpuNanos();
+            this.wall = System.nanoTime();
+        }
+
+        /** Encerra a medição e soma {@code items} à contagem da fase. */
+        public void stop(long items) {
+            long wallEnd = System.nanoTime();
+            long cpuEnd = cpuNanos();
+            long allocatedEnd = allocatedBytes();
+            phase.wallNanos += wallEnd - wall;
+            phase.cpuNanos = cpu < 0 || phase.cpuNanos < 0 ? -1 : phase.cpuNanos + cpuEnd - cpu;
+            phase.allocatedBytes = allocated < 0 || phase.allocatedBytes < 0 ? -1 : phase.allocatedBytes + allocatedEnd - allocated;
+            phase.items += items;
+        }
+
+        /** Soma itens contados depois de {@link #stop}, fora da janela medida. */
+        public void count(long items) {
+            phase.items += items;
+        }
+    }
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    /** Começa a medir a fase {@code name} na thread atual. */
+    public Timer start(String name, String unit) {
+        return new Timer(phase(name, unit));
+    }
+
+    private Phase phase(String name, String unit) {
+        return phases.computeIfAbsent(name, n -> new Phase(n, unit));
+    }
+
+    /** Soma as medidas de {@code other}, fase a fase. */
+    public void addAll(CompileStats other) {
+        for (Phase p : other.phases.values()) {
+            phase(p.name, p.unit).add(p);
+        }
+    }
+
+    /** Fases na ordem em que foram medidas pela primeira vez. */
+    public List<Phase> phases() {
+        return new ArrayList<>(phases.values());
+    }
+
+    /** Objeto JSON {"fase": {...}, ...}. */
+    public void appendJson(StringBuilder sb) {
+        sb.append('{');
+        boolean first = true;
+        for (Phase p : phases.values()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendJsonString(sb, p.name);
+            sb.append(":{\"wallNanos\":").append(p.wallNanos)
+              .append(",\"cpuNanos\":").append(p.cpuNanos)
+              .append(",\"allocatedBytes\":").append(p.allocatedBytes)
+              .append(',');
+            appendJsonString(sb, p.unit);
+            sb.append(':').append(p.items).append('}');
+        }
+        sb.append('}');
+    }
+
+    static void appendJsonString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"': sb.append("\\\""); break;
+            case '\\': sb.append("\\\\"); break;
+            case '\n': sb.append("\\n"); break;
+            case '\t': sb.append("\\t"); break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+}
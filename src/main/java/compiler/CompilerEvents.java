@@ -0,0 +1,86 @@
+package compiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Eventos do JDK Flight Recorder emitidos pelas fases do compilador.
+ *
+ * Numa gravação ({@code java -XX:StartFlightRecording=filename=build.jfr ...})
+ * eles aparecem na categoria "Cool", ao lado dos eventos de GC e de locks,
+ * e mostram qual arquivo e qual fase consumiram o tempo. Sem gravação
+ * ativa, o custo de cada evento é só a criação do objeto.
+ */
+public final class CompilerEvents {
+
+    private CompilerEvents() {
+    }
+
+    /** Leitura de um arquivo inteiro pelo {@link Lexer}. */
+    @Name("compiler.Lex")
+    @Label("Lexer")
+    @Category({ "Cool", "Compilador" })
+    @Description("Análise léxica de um arquivo")
+    @StackTrace(false)
+    public static final class Lex extends Event {
+        @Label("Arquivo")
+        public String file;
+
+        @Label("Tamanho")
+        @DataAmount
+        public long bytes;
+
+        @Label("Tokens")
+        public long tokens;
+    }
+
+    /** Execução do {@link Parser} sobre um arquivo, incluindo a construção da AST. */
+    @Name("compiler.Parse")
+    @Label("Parser")
+    @Category({ "Cool", "Compilador" })
+    @Description("Análise sintática de um arquivo")
+    @StackTrace(false)
+    public static final class Parse extends Event {
+        @Label("Arquivo")
+        public String file;
+
+        @Label("Tamanho")
+        @DataAmount
+        public long bytes;
+
+        @Label("Tokens")
+        public long tokens;
+
+        @Label("Nós da AST")
+        public long nodes;
+
+        @Label("Erros")
+        public int errors;
+    }
+
+    /** Uma passada semântica (ou posterior) sobre um arquivo ou sobre o programa. */
+    @Name("compiler.Pass")
+    @Label("Passada")
+    @Category({ "Cool", "Compilador" })
+    @Description("Passada do compilador sobre a AST")
+    @StackTrace(false)
+    public static final class Pass extends Event {
+        @Label("Passada")
+        public String pass;
+
+        @Label("Arquivo")
+        @Description("Arquivo analisado, ou vazio quando a passada é sobre o programa inteiro")
+        public String file;
+
+        @Label("Classes")
+        public int classes;
+
+        @Label("Erros")
+        public int errors;
+    }
+}
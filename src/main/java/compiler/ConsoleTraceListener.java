@@ -0,0 +1,136 @@
+package compiler;
+
+import java.io.PrintStream;
+
+import compiler.ast.*;
+import compiler.util.IdSymbol;
+
+/**
+ * Listener que imprime o rastro da análise sintática, uma linha por redução.
+ *
+ * Reproduz a saída que o parser imprimia diretamente no console. Só é
+ * instalado quando pedido (flag {@code --trace} do {@link Main}).
+ */
+public class ConsoleTraceListener implements ParseListener {
+
+    private final PrintStream out;
+    private final ExprTracer exprTracer = new ExprTracer();
+
+    public ConsoleTraceListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void programParsed(Program program) {
+        out.println("=== Análise Sintática Concluída com Sucesso! ===");
+    }
+
+    @Override
+    public void classParsed(ClassDecl c) {
+        if (c.parent != TreeConstants.Object_) {
+            out.println("[CLASSE] Definida: " + c.name + " herda de " + c.parent);
+        } else {
+            out.println("[CLASSE] Definida: " + c.name);
+        }
+    }
+
+    @Override
+    public void featureParsed(Feature f) {
+        if (f instanceof Method) {
+            out.println(" --- Método: " + f.name + " retorna " + f.type);
+        } else {
+            out.println(" --- Atributo: " + f.name + " : " + f.type);
+        }
+    }
+
+    @Override
+    public void formalParsed(Formal f) {
+        out.println("    (Parametro formal: " + f.name + " : " + f.type + ")");
+    }
+
+    @Override
+    public void caseBranchParsed(CaseBranch b) {
+        out.println("    |-- Case Branch: " + b.name + " como " + b.type);
+    }
+
+    @Override
+    public void letVariableParsed(IdSymbol name, IdSymbol type, boolean hasInit) {
+        if (hasInit) {
+            out.println("    |-- Var Let (com init): " + name);
+        } else {
+            out.println("    |-- Var Let: " + name + " : " + type);
+        }
+    }
+
+    @Override
+    public void letParsed(Let let, int variables) {
+        if (variables > 1) {
+            out.println("    |-- Estrutura LET multiplo (" + let.name + ", ...)");
+        } else if (let.init != null) {
+            out.println("    |-- Estrutura LET com init (" + let.name + ")");
+        } else {
+            out.println("    |-- Estrutura LET simples (" + let.name + ")");
+        }
+    }
+
+    @Override
+    public void exprParsed(Expr expr) {
+        String line = expr.accept(exprTracer, null);
+        if (line != null) {
+            out.println("    |-- " + line);
+        }
+    }
+
+    /* Descreve apenas o nó recém-reduzido; os filhos já foram impressos */
+    private static final class ExprTracer implements Visitor<String, Void> {
+
+        private static String args(Expr[] args) {
+            return args.length == 0 ? "()" : "(args...)";
+        }
+
+        /* A chamada sem receptor usa um self sintético na mesma posição */
+        private static boolean isImplicitSelf(Dispatch d) {
+            return d.expr instanceof ObjectRef
+                    && ((ObjectRef) d.expr).name == TreeConstants.self
+                    && d.expr.line == d.line && d.expr.column == d.column;
+        }
+
+        @Override public String visit(Assign n, Void a) { return "Atribuicao para variavel: " + n.name; }
+        @Override public String visit(StaticDispatch n, Void a) {
+            return "Static Dispatch @" + n.typeName + "." + n.name + (n.args.length == 0 ? "()" : "(...)");
+        }
+        @Override public String visit(Dispatch n, Void a) {
+            return isImplicitSelf(n)
+                    ? "Chamada Self: " + n.name + args(n.args)
+                    : "Dispatch para metodo: " + n.name + args(n.args);
+        }
+        @Override public String visit(Cond n, Void a) { return "Estrutura Condicional (IF-THEN-ELSE)"; }
+        @Override public String visit(Loop n, Void a) { return "Estrutura de Repeticao (WHILE)"; }
+        @Override public String visit(Block n, Void a) { return "Bloco de codigo { ... }"; }
+        @Override public String visit(Let n, Void a) { return null; }
+        @Override public String visit(Case n, Void a) { return "Estrutura CASE"; }
+        @Override public String visit(New n, Void a) { return "New (Instancia de " + n.typeName + ")"; }
+        @Override public String visit(IsVoid n, Void a) { return "Teste ISVOID"; }
+        @Override public String visit(Neg n, Void a) { return "Operacao de Negacao (~)"; }
+        @Override public String visit(Not n, Void a) { return "Operacao NOT"; }
+        @Override public String visit(Plus n, Void a) { return "Operacao SOMA (+)"; }
+        @Override public String visit(Sub n, Void a) { return "Operacao SUBTRACAO (-)"; }
+        @Override public String visit(Mul n, Void a) { return "Operacao MULTIPLICACAO (*)"; }
+        @Override public String visit(Divide n, Void a) { return "Operacao DIVISAO (/)"; }
+        @Override public String visit(Lt n, Void a) { return "Comparacao MENOR QUE (<)"; }
+        @Override public String visit(Le n, Void a) { return "Comparacao MENOR IGUAL (<=)"; }
+        @Override public String visit(Eq n, Void a) { return "Comparacao IGUAL (=)"; }
+        @Override public String visit(ObjectRef n, Void a) { return "ID lido: " + n.name; }
+        @Override public String visit(IntConst n, Void a) { return "Inteiro lido: " + n.value; }
+        @Override public String visit(StringConst n, Void a) { return "String lida: \"" + n.value + "\""; }
+        @Override public String visit(BoolConst n, Void a) { return "Booleano: " + n.value; }
+
+        // Nós que não são expressões nunca chegam aqui
+        @Override public String visit(Program n, Void a) { return null; }
+        @Override public String visit(ClassDecl n, Void a) { return null; }
+        @Override public String visit(Method n, Void a) { return null; }
+        @Override public String visit(Attribute n, Void a) { return null; }
+        @Override public String visit(Formal n, Void a) { return null; }
+        @Override public String visit(CaseBranch n, Void a) { return null; }
+    }
+}
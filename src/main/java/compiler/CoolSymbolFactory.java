@@ -0,0 +1,52 @@
+package compiler;
+
+import java_cup.runtime.Symbol;
+import java_cup.runtime.SymbolFactory;
+
+/**
+ * Fábrica de {@link Symbol}s simples para o {@link Parser}, igual à
+ * {@code DefaultSymbolFactory} do CUP (obsoleta). A
+ * {@code ComplexSymbolFactory} não serve: ela supõe que os terminais também
+ * são {@code ComplexSymbol}, e o {@link Lexer} e o {@link TokenBufferScanner}
+ * produzem {@link Symbol}s comuns.
+ */
+public final class CoolSymbolFactory implements SymbolFactory {
+
+    /** Sem estado: uma instância serve para todos os parsers. */
+    public static final CoolSymbolFactory INSTANCE = new CoolSymbolFactory();
+
+    private CoolSymbolFactory() {
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Symbol left, Symbol right, Object value) {
+        return new Symbol(id, left, right, value);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Symbol left, Symbol right) {
+        return new Symbol(id, left, right);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Symbol left, Object value) {
+        return new Symbol(id, left, value);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Object value) {
+        return new Symbol(id, value);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id) {
+        return new Symbol(id);
+    }
+
+    @Override
+    public Symbol startSymbol(String name, int id, int state) {
+        Symbol s = new Symbol(id);
+        s.parse_state = state;
+        return s;
+    }
+}
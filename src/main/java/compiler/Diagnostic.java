@@ -0,0 +1,78 @@
+package compiler;
+
+/**
+ * Um erro encontrado durante a compilação: código, arquivo, posição e
+ * mensagem. Linha e coluna começam em 1; 0 indica posição desconhecida.
+ */
+public final class Diagnostic {
+
+    /** Códigos de erro, agrupados pela fase que os produz. */
+    public enum Code {
+        // Léxico
+        INVALID_CHAR,
+        UNTERMINATED_STRING,
+        STRING_TOO_LONG,
+        NULL_CHAR_IN_STRING,
+        UNTERMINATED_COMMENT,
+        INTEGER_OUT_OF_RANGE,
+        // Sintático
+        SYNTAX_ERROR,
+        SELF_AS_IDENTIFIER,
+        // Semântico: hierarquia de classes
+        CLASS_REDEFINED,
+        BASIC_CLASS_REDEFINED,
+        UNDEFINED_PARENT,
+        INVALID_PARENT,
+        INHERITANCE_CYCLE,
+        MISSING_MAIN,
+        // Semântico: features e tipos
+        UNDEFINED_TYPE,
+        ATTRIBUTE_REDEFINED,
+        METHOD_REDEFINED,
+        BAD_OVERRIDE,
+        DUPLICATE_FORMAL,
+        MISSING_MAIN_METHOD,
+        UNDEFINED_IDENTIFIER,
+        UNDEFINED_METHOD,
+        WRONG_ARGUMENT_COUNT,
+        DUPLICATE_BRANCH,
+        TYPE_MISMATCH,
+        // Driver
+        IO_ERROR,
+        INTERNAL_ERROR
+    }
+
+    public final Code code;
+    /** Arquivo de origem, ou {@code null} quando a entrada não veio de um arquivo. */
+    public final String file;
+    public final int line;
+    public final int column;
+    public final String message;
+
+    public Diagnostic(Code code, String file, int line, int column, String message) {
+        this.code = code;
+        this.file = file;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    /** Formato {@code arquivo:linha:coluna: erro [CODIGO] mensagem}. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (file != null) {
+            sb.append(file).append(':');
+        }
+        if (line > 0) {
+            sb.append(line).append(':');
+            if (column > 0) {
+                sb.append(column).append(':');
+            }
+        }
+        if (sb.length() > 0) {
+            sb.append(' ');
+        }
+        return sb.append("erro [").append(code).append("] ").append(message).toString();
+    }
+}
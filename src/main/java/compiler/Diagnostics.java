@@ -0,0 +1,57 @@
+package compiler;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coletor dos {@link Diagnostic}s de uma compilação.
+ *
+ * O lexer, o parser e as passadas seguintes apenas registram os erros aqui;
+ * quem decide se a compilação continua é o driver. Pode ser usado por várias
+ * threads ao mesmo tempo. Opcionalmente repete cada erro num
+ * {@link PrintStream} assim que ele é registrado.
+ */
+public class Diagnostics {
+
+    private final List<Diagnostic> diagnostics = new ArrayList<>();
+    private final PrintStream echo;
+
+    public Diagnostics() {
+        this(null);
+    }
+
+    public Diagnostics(PrintStream echo) {
+        this.echo = echo;
+    }
+
+    public synchronized void report(Diagnostic d) {
+        diagnostics.add(d);
+        if (echo != null) {
+            echo.println(d);
+        }
+    }
+
+    public void error(Diagnostic.Code code, String file, int line, int column, String message) {
+        report(new Diagnostic(code, file, line, column, message));
+    }
+
+    public synchronized void addAll(List<Diagnostic> others) {
+        for (Diagnostic d : others) {
+            report(d);
+        }
+    }
+
+    /** Cópia dos erros na ordem em que foram registrados. */
+    public synchronized List<Diagnostic> getDiagnostics() {
+        return new ArrayList<>(diagnostics);
+    }
+
+    public synchronized int errorCount() {
+        return diagnostics.size();
+    }
+
+    public synchronized boolean hasErrors() {
+        return !diagnostics.isEmpty();
+    }
+}
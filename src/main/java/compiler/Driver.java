@@ -0,0 +1,408 @@
+package compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import compiler.ast.ClassDecl;
+import compiler.ast.NodeCounter;
+import compiler.ast.Program;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.semant.TypeChecker;
+
+/**
+ * Analisa vários arquivos Cool em paralelo e junta as classes num único
+ * {@link Program}.
+ *
+ * Cada arquivo é uma tarefa independente, com seu próprio {@link Lexer} e
+ * {@link Parser}, executada num {@link ForkJoinPool} (roubo de trabalho).
+ * Os resultados são sempre devolvidos na ordem dos arquivos de entrada.
+ *
+ * Os pares {@link Lexer}/{@link Parser} são reaproveitados entre arquivos
+ * (e entre chamadas, quando o mesmo driver atende várias compilações, como
+ * no {@link CompileDaemon}): o lexer é reiniciado com {@code yyreset} e o
+ * parser recebe um novo scanner.
+ */
+public class Driver {
+
+    /** Resultado da análise de um arquivo. */
+    public static final class FileResult {
+
+        public final Path file;
+        /** AST do arquivo, ou {@code null} se a análise foi interrompida. */
+        public final Program program;
+        /** Erros do arquivo, na ordem em que foram encontrados. */
+        public final List<Diagnostic> diagnostics;
+        /** Rastro do parser (vazio quando o rastro não foi pedido). */
+        public final String trace;
+        /** Medidas das fases, ou {@code null} quando não foram pedidas. */
+        public final CompileStats stats;
+        /** A AST veio do {@link AstCache}, sem passar pelo lexer e pelo parser. */
+        public final boolean cached;
+
+        FileResult(Path file, Program program, List<Diagnostic> diagnostics, String trace,
+                   CompileStats stats, boolean cached) {
+            this.file = file;
+            this.program = program;
+            this.diagnostics = diagnostics;
+            this.trace = trace;
+            this.stats = stats;
+            this.cached = cached;
+        }
+
+        public boolean ok() {
+            return program != null && diagnostics.isEmpty();
+        }
+    }
+
+    /* Lexer e parser de uma thread; o parser lê do lexer ou de um TokenBuffer */
+    private static final class FrontEnd {
+        final Lexer lexer = new Lexer(java.io.Reader.nullReader());
+        final Parser parser = new Parser(lexer, CoolSymbolFactory.INSTANCE);
+        final TokenBuffer tokens = new TokenBuffer();
+    }
+
+    private final int jobs;
+    private final boolean trace;
+    private final boolean stats;
+    private final ConcurrentLinkedQueue<FrontEnd> idle = new ConcurrentLinkedQueue<>();
+    private AstCache cache;
+
+    public Driver(int jobs, boolean trace) {
+        this(jobs, trace, false);
+    }
+
+    /**
+     * Com {@code stats}, cada arquivo é lido inteiro para um
+     * {@link TokenBuffer} antes da análise sintática, para que o lexer e o
+     * parser sejam medidos em separado (ver {@link CompileStats}).
+     */
+    public Driver(int jobs, boolean trace, boolean stats) {
+        this.jobs = Math.max(1, jobs);
+        this.trace = trace;
+        this.stats = stats;
+    }
+
+    /**
+     * Liga o cache de ASTs: arquivos sem erros já vistos são carregados dele.
+     * Com o rastro do parser ligado o cache não é usado, pois o rastro só
+     * existe quando o arquivo é de fato analisado.
+     */
+    public void setCache(AstCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Expande as entradas da linha de comando: arquivos são mantidos como
+     * estão e diretórios são percorridos recursivamente atrás de {@code *.cl}.
+     */
+    public static List<Path> collectSources(List<String> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Paths.get(input);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    files.addAll(walk
+                            .filter(p -> Files.isRegularFile(p) && p.toString().endsWith(".cl"))
+                            .sorted()
+                            .collect(Collectors.toList()));
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /** Analisa todos os arquivos; a lista devolvida segue a ordem de {@code files}. */
+    public List<FileResult> parseAll(List<Path> files) {
+        FileResult[] results = new FileResult[files.size()];
+        if (results.length == 0) {
+            return List.of();
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(jobs, results.length));
+        try {
+            pool.invoke(new ParseTask(files, results, 0, results.length));
+        } finally {
+            pool.shutdown();
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Analisa um único arquivo na thread atual. Os erros léxicos e sintáticos
+     * ficam nos diagnósticos do resultado; nenhuma exceção escapa daqui.
+     */
+    public FileResult parseFile(Path file) {
+        ByteArrayOutputStream traceBytes = trace ? new ByteArrayOutputStream() : null;
+        Diagnostics diagnostics = new Diagnostics();
+        CompileStats fileStats = stats ? new CompileStats() : null;
+        String fileName = file.toString();
+        Program program = null;
+        FrontEnd frontEnd = idle.poll();
+        if (frontEnd == null) {
+            frontEnd = new FrontEnd();
+        }
+        try {
+            CompileStats.Timer read = stats ? fileStats.start("read", "chars") : null;
+            SourceFile source = SourceFile.read(file);
+            if (stats) {
+                read.stop(source.length());
+            }
+
+            String key = null;
+            if (cache != null && !trace) {
+                CompileStats.Timer lookup = stats ? fileStats.start("cache", "hits") : null;
+                key = AstCache.key(source);
+                Program cached = cache.load(key);
+                if (stats) {
+                    lookup.stop(cached != null ? 1 : 0);
+                }
+                if (cached != null) {
+                    return new FileResult(file, cached, List.of(), "", fileStats, true);
+                }
+            }
+
+            Lexer lexer = frontEnd.lexer;
+            lexer.yyreset(source.chars(), source.length());
+            lexer.setDiagnostics(diagnostics, fileName);
+            Parser parser = frontEnd.parser;
+            CompilerEvents.Lex lexEvent = new CompilerEvents.Lex();
+            if (stats || lexEvent.isEnabled()) {
+                // Lexer separado do parser, para as medidas de cada um
+                CompileStats.Timer lex = stats ? fileStats.start("lex", "tokens") : null;
+                lexEvent.begin();
+                TokenBuffer tokens = frontEnd.tokens;
+                tokens.clear();
+                lexer.lexAll(tokens);
+                lexEvent.end();
+                if (stats) {
+                    lex.stop(tokens.size());
+                }
+                if (lexEvent.shouldCommit()) {
+                    lexEvent.file = fileName;
+                    lexEvent.bytes = source.byteSize();
+                    lexEvent.tokens = tokens.size();
+                    lexEvent.commit();
+                }
+                parser.setScanner(tokens.scanner());
+            } else {
+                parser.setScanner(lexer);
+            }
+            parser.setDiagnostics(diagnostics, fileName);
+            parser.setParseListener(trace
+                    ? new ConsoleTraceListener(new PrintStream(traceBytes, false, StandardCharsets.UTF_8))
+                    : null);
+            CompileStats.Timer parse = stats ? fileStats.start("parse", "nodes") : null;
+            CompilerEvents.Parse parseEvent = new CompilerEvents.Parse();
+            parseEvent.begin();
+            try {
+                program = parser.parseProgram();
+            } finally {
+                parseEvent.end();
+                if (stats) {
+                    parse.stop(0);
+                }
+                // Contados uma vez, fora da janela medida, para as estatísticas e o evento
+                boolean commit = parseEvent.shouldCommit();
+                int nodes = stats || commit ? NodeCounter.count(program) : 0;
+                if (stats) {
+                    parse.count(nodes);
+                }
+                if (commit) {
+                    parseEvent.file = fileName;
+                    parseEvent.bytes = source.byteSize();
+                    parseEvent.tokens = parser.tokenCount();
+                    parseEvent.nodes = nodes;
+                    parseEvent.errors = diagnostics.errorCount();
+                    parseEvent.commit();
+                }
+            }
+            if (key != null && !diagnostics.hasErrors()) {
+                cache.store(key, program);
+            }
+        } catch (CompilationAbortedException e) {
+            // Já registrado nos diagnósticos por quem lançou
+        } catch (IOException e) {
+            diagnostics.error(Diagnostic.Code.IO_ERROR, fileName, 0, 0, "Erro de leitura: " + e.getMessage());
+        } catch (Exception e) {
+            diagnostics.error(Diagnostic.Code.INTERNAL_ERROR, fileName, 0, 0, e.toString());
+        } finally {
+            frontEnd.tokens.clear();
+            idle.offer(frontEnd);
+        }
+        return new FileResult(file, program, diagnostics.getDiagnostics(), traceText(traceBytes), fileStats, false);
+    }
+
+    private static String traceText(ByteArrayOutputStream bytes) {
+        return bytes == null ? "" : bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Junta as classes de todos os arquivos que produziram uma AST, em ordem. */
+    public static Program merge(List<FileResult> results) {
+        List<ClassDecl> classes = new ArrayList<>();
+        for (FileResult r : results) {
+            if (r.program != null) {
+                classes.addAll(Arrays.asList(r.program.classes));
+            }
+        }
+        return new Program(1, 1, classes.toArray(new ClassDecl[0]));
+    }
+
+    /**
+     * Monta a tabela de classes com as classes de todos os arquivos, na
+     * ordem de {@code results}, e valida a hierarquia de herança.
+     * Os erros vão para {@code diagnostics}, com o arquivo de cada classe.
+     * Com {@code stats}, mede a fase {@code classes}.
+     */
+    public static ClassTable classTable(List<FileResult> results, Diagnostics diagnostics, CompileStats stats) {
+        CompileStats.Timer timer = stats != null ? stats.start("classes", "classes") : null;
+        CompilerEvents.Pass event = new CompilerEvents.Pass();
+        event.begin();
+        ClassTable table = new ClassTable(diagnostics);
+        int errors = diagnostics.errorCount();
+        for (FileResult r : results) {
+            if (r.program != null) {
+                table.add(r.file.toString(), r.program.classes);
+            }
+        }
+        table.build();
+        event.end();
+        if (timer != null) {
+            timer.stop(table.size());
+        }
+        if (event.shouldCommit()) {
+            event.pass = "classes";
+            event.file = "";
+            event.classes = table.size();
+            event.errors = diagnostics.errorCount() - errors;
+            event.commit();
+        }
+        return table;
+    }
+
+    /**
+     * Verifica os tipos do programa de {@code table}, que precisa ter sido
+     * construída sem erros, com uma tarefa por faixa de classes. Com
+     * {@code stats}, mede a fase {@code typecheck}; CPU e alocação são só os
+     * da thread que chama, não os das tarefas paralelas.
+     *
+     * @return as tabelas de despacho montadas pelo verificador, para os
+     *         backends, ou {@code null} se houve erros de tipo
+     */
+    public DispatchTables typeCheck(ClassTable table, Diagnostics diagnostics, CompileStats stats) {
+        CompileStats.Timer timer = stats != null ? stats.start("typecheck", "classes") : null;
+        CompilerEvents.Pass event = new CompilerEvents.Pass();
+        event.begin();
+        int errors = diagnostics.errorCount();
+        TypeChecker checker = new TypeChecker(table, diagnostics);
+        boolean ok = checker.check(jobs);
+        event.end();
+        if (timer != null) {
+            timer.stop(table.size());
+        }
+        if (event.shouldCommit()) {
+            event.pass = "types";
+            event.file = "";
+            event.classes = table.size();
+            event.errors = diagnostics.errorCount() - errors;
+            event.commit();
+        }
+        return ok ? checker.dispatchTables() : null;
+    }
+
+    /**
+     * Relatório em JSON das medidas de {@link #parseAll}: tempo total de
+     * relógio, a soma de cada fase e as medidas de cada arquivo.
+     */
+    public static String statsJson(List<FileResult> results, long wallNanos) {
+        return statsJson(results, null, wallNanos);
+    }
+
+    /**
+     * Como {@link #statsJson(List, long)}, com as fases do programa inteiro
+     * ({@code classes}, {@code typecheck}) de {@code passes} somadas ao total.
+     */
+    public static String statsJson(List<FileResult> results, CompileStats passes, long wallNanos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"wallNanos\":").append(wallNanos)
+          .append(",\"files\":").append(results.size())
+          .append(",\"total\":");
+        totalStats(results, passes).appendJson(sb);
+        sb.append(",\"perFile\":[");
+        for (int i = 0; i < results.size(); i++) {
+            FileResult r = results.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"file\":");
+            CompileStats.appendJsonString(sb, r.file.toString());
+            sb.append(",\"ok\":").append(r.ok())
+              .append(",\"errors\":").append(r.diagnostics.size())
+              .append(",\"phases\":");
+            (r.stats != null ? r.stats : new CompileStats()).appendJson(sb);
+            sb.append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    /** Soma das medidas de todos os arquivos. */
+    public static CompileStats totalStats(List<FileResult> results) {
+        return totalStats(results, null);
+    }
+
+    /** Soma das medidas de todos os arquivos, seguida das fases de {@code passes}. */
+    public static CompileStats totalStats(List<FileResult> results, CompileStats passes) {
+        CompileStats total = new CompileStats();
+        for (FileResult r : results) {
+            if (r.stats != null) {
+                total.addAll(r.stats);
+            }
+        }
+        if (passes != null) {
+            total.addAll(passes);
+        }
+        return total;
+    }
+
+    /* Divide o intervalo de arquivos ao meio até sobrar um arquivo por tarefa */
+    private final class ParseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> files;
+        private final FileResult[] results;
+        private final int lo, hi;
+
+        ParseTask(List<Path> files, FileResult[] results, int lo, int hi) {
+            this.files = files;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                results[lo] = parseFile(files.get(lo));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParseTask(files, results, lo, mid),
+                      new ParseTask(files, results, mid, hi));
+        }
+    }
+}
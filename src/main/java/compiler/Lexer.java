@@ -5,8 +5,10 @@
 package compiler;
 
 import java_cup.runtime.Symbol;
-import java.util.Map;
-import java.util.HashMap;
+import compiler.util.AbstractSymbol;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import compiler.util.StringSymbol;
 
 
 @SuppressWarnings("fallthrough")
@@ -22,6 +24,7 @@ public class Lexer implements java_cup.runtime.Scanner {
   public static final int YYINITIAL = 0;
   public static final int COMMENT = 2;
   public static final int STRING = 4;
+  public static final int STRING_SKIP = 6;
 
   /**
    * ZZ_LEXSTATE[l] is the state in the DFA for the lexical state l
@@ -30,7 +33,7 @@ public class Lexer implements java_cup.runtime.Scanner {
    * l is of the form l = 2*k, k a non negative integer
    */
   private static final int ZZ_LEXSTATE[] = {
-     0,  0,  1,  1,  2, 2
+     0,  0,  1,  1,  2,  2,  3, 3
   };
 
   /**
@@ -67,13 +70,17 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_CMAP_BLOCKS = zzUnpackcmap_blocks();
 
   private static final String ZZ_CMAP_BLOCKS_PACKED_0 =
-    "\11\0\1\1\1\2\1\0\1\1\1\3\22\0\1\1"+
-    "\1\0\1\4\5\0\1\5\1\6\1\7\1\10\1\11"+
-    "\1\12\1\13\1\14\1\15\11\16\1\17\1\20\1\21"+
-    "\1\22\1\23\1\0\1\24\32\25\1\0\1\26\2\0"+
-    "\1\27\1\0\1\25\1\30\3\25\1\30\7\25\1\30"+
-    "\5\25\1\30\1\25\1\31\4\25\1\32\1\0\1\33"+
-    "\1\34\u0181\0";
+    "\11\0\1\1\1\2\2\1\1\3\22\0\1\1\1\0"+
+    "\1\4\5\0\1\5\1\6\1\7\1\10\1\11\1\12"+
+    "\1\13\1\14\1\15\11\16\1\17\1\20\1\21\1\22"+
+    "\1\23\1\0\1\24\1\25\1\26\1\27\1\30\1\31"+
+    "\1\32\1\26\1\33\1\34\2\26\1\35\1\26\1\36"+
+    "\1\37\1\40\1\26\1\41\1\42\1\43\1\44\1\45"+
+    "\1\46\3\26\1\0\1\47\2\0\1\50\1\0\1\51"+
+    "\1\52\1\53\1\54\1\55\1\56\1\57\1\60\1\61"+
+    "\2\57\1\62\1\57\1\63\1\64\1\65\1\57\1\66"+
+    "\1\67\1\70\1\71\1\72\1\73\3\57\1\74\1\0"+
+    "\1\75\1\76\u0181\0";
 
   private static int [] zzUnpackcmap_blocks() {
     int [] result = new int[512];
@@ -100,14 +107,22 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ACTION = zzUnpackAction();
 
   private static final String ZZ_ACTION_PACKED_0 =
-    "\3\0\1\1\1\2\1\3\1\4\1\5\1\6\1\7"+
+    "\4\0\1\1\1\2\1\3\1\4\1\5\1\6\1\7"+
     "\1\10\1\11\1\12\1\13\1\14\1\15\1\16\1\17"+
-    "\1\20\1\21\1\22\1\2\1\23\1\24\1\25\3\26"+
-    "\1\27\2\30\1\31\1\1\1\32\1\33\1\34\1\35"+
-    "\1\36\1\37\1\40\1\41\2\42\1\43\1\44";
+    "\1\20\1\21\13\22\13\23\1\24\1\25\1\26\3\27"+
+    "\1\30\2\31\1\32\1\1\1\33\2\34\1\35\1\36"+
+    "\1\37\1\40\1\41\1\42\4\22\1\43\1\44\1\45"+
+    "\5\22\1\46\3\22\5\23\1\43\1\44\1\45\5\23"+
+    "\1\46\4\23\1\47\1\50\1\51\2\52\1\53\1\54"+
+    "\2\55\6\22\1\56\1\22\1\57\1\60\3\22\7\23"+
+    "\1\56\1\23\1\57\1\60\4\23\1\61\1\22\1\62"+
+    "\1\63\2\22\1\64\1\65\1\66\1\22\1\61\1\23"+
+    "\1\62\1\63\3\23\1\64\1\65\1\66\1\67\1\23"+
+    "\1\70\2\22\1\71\1\70\1\72\2\23\1\71\1\22"+
+    "\1\73\1\23\1\73\1\22\1\23\2\74";
 
   private static int [] zzUnpackAction() {
-    int [] result = new int[45];
+    int [] result = new int[173];
     int offset = 0;
     offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
     return result;
@@ -132,15 +147,31 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\35\0\72\0\127\0\164\0\127\0\221\0\127"+
-    "\0\127\0\127\0\127\0\256\0\127\0\127\0\313\0\127"+
-    "\0\127\0\350\0\u0105\0\127\0\u0122\0\u013f\0\127\0\127"+
-    "\0\127\0\127\0\u015c\0\u0179\0\u0196\0\127\0\u01b3\0\127"+
-    "\0\u01d0\0\127\0\u01ed\0\127\0\127\0\127\0\127\0\127"+
-    "\0\127\0\127\0\u020a\0\127\0\127";
+    "\0\0\0\77\0\176\0\275\0\374\0\u013b\0\374\0\u017a"+
+    "\0\374\0\374\0\374\0\374\0\u01b9\0\374\0\374\0\u01f8"+
+    "\0\374\0\374\0\u0237\0\u0276\0\374\0\u02b5\0\u02f4\0\u0333"+
+    "\0\u0372\0\u03b1\0\u03f0\0\u042f\0\u046e\0\u04ad\0\u04ec\0\u052b"+
+    "\0\u056a\0\u05a9\0\u05e8\0\u0627\0\u0666\0\u06a5\0\u06e4\0\u0723"+
+    "\0\u0762\0\u07a1\0\u07e0\0\374\0\374\0\374\0\374\0\u081f"+
+    "\0\u085e\0\u089d\0\374\0\u08dc\0\374\0\u091b\0\u095a\0\374"+
+    "\0\u0999\0\u09d8\0\374\0\u0a17\0\374\0\374\0\374\0\u0a56"+
+    "\0\u0a95\0\u0ad4\0\u0b13\0\u02b5\0\u02b5\0\u0b52\0\u0b91\0\u0bd0"+
+    "\0\u0c0f\0\u0c4e\0\u0c8d\0\u02b5\0\u0ccc\0\u0d0b\0\u0d4a\0\u0d89"+
+    "\0\u0dc8\0\u0e07\0\u0e46\0\u0e85\0\u056a\0\u056a\0\u0ec4\0\u0f03"+
+    "\0\u0f42\0\u0f81\0\u0fc0\0\u0fff\0\u056a\0\u103e\0\u107d\0\u10bc"+
+    "\0\u10fb\0\374\0\374\0\374\0\374\0\u113a\0\374\0\374"+
+    "\0\374\0\u1179\0\u11b8\0\u11f7\0\u1236\0\u1275\0\u12b4\0\u12f3"+
+    "\0\u02b5\0\u1332\0\u02b5\0\u02b5\0\u1371\0\u13b0\0\u13ef\0\u142e"+
+    "\0\u146d\0\u14ac\0\u14eb\0\u152a\0\u1569\0\u15a8\0\u056a\0\u15e7"+
+    "\0\u056a\0\u056a\0\u1626\0\u1665\0\u16a4\0\u16e3\0\u02b5\0\u1722"+
+    "\0\u02b5\0\u02b5\0\u1761\0\u17a0\0\u02b5\0\u02b5\0\u02b5\0\u17df"+
+    "\0\u056a\0\u181e\0\u056a\0\u056a\0\u185d\0\u189c\0\u18db\0\u056a"+
+    "\0\u056a\0\u056a\0\u056a\0\u191a\0\u02b5\0\u1959\0\u1998\0\u02b5"+
+    "\0\u056a\0\u056a\0\u19d7\0\u1a16\0\u056a\0\u1a55\0\u02b5\0\u1a94"+
+    "\0\u056a\0\u1ad3\0\u1b12\0\u02b5\0\u056a";
 
   private static int [] zzUnpackRowMap() {
-    int [] result = new int[45];
+    int [] result = new int[173];
     int offset = 0;
     offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
     return result;
@@ -163,22 +194,142 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_TRANS = zzUnpacktrans();
 
   private static final String ZZ_TRANS_PACKED_0 =
-    "\1\4\3\5\1\6\1\7\1\10\1\11\1\12\1\13"+
-    "\1\14\1\15\1\16\2\17\1\20\1\21\1\22\1\23"+
-    "\1\4\1\24\1\25\2\4\1\25\1\26\1\27\1\30"+
-    "\1\31\5\32\1\33\1\32\1\34\25\32\2\35\1\36"+
-    "\1\37\1\40\21\35\1\41\6\35\36\0\3\5\25\0"+
-    "\1\5\12\0\1\42\37\0\1\43\37\0\2\17\30\0"+
-    "\1\44\7\0\1\45\35\0\1\46\26\0\2\25\6\0"+
-    "\1\25\1\0\3\25\4\0\3\5\11\0\2\25\6\0"+
-    "\1\25\1\0\2\25\1\26\12\0\1\47\33\0\1\50"+
-    "\26\0\2\35\3\0\21\35\1\0\6\35\2\0\1\36"+
-    "\32\0\2\51\1\52\1\53\1\54\10\51\1\55\10\51"+
-    "\1\54\1\51\1\54\4\51\2\43\2\0\31\43\2\0"+
-    "\1\52\32\0";
+    "\1\5\3\6\1\7\1\10\1\11\1\12\1\13\1\14"+
+    "\1\15\1\16\1\17\2\20\1\21\1\22\1\23\1\24"+
+    "\1\5\1\25\2\26\1\27\1\26\1\30\1\31\1\26"+
+    "\1\32\1\33\1\34\1\35\1\36\2\26\1\37\2\26"+
+    "\1\40\2\5\2\41\1\42\1\41\1\43\1\44\2\41"+
+    "\1\45\1\46\1\47\1\50\1\51\2\41\1\52\2\41"+
+    "\1\53\1\54\1\55\1\56\5\57\1\60\1\57\1\61"+
+    "\67\57\2\62\1\63\1\64\1\65\42\62\1\66\27\62"+
+    "\2\67\1\70\1\71\1\70\42\67\1\72\27\67\100\0"+
+    "\3\6\102\0\1\73\101\0\1\74\101\0\2\20\72\0"+
+    "\1\75\7\0\1\76\77\0\1\77\70\0\2\26\6\0"+
+    "\22\26\1\0\24\26\20\0\2\26\6\0\1\100\7\26"+
+    "\1\101\11\26\1\0\1\26\1\100\10\26\1\101\11\26"+
+    "\20\0\2\26\6\0\10\26\1\102\4\26\1\103\4\26"+
+    "\1\0\12\26\1\102\4\26\1\103\4\26\20\0\2\26"+
+    "\6\0\7\26\1\104\12\26\1\0\11\26\1\104\12\26"+
+    "\20\0\2\26\6\0\5\26\1\105\3\26\1\106\3\26"+
+    "\1\107\4\26\1\0\6\26\1\105\4\26\1\106\3\26"+
+    "\1\107\4\26\20\0\2\26\6\0\4\26\1\110\5\26"+
+    "\1\111\7\26\1\0\5\26\1\110\6\26\1\111\7\26"+
+    "\20\0\2\26\6\0\4\26\1\112\5\26\1\113\7\26"+
+    "\1\0\5\26\1\112\6\26\1\113\7\26\20\0\2\26"+
+    "\6\0\5\26\1\114\14\26\1\0\6\26\1\114\15\26"+
+    "\20\0\2\26\6\0\12\26\1\115\7\26\1\0\14\26"+
+    "\1\115\7\26\20\0\2\26\6\0\6\26\1\116\13\26"+
+    "\1\0\10\26\1\116\13\26\20\0\2\26\6\0\6\26"+
+    "\1\117\13\26\1\0\10\26\1\117\13\26\20\0\2\41"+
+    "\6\0\22\41\1\0\24\41\20\0\2\41\6\0\1\120"+
+    "\7\41\1\121\11\41\1\0\1\41\1\120\10\41\1\121"+
+    "\11\41\20\0\2\41\6\0\10\41\1\122\4\41\1\123"+
+    "\4\41\1\0\12\41\1\122\4\41\1\123\4\41\20\0"+
+    "\2\41\6\0\1\124\6\41\1\125\12\41\1\0\1\41"+
+    "\1\124\7\41\1\125\12\41\20\0\2\41\6\0\5\41"+
+    "\1\126\3\41\1\127\3\41\1\130\4\41\1\0\6\41"+
+    "\1\126\4\41\1\127\3\41\1\130\4\41\20\0\2\41"+
+    "\6\0\4\41\1\131\5\41\1\132\7\41\1\0\5\41"+
+    "\1\131\6\41\1\132\7\41\20\0\2\41\6\0\4\41"+
+    "\1\133\5\41\1\134\7\41\1\0\5\41\1\133\6\41"+
+    "\1\134\7\41\20\0\2\41\6\0\5\41\1\135\14\41"+
+    "\1\0\6\41\1\135\15\41\20\0\2\41\6\0\12\41"+
+    "\1\136\7\41\1\0\14\41\1\136\7\41\20\0\2\41"+
+    "\6\0\6\41\1\137\5\41\1\140\5\41\1\0\10\41"+
+    "\1\137\5\41\1\140\5\41\20\0\2\41\6\0\6\41"+
+    "\1\141\13\41\1\0\10\41\1\141\13\41\12\0\1\142"+
+    "\75\0\1\143\70\0\2\62\3\0\42\62\1\0\27\62"+
+    "\2\0\1\63\74\0\2\144\1\145\1\146\1\147\10\144"+
+    "\1\150\31\144\1\147\2\144\1\147\3\144\1\147\4\144"+
+    "\1\147\4\144\1\147\6\144\2\67\3\0\42\67\1\0"+
+    "\27\67\2\0\1\70\74\0\3\151\1\152\73\151\2\74"+
+    "\2\0\73\74\15\0\2\26\6\0\15\26\1\153\4\26"+
+    "\1\0\17\26\1\153\4\26\20\0\2\26\6\0\1\154"+
+    "\21\26\1\0\1\26\1\154\22\26\20\0\2\26\6\0"+
+    "\15\26\1\155\4\26\1\0\17\26\1\155\4\26\20\0"+
+    "\2\26\6\0\1\156\21\26\1\0\1\26\1\156\22\26"+
+    "\20\0\2\26\6\0\6\26\1\157\13\26\1\0\10\26"+
+    "\1\157\13\26\20\0\2\26\6\0\20\26\1\160\1\26"+
+    "\1\0\22\26\1\160\1\26\20\0\2\26\6\0\16\26"+
+    "\1\161\3\26\1\0\20\26\1\161\3\26\20\0\2\26"+
+    "\6\0\12\26\1\162\7\26\1\0\14\26\1\162\7\26"+
+    "\20\0\2\26\6\0\21\26\1\163\1\0\23\26\1\163"+
+    "\20\0\2\26\6\0\16\26\1\164\3\26\1\0\20\26"+
+    "\1\164\3\26\20\0\2\26\6\0\12\26\1\165\7\26"+
+    "\1\0\14\26\1\165\7\26\20\0\2\26\6\0\4\26"+
+    "\1\166\15\26\1\0\5\26\1\166\16\26\20\0\2\26"+
+    "\6\0\7\26\1\167\12\26\1\0\11\26\1\167\12\26"+
+    "\20\0\2\41\6\0\15\41\1\170\4\41\1\0\17\41"+
+    "\1\170\4\41\20\0\2\41\6\0\1\171\21\41\1\0"+
+    "\1\41\1\171\22\41\20\0\2\41\6\0\15\41\1\172"+
+    "\4\41\1\0\17\41\1\172\4\41\20\0\2\41\6\0"+
+    "\1\173\21\41\1\0\1\41\1\173\22\41\20\0\2\41"+
+    "\6\0\10\41\1\174\11\41\1\0\12\41\1\174\11\41"+
+    "\20\0\2\41\6\0\6\41\1\175\13\41\1\0\10\41"+
+    "\1\175\13\41\20\0\2\41\6\0\20\41\1\176\1\41"+
+    "\1\0\22\41\1\176\1\41\20\0\2\41\6\0\16\41"+
+    "\1\177\3\41\1\0\20\41\1\177\3\41\20\0\2\41"+
+    "\6\0\12\41\1\200\7\41\1\0\14\41\1\200\7\41"+
+    "\20\0\2\41\6\0\21\41\1\201\1\0\23\41\1\201"+
+    "\20\0\2\41\6\0\16\41\1\202\3\41\1\0\20\41"+
+    "\1\202\3\41\20\0\2\41\6\0\12\41\1\203\7\41"+
+    "\1\0\14\41\1\203\7\41\20\0\2\41\6\0\4\41"+
+    "\1\204\15\41\1\0\5\41\1\204\16\41\20\0\2\41"+
+    "\6\0\17\41\1\205\2\41\1\0\21\41\1\205\2\41"+
+    "\20\0\2\41\6\0\7\41\1\206\12\41\1\0\11\41"+
+    "\1\206\12\41\5\0\1\145\76\0\1\151\111\0\2\26"+
+    "\6\0\4\26\1\207\15\26\1\0\5\26\1\207\16\26"+
+    "\20\0\2\26\6\0\15\26\1\210\4\26\1\0\17\26"+
+    "\1\210\4\26\20\0\2\26\6\0\4\26\1\211\15\26"+
+    "\1\0\5\26\1\211\16\26\20\0\2\26\6\0\2\26"+
+    "\1\212\17\26\1\0\3\26\1\212\20\26\20\0\2\26"+
+    "\6\0\4\26\1\213\15\26\1\0\5\26\1\213\16\26"+
+    "\20\0\2\26\6\0\12\26\1\214\7\26\1\0\14\26"+
+    "\1\214\7\26\20\0\2\26\6\0\13\26\1\215\6\26"+
+    "\1\0\15\26\1\215\6\26\20\0\2\26\6\0\10\26"+
+    "\1\216\11\26\1\0\12\26\1\216\11\26\20\0\2\26"+
+    "\6\0\11\26\1\217\10\26\1\0\13\26\1\217\10\26"+
+    "\20\0\2\26\6\0\10\26\1\220\11\26\1\0\12\26"+
+    "\1\220\11\26\20\0\2\41\6\0\4\41\1\221\15\41"+
+    "\1\0\5\41\1\221\16\41\20\0\2\41\6\0\15\41"+
+    "\1\222\4\41\1\0\17\41\1\222\4\41\20\0\2\41"+
+    "\6\0\4\41\1\223\15\41\1\0\5\41\1\223\16\41"+
+    "\20\0\2\41\6\0\2\41\1\224\17\41\1\0\3\41"+
+    "\1\224\20\41\20\0\2\41\6\0\15\41\1\225\4\41"+
+    "\1\0\17\41\1\225\4\41\20\0\2\41\6\0\4\41"+
+    "\1\226\15\41\1\0\5\41\1\226\16\41\20\0\2\41"+
+    "\6\0\12\41\1\227\7\41\1\0\14\41\1\227\7\41"+
+    "\20\0\2\41\6\0\13\41\1\230\6\41\1\0\15\41"+
+    "\1\230\6\41\20\0\2\41\6\0\10\41\1\231\11\41"+
+    "\1\0\12\41\1\231\11\41\20\0\2\41\6\0\11\41"+
+    "\1\232\10\41\1\0\13\41\1\232\10\41\20\0\2\41"+
+    "\6\0\4\41\1\233\15\41\1\0\5\41\1\233\16\41"+
+    "\20\0\2\41\6\0\10\41\1\234\11\41\1\0\12\41"+
+    "\1\234\11\41\20\0\2\26\6\0\15\26\1\235\4\26"+
+    "\1\0\17\26\1\235\4\26\20\0\2\26\6\0\14\26"+
+    "\1\236\5\26\1\0\16\26\1\236\5\26\20\0\2\26"+
+    "\6\0\7\26\1\237\12\26\1\0\11\26\1\237\12\26"+
+    "\20\0\2\26\6\0\4\26\1\240\15\26\1\0\5\26"+
+    "\1\240\16\26\20\0\2\41\6\0\15\41\1\241\4\41"+
+    "\1\0\17\41\1\241\4\41\20\0\2\41\6\0\4\41"+
+    "\1\242\15\41\1\0\5\41\1\242\16\41\20\0\2\41"+
+    "\6\0\14\41\1\243\5\41\1\0\16\41\1\243\5\41"+
+    "\20\0\2\41\6\0\7\41\1\244\12\41\1\0\11\41"+
+    "\1\244\12\41\20\0\2\41\6\0\4\41\1\245\15\41"+
+    "\1\0\5\41\1\245\16\41\20\0\2\26\6\0\7\26"+
+    "\1\246\12\26\1\0\11\26\1\246\12\26\20\0\2\26"+
+    "\6\0\3\26\1\247\16\26\1\0\4\26\1\247\17\26"+
+    "\20\0\2\41\6\0\7\41\1\250\12\41\1\0\11\41"+
+    "\1\250\12\41\20\0\2\41\6\0\3\41\1\251\16\41"+
+    "\1\0\4\41\1\251\17\41\20\0\2\26\6\0\16\26"+
+    "\1\252\3\26\1\0\20\26\1\252\3\26\20\0\2\41"+
+    "\6\0\16\41\1\253\3\41\1\0\20\41\1\253\3\41"+
+    "\20\0\2\26\6\0\15\26\1\254\4\26\1\0\17\26"+
+    "\1\254\4\26\20\0\2\41\6\0\15\41\1\255\4\41"+
+    "\1\0\17\41\1\255\4\41\3\0";
 
   private static int [] zzUnpacktrans() {
-    int [] result = new int[551];
+    int [] result = new int[6993];
     int offset = 0;
     offset = zzUnpacktrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -221,12 +372,13 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
-    "\3\0\1\11\1\1\1\11\1\1\4\11\1\1\2\11"+
-    "\1\1\2\11\2\1\1\11\2\1\4\11\3\1\1\11"+
-    "\1\1\1\11\1\1\1\11\1\1\7\11\1\1\2\11";
+    "\4\0\1\11\1\1\1\11\1\1\4\11\1\1\2\11"+
+    "\1\1\2\11\2\1\1\11\26\1\4\11\3\1\1\11"+
+    "\1\1\1\11\2\1\1\11\2\1\1\11\1\1\3\11"+
+    "\42\1\4\11\1\1\3\11\104\1";
 
   private static int [] zzUnpackAttribute() {
-    int [] result = new int[45];
+    int [] result = new int[173];
     int offset = 0;
     offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
     return result;
@@ -292,7 +444,6 @@ public class Lexer implements java_cup.runtime.Scanner {
   private int yycolumn;
 
   /** Number of characters up to the start of the matched text. */
-  @SuppressWarnings("unused")
   private long yychar;
 
   /** Whether the scanner is currently at the beginning of a line. */
@@ -311,99 +462,173 @@ public class Lexer implements java_cup.runtime.Scanner {
     private StringBuilder commentBuffer = new StringBuilder();
     private StringBuilder stringBuffer = new StringBuilder();
 
+    // Início da string corrente (posição do '"' de abertura)
+    private int stringStart, stringLine, stringColumn;
+
+    // Modo só-léxico: quando tokens != null, os tokens vão para o buffer e
+    // next_token() devolve sempre o mesmo Symbol marcador (sem alocação)
+    private TokenBuffer tokens;
+    private final Symbol marker = new Symbol(sym.error);
+
     // Métodos auxiliares para o JCup
     // Cria um símbolo sem valor
     private Symbol symbol(int type) {
+        if (tokens != null) {
+            return record(type, (int) yychar, yylength(), yyline + 1, yycolumn + 1, 0);
+        }
         return new Symbol(type, yyline + 1, yycolumn + 1);
     }
 
-    // Cria um símbolo com valor
-    private Symbol symbol(int type, Object value) {
+    // Cria um símbolo cujo valor é uma entrada de idtable/stringtable
+    private Symbol symbol(int type, AbstractSymbol value) {
+        if (tokens != null) {
+            return record(type, (int) yychar, yylength(), yyline + 1, yycolumn + 1, value.getIndex());
+        }
         return new Symbol(type, yyline + 1, yycolumn + 1, value);
     }
 
-    // HashMap de Keywords
-    private static final Map<String, Integer> KEYWORDS = new HashMap<>();
-    static {
-       KEYWORDS.put("class", sym.CLASS);
-       KEYWORDS.put("else", sym.ELSE);
-       KEYWORDS.put("fi", sym.FI);
-       KEYWORDS.put("if", sym.IF);
-       KEYWORDS.put("in", sym.IN);
-       KEYWORDS.put("inherits", sym.INHERITS);
-       KEYWORDS.put("isvoid", sym.ISVOID);
-       KEYWORDS.put("let", sym.LET);
-       KEYWORDS.put("loop", sym.LOOP);
-       KEYWORDS.put("pool", sym.POOL);
-       KEYWORDS.put("then", sym.THEN);
-       KEYWORDS.put("while", sym.WHILE);
-       KEYWORDS.put("case", sym.CASE);
-       KEYWORDS.put("esac", sym.ESAC);
-       KEYWORDS.put("new", sym.NEW);
-       KEYWORDS.put("of", sym.OF);
-       KEYWORDS.put("not", sym.NOT);
-       // True e False tem um tratamento exclusivo mas são mapeados aqui para referência
-       KEYWORDS.put("true", sym.TRUE);
-       KEYWORDS.put("false", sym.FALSE);
+    // Cria um símbolo booleano
+    private Symbol symbol(int type, Boolean value) {
+        if (tokens != null) {
+            return record(type, (int) yychar, yylength(), yyline + 1, yycolumn + 1, value ? 1 : 0);
+        }
+        return new Symbol(type, yyline + 1, yycolumn + 1, value);
     }
 
-    // Exceptions
-    public class LexicalException extends RuntimeException {
-       private static final long serialVersionUID = 1L;
-       public LexicalException(String message) { super(message); }
+    // Cria um INT_CONST; o valor só é encaixotado fora do modo só-léxico
+    private Symbol intSymbol(int value) {
+        if (tokens != null) {
+            return record(sym.INT_CONST, (int) yychar, yylength(), yyline + 1, yycolumn + 1, value);
+        }
+        return new Symbol(sym.INT_CONST, yyline + 1, yycolumn + 1, Integer.valueOf(value));
     }
 
-    public class StringTooLongException extends LexicalException {
-       private static final long serialVersionUID = 1L;
-       public StringTooLongException(String message) { super(message); }
+    // Cria o STR_CONST na posição do '"' de abertura
+    private Symbol stringSymbol() {
+        StringSymbol value = stringConstant();
+        if (tokens != null) {
+            int end = (int) yychar + yylength();
+            return record(sym.STR_CONST, stringStart, end - stringStart, stringLine, stringColumn, value.getIndex());
+        }
+        return new Symbol(sym.STR_CONST, stringLine, stringColumn, value);
     }
 
-    public class UnterminatedStringException extends LexicalException {
-       private static final long serialVersionUID = 1L;
-       public UnterminatedStringException(String message) { super(message); }
+    // Token ERROR: registra o diagnóstico e devolve a mensagem como valor,
+    // para o parser entrar em recuperação sem relatar o erro de novo
+    private Symbol error(Diagnostic.Code code, String message) {
+        diagnostics.error(code, fileName, yyline + 1, yycolumn + 1, message);
+        if (tokens != null) {
+            return record(sym.ERROR, (int) yychar, yylength(), yyline + 1, yycolumn + 1, tokens.addError(message));
+        }
+        return new Symbol(sym.ERROR, yyline + 1, yycolumn + 1, message);
     }
 
-    public class NullCharInStringException extends LexicalException {
-        private static final long serialVersionUID = 1L;
-        public NullCharInStringException(String message) { super(message); }
+    private Symbol record(int type, int start, int length, int line, int column, int value) {
+        tokens.add(type, start, length, line, column, value);
+        marker.sym = type;
+        return marker;
     }
 
-    public class UnterminatedCommentException extends LexicalException {
-       private static final long serialVersionUID = 1L;
-       public UnterminatedCommentException(String message) { super(message); }
+    /**
+     * Lê toda a entrada para {@code into}, sem criar um {@link Symbol} por token.
+     * O EOF não é gravado como token; só a sua posição, em {@link TokenBuffer#eofLine()}.
+     */
+    public TokenBuffer lexAll(TokenBuffer into) throws java.io.IOException {
+        tokens = into;
+        try {
+            Symbol s;
+            while ((s = next_token()).sym != sym.EOF) {
+                // os tokens já foram gravados em "into"
+            }
+            into.setEof(s.left, s.right);
+        } finally {
+            tokens = null;
+        }
+        return into;
     }
 
-    public class InvalidCharException extends LexicalException {
-       private static final long serialVersionUID = 1L;
-       public InvalidCharException(String message) { super(message); }
+    /** Lexer sobre o conteúdo já carregado de um arquivo. */
+    public Lexer(SourceFile source) {
+        this(java.io.Reader.nullReader());
+        yyreset(source.chars(), source.length());
     }
 
-    public class IntegerOutOfRangeException extends LexicalException {
-       private static final long serialVersionUID = 1L;
-       public IntegerOutOfRangeException(String message) { super(message); }
+    /**
+     * Reinicia o lexer sobre uma entrada inteira em memória. O vetor vira o
+     * próprio buffer do JFlex (sem cópia e sem ser alterado) e, como o fim da
+     * entrada já é conhecido, o zzRefill nunca é chamado.
+     */
+    public void yyreset(char[] chars, int length) {
+        yyreset(java.io.Reader.nullReader());
+        zzBuffer = chars;
+        zzEndRead = length;
+        zzAtEOF = true;
+        commentDepth = 0;
+        tokens = null;
     }
 
-    // Escape de strings
-    private String unescape(String s) {
-       StringBuilder sb = new StringBuilder();
-       for (int i = 0; i < s.length(); i++) {
-          char c = s.charAt(i);
-          if (c == '\\' && i + 1 < s.length()) {
-             char nxt = s.charAt(++i);
-             switch (nxt) {
-             case 'n': sb.append('\n'); break;
-             case 't': sb.append('\t'); break;
-             case 'b': sb.append('\b'); break;
-             case 'f': sb.append('\f'); break;
-             case '"': sb.append('"'); break;
-             case '\\': sb.append('\\'); break;
-             default: sb.append(c); break; // Fallback
-             }
-          } else {
-             sb.append(c);
-          }
+    // Converte os dígitos do lexema atual sem criar String
+    private Symbol intConstant() {
+        long value = 0;
+        for (int i = zzStartRead; i < zzMarkedPos; i++) {
+            value = value * 10 + (zzBuffer[i] - '0');
+            if (value > Integer.MAX_VALUE) {
+                return error(Diagnostic.Code.INTEGER_OUT_OF_RANGE, "Inteiro fora do intervalo 32 bits na linha " + (yyline + 1));
+            }
+        }
+        return intSymbol((int) value);
+    }
+
+    // Destino dos erros léxicos
+    private Diagnostics diagnostics = new Diagnostics();
+    private String fileName;
+
+    public void setDiagnostics(Diagnostics diagnostics, String fileName) {
+        this.diagnostics = diagnostics;
+        this.fileName = fileName;
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    // Escape de strings: caractere representado por \c
+    private static char escape(char c) {
+       switch (c) {
+       case 'n': return '\n';
+       case 't': return '\t';
+       case 'b': return '\b';
+       case 'f': return '\f';
+       default: return c; // \" e \\ (e qualquer outro) viram o próprio caractere
        }
-       return sb.toString();
+    }
+
+    // Cache local de identificadores (mapeamento direto pelo hash). Um acerto
+    // devolve o símbolo sem criar String e sem passar pelo lock da idtable.
+    private static final int ID_CACHE_SIZE = 512;
+    private final IdSymbol[] idCache = new IdSymbol[ID_CACHE_SIZE];
+
+    // Símbolo internado do lexema atual, lido direto do buffer do JFlex
+    private IdSymbol identifier() {
+       int len = zzMarkedPos - zzStartRead;
+       int hash = AbstractTable.hash(zzBuffer, zzStartRead, len);
+       int slot = (hash ^ (hash >>> 16)) & (ID_CACHE_SIZE - 1);
+       IdSymbol cached = idCache[slot];
+       if (cached != null && cached.equalsChars(zzBuffer, zzStartRead, len)) {
+          return cached;
+       }
+       IdSymbol sym = AbstractTable.idtable.addChars(zzBuffer, zzStartRead, len, hash);
+       idCache[slot] = sym;
+       return sym;
+    }
+
+    // Área de trabalho para internar a string acumulada sem toString()
+    private final char[] stringChars = new char[STRING_MAX_LENGTH];
+
+    private StringSymbol stringConstant() {
+       int len = stringBuffer.length();
+       stringBuffer.getChars(0, len, stringChars, 0);
+       return AbstractTable.stringtable.addChars(stringChars, 0, len);
     }
 
 
@@ -706,6 +931,8 @@ public class Lexer implements java_cup.runtime.Scanner {
     while (true) {
       zzMarkedPosL = zzMarkedPos;
 
+      yychar+= zzMarkedPosL-zzStartRead;
+
       boolean zzR = false;
       int zzCh;
       int zzCharCount;
@@ -823,216 +1050,245 @@ public class Lexer implements java_cup.runtime.Scanner {
       // store back cached position
       zzMarkedPos = zzMarkedPosL;
 
-      if (zzInput == YYEOF && zzStartRead == zzCurrentPos) {
+      // Usa a posição local: com a entrada inteira em memória (zzAtEOF já
+      // verdadeiro desde o início) o campo zzCurrentPos não é atualizado
+      if (zzInput == YYEOF && zzStartRead == zzCurrentPosL) {
         zzAtEOF = true;
             zzDoEOF();
             switch (zzLexicalState) {
             case COMMENT: {
-              throw new UnterminatedCommentException("Comentário de bloco não terminado (EOF dentro de (* ... *))");
+              yybegin(YYINITIAL);
+        return error(Diagnostic.Code.UNTERMINATED_COMMENT, "Comentário de bloco não terminado (EOF dentro de (* ... *))");
             }  // fall though
-            case 46: break;
+            case 174: break;
             case STRING: {
-              throw new UnterminatedStringException("EOF dentro de string na linha " + (yyline+1));
+              yybegin(YYINITIAL);
+        return error(Diagnostic.Code.UNTERMINATED_STRING, "EOF dentro de string na linha " + (yyline+1));
             }  // fall though
-            case 47: break;
+            case 175: break;
+            case STRING_SKIP: {
+              yybegin(YYINITIAL); return new Symbol(sym.EOF, yyline + 1, yycolumn + 1);
+            }  // fall though
+            case 176: break;
             default:
-          { return new java_cup.runtime.Symbol(sym.EOF); }
+          {     return new Symbol(sym.EOF, yyline + 1, yycolumn + 1);
+ }
         }
       }
       else {
         switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
           case 1:
-            { throw new InvalidCharException("Caractere inválido: " + yytext() + " na linha " + (yyline+1));
+            { return error(Diagnostic.Code.INVALID_CHAR, "Caractere inválido: " + yytext() + " na linha " + (yyline+1));
             }
           // fall through
-          case 37: break;
+          case 61: break;
           case 2:
-            { /* Não retorna nada, apenas consome */
+            { /* Não retorna nada, apenas consome (\u000B: tabulação vertical) */
             }
           // fall through
-          case 38: break;
+          case 62: break;
           case 3:
             { stringBuffer.setLength(0);
+        stringStart = (int) yychar;
+        stringLine = yyline + 1;
+        stringColumn = yycolumn + 1;
         yybegin(STRING);
             }
           // fall through
-          case 39: break;
+          case 63: break;
           case 4:
             { return symbol(sym.LPAREN);
             }
           // fall through
-          case 40: break;
+          case 64: break;
           case 5:
             { return symbol(sym.RPAREN);
             }
           // fall through
-          case 41: break;
+          case 65: break;
           case 6:
             { return symbol(sym.MULT);
             }
           // fall through
-          case 42: break;
+          case 66: break;
           case 7:
             { return symbol(sym.PLUS);
             }
           // fall through
-          case 43: break;
+          case 67: break;
           case 8:
             { return symbol(sym.COMMA);
             }
           // fall through
-          case 44: break;
+          case 68: break;
           case 9:
             { return symbol(sym.MINUS);
             }
           // fall through
-          case 45: break;
+          case 69: break;
           case 10:
             { return symbol(sym.DOT);
             }
           // fall through
-          case 46: break;
+          case 70: break;
           case 11:
             { return symbol(sym.DIV);
             }
           // fall through
-          case 47: break;
+          case 71: break;
           case 12:
-            { try {
-            // Retorna INT_CONST com o valor inteiro
-            return symbol(sym.INT_CONST, Integer.parseInt(yytext()));
-        } catch (NumberFormatException e) {
-            throw new IntegerOutOfRangeException("Inteiro fora do intervalo 32 bits na linha " + (yyline + 1));
-        }
+            { // Retorna INT_CONST com o valor inteiro
+        return intConstant();
             }
           // fall through
-          case 48: break;
+          case 72: break;
           case 13:
             { return symbol(sym.COLON);
             }
           // fall through
-          case 49: break;
+          case 73: break;
           case 14:
             { return symbol(sym.SEMI);
             }
           // fall through
-          case 50: break;
+          case 74: break;
           case 15:
             { return symbol(sym.LT);
             }
           // fall through
-          case 51: break;
+          case 75: break;
           case 16:
             { return symbol(sym.EQ);
             }
           // fall through
-          case 52: break;
+          case 76: break;
           case 17:
             { return symbol(sym.AT);
             }
           // fall through
-          case 53: break;
+          case 77: break;
           case 18:
-            { String text = yytext();
-        String lowerText = text.toLowerCase();
-        Integer symCode = KEYWORDS.get(lowerText);
-
-        // Case Sensitive para TRUE/FALSE na primeira letra para ser keyword
-        if (symCode != null && (symCode == sym.TRUE || symCode == sym.FALSE)) {
-            if (Character.isLowerCase(text.charAt(0))) {
-                return symbol(symCode, symCode == sym.TRUE);
-            }
-            return symbol(sym.TYPEID, text);
-        }
-
-        // Keywords Case Insensitive
-        if (symCode != null) {
-            return symbol(symCode);
-        }
-
-        // Se não é keyword, verifica se é TypeId ou ObjectId
-        if (Character.isUpperCase(text.charAt(0))) {
-            return symbol(sym.TYPEID, text);
-        } else {
-            return symbol(sym.ID, text);
-        }
+            { return symbol(sym.TYPEID, identifier());
             }
           // fall through
-          case 54: break;
+          case 78: break;
           case 19:
-            { return symbol(sym.LBRACE);
+            { return symbol(sym.ID, identifier());
             }
           // fall through
-          case 55: break;
+          case 79: break;
           case 20:
-            { return symbol(sym.RBRACE);
+            { return symbol(sym.LBRACE);
             }
           // fall through
-          case 56: break;
+          case 80: break;
           case 21:
-            { return symbol(sym.NEG);
+            { return symbol(sym.RBRACE);
             }
           // fall through
-          case 57: break;
+          case 81: break;
           case 22:
-            { /* Consome qualquer outro caractere dentro do comentário */
+            { return symbol(sym.NEG);
             }
           // fall through
-          case 58: break;
+          case 82: break;
           case 23:
-            { if (stringBuffer.length() + yytext().length() > STRING_MAX_LENGTH) {
-           throw new StringTooLongException("String excede 1024 caracteres na linha " + (yyline+1));
-        }
-        stringBuffer.append(yytext());
+            { /* Consome qualquer outro caractere dentro do comentário */
             }
           // fall through
-          case 59: break;
+          case 83: break;
           case 24:
-            { throw new UnterminatedStringException("String não terminada (quebra de linha sem escape) na linha " + (yyline+1));
+            { if (stringBuffer.length() + yylength() > STRING_MAX_LENGTH) {
+           yybegin(STRING_SKIP);
+           return error(Diagnostic.Code.STRING_TOO_LONG, "String excede 1024 caracteres na linha " + (yyline+1));
+        }
+        stringBuffer.append(zzBuffer, zzStartRead, yylength());
             }
           // fall through
-          case 60: break;
+          case 84: break;
           case 25:
-            { yybegin(YYINITIAL);
-        return symbol(sym.STR_CONST, stringBuffer.toString());
+            { // Retoma na linha seguinte, como se a string tivesse terminado aqui
+        yybegin(YYINITIAL);
+        return error(Diagnostic.Code.UNTERMINATED_STRING, "String não terminada (quebra de linha sem escape) na linha " + (yyline+1));
             }
           // fall through
-          case 61: break;
+          case 85: break;
           case 26:
+            { yybegin(YYINITIAL);
+        return stringSymbol();
+            }
+          // fall through
+          case 86: break;
+          case 27:
+            { /* Descarta */
+            }
+          // fall through
+          case 87: break;
+          case 28:
+            { yybegin(YYINITIAL);
+            }
+          // fall through
+          case 88: break;
+          case 29:
+            { /* Barra invertida no fim da entrada */
+            }
+          // fall through
+          case 89: break;
+          case 30:
             { commentDepth = 1;
         commentBuffer.setLength(0);
         commentBuffer.append(yytext());
         yybegin(COMMENT);
             }
           // fall through
-          case 62: break;
-          case 27:
+          case 90: break;
+          case 31:
             { /* Ignorar */
             }
           // fall through
-          case 63: break;
-          case 28:
+          case 91: break;
+          case 32:
             { return symbol(sym.ASSIGN);
             }
           // fall through
-          case 64: break;
-          case 29:
+          case 92: break;
+          case 33:
             { return symbol(sym.LE);
             }
           // fall through
-          case 65: break;
-          case 30:
+          case 93: break;
+          case 34:
             { return symbol(sym.DARROW);
             }
           // fall through
-          case 66: break;
-          case 31:
+          case 94: break;
+          case 35:
+            { return symbol(sym.FI);
+            }
+          // fall through
+          case 95: break;
+          case 36:
+            { return symbol(sym.IF);
+            }
+          // fall through
+          case 96: break;
+          case 37:
+            { return symbol(sym.IN);
+            }
+          // fall through
+          case 97: break;
+          case 38:
+            { return symbol(sym.OF);
+            }
+          // fall through
+          case 98: break;
+          case 39:
             { commentDepth++;
         commentBuffer.append(yytext());
             }
           // fall through
-          case 67: break;
-          case 32:
+          case 99: break;
+          case 40:
             { commentDepth--;
         commentBuffer.append(yytext());
         if (commentDepth == 0) {
@@ -1040,36 +1296,117 @@ public class Lexer implements java_cup.runtime.Scanner {
         }
             }
           // fall through
-          case 68: break;
-          case 33:
+          case 100: break;
+          case 41:
             { // Sequência de escape desconhecida (ex: \c vira apenas o caractere (c))
         if (stringBuffer.length() + 1 > STRING_MAX_LENGTH) {
-           throw new StringTooLongException("String excede 1024 caracteres na linha " + (yyline+1));
+           yybegin(STRING_SKIP);
+           return error(Diagnostic.Code.STRING_TOO_LONG, "String excede 1024 caracteres na linha " + (yyline+1));
         }
-        String t = yytext();
-        stringBuffer.append(t.charAt(1));
+        stringBuffer.append(yycharat(1));
             }
           // fall through
-          case 69: break;
-          case 34:
+          case 101: break;
+          case 42:
             { // Linha continuada com \ no final: apenas ignora a quebra no valor da string
             }
           // fall through
-          case 70: break;
-          case 35:
-            { String t = unescape(yytext());
-        if (stringBuffer.length() + t.length() > STRING_MAX_LENGTH) {
-           throw new StringTooLongException("String excede 1024 caracteres na linha " + (yyline+1));
+          case 102: break;
+          case 43:
+            { if (stringBuffer.length() + 1 > STRING_MAX_LENGTH) {
+           yybegin(STRING_SKIP);
+           return error(Diagnostic.Code.STRING_TOO_LONG, "String excede 1024 caracteres na linha " + (yyline+1));
         }
-        stringBuffer.append(t);
+        stringBuffer.append(escape(yycharat(1)));
             }
           // fall through
-          case 71: break;
-          case 36:
-            { throw new NullCharInStringException("String contém \\0 na linha " + (yyline+1));
+          case 103: break;
+          case 44:
+            { yybegin(STRING_SKIP);
+        return error(Diagnostic.Code.NULL_CHAR_IN_STRING, "String contém \\0 na linha " + (yyline+1));
             }
           // fall through
-          case 72: break;
+          case 104: break;
+          case 45:
+            { /* Escape dentro da string descartada */
+            }
+          // fall through
+          case 105: break;
+          case 46:
+            { return symbol(sym.LET);
+            }
+          // fall through
+          case 106: break;
+          case 47:
+            { return symbol(sym.NEW);
+            }
+          // fall through
+          case 107: break;
+          case 48:
+            { return symbol(sym.NOT);
+            }
+          // fall through
+          case 108: break;
+          case 49:
+            { return symbol(sym.CASE);
+            }
+          // fall through
+          case 109: break;
+          case 50:
+            { return symbol(sym.ELSE);
+            }
+          // fall through
+          case 110: break;
+          case 51:
+            { return symbol(sym.ESAC);
+            }
+          // fall through
+          case 111: break;
+          case 52:
+            { return symbol(sym.LOOP);
+            }
+          // fall through
+          case 112: break;
+          case 53:
+            { return symbol(sym.POOL);
+            }
+          // fall through
+          case 113: break;
+          case 54:
+            { return symbol(sym.THEN);
+            }
+          // fall through
+          case 114: break;
+          case 55:
+            { return symbol(sym.TRUE, Boolean.TRUE);
+            }
+          // fall through
+          case 115: break;
+          case 56:
+            { return symbol(sym.CLASS);
+            }
+          // fall through
+          case 116: break;
+          case 57:
+            { return symbol(sym.WHILE);
+            }
+          // fall through
+          case 117: break;
+          case 58:
+            { return symbol(sym.FALSE, Boolean.FALSE);
+            }
+          // fall through
+          case 118: break;
+          case 59:
+            { return symbol(sym.ISVOID);
+            }
+          // fall through
+          case 119: break;
+          case 60:
+            { return symbol(sym.INHERITS);
+            }
+          // fall through
+          case 120: break;
           default:
             zzScanError(ZZ_NO_MATCH);
         }
@@ -1,14 +1,213 @@
 package compiler;
 
-import java.io.FileReader;
-import java_cup.runtime.Symbol;
+import compiler.ast.Program;
+import compiler.interp.CoolRuntimeException;
+import compiler.interp.Interpreter;
+import compiler.jvm.JvmBackend;
+import compiler.mips.CodeGen;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 public class Main {
+
+    private static final String USAGE = ""
+            + "Uso: Main [opções] arquivo.cl|diretório ...\n"
+            + "  --trace        imprime o rastro de cada redução do parser\n"
+            + "  -j, --jobs N   número de arquivos analisados em paralelo (padrão: núcleos)\n"
+            + "  --stats        mede tempo, CPU, alocação e contagens de cada fase\n"
+            + "  --stats-json ARQ  grava as medidas em JSON (\"-\" para a saída padrão)\n"
+            + "  --daemon       atende pedidos \"check ARQ...\" pela entrada padrão (ver CompileDaemon)\n"
+            + "  --socket ARQ   com --daemon, atende pelo socket Unix ARQ\n"
+            + "  --cache        reaproveita as ASTs de arquivos não alterados (em target/cool-cache)\n"
+            + "  --cache-dir D  como --cache, com o cache no diretório D\n"
+            + "  --run          executa o programa (Main.main) depois da verificação\n"
+            + "  --jvm          como --run, mas compilando o programa para bytecode da JVM\n"
+            + "  --mips ARQ     grava o programa em assembly MIPS (SPIM) em ARQ (\"-\" para a saída padrão)\n"
+            + "  -h, --help     mostra esta ajuda\n"
+            + "Sem arquivos, pergunta o número de um teste de src/test/resources/cool.";
+
     public static void main(String[] args) {
+        // Opções da linha de comando (ver USAGE)
+        boolean trace = false;
+        boolean stats = false;
+        String statsJson = null;
+        boolean daemon = false;
+        boolean run = false;
+        boolean jvm = false;
+        String mips = null;
+        Path cacheDir = null;
+        String socket = null;
+        int jobs = Runtime.getRuntime().availableProcessors();
+        List<String> inputs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--trace":
+                trace = true;
+                break;
+            case "--stats":
+                stats = true;
+                break;
+            case "--stats-json":
+                if (i + 1 >= args.length) {
+                    System.err.println("Faltou o arquivo depois de --stats-json");
+                    System.exit(2);
+                }
+                statsJson = args[++i];
+                break;
+            case "--cache":
+                cacheDir = AstCache.DEFAULT_DIR;
+                break;
+            case "--cache-dir":
+                if (i + 1 >= args.length) {
+                    System.err.println("Faltou o diretório depois de --cache-dir");
+                    System.exit(2);
+                }
+                cacheDir = Paths.get(args[++i]);
+                break;
+            case "--run":
+                run = true;
+                break;
+            case "--jvm":
+                run = true;
+                jvm = true;
+                break;
+            case "--mips":
+                if (i + 1 >= args.length) {
+                    System.err.println("Faltou o arquivo depois de --mips");
+                    System.exit(2);
+                }
+                mips = args[++i];
+                break;
+            case "--daemon":
+                daemon = true;
+                break;
+            case "--socket":
+                if (i + 1 >= args.length) {
+                    System.err.println("Faltou o caminho depois de --socket");
+                    System.exit(2);
+                }
+                socket = args[++i];
+                break;
+            case "-j":
+            case "--jobs":
+                if (i + 1 >= args.length) {
+                    System.err.println("Faltou o número de threads depois de " + args[i]);
+                    System.exit(2);
+                }
+                try {
+                    jobs = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Número de threads inválido: " + args[i]);
+                    System.exit(2);
+                }
+                break;
+            case "-h":
+            case "--help":
+                System.out.println(USAGE);
+                return;
+            default:
+                inputs.add(args[i]);
+            }
+        }
+
+        if (daemon) {
+            Driver driver = new Driver(jobs, false);
+            if (cacheDir != null) {
+                driver.setCache(new AstCache(cacheDir));
+            }
+            runDaemon(driver, socket);
+            return;
+        }
+
+        if (inputs.isEmpty()) {
+            Path inputPath = askTestFile();
+            if (inputPath == null) {
+                return;
+            }
+            inputs.add(inputPath.toString());
+        }
+
+        List<Path> files;
+        try {
+            files = Driver.collectSources(inputs);
+        } catch (IOException e) {
+            System.err.println("Erro ao listar os arquivos de entrada: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        boolean measure = stats || statsJson != null;
+        Driver driver = new Driver(jobs, trace, measure);
+        if (cacheDir != null) {
+            driver.setCache(new AstCache(cacheDir));
+        }
+        System.exit(compile(files, driver, stats, statsJson, run, jvm, mips) ? 0 : 1);
+    }
+
+    private static void runDaemon(Driver driver, String socket) {
+        CompileDaemon server = new CompileDaemon(driver);
+        try {
+            if (socket == null) {
+                server.serveStdio();
+            } else {
+                System.err.println("Daemon escutando em " + socket);
+                server.serveSocket(Paths.get(socket));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro no daemon: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /* Resumo legível das medidas, somadas sobre todos os arquivos, e das fases do programa inteiro */
+    private static void printStats(List<Driver.FileResult> results, CompileStats passes, long wallNanos) {
+        System.err.printf("%n%-10s %12s %12s %14s %14s%n", "fase", "relógio ms", "CPU ms", "alocado KiB", "itens");
+        for (CompileStats.Phase p : Driver.totalStats(results, passes).phases()) {
+            System.err.printf("%-10s %12.2f %12.2f %14d %14d %s%n", p.name, p.wallNanos / 1e6,
+                    p.cpuNanos / 1e6, p.allocatedBytes < 0 ? -1 : p.allocatedBytes / 1024, p.items, p.unit);
+        }
+        System.err.printf("total: %.2f ms de relógio para %d arquivo(s)%n", wallNanos / 1e6, results.size());
+    }
+
+    private static void reportStats(List<Driver.FileResult> results, CompileStats passes, long wallNanos,
+            boolean stats, String statsJson) {
+        if (stats) {
+            printStats(results, passes, wallNanos);
+        }
+        if (statsJson != null) {
+            writeStatsJson(statsJson, Driver.statsJson(results, passes, wallNanos));
+        }
+    }
+
+    private static void writeStatsJson(String target, String json) {
+        if (target.equals("-")) {
+            System.out.println(json);
+            return;
+        }
+        try {
+            Files.writeString(Paths.get(target), json + "\n");
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar " + target + ": " + e.getMessage());
+        }
+    }
+
+    /* Modo interativo: escolhe um dos testes pelo número */
+    private static Path askTestFile() {
         Scanner console = new Scanner(System.in);
 
         System.out.print("Digite o número do teste que deseja executar: ");
@@ -19,7 +218,7 @@ public class Main {
             testNumber = Integer.parseInt(input);
         } catch (NumberFormatException e) {
             System.err.println("Entrada inválida. O programa espera um número inteiro.");
-            return;
+            return null;
         }
 
         String fileName = "test" + testNumber + ".cl";
@@ -28,29 +227,104 @@ public class Main {
         if (!Files.exists(inputPath)) {
             System.err.println("Arquivo não encontrado: " + inputPath.toAbsolutePath());
             System.err.println("Verifique se você criou o arquivo " + fileName + " na pasta src/test/resources/cool/");
-            return;
+            return null;
         }
+        return inputPath;
+    }
 
-        System.out.println("\n-----------------------------------------");
-        System.out.println("Lendo arquivo: " + fileName);
-        System.out.println("-----------------------------------------");
+    private static boolean compile(List<Path> files, Driver driver, boolean stats, String statsJson,
+            boolean run, boolean jvm, String mips) {
+        // Quando a saída padrão leva dados (JSON, assembly ou a saída do programa), as mensagens vão para stderr
+        boolean dataOnStdout = run || "-".equals(statsJson) || "-".equals(mips);
+        PrintStream log = dataOnStdout ? System.err : System.out;
+        log.println("\n-----------------------------------------");
+        log.println("Lendo " + files.size() + " arquivo(s)");
+        log.println("-----------------------------------------");
 
-        try {
-            Lexer scanner = new Lexer(new FileReader(inputPath.toFile()));
-            Parser parser = new Parser(scanner);
+        long start = System.nanoTime();
+        List<Driver.FileResult> results = driver.parseAll(files);
+        // Fases que valem para o programa inteiro, medidas nesta thread
+        CompileStats passes = stats || statsJson != null ? new CompileStats() : null;
 
-            System.out.println("Iniciando análise sintática...");
+        int failures = 0;
+        int errors = 0;
+        for (Driver.FileResult r : results) {
+            log.print(r.trace);
+            for (Diagnostic d : r.diagnostics) {
+                System.err.println(d);
+            }
+            if (!r.ok()) {
+                failures++;
+                errors += r.diagnostics.size();
+            }
+        }
+
+        if (failures > 0) {
+            reportStats(results, passes, System.nanoTime() - start, stats, statsJson);
+            System.err.println("\n" + errors + " erro(s) em " + failures + " arquivo(s).");
+            return false;
+        }
 
-            Symbol result = parser.parse();
+        Program program = Driver.merge(results);
+        Diagnostics semant = new Diagnostics();
+        ClassTable table = Driver.classTable(results, semant, passes);
+        DispatchTables tables = null;
+        if (!semant.hasErrors()) {
+            tables = driver.typeCheck(table, semant, passes);
+        }
+        reportStats(results, passes, System.nanoTime() - start, stats, statsJson);
+        if (semant.hasErrors()) {
+            for (Diagnostic d : semant.getDiagnostics()) {
+                System.err.println(d);
+            }
+            System.err.println("\n" + semant.errorCount() + " erro(s) semântico(s).");
+            return false;
+        }
+        log.println("\nO código é válido! (" + program.classes.length + " classe(s))");
+        log.println("-----------------------------------------");
+        if (mips != null && !writeMips(table, tables, mips)) {
+            return false;
+        }
+        if (run) {
+            return execute(table, tables, jvm);
+        }
+        return true;
+    }
 
-            System.out.println("\nO código é válido sintaticamente!");
-            System.out.println("-----------------------------------------");
+    /* Gera o assembly direto no arquivo, sem montar o texto inteiro na memória */
+    private static boolean writeMips(ClassTable table, DispatchTables tables, String target) {
+        CodeGen codegen = new CodeGen(table, tables);
+        try {
+            if (target.equals("-")) {
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                codegen.generate(out);
+                out.flush();
+            } else {
+                try (Writer out = Files.newBufferedWriter(Paths.get(target))) {
+                    codegen.generate(out);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar " + target + ": " + e.getMessage());
+            return false;
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("\nErro encontrado durante a execução.");
-            System.err.println(e.toString());
-        } finally {
-            console.close();
+    /* Executa o programa já verificado com a entrada e a saída padrão */
+    private static boolean execute(ClassTable table, DispatchTables tables, boolean jvm) {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+        try {
+            if (jvm) {
+                new JvmBackend(table, tables).run(in, System.out);
+            } else {
+                new Interpreter(table, tables, in, System.out).run();
+            }
+            return true;
+        } catch (CoolRuntimeException e) {
+            String where = e.getLine() > 0 ? " na linha " + e.getLine() : "";
+            System.err.println("\nErro de execução" + where + ": " + e.getMessage());
+            return false;
         }
     }
-}
\ No newline at end of file
+}
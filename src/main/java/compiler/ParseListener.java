@@ -0,0 +1,41 @@
+package compiler;
+
+import compiler.ast.CaseBranch;
+import compiler.ast.ClassDecl;
+import compiler.ast.Expr;
+import compiler.ast.Feature;
+import compiler.ast.Formal;
+import compiler.ast.Let;
+import compiler.ast.Program;
+import compiler.util.IdSymbol;
+
+/**
+ * Observador das reduções do {@link Parser}.
+ *
+ * Cada método é chamado logo depois que o nó correspondente é construído.
+ * Todos têm implementação vazia, então um listener só precisa sobrescrever
+ * o que lhe interessa. O padrão do parser é {@link #NONE}, que não faz nada.
+ */
+public interface ParseListener {
+
+    ParseListener NONE = new ParseListener() { };
+
+    default void programParsed(Program program) { }
+
+    default void classParsed(ClassDecl classDecl) { }
+
+    default void featureParsed(Feature feature) { }
+
+    default void formalParsed(Formal formal) { }
+
+    default void caseBranchParsed(CaseBranch branch) { }
+
+    /** Cada variável declarada num let, inclusive a primeira, na ordem do código. */
+    default void letVariableParsed(IdSymbol name, IdSymbol type, boolean hasInit) { }
+
+    /** Um let completo; {@code variables} é o número de variáveis declaradas. */
+    default void letParsed(Let let, int variables) { }
+
+    /** Qualquer outra expressão (exceto let e parênteses). */
+    default void exprParsed(Expr expr) { }
+}
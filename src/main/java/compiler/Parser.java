@@ -7,6 +7,10 @@ package compiler;
 
 import java_cup.runtime.*;
 import java.util.ArrayList;
+import compiler.ast.*;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import compiler.util.StringSymbol;
 import java_cup.runtime.XMLElement;
 
 /** CUP v0.11b 20160615 (GIT 4ac7450) generated parser.
@@ -32,24 +36,26 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** Production table. */
   protected static final short _production_table[][] = 
     unpackFromStrings(new String[] {
-    "\000\071\000\002\002\004\000\002\002\003\000\002\003" +
+    "\000\077\000\002\002\004\000\002\002\003\000\002\003" +
     "\003\000\002\003\004\000\002\004\010\000\002\004\012" +
-    "\000\002\005\002\000\002\005\004\000\002\006\014\000" +
-    "\002\006\010\000\002\006\006\000\002\007\002\000\002" +
-    "\007\003\000\002\007\005\000\002\010\005\000\002\011" +
-    "\004\000\002\011\005\000\002\013\003\000\002\013\004" +
-    "\000\002\014\010\000\002\015\003\000\002\015\005\000" +
-    "\002\016\005\000\002\016\007\000\002\016\007\000\002" +
-    "\016\011\000\002\012\005\000\002\012\011\000\002\012" +
-    "\012\000\002\012\007\000\002\012\010\000\002\012\005" +
-    "\000\002\012\006\000\002\012\011\000\002\012\007\000" +
-    "\002\012\005\000\002\012\010\000\002\012\012\000\002" +
-    "\012\012\000\002\012\007\000\002\012\004\000\002\012" +
-    "\004\000\002\012\004\000\002\012\004\000\002\012\005" +
-    "\000\002\012\005\000\002\012\005\000\002\012\005\000" +
-    "\002\012\005\000\002\012\005\000\002\012\005\000\002" +
-    "\012\005\000\002\012\003\000\002\012\003\000\002\012" +
-    "\003\000\002\012\003\000\002\012\003" });
+    "\000\002\004\004\000\002\005\002\000\002\005\004\000" +
+    "\002\006\014\000\002\006\010\000\002\006\006\000\002" +
+    "\006\004\000\002\006\004\000\002\007\002\000\002\007" +
+    "\003\000\002\007\005\000\002\010\005\000\002\011\004" +
+    "\000\002\011\005\000\002\011\004\000\002\011\005\000" +
+    "\002\011\004\000\002\011\005\000\002\013\003\000\002" +
+    "\013\004\000\002\014\010\000\002\015\003\000\002\015" +
+    "\005\000\002\016\003\000\002\016\005\000\002\017\005" +
+    "\000\002\017\007\000\002\017\003\000\002\012\005\000" +
+    "\002\012\011\000\002\012\012\000\002\012\007\000\002" +
+    "\012\010\000\002\012\005\000\002\012\006\000\002\012" +
+    "\011\000\002\012\007\000\002\012\005\000\002\012\006" +
+    "\000\002\012\007\000\002\012\004\000\002\012\004\000" +
+    "\002\012\004\000\002\012\004\000\002\012\005\000\002" +
+    "\012\005\000\002\012\005\000\002\012\005\000\002\012" +
+    "\005\000\002\012\005\000\002\012\005\000\002\012\005" +
+    "\000\002\012\003\000\002\012\003\000\002\012\003\000" +
+    "\002\012\003\000\002\012\003" });
 
   /** Access to production table. */
   public short[][] production_table() {return _production_table;}
@@ -57,272 +63,268 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** Parse-action table. */
   protected static final short[][] _action_table = 
     unpackFromStrings(new String[] {
-    "\000\227\000\004\004\007\001\002\000\006\002\000\004" +
-    "\007\001\002\000\004\002\230\001\002\000\006\002\uffff" +
-    "\004\uffff\001\002\000\004\030\010\001\002\000\006\011" +
-    "\012\051\011\001\002\000\006\027\ufffb\052\ufffb\001\002" +
-    "\000\004\030\013\001\002\000\004\051\014\001\002\000" +
-    "\006\027\ufffb\052\ufffb\001\002\000\006\027\016\052\020" +
-    "\001\002\000\006\047\023\053\022\001\002\000\006\027" +
-    "\ufffa\052\ufffa\001\002\000\004\054\021\001\002\000\006" +
-    "\002\ufffc\004\ufffc\001\002\000\004\030\220\001\002\000" +
-    "\010\027\024\050\ufff6\055\ufff6\001\002\000\004\053\216" +
-    "\001\002\000\006\050\030\055\027\001\002\000\006\050" +
-    "\ufff5\055\ufff5\001\002\000\004\027\024\001\002\000\004" +
-    "\053\031\001\002\000\004\030\032\001\002\000\004\051" +
-    "\033\001\002\000\040\007\042\012\044\013\052\017\034" +
-    "\020\046\022\037\024\050\025\040\026\043\027\045\031" +
-    "\041\032\036\044\051\047\053\051\035\001\002\000\040" +
-    "\007\042\012\044\013\052\017\034\020\046\022\037\024" +
-    "\050\025\040\026\043\027\045\031\041\032\036\044\051" +
-    "\047\053\051\035\001\002\000\040\007\042\012\044\013" +
-    "\052\017\034\020\046\022\037\024\050\025\040\026\043" +
-    "\027\045\031\041\032\036\044\051\047\053\051\035\001" +
-    "\002\000\052\005\uffcc\006\uffcc\010\uffcc\014\uffcc\015\uffcc" +
-    "\016\uffcc\023\uffcc\035\uffcc\036\uffcc\037\uffcc\040\uffcc\041" +
-    "\uffcc\042\uffcc\043\uffcc\045\uffcc\046\uffcc\050\uffcc\052\uffcc" +
-    "\054\uffcc\055\uffcc\001\002\000\004\030\202\001\002\000" +
-    "\052\005\uffca\006\uffca\010\uffca\014\uffca\015\uffca\016\uffca" +
-    "\023\uffca\035\uffca\036\uffca\037\uffca\040\uffca\041\uffca\042" +
-    "\uffca\043\uffca\045\uffca\046\uffca\050\uffca\052\uffca\054\uffca" +
-    "\055\uffca\001\002\000\052\005\uffcb\006\uffcb\010\uffcb\014" +
-    "\uffcb\015\uffcb\016\uffcb\023\uffcb\035\uffcb\036\uffcb\037\uffcb" +
-    "\040\uffcb\041\uffcb\042\uffcb\043\uffcb\045\uffcb\046\uffcb\050" +
-    "\uffcb\052\uffcb\054\uffcb\055\uffcb\001\002\000\040\007\042" +
-    "\012\044\013\052\017\034\020\046\022\037\024\050\025" +
-    "\040\026\043\027\045\031\041\032\036\044\051\047\053" +
-    "\051\035\001\002\000\052\005\uffc9\006\uffc9\010\uffc9\014" +
-    "\uffc9\015\uffc9\016\uffc9\023\uffc9\035\uffc9\036\uffc9\037\uffc9" +
-    "\040\uffc9\041\uffc9\042\uffc9\043\uffc9\045\uffc9\046\uffc9\050" +
-    "\uffc9\052\uffc9\054\uffc9\055\uffc9\001\002\000\040\007\042" +
-    "\012\044\013\052\017\034\020\046\022\037\024\050\025" +
-    "\040\026\043\027\045\031\041\032\036\044\051\047\053" +
-    "\051\035\001\002\000\056\005\uffcd\006\uffcd\010\uffcd\014" +
-    "\uffcd\015\uffcd\016\uffcd\023\uffcd\033\166\035\uffcd\036\uffcd" +
-    "\037\uffcd\040\uffcd\041\uffcd\042\uffcd\043\uffcd\045\uffcd\046" +
-    "\uffcd\047\165\050\uffcd\052\uffcd\054\uffcd\055\uffcd\001\002" +
-    "\000\040\007\042\012\044\013\052\017\034\020\046\022" +
-    "\037\024\050\025\040\026\043\027\045\031\041\032\036" +
-    "\044\051\047\053\051\035\001\002\000\026\035\061\036" +
-    "\066\037\060\040\057\041\055\042\056\043\063\045\065" +
-    "\046\062\052\147\001\002\000\040\007\042\012\044\013" +
-    "\052\017\034\020\046\022\037\024\050\025\040\026\043" +
-    "\027\045\031\041\032\036\044\051\047\053\051\035\001" +
-    "\002\000\040\007\042\012\044\013\052\017\034\020\046" +
-    "\022\037\024\050\025\040\026\043\027\045\031\041\032" +
-    "\036\044\051\047\053\051\035\001\002\000\004\027\115" +
-    "\001\002\000\040\007\042\012\044\013\052\017\034\020" +
-    "\046\022\037\024\050\025\040\026\043\027\045\031\041" +
-    "\032\036\044\051\047\053\051\035\001\002\000\026\035" +
-    "\061\036\066\037\060\040\057\041\055\042\056\043\063" +
-    "\045\065\046\062\050\064\001\002\000\040\007\042\012" +
-    "\044\013\052\017\034\020\046\022\037\024\050\025\040" +
-    "\026\043\027\045\031\041\032\036\044\051\047\053\051" +
-    "\035\001\002\000\040\007\042\012\044\013\052\017\034" +
-    "\020\046\022\037\024\050\025\040\026\043\027\045\031" +
-    "\041\032\036\044\051\047\053\051\035\001\002\000\040" +
-    "\007\042\012\044\013\052\017\034\020\046\022\037\024" +
-    "\050\025\040\026\043\027\045\031\041\032\036\044\051" +
-    "\047\053\051\035\001\002\000\040\007\042\012\044\013" +
-    "\052\017\034\020\046\022\037\024\050\025\040\026\043" +
-    "\027\045\031\041\032\036\044\051\047\053\051\035\001" +
-    "\002\000\040\007\042\012\044\013\052\017\034\020\046" +
-    "\022\037\024\050\025\040\026\043\027\045\031\041\032" +
-    "\036\044\051\047\053\051\035\001\002\000\004\027\103" +
-    "\001\002\000\040\007\042\012\044\013\052\017\034\020" +
-    "\046\022\037\024\050\025\040\026\043\027\045\031\041" +
-    "\032\036\044\051\047\053\051\035\001\002\000\052\005" +
-    "\uffce\006\uffce\010\uffce\014\uffce\015\uffce\016\uffce\023\uffce" +
-    "\035\uffce\036\uffce\037\uffce\040\uffce\041\uffce\042\uffce\043" +
-    "\uffce\045\uffce\046\uffce\050\uffce\052\uffce\054\uffce\055\uffce" +
-    "\001\002\000\004\030\070\001\002\000\040\007\042\012" +
-    "\044\013\052\017\034\020\046\022\037\024\050\025\040" +
-    "\026\043\027\045\031\041\032\036\044\051\047\053\051" +
-    "\035\001\002\000\044\005\uffd1\006\uffd1\010\uffd1\014\uffd1" +
-    "\015\uffd1\016\uffd1\023\uffd1\040\057\041\055\042\056\043" +
-    "\063\045\065\046\062\050\uffd1\052\uffd1\054\uffd1\055\uffd1" +
-    "\001\002\000\004\046\071\001\002\000\004\027\072\001" +
-    "\002\000\004\047\073\001\002\000\042\007\042\012\044" +
-    "\013\052\017\034\020\046\022\037\024\050\025\040\026" +
-    "\043\027\045\031\041\032\036\044\051\047\053\050\075" +
-    "\051\035\001\002\000\030\035\061\036\066\037\060\040" +
-    "\057\041\055\042\056\043\063\045\065\046\062\050\uffed" +
-    "\055\uffed\001\002\000\052\005\uffe6\006\uffe6\010\uffe6\014" +
-    "\uffe6\015\uffe6\016\uffe6\023\uffe6\035\uffe6\036\uffe6\037\uffe6" +
-    "\040\uffe6\041\uffe6\042\uffe6\043\uffe6\045\uffe6\046\uffe6\050" +
-    "\uffe6\052\uffe6\054\uffe6\055\uffe6\001\002\000\006\050\100" +
-    "\055\077\001\002\000\040\007\042\012\044\013\052\017" +
-    "\034\020\046\022\037\024\050\025\040\026\043\027\045" +
-    "\031\041\032\036\044\051\047\053\051\035\001\002\000" +
-    "\052\005\uffe5\006\uffe5\010\uffe5\014\uffe5\015\uffe5\016\uffe5" +
-    "\023\uffe5\035\uffe5\036\uffe5\037\uffe5\040\uffe5\041\uffe5\042" +
-    "\uffe5\043\uffe5\045\uffe5\046\uffe5\050\uffe5\052\uffe5\054\uffe5" +
-    "\055\uffe5\001\002\000\030\035\061\036\066\037\060\040" +
-    "\057\041\055\042\056\043\063\045\065\046\062\050\uffec" +
-    "\055\uffec\001\002\000\052\005\uffd2\006\uffd2\010\uffd2\014" +
-    "\uffd2\015\uffd2\016\uffd2\023\uffd2\035\uffd2\036\uffd2\037\uffd2" +
-    "\040\uffd2\041\uffd2\042\uffd2\043\uffd2\045\065\046\062\050" +
-    "\uffd2\052\uffd2\054\uffd2\055\uffd2\001\002\000\004\047\104" +
-    "\001\002\000\042\007\042\012\044\013\052\017\034\020" +
-    "\046\022\037\024\050\025\040\026\043\027\045\031\041" +
-    "\032\036\044\051\047\053\050\105\051\035\001\002\000" +
-    "\052\005\uffe4\006\uffe4\010\uffe4\014\uffe4\015\uffe4\016\uffe4" +
-    "\023\uffe4\035\uffe4\036\uffe4\037\uffe4\040\uffe4\041\uffe4\042" +
-    "\uffe4\043\uffe4\045\uffe4\046\uffe4\050\uffe4\052\uffe4\054\uffe4" +
-    "\055\uffe4\001\002\000\006\050\107\055\077\001\002\000" +
-    "\052\005\uffe3\006\uffe3\010\uffe3\014\uffe3\015\uffe3\016\uffe3" +
-    "\023\uffe3\035\uffe3\036\uffe3\037\uffe3\040\uffe3\041\uffe3\042" +
-    "\uffe3\043\uffe3\045\uffe3\046\uffe3\050\uffe3\052\uffe3\054\uffe3" +
-    "\055\uffe3\001\002\000\044\005\uffd0\006\uffd0\010\uffd0\014" +
-    "\uffd0\015\uffd0\016\uffd0\023\uffd0\040\057\041\055\042\056" +
-    "\043\063\045\065\046\062\050\uffd0\052\uffd0\054\uffd0\055" +
-    "\uffd0\001\002\000\044\005\uffcf\006\uffcf\010\uffcf\014\uffcf" +
-    "\015\uffcf\016\uffcf\023\uffcf\040\057\041\055\042\056\043" +
-    "\063\045\065\046\062\050\uffcf\052\uffcf\054\uffcf\055\uffcf" +
-    "\001\002\000\052\005\uffd5\006\uffd5\010\uffd5\014\uffd5\015" +
-    "\uffd5\016\uffd5\023\uffd5\035\uffd5\036\uffd5\037\uffd5\040\uffd5" +
-    "\041\uffd5\042\056\043\063\045\065\046\062\050\uffd5\052" +
-    "\uffd5\054\uffd5\055\uffd5\001\002\000\052\005\uffd3\006\uffd3" +
-    "\010\uffd3\014\uffd3\015\uffd3\016\uffd3\023\uffd3\035\uffd3\036" +
-    "\uffd3\037\uffd3\040\uffd3\041\uffd3\042\uffd3\043\uffd3\045\065" +
-    "\046\062\050\uffd3\052\uffd3\054\uffd3\055\uffd3\001\002\000" +
-    "\052\005\uffd4\006\uffd4\010\uffd4\014\uffd4\015\uffd4\016\uffd4" +
-    "\023\uffd4\035\uffd4\036\uffd4\037\uffd4\040\uffd4\041\uffd4\042" +
-    "\056\043\063\045\065\046\062\050\uffd4\052\uffd4\054\uffd4" +
-    "\055\uffd4\001\002\000\004\053\116\001\002\000\004\030" +
-    "\117\001\002\000\010\010\121\033\122\055\120\001\002" +
-    "\000\004\027\127\001\002\000\040\007\042\012\044\013" +
-    "\052\017\034\020\046\022\037\024\050\025\040\026\043" +
-    "\027\045\031\041\032\036\044\051\047\053\051\035\001" +
-    "\002\000\040\007\042\012\044\013\052\017\034\020\046" +
-    "\022\037\024\050\025\040\026\043\027\045\031\041\032" +
-    "\036\044\051\047\053\051\035\001\002\000\026\010\124" +
-    "\035\061\036\066\037\060\040\057\041\055\042\056\043" +
-    "\063\045\065\046\062\001\002\000\040\007\042\012\044" +
-    "\013\052\017\034\020\046\022\037\024\050\025\040\026" +
-    "\043\027\045\031\041\032\036\044\051\047\053\051\035" +
-    "\001\002\000\052\005\uffdc\006\uffdc\010\uffdc\014\uffdc\015" +
-    "\uffdc\016\uffdc\023\uffdc\035\061\036\066\037\060\040\057" +
-    "\041\055\042\056\043\063\045\065\046\062\050\uffdc\052" +
-    "\uffdc\054\uffdc\055\uffdc\001\002\000\052\005\uffdd\006\uffdd" +
-    "\010\uffdd\014\uffdd\015\uffdd\016\uffdd\023\uffdd\035\061\036" +
-    "\066\037\060\040\057\041\055\042\056\043\063\045\065" +
-    "\046\062\050\uffdd\052\uffdd\054\uffdd\055\uffdd\001\002\000" +
-    "\004\053\141\001\002\000\006\010\132\055\131\001\002" +
-    "\000\004\027\134\001\002\000\040\007\042\012\044\013" +
-    "\052\017\034\020\046\022\037\024\050\025\040\026\043" +
-    "\027\045\031\041\032\036\044\051\047\053\051\035\001" +
+    "\000\226\000\006\003\006\004\010\001\002\000\010\002" +
+    "\000\003\006\004\010\001\002\000\004\002\227\001\002" +
+    "\000\004\054\226\001\002\000\010\002\uffff\003\uffff\004" +
+    "\uffff\001\002\000\004\030\011\001\002\000\006\011\013" +
+    "\051\012\001\002\000\010\003\ufffa\027\ufffa\052\ufffa\001" +
+    "\002\000\004\030\014\001\002\000\004\051\015\001\002" +
+    "\000\010\003\ufffa\027\ufffa\052\ufffa\001\002\000\010\003" +
+    "\020\027\017\052\022\001\002\000\006\047\027\053\026" +
+    "\001\002\000\006\054\025\056\024\001\002\000\010\003" +
+    "\ufff9\027\ufff9\052\ufff9\001\002\000\004\054\023\001\002" +
+    "\000\010\002\ufffc\003\ufffc\004\ufffc\001\002\000\010\003" +
+    "\ufff4\027\ufff4\052\ufff4\001\002\000\010\003\ufff5\027\ufff5" +
+    "\052\ufff5\001\002\000\004\030\216\001\002\000\010\027" +
+    "\030\050\ufff3\055\ufff3\001\002\000\004\053\214\001\002" +
+    "\000\006\050\034\055\033\001\002\000\006\050\ufff2\055" +
+    "\ufff2\001\002\000\004\027\030\001\002\000\004\053\035" +
+    "\001\002\000\004\030\036\001\002\000\004\051\037\001" +
+    "\002\000\040\007\046\012\050\013\055\017\040\020\052" +
+    "\022\043\024\053\025\044\026\047\027\051\031\045\032" +
+    "\042\044\056\047\057\051\041\001\002\000\040\007\046" +
+    "\012\050\013\055\017\040\020\052\022\043\024\053\025" +
+    "\044\026\047\027\051\031\045\032\042\044\056\047\057" +
+    "\051\041\001\002\000\042\003\174\007\046\012\050\013" +
+    "\055\017\040\020\052\022\043\024\053\025\044\026\047" +
+    "\027\051\031\045\032\042\044\056\047\057\051\041\001" +
+    "\002\000\052\005\uffc6\006\uffc6\010\uffc6\014\uffc6\015\uffc6" +
+    "\016\uffc6\023\uffc6\035\uffc6\036\uffc6\037\uffc6\040\uffc6\041" +
+    "\uffc6\042\uffc6\043\uffc6\045\uffc6\046\uffc6\050\uffc6\052\uffc6" +
+    "\054\uffc6\055\uffc6\001\002\000\004\030\172\001\002\000" +
+    "\052\005\uffc4\006\uffc4\010\uffc4\014\uffc4\015\uffc4\016\uffc4" +
+    "\023\uffc4\035\uffc4\036\uffc4\037\uffc4\040\uffc4\041\uffc4\042" +
+    "\uffc4\043\uffc4\045\uffc4\046\uffc4\050\uffc4\052\uffc4\054\uffc4" +
+    "\055\uffc4\001\002\000\052\005\uffc5\006\uffc5\010\uffc5\014" +
+    "\uffc5\015\uffc5\016\uffc5\023\uffc5\035\uffc5\036\uffc5\037\uffc5" +
+    "\040\uffc5\041\uffc5\042\uffc5\043\uffc5\045\uffc5\046\uffc5\050" +
+    "\uffc5\052\uffc5\054\uffc5\055\uffc5\001\002\000\040\007\046" +
+    "\012\050\013\055\017\040\020\052\022\043\024\053\025" +
+    "\044\026\047\027\051\031\045\032\042\044\056\047\057" +
+    "\051\041\001\002\000\052\005\uffc3\006\uffc3\010\uffc3\014" +
+    "\uffc3\015\uffc3\016\uffc3\023\uffc3\035\uffc3\036\uffc3\037\uffc3" +
+    "\040\uffc3\041\uffc3\042\uffc3\043\uffc3\045\uffc3\046\uffc3\050" +
+    "\uffc3\052\uffc3\054\uffc3\055\uffc3\001\002\000\040\007\046" +
+    "\012\050\013\055\017\040\020\052\022\043\024\053\025" +
+    "\044\026\047\027\051\031\045\032\042\044\056\047\057" +
+    "\051\041\001\002\000\056\005\uffc7\006\uffc7\010\uffc7\014" +
+    "\uffc7\015\uffc7\016\uffc7\023\uffc7\033\156\035\uffc7\036\uffc7" +
+    "\037\uffc7\040\uffc7\041\uffc7\042\uffc7\043\uffc7\045\uffc7\046" +
+    "\uffc7\047\155\050\uffc7\052\uffc7\054\uffc7\055\uffc7\001\002" +
+    "\000\040\007\046\012\050\013\055\017\040\020\052\022" +
+    "\043\024\053\025\044\026\047\027\051\031\045\032\042" +
+    "\044\056\047\057\051\041\001\002\000\040\007\046\012" +
+    "\050\013\055\017\040\020\052\022\043\024\053\025\044" +
+    "\026\047\027\051\031\045\032\042\044\056\047\057\051" +
+    "\041\001\002\000\026\035\065\036\072\037\064\040\063" +
+    "\041\061\042\062\043\067\045\071\046\066\052\136\001" +
+    "\002\000\006\003\123\027\122\001\002\000\040\007\046" +
+    "\012\050\013\055\017\040\020\052\022\043\024\053\025" +
+    "\044\026\047\027\051\031\045\032\042\044\056\047\057" +
+    "\051\041\001\002\000\040\007\046\012\050\013\055\017" +
+    "\040\020\052\022\043\024\053\025\044\026\047\027\051" +
+    "\031\045\032\042\044\056\047\057\051\041\001\002\000" +
+    "\026\035\065\036\072\037\064\040\063\041\061\042\062" +
+    "\043\067\045\071\046\066\050\070\001\002\000\040\007" +
+    "\046\012\050\013\055\017\040\020\052\022\043\024\053" +
+    "\025\044\026\047\027\051\031\045\032\042\044\056\047" +
+    "\057\051\041\001\002\000\040\007\046\012\050\013\055" +
+    "\017\040\020\052\022\043\024\053\025\044\026\047\027" +
+    "\051\031\045\032\042\044\056\047\057\051\041\001\002" +
+    "\000\040\007\046\012\050\013\055\017\040\020\052\022" +
+    "\043\024\053\025\044\026\047\027\051\031\045\032\042" +
+    "\044\056\047\057\051\041\001\002\000\040\007\046\012" +
+    "\050\013\055\017\040\020\052\022\043\024\053\025\044" +
+    "\026\047\027\051\031\045\032\042\044\056\047\057\051" +
+    "\041\001\002\000\040\007\046\012\050\013\055\017\040" +
+    "\020\052\022\043\024\053\025\044\026\047\027\051\031" +
+    "\045\032\042\044\056\047\057\051\041\001\002\000\004" +
+    "\027\107\001\002\000\040\007\046\012\050\013\055\017" +
+    "\040\020\052\022\043\024\053\025\044\026\047\027\051" +
+    "\031\045\032\042\044\056\047\057\051\041\001\002\000" +
+    "\052\005\uffc8\006\uffc8\010\uffc8\014\uffc8\015\uffc8\016\uffc8" +
+    "\023\uffc8\035\uffc8\036\uffc8\037\uffc8\040\uffc8\041\uffc8\042" +
+    "\uffc8\043\uffc8\045\uffc8\046\uffc8\050\uffc8\052\uffc8\054\uffc8" +
+    "\055\uffc8\001\002\000\004\030\074\001\002\000\040\007" +
+    "\046\012\050\013\055\017\040\020\052\022\043\024\053" +
+    "\025\044\026\047\027\051\031\045\032\042\044\056\047" +
+    "\057\051\041\001\002\000\044\005\uffcb\006\uffcb\010\uffcb" +
+    "\014\uffcb\015\uffcb\016\uffcb\023\uffcb\040\063\041\061\042" +
+    "\062\043\067\045\071\046\066\050\uffcb\052\uffcb\054\uffcb" +
+    "\055\uffcb\001\002\000\004\046\075\001\002\000\004\027" +
+    "\076\001\002\000\004\047\077\001\002\000\042\007\046" +
+    "\012\050\013\055\017\040\020\052\022\043\024\053\025" +
+    "\044\026\047\027\051\031\045\032\042\044\056\047\057" +
+    "\050\101\051\041\001\002\000\030\035\065\036\072\037" +
+    "\064\040\063\041\061\042\062\043\067\045\071\046\066" +
+    "\050\uffe6\055\uffe6\001\002\000\052\005\uffde\006\uffde\010" +
+    "\uffde\014\uffde\015\uffde\016\uffde\023\uffde\035\uffde\036\uffde" +
+    "\037\uffde\040\uffde\041\uffde\042\uffde\043\uffde\045\uffde\046" +
+    "\uffde\050\uffde\052\uffde\054\uffde\055\uffde\001\002\000\006" +
+    "\050\104\055\103\001\002\000\040\007\046\012\050\013" +
+    "\055\017\040\020\052\022\043\024\053\025\044\026\047" +
+    "\027\051\031\045\032\042\044\056\047\057\051\041\001" +
+    "\002\000\052\005\uffdd\006\uffdd\010\uffdd\014\uffdd\015\uffdd" +
+    "\016\uffdd\023\uffdd\035\uffdd\036\uffdd\037\uffdd\040\uffdd\041" +
+    "\uffdd\042\uffdd\043\uffdd\045\uffdd\046\uffdd\050\uffdd\052\uffdd" +
+    "\054\uffdd\055\uffdd\001\002\000\030\035\065\036\072\037" +
+    "\064\040\063\041\061\042\062\043\067\045\071\046\066" +
+    "\050\uffe5\055\uffe5\001\002\000\052\005\uffcc\006\uffcc\010" +
+    "\uffcc\014\uffcc\015\uffcc\016\uffcc\023\uffcc\035\uffcc\036\uffcc" +
+    "\037\uffcc\040\uffcc\041\uffcc\042\uffcc\043\uffcc\045\071\046" +
+    "\066\050\uffcc\052\uffcc\054\uffcc\055\uffcc\001\002\000\004" +
+    "\047\110\001\002\000\042\007\046\012\050\013\055\017" +
+    "\040\020\052\022\043\024\053\025\044\026\047\027\051" +
+    "\031\045\032\042\044\056\047\057\050\111\051\041\001" +
+    "\002\000\052\005\uffdc\006\uffdc\010\uffdc\014\uffdc\015\uffdc" +
+    "\016\uffdc\023\uffdc\035\uffdc\036\uffdc\037\uffdc\040\uffdc\041" +
+    "\uffdc\042\uffdc\043\uffdc\045\uffdc\046\uffdc\050\uffdc\052\uffdc" +
+    "\054\uffdc\055\uffdc\001\002\000\006\050\113\055\103\001" +
     "\002\000\052\005\uffdb\006\uffdb\010\uffdb\014\uffdb\015\uffdb" +
-    "\016\uffdb\023\uffdb\035\061\036\066\037\060\040\057\041" +
-    "\055\042\056\043\063\045\065\046\062\050\uffdb\052\uffdb" +
-    "\054\uffdb\055\uffdb\001\002\000\004\053\135\001\002\000" +
-    "\004\030\136\001\002\000\010\010\uffe9\033\137\055\uffe9" +
-    "\001\002\000\040\007\042\012\044\013\052\017\034\020" +
-    "\046\022\037\024\050\025\040\026\043\027\045\031\041" +
-    "\032\036\044\051\047\053\051\035\001\002\000\030\010" +
-    "\uffe8\035\061\036\066\037\060\040\057\041\055\042\056" +
-    "\043\063\045\065\046\062\055\uffe8\001\002\000\004\030" +
-    "\142\001\002\000\010\010\uffeb\033\143\055\uffeb\001\002" +
-    "\000\040\007\042\012\044\013\052\017\034\020\046\022" +
-    "\037\024\050\025\040\026\043\027\045\031\041\032\036" +
-    "\044\051\047\053\051\035\001\002\000\030\010\uffea\035" +
-    "\061\036\066\037\060\040\057\041\055\042\056\043\063" +
-    "\045\065\046\062\055\uffea\001\002\000\052\005\uffd7\006" +
-    "\uffd7\010\uffd7\014\uffd7\015\uffd7\016\uffd7\023\uffd7\035\uffd7" +
-    "\036\uffd7\037\uffd7\040\uffd7\041\uffd7\042\uffd7\043\uffd7\045" +
-    "\065\046\062\050\uffd7\052\uffd7\054\uffd7\055\uffd7\001\002" +
-    "\000\052\005\uffd6\006\uffd6\010\uffd6\014\uffd6\015\uffd6\016" +
-    "\uffd6\023\uffd6\035\061\036\066\037\060\040\057\041\055" +
-    "\042\056\043\063\045\065\046\062\050\uffd6\052\uffd6\054" +
-    "\uffd6\055\uffd6\001\002\000\004\054\150\001\002\000\006" +
-    "\027\ufff9\052\ufff9\001\002\000\026\023\152\035\061\036" +
-    "\066\037\060\040\057\041\055\042\056\043\063\045\065" +
-    "\046\062\001\002\000\004\027\153\001\002\000\004\053" +
-    "\160\001\002\000\006\021\ufff0\027\ufff0\001\002\000\006" +
-    "\021\157\027\153\001\002\000\006\021\uffef\027\uffef\001" +
-    "\002\000\052\005\uffda\006\uffda\010\uffda\014\uffda\015\uffda" +
-    "\016\uffda\023\uffda\035\uffda\036\uffda\037\uffda\040\uffda\041" +
-    "\uffda\042\uffda\043\uffda\045\uffda\046\uffda\050\uffda\052\uffda" +
-    "\054\uffda\055\uffda\001\002\000\004\030\161\001\002\000" +
-    "\004\034\162\001\002\000\040\007\042\012\044\013\052" +
-    "\017\034\020\046\022\037\024\050\025\040\026\043\027" +
-    "\045\031\041\032\036\044\051\047\053\051\035\001\002" +
-    "\000\026\035\061\036\066\037\060\040\057\041\055\042" +
-    "\056\043\063\045\065\046\062\054\164\001\002\000\006" +
-    "\021\uffee\027\uffee\001\002\000\042\007\042\012\044\013" +
-    "\052\017\034\020\046\022\037\024\050\025\040\026\043" +
-    "\027\045\031\041\032\036\044\051\047\053\050\170\051" +
-    "\035\001\002\000\040\007\042\012\044\013\052\017\034" +
-    "\020\046\022\037\024\050\025\040\026\043\027\045\031" +
-    "\041\032\036\044\051\047\053\051\035\001\002\000\052" +
-    "\005\uffe7\006\uffe7\010\uffe7\014\uffe7\015\uffe7\016\uffe7\023" +
-    "\uffe7\035\061\036\066\037\060\040\057\041\055\042\056" +
-    "\043\063\045\065\046\062\050\uffe7\052\uffe7\054\uffe7\055" +
-    "\uffe7\001\002\000\052\005\uffe2\006\uffe2\010\uffe2\014\uffe2" +
-    "\015\uffe2\016\uffe2\023\uffe2\035\uffe2\036\uffe2\037\uffe2\040" +
-    "\uffe2\041\uffe2\042\uffe2\043\uffe2\045\uffe2\046\uffe2\050\uffe2" +
-    "\052\uffe2\054\uffe2\055\uffe2\001\002\000\006\050\172\055" +
-    "\077\001\002\000\052\005\uffe1\006\uffe1\010\uffe1\014\uffe1" +
-    "\015\uffe1\016\uffe1\023\uffe1\035\uffe1\036\uffe1\037\uffe1\040" +
-    "\uffe1\041\uffe1\042\uffe1\043\uffe1\045\uffe1\046\uffe1\050\uffe1" +
-    "\052\uffe1\054\uffe1\055\uffe1\001\002\000\052\005\uffd8\006" +
-    "\uffd8\010\uffd8\014\uffd8\015\uffd8\016\uffd8\023\uffd8\035\uffd8" +
-    "\036\uffd8\037\uffd8\040\uffd8\041\uffd8\042\uffd8\043\uffd8\045" +
-    "\065\046\062\050\uffd8\052\uffd8\054\uffd8\055\uffd8\001\002" +
-    "\000\026\016\175\035\061\036\066\037\060\040\057\041" +
-    "\055\042\056\043\063\045\065\046\062\001\002\000\040" +
-    "\007\042\012\044\013\052\017\034\020\046\022\037\024" +
-    "\050\025\040\026\043\027\045\031\041\032\036\044\051" +
-    "\047\053\051\035\001\002\000\026\005\177\035\061\036" +
-    "\066\037\060\040\057\041\055\042\056\043\063\045\065" +
-    "\046\062\001\002\000\040\007\042\012\044\013\052\017" +
-    "\034\020\046\022\037\024\050\025\040\026\043\027\045" +
-    "\031\041\032\036\044\051\047\053\051\035\001\002\000" +
-    "\026\006\201\035\061\036\066\037\060\040\057\041\055" +
-    "\042\056\043\063\045\065\046\062\001\002\000\052\005" +
-    "\uffe0\006\uffe0\010\uffe0\014\uffe0\015\uffe0\016\uffe0\023\uffe0" +
-    "\035\uffe0\036\uffe0\037\uffe0\040\uffe0\041\uffe0\042\uffe0\043" +
-    "\uffe0\045\uffe0\046\uffe0\050\uffe0\052\uffe0\054\uffe0\055\uffe0" +
-    "\001\002\000\052\005\uffd9\006\uffd9\010\uffd9\014\uffd9\015" +
-    "\uffd9\016\uffd9\023\uffd9\035\uffd9\036\uffd9\037\uffd9\040\uffd9" +
-    "\041\uffd9\042\uffd9\043\uffd9\045\uffd9\046\uffd9\050\uffd9\052" +
-    "\uffd9\054\uffd9\055\uffd9\001\002\000\042\007\042\012\044" +
-    "\013\052\017\034\020\046\022\037\024\050\025\040\026" +
-    "\043\027\045\031\041\032\036\044\051\047\053\051\035" +
-    "\052\207\001\002\000\026\035\061\036\066\037\060\040" +
-    "\057\041\055\042\056\043\063\045\065\046\062\054\205" +
-    "\001\002\000\042\007\ufff2\012\ufff2\013\ufff2\017\ufff2\020" +
-    "\ufff2\022\ufff2\024\ufff2\025\ufff2\026\ufff2\027\ufff2\031\ufff2" +
-    "\032\ufff2\044\ufff2\047\ufff2\051\ufff2\052\ufff2\001\002\000" +
-    "\026\035\061\036\066\037\060\040\057\041\055\042\056" +
-    "\043\063\045\065\046\062\054\210\001\002\000\052\005" +
-    "\uffde\006\uffde\010\uffde\014\uffde\015\uffde\016\uffde\023\uffde" +
-    "\035\uffde\036\uffde\037\uffde\040\uffde\041\uffde\042\uffde\043" +
-    "\uffde\045\uffde\046\uffde\050\uffde\052\uffde\054\uffde\055\uffde" +
-    "\001\002\000\042\007\ufff1\012\ufff1\013\ufff1\017\ufff1\020" +
-    "\ufff1\022\ufff1\024\ufff1\025\ufff1\026\ufff1\027\ufff1\031\ufff1" +
-    "\032\ufff1\044\ufff1\047\ufff1\051\ufff1\052\ufff1\001\002\000" +
-    "\026\014\212\035\061\036\066\037\060\040\057\041\055" +
-    "\042\056\043\063\045\065\046\062\001\002\000\040\007" +
-    "\042\012\044\013\052\017\034\020\046\022\037\024\050" +
-    "\025\040\026\043\027\045\031\041\032\036\044\051\047" +
-    "\053\051\035\001\002\000\026\015\214\035\061\036\066" +
-    "\037\060\040\057\041\055\042\056\043\063\045\065\046" +
-    "\062\001\002\000\052\005\uffdf\006\uffdf\010\uffdf\014\uffdf" +
-    "\015\uffdf\016\uffdf\023\uffdf\035\uffdf\036\uffdf\037\uffdf\040" +
-    "\uffdf\041\uffdf\042\uffdf\043\uffdf\045\uffdf\046\uffdf\050\uffdf" +
-    "\052\uffdf\054\uffdf\055\uffdf\001\002\000\006\050\ufff4\055" +
-    "\ufff4\001\002\000\004\030\217\001\002\000\006\050\ufff3" +
-    "\055\ufff3\001\002\000\006\033\222\054\221\001\002\000" +
-    "\006\027\ufff7\052\ufff7\001\002\000\040\007\042\012\044" +
-    "\013\052\017\034\020\046\022\037\024\050\025\040\026" +
-    "\043\027\045\031\041\032\036\044\051\047\053\051\035" +
-    "\001\002\000\026\035\061\036\066\037\060\040\057\041" +
-    "\055\042\056\043\063\045\065\046\062\054\224\001\002" +
-    "\000\006\027\ufff8\052\ufff8\001\002\000\006\027\016\052" +
-    "\226\001\002\000\004\054\227\001\002\000\006\002\ufffd" +
-    "\004\ufffd\001\002\000\004\002\001\001\002\000\006\002" +
-    "\ufffe\004\ufffe\001\002" });
+    "\016\uffdb\023\uffdb\035\uffdb\036\uffdb\037\uffdb\040\uffdb\041" +
+    "\uffdb\042\uffdb\043\uffdb\045\uffdb\046\uffdb\050\uffdb\052\uffdb" +
+    "\054\uffdb\055\uffdb\001\002\000\044\005\uffca\006\uffca\010" +
+    "\uffca\014\uffca\015\uffca\016\uffca\023\uffca\040\063\041\061" +
+    "\042\062\043\067\045\071\046\066\050\uffca\052\uffca\054" +
+    "\uffca\055\uffca\001\002\000\044\005\uffc9\006\uffc9\010\uffc9" +
+    "\014\uffc9\015\uffc9\016\uffc9\023\uffc9\040\063\041\061\042" +
+    "\062\043\067\045\071\046\066\050\uffc9\052\uffc9\054\uffc9" +
+    "\055\uffc9\001\002\000\052\005\uffcf\006\uffcf\010\uffcf\014" +
+    "\uffcf\015\uffcf\016\uffcf\023\uffcf\035\uffcf\036\uffcf\037\uffcf" +
+    "\040\uffcf\041\uffcf\042\062\043\067\045\071\046\066\050" +
+    "\uffcf\052\uffcf\054\uffcf\055\uffcf\001\002\000\052\005\uffcd" +
+    "\006\uffcd\010\uffcd\014\uffcd\015\uffcd\016\uffcd\023\uffcd\035" +
+    "\uffcd\036\uffcd\037\uffcd\040\uffcd\041\uffcd\042\uffcd\043\uffcd" +
+    "\045\071\046\066\050\uffcd\052\uffcd\054\uffcd\055\uffcd\001" +
+    "\002\000\052\005\uffce\006\uffce\010\uffce\014\uffce\015\uffce" +
+    "\016\uffce\023\uffce\035\uffce\036\uffce\037\uffce\040\uffce\041" +
+    "\uffce\042\062\043\067\045\071\046\066\050\uffce\052\uffce" +
+    "\054\uffce\055\uffce\001\002\000\052\005\uffd1\006\uffd1\010" +
+    "\uffd1\014\uffd1\015\uffd1\016\uffd1\023\uffd1\035\uffd1\036\uffd1" +
+    "\037\uffd1\040\uffd1\041\uffd1\042\uffd1\043\uffd1\045\071\046" +
+    "\066\050\uffd1\052\uffd1\054\uffd1\055\uffd1\001\002\000\004" +
+    "\053\132\001\002\000\006\010\uffe0\055\uffe0\001\002\000" +
+    "\006\010\127\055\126\001\002\000\006\010\uffe4\055\uffe4" +
+    "\001\002\000\006\003\123\027\122\001\002\000\040\007" +
+    "\046\012\050\013\055\017\040\020\052\022\043\024\053" +
+    "\025\044\026\047\027\051\031\045\032\042\044\056\047" +
+    "\057\051\041\001\002\000\052\005\uffd5\006\uffd5\010\uffd5" +
+    "\014\uffd5\015\uffd5\016\uffd5\023\uffd5\035\065\036\072\037" +
+    "\064\040\063\041\061\042\062\043\067\045\071\046\066" +
+    "\050\uffd5\052\uffd5\054\uffd5\055\uffd5\001\002\000\006\010" +
+    "\uffe3\055\uffe3\001\002\000\004\030\133\001\002\000\010" +
+    "\010\uffe2\033\134\055\uffe2\001\002\000\040\007\046\012" +
+    "\050\013\055\017\040\020\052\022\043\024\053\025\044" +
+    "\026\047\027\051\031\045\032\042\044\056\047\057\051" +
+    "\041\001\002\000\030\010\uffe1\035\065\036\072\037\064" +
+    "\040\063\041\061\042\062\043\067\045\071\046\066\055" +
+    "\uffe1\001\002\000\004\054\137\001\002\000\010\003\ufff8" +
+    "\027\ufff8\052\ufff8\001\002\000\052\005\uffd0\006\uffd0\010" +
+    "\uffd0\014\uffd0\015\uffd0\016\uffd0\023\uffd0\035\065\036\072" +
+    "\037\064\040\063\041\061\042\062\043\067\045\071\046" +
+    "\066\050\uffd0\052\uffd0\054\uffd0\055\uffd0\001\002\000\026" +
+    "\023\142\035\065\036\072\037\064\040\063\041\061\042" +
+    "\062\043\067\045\071\046\066\001\002\000\004\027\143" +
+    "\001\002\000\004\053\150\001\002\000\006\021\uffe9\027" +
+    "\uffe9\001\002\000\006\021\147\027\143\001\002\000\006" +
+    "\021\uffe8\027\uffe8\001\002\000\052\005\uffd4\006\uffd4\010" +
+    "\uffd4\014\uffd4\015\uffd4\016\uffd4\023\uffd4\035\uffd4\036\uffd4" +
+    "\037\uffd4\040\uffd4\041\uffd4\042\uffd4\043\uffd4\045\uffd4\046" +
+    "\uffd4\050\uffd4\052\uffd4\054\uffd4\055\uffd4\001\002\000\004" +
+    "\030\151\001\002\000\004\034\152\001\002\000\040\007" +
+    "\046\012\050\013\055\017\040\020\052\022\043\024\053" +
+    "\025\044\026\047\027\051\031\045\032\042\044\056\047" +
+    "\057\051\041\001\002\000\026\035\065\036\072\037\064" +
+    "\040\063\041\061\042\062\043\067\045\071\046\066\054" +
+    "\154\001\002\000\006\021\uffe7\027\uffe7\001\002\000\042" +
+    "\007\046\012\050\013\055\017\040\020\052\022\043\024" +
+    "\053\025\044\026\047\027\051\031\045\032\042\044\056" +
+    "\047\057\050\160\051\041\001\002\000\040\007\046\012" +
+    "\050\013\055\017\040\020\052\022\043\024\053\025\044" +
+    "\026\047\027\051\031\045\032\042\044\056\047\057\051" +
+    "\041\001\002\000\052\005\uffdf\006\uffdf\010\uffdf\014\uffdf" +
+    "\015\uffdf\016\uffdf\023\uffdf\035\065\036\072\037\064\040" +
+    "\063\041\061\042\062\043\067\045\071\046\066\050\uffdf" +
+    "\052\uffdf\054\uffdf\055\uffdf\001\002\000\052\005\uffda\006" +
+    "\uffda\010\uffda\014\uffda\015\uffda\016\uffda\023\uffda\035\uffda" +
+    "\036\uffda\037\uffda\040\uffda\041\uffda\042\uffda\043\uffda\045" +
+    "\uffda\046\uffda\050\uffda\052\uffda\054\uffda\055\uffda\001\002" +
+    "\000\006\050\162\055\103\001\002\000\052\005\uffd9\006" +
+    "\uffd9\010\uffd9\014\uffd9\015\uffd9\016\uffd9\023\uffd9\035\uffd9" +
+    "\036\uffd9\037\uffd9\040\uffd9\041\uffd9\042\uffd9\043\uffd9\045" +
+    "\uffd9\046\uffd9\050\uffd9\052\uffd9\054\uffd9\055\uffd9\001\002" +
+    "\000\052\005\uffd2\006\uffd2\010\uffd2\014\uffd2\015\uffd2\016" +
+    "\uffd2\023\uffd2\035\uffd2\036\uffd2\037\uffd2\040\uffd2\041\uffd2" +
+    "\042\uffd2\043\uffd2\045\071\046\066\050\uffd2\052\uffd2\054" +
+    "\uffd2\055\uffd2\001\002\000\026\016\165\035\065\036\072" +
+    "\037\064\040\063\041\061\042\062\043\067\045\071\046" +
+    "\066\001\002\000\040\007\046\012\050\013\055\017\040" +
+    "\020\052\022\043\024\053\025\044\026\047\027\051\031" +
+    "\045\032\042\044\056\047\057\051\041\001\002\000\026" +
+    "\005\167\035\065\036\072\037\064\040\063\041\061\042" +
+    "\062\043\067\045\071\046\066\001\002\000\040\007\046" +
+    "\012\050\013\055\017\040\020\052\022\043\024\053\025" +
+    "\044\026\047\027\051\031\045\032\042\044\056\047\057" +
+    "\051\041\001\002\000\026\006\171\035\065\036\072\037" +
+    "\064\040\063\041\061\042\062\043\067\045\071\046\066" +
+    "\001\002\000\052\005\uffd8\006\uffd8\010\uffd8\014\uffd8\015" +
+    "\uffd8\016\uffd8\023\uffd8\035\uffd8\036\uffd8\037\uffd8\040\uffd8" +
+    "\041\uffd8\042\uffd8\043\uffd8\045\uffd8\046\uffd8\050\uffd8\052" +
+    "\uffd8\054\uffd8\055\uffd8\001\002\000\052\005\uffd3\006\uffd3" +
+    "\010\uffd3\014\uffd3\015\uffd3\016\uffd3\023\uffd3\035\uffd3\036" +
+    "\uffd3\037\uffd3\040\uffd3\041\uffd3\042\uffd3\043\uffd3\045\uffd3" +
+    "\046\uffd3\050\uffd3\052\uffd3\054\uffd3\055\uffd3\001\002\000" +
+    "\026\035\065\036\072\037\064\040\063\041\061\042\062" +
+    "\043\067\045\071\046\066\054\206\001\002\000\006\054" +
+    "\205\056\204\001\002\000\044\003\200\007\046\012\050" +
+    "\013\055\017\040\020\052\022\043\024\053\025\044\026" +
+    "\047\027\051\031\045\032\042\044\056\047\057\051\041" +
+    "\052\177\001\002\000\026\035\065\036\072\037\064\040" +
+    "\063\041\061\042\062\043\067\045\071\046\066\054\203" +
+    "\001\002\000\052\005\uffd6\006\uffd6\010\uffd6\014\uffd6\015" +
+    "\uffd6\016\uffd6\023\uffd6\035\uffd6\036\uffd6\037\uffd6\040\uffd6" +
+    "\041\uffd6\042\uffd6\043\uffd6\045\uffd6\046\uffd6\050\uffd6\052" +
+    "\uffd6\054\uffd6\055\uffd6\001\002\000\006\054\202\056\201" +
+    "\001\002\000\044\003\uffea\007\uffea\012\uffea\013\uffea\017" +
+    "\uffea\020\uffea\022\uffea\024\uffea\025\uffea\026\uffea\027\uffea" +
+    "\031\uffea\032\uffea\044\uffea\047\uffea\051\uffea\052\uffea\001" +
+    "\002\000\044\003\uffec\007\uffec\012\uffec\013\uffec\017\uffec" +
+    "\020\uffec\022\uffec\024\uffec\025\uffec\026\uffec\027\uffec\031" +
+    "\uffec\032\uffec\044\uffec\047\uffec\051\uffec\052\uffec\001\002" +
+    "\000\044\003\uffee\007\uffee\012\uffee\013\uffee\017\uffee\020" +
+    "\uffee\022\uffee\024\uffee\025\uffee\026\uffee\027\uffee\031\uffee" +
+    "\032\uffee\044\uffee\047\uffee\051\uffee\052\uffee\001\002\000" +
+    "\044\003\uffeb\007\uffeb\012\uffeb\013\uffeb\017\uffeb\020\uffeb" +
+    "\022\uffeb\024\uffeb\025\uffeb\026\uffeb\027\uffeb\031\uffeb\032" +
+    "\uffeb\044\uffeb\047\uffeb\051\uffeb\052\uffeb\001\002\000\044" +
+    "\003\uffed\007\uffed\012\uffed\013\uffed\017\uffed\020\uffed\022" +
+    "\uffed\024\uffed\025\uffed\026\uffed\027\uffed\031\uffed\032\uffed" +
+    "\044\uffed\047\uffed\051\uffed\052\uffed\001\002\000\044\003" +
+    "\uffef\007\uffef\012\uffef\013\uffef\017\uffef\020\uffef\022\uffef" +
+    "\024\uffef\025\uffef\026\uffef\027\uffef\031\uffef\032\uffef\044" +
+    "\uffef\047\uffef\051\uffef\052\uffef\001\002\000\026\014\210" +
+    "\035\065\036\072\037\064\040\063\041\061\042\062\043" +
+    "\067\045\071\046\066\001\002\000\040\007\046\012\050" +
+    "\013\055\017\040\020\052\022\043\024\053\025\044\026" +
+    "\047\027\051\031\045\032\042\044\056\047\057\051\041" +
+    "\001\002\000\026\015\212\035\065\036\072\037\064\040" +
+    "\063\041\061\042\062\043\067\045\071\046\066\001\002" +
+    "\000\052\005\uffd7\006\uffd7\010\uffd7\014\uffd7\015\uffd7\016" +
+    "\uffd7\023\uffd7\035\uffd7\036\uffd7\037\uffd7\040\uffd7\041\uffd7" +
+    "\042\uffd7\043\uffd7\045\uffd7\046\uffd7\050\uffd7\052\uffd7\054" +
+    "\uffd7\055\uffd7\001\002\000\006\050\ufff1\055\ufff1\001\002" +
+    "\000\004\030\215\001\002\000\006\050\ufff0\055\ufff0\001" +
+    "\002\000\006\033\220\054\217\001\002\000\010\003\ufff6" +
+    "\027\ufff6\052\ufff6\001\002\000\040\007\046\012\050\013" +
+    "\055\017\040\020\052\022\043\024\053\025\044\026\047" +
+    "\027\051\031\045\032\042\044\056\047\057\051\041\001" +
+    "\002\000\026\035\065\036\072\037\064\040\063\041\061" +
+    "\042\062\043\067\045\071\046\066\054\222\001\002\000" +
+    "\010\003\ufff7\027\ufff7\052\ufff7\001\002\000\010\003\020" +
+    "\027\017\052\224\001\002\000\004\054\225\001\002\000" +
+    "\010\002\ufffd\003\ufffd\004\ufffd\001\002\000\010\002\ufffb" +
+    "\003\ufffb\004\ufffb\001\002\000\004\002\001\001\002\000" +
+    "\010\002\ufffe\003\ufffe\004\ufffe\001\002" });
 
   /** Access to parse-action table. */
   public short[][] action_table() {return _action_table;}
@@ -330,61 +332,61 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** <code>reduce_goto</code> table. */
   protected static final short[][] _reduce_table = 
     unpackFromStrings(new String[] {
-    "\000\227\000\010\002\004\003\003\004\005\001\001\000" +
-    "\004\004\230\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\004\005\224\001" +
-    "\001\000\002\001\001\000\002\001\001\000\004\005\014" +
-    "\001\001\000\004\006\016\001\001\000\002\001\001\000" +
+    "\000\226\000\010\002\004\003\003\004\006\001\001\000" +
+    "\004\004\227\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\004\005\222\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\005\015\001\001\000\004\006\020\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\006\007\024\010\025\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\004\010\214" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\004\012\046\001\001\000\004\012\210\001\001" +
-    "\000\006\011\202\012\203\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
-    "\012\173\001\001\000\002\001\001\000\004\012\172\001" +
-    "\001\000\002\001\001\000\004\012\150\001\001\000\002" +
-    "\001\001\000\004\012\145\001\001\000\004\012\144\001" +
-    "\001\000\002\001\001\000\004\012\053\001\001\000\002" +
-    "\001\001\000\004\012\113\001\001\000\004\012\112\001" +
-    "\001\000\004\012\111\001\001\000\004\012\110\001\001" +
-    "\000\004\012\107\001\001\000\002\001\001\000\004\012" +
-    "\101\001\001\000\002\001\001\000\002\001\001\000\004" +
-    "\012\066\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\006\012\073\015\075" +
-    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\004\012\100\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\002\001\001\000\006\012" +
-    "\073\015\105\001\001\000\002\001\001\000\002\001\001" +
+    "\001\000\002\001\001\000\006\007\030\010\031\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\004\010\212\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\004\012\053\001\001\000\004\012" +
+    "\206\001\001\000\006\011\174\012\172\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\004\012\163\001\001\000\002\001\001\000\004" +
+    "\012\162\001\001\000\002\001\001\000\004\012\140\001" +
+    "\001\000\004\012\137\001\001\000\002\001\001\000\006" +
+    "\016\123\017\124\001\001\000\004\012\120\001\001\000" +
+    "\004\012\057\001\001\000\002\001\001\000\004\012\117" +
+    "\001\001\000\004\012\116\001\001\000\004\012\115\001" +
+    "\001\000\004\012\114\001\001\000\004\012\113\001\001" +
+    "\000\002\001\001\000\004\012\105\001\001\000\002\001" +
+    "\001\000\002\001\001\000\004\012\072\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\006\012\077\015\101\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\012\104\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\006\012\077\015\111\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\002\001\001\000\004\016" +
-    "\127\001\001\000\004\012\125\001\001\000\004\012\122" +
-    "\001\001\000\002\001\001\000\004\012\124\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\004\012\132\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\004\012\137\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\012\143\001\001" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\006" +
-    "\013\154\014\153\001\001\000\002\001\001\000\002\001" +
-    "\001\000\004\014\155\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\002\001\001\000\004\012" +
-    "\162\001\001\000\002\001\001\000\002\001\001\000\006" +
-    "\012\073\015\170\001\001\000\004\012\166\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\004\017\130\001\001\000\004\012\127\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\004\012\134\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\006\013\144\014\143\001\001\000\002\001\001" +
+    "\000\002\001\001\000\004\014\145\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\012\152\001\001\000\002\001\001\000\002\001" +
+    "\001\000\006\012\077\015\160\001\001\000\004\012\156" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\012\165\001\001\000\002\001\001\000\004\012" +
+    "\167\001\001\000\002\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\004\012" +
-    "\175\001\001\000\002\001\001\000\004\012\177\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\004\012\205\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\004\012\212\001\001\000\002\001\001" +
+    "\175\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\004\012\210\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
-    "\012\222\001\001\000\002\001\001\000\002\001\001\000" +
-    "\004\006\016\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001" });
+    "\004\012\220\001\001\000\002\001\001\000\002\001\001" +
+    "\000\004\006\020\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "" });
 
   /** Access to <code>reduce_goto</code> table. */
   public short[][] reduce_table() {return _reduce_table;}
@@ -424,35 +426,137 @@ public class Parser extends java_cup.runtime.lr_parser {
 
 
 
+    /* Observador das reduções; por padrão não faz nada */
+    private ParseListener listener = ParseListener.NONE;
+
+    public void setParseListener(ParseListener listener) {
+        this.listener = listener == null ? ParseListener.NONE : listener;
+    }
+
+    /* Destino dos erros; o driver troca por um coletor compartilhado */
+    private Diagnostics diagnostics = new Diagnostics();
+    private String fileName;
+
+    public void setDiagnostics(Diagnostics diagnostics, String fileName) {
+        this.diagnostics = diagnostics;
+        this.fileName = fileName;
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    private void report(Diagnostic.Code code, java_cup.runtime.Symbol s, String message) {
+        int line = s != null ? Math.max(s.left, 0) : 0;
+        int column = s != null ? Math.max(s.right, 0) : 0;
+        diagnostics.error(code, fileName, line, column, message);
+    }
+
+    private String tokenName(java_cup.runtime.Symbol s) {
+        if (s.sym == sym.EOF) {
+            return "fim de arquivo";
+        }
+        String name = symbl_name_from_id(s.sym);
+        return s.value != null ? name + " (" + s.value + ")" : name;
+    }
+
     /* Erros de sintaxe não fatais */
     public void report_error(String message, Object info) {
-        StringBuilder m = new StringBuilder("Erro Sintático");
+        java_cup.runtime.Symbol s = info instanceof java_cup.runtime.Symbol ? (java_cup.runtime.Symbol) info : null;
+        report(Diagnostic.Code.SYNTAX_ERROR, s, message);
+    }
 
-        if (info instanceof java_cup.runtime.Symbol) {
-            java_cup.runtime.Symbol s = ((java_cup.runtime.Symbol) info);
-            if (s.left >= 0) {
-                m.append(" na linha " + (s.left));
-                if (s.right >= 0)
-                    m.append(", coluna " + (s.right));
-            }
-            if (s.value != null) {
-                m.append(". Token inesperado: " + s.value);
+    /*
+     * Um único diagnóstico por erro: o token encontrado e os esperados.
+     * Um token ERROR já foi relatado pelo lexer e não gera outro.
+     */
+    public void syntax_error(java_cup.runtime.Symbol cur) {
+        if (cur.sym == sym.ERROR) {
+            return;
+        }
+        StringBuilder m = new StringBuilder("Erro sintático: token inesperado ").append(tokenName(cur));
+        java.util.List<Integer> expected = expected_token_ids();
+        if (!expected.isEmpty()) {
+            m.append("; esperado:");
+            for (int id : expected) {
+                m.append(' ').append(symbl_name_from_id(id));
             }
         }
-        m.append(" : " + message);
-        System.err.println(m);
+        report(Diagnostic.Code.SYNTAX_ERROR, cur, m.toString());
+    }
+
+    /* O erro já foi registrado em syntax_error; só interrompe a análise */
+    public void unrecovered_syntax_error(java_cup.runtime.Symbol cur) {
+        done_parsing();
+        throw new CompilationAbortedException("Análise sintática interrompida na linha " + cur.left);
     }
 
     /* Erros de sintaxe fatais */
     public void report_fatal_error(String message, Object info) {
         report_error(message, info);
-        System.exit(1);
+        done_parsing();
+        throw new CompilationAbortedException(message);
     }
 
-    public void checkNotSelf(String id, int line, int col) {
-        if ("self".equals(id)) {
-            java_cup.runtime.Symbol s = new java_cup.runtime.Symbol(sym.ID, line, col, id);
-            report_fatal_error("Uso ilegal de 'self' como identificador", s);
+    /* Variável de um let múltiplo, antes de o corpo do let ser conhecido */
+    static final class LetBinding {
+        final int line, column;
+        final IdSymbol name, type;
+        final Expr init;
+
+        LetBinding(int line, int column, IdSymbol name, IdSymbol type, Expr init) {
+            this.line = line;
+            this.column = column;
+            this.name = name;
+            this.type = type;
+            this.init = init;
+        }
+    }
+
+    /*
+     * Aninha as variáveis de um let múltiplo em lets de uma variável cada.
+     * O let mais externo fica na posição da palavra LET. Se todas as
+     * variáveis tiveram erro de sintaxe, sobra só o corpo.
+     */
+    static Expr nestLets(int line, int column, ArrayList<LetBinding> bindings, Expr body) {
+        Expr result = body;
+        for (int i = bindings.size() - 1; i >= 0; i--) {
+            LetBinding b = bindings.get(i);
+            result = i == 0
+                    ? new Let(line, column, b.name, b.type, b.init, result)
+                    : new Let(b.line, b.column, b.name, b.type, b.init, result);
+        }
+        return result;
+    }
+
+    private static final Expr[] NO_ARGS = new Expr[0];
+
+    /* Tokens lidos do scanner desde a criação do parser, sem contar o EOF */
+    private long tokenCount;
+
+    public long tokenCount() {
+        return tokenCount;
+    }
+
+    public java_cup.runtime.Symbol scan() throws java.lang.Exception {
+        java_cup.runtime.Symbol s = super.scan();
+        if (s.sym != sym.EOF) {
+            tokenCount++;
+        }
+        return s;
+    }
+
+    /* Executa a análise e devolve a raiz da AST */
+    public Program parseProgram() throws Exception {
+        tokenCount = 0;
+        return (Program) parse().value;
+    }
+
+    /* Erro não fatal: a AST continua sendo construída normalmente */
+    public void checkNotSelf(IdSymbol id, int line, int col) {
+        if (id == TreeConstants.self) {
+            diagnostics.error(Diagnostic.Code.SELF_AS_IDENTIFIER, fileName, line, col,
+                    "Uso ilegal de 'self' como identificador");
         }
     }
 
@@ -487,7 +591,7 @@ class CUP$Parser$actions {
               Object RESULT =null;
 		int start_valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int start_valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		Object start_val = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		Program start_val = (Program)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
 		RESULT = start_val;
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("$START",0, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
@@ -498,8 +602,12 @@ class CUP$Parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 1: // program ::= class_list 
             {
-              Object RESULT =null;
-		 System.out.println("=== Análise Sintática Concluída com Sucesso! ==="); 
+              Program RESULT =null;
+		int clleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int clright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ArrayList<ClassDecl> cl = (ArrayList<ClassDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Program(1, 1, cl.toArray(new ClassDecl[0]));
+       listener.programParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("program",0, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -507,8 +615,11 @@ class CUP$Parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 2: // class_list ::= class_decl 
             {
-              Object RESULT =null;
-
+              ArrayList<ClassDecl> RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ClassDecl c = (ClassDecl)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ArrayList<>(); if (c != null) RESULT.add(c); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("class_list",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -516,8 +627,14 @@ class CUP$Parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 3: // class_list ::= class_list class_decl 
             {
-              Object RESULT =null;
-
+              ArrayList<ClassDecl> RESULT =null;
+		int clleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int clright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<ClassDecl> cl = (ArrayList<ClassDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ClassDecl c = (ClassDecl)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 if (c != null) cl.add(c); RESULT = cl; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("class_list",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -525,11 +642,18 @@ class CUP$Parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 4: // class_decl ::= CLASS TYPEID LBRACE feature_list RBRACE SEMI 
             {
-              Object RESULT =null;
+              ClassDecl RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		Object c = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
 		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
 		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String n = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		 System.out.println("[CLASSE] Definida: " + n); 
+		IdSymbol n = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int flleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int flright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Feature> fl = (ArrayList<Feature>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new ClassDecl(cleft, cright, n, TreeConstants.Object_, fl.toArray(new Feature[0]));
+       listener.classParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("class_decl",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -537,587 +661,891 @@ class CUP$Parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 5: // class_decl ::= CLASS TYPEID INHERITS TYPEID LBRACE feature_list RBRACE SEMI 
             {
-              Object RESULT =null;
+              ClassDecl RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).right;
+		Object c = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-7)).value;
 		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
 		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
-		String n = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
+		IdSymbol n = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
 		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
 		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String p = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		 System.out.println("[CLASSE] Definida: " + n + " herda de " + p); 
+		IdSymbol p = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int flleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int flright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Feature> fl = (ArrayList<Feature>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new ClassDecl(cleft, cright, n, p, fl.toArray(new Feature[0]));
+       listener.classParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("class_decl",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 6: // feature_list ::= 
+          case 6: // class_decl ::= error SEMI 
             {
-              Object RESULT =null;
+              ClassDecl RESULT =null;
+		 RESULT = null; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("class_decl",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
 
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 7: // feature_list ::= 
+            {
+              ArrayList<Feature> RESULT =null;
+		 RESULT = new ArrayList<>(); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature_list",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 7: // feature_list ::= feature_list feature 
+          case 8: // feature_list ::= feature_list feature 
             {
-              Object RESULT =null;
-
+              ArrayList<Feature> RESULT =null;
+		int flleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int flright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<Feature> fl = (ArrayList<Feature>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Feature f = (Feature)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 if (f != null) fl.add(f); RESULT = fl; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature_list",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 8: // feature ::= ID LPAREN formal_list RPAREN COLON TYPEID LBRACE expr RBRACE SEMI 
+          case 9: // feature ::= ID LPAREN formal_list RPAREN COLON TYPEID LBRACE expr RBRACE SEMI 
             {
-              Object RESULT =null;
+              Feature RESULT =null;
 		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-9)).left;
 		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-9)).right;
-		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-9)).value;
+		IdSymbol name = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-9)).value;
+		int flleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).left;
+		int flright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).right;
+		ArrayList<Formal> fl = (ArrayList<Formal>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-7)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		 System.out.println(" --- Método: " + name + " retorna " + type); 
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new Method(nameleft, nameright, name, fl.toArray(new Formal[0]), type, e);
+         listener.featureParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-9)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 9: // feature ::= ID COLON TYPEID ASSIGN expr SEMI 
+          case 10: // feature ::= ID COLON TYPEID ASSIGN expr SEMI 
             {
-              Object RESULT =null;
+              Feature RESULT =null;
 		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
 		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
-		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		IdSymbol name = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 System.out.println(" --- Atributo: " + name + " : " + type);
-         checkNotSelf(name, nameleft, nameright);  
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 checkNotSelf(name, nameleft, nameright);
+         RESULT = new Attribute(nameleft, nameright, name, type, e);
+         listener.featureParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 10: // feature ::= ID COLON TYPEID SEMI 
+          case 11: // feature ::= ID COLON TYPEID SEMI 
             {
-              Object RESULT =null;
+              Feature RESULT =null;
 		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		IdSymbol name = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
-		 System.out.println(" --- Atributo: " + name + " : " + type);
-         checkNotSelf(name, nameleft, nameright);  
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 checkNotSelf(name, nameleft, nameright);
+         RESULT = new Attribute(nameleft, nameright, name, type, null);
+         listener.featureParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 11: // formal_list ::= 
+          case 12: // feature ::= error SEMI 
             {
-              Object RESULT =null;
+              Feature RESULT =null;
+		 RESULT = null; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formal_list",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 13: // feature ::= error ERROR 
+            {
+              Feature RESULT =null;
+		 RESULT = null; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("feature",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 12: // formal_list ::= formal 
+          case 14: // formal_list ::= 
             {
-              Object RESULT =null;
+              ArrayList<Formal> RESULT =null;
+		 RESULT = new ArrayList<>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formal_list",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
 
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 15: // formal_list ::= formal 
+            {
+              ArrayList<Formal> RESULT =null;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Formal f = (Formal)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ArrayList<>(); RESULT.add(f); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("formal_list",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 13: // formal_list ::= formal_list COMMA formal 
+          case 16: // formal_list ::= formal_list COMMA formal 
             {
-              Object RESULT =null;
-
+              ArrayList<Formal> RESULT =null;
+		int flleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int flright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Formal> fl = (ArrayList<Formal>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Formal f = (Formal)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 fl.add(f); RESULT = fl; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("formal_list",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 14: // formal ::= ID COLON TYPEID 
+          case 17: // formal ::= ID COLON TYPEID 
             {
-              Object RESULT =null;
+              Formal RESULT =null;
 		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		IdSymbol name = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    (Parametro formal: " + name + " : " + type + ")");
-    checkNotSelf(name, nameleft, nameright); 
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 checkNotSelf(name, nameleft, nameright);
+    RESULT = new Formal(nameleft, nameright, name, type);
+    listener.formalParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("formal",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 15: // expr_list ::= expr SEMI 
+          case 18: // expr_list ::= expr SEMI 
             {
-              Object RESULT =null;
-
+              ArrayList<Expr> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new ArrayList<>(); RESULT.add(e); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_list",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 16: // expr_list ::= expr_list expr SEMI 
+          case 19: // expr_list ::= expr_list expr SEMI 
             {
-              Object RESULT =null;
+              ArrayList<Expr> RESULT =null;
+		int elleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int elright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Expr> el = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 el.add(e); RESULT = el; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_list",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 20: // expr_list ::= error SEMI 
+            {
+              ArrayList<Expr> RESULT =null;
+		 RESULT = new ArrayList<>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_list",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
 
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 21: // expr_list ::= expr_list error SEMI 
+            {
+              ArrayList<Expr> RESULT =null;
+		int elleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int elright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Expr> el = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = el; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_list",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 17: // case_list ::= case_branch 
+          case 22: // expr_list ::= error ERROR 
             {
-              Object RESULT =null;
+              ArrayList<Expr> RESULT =null;
+		 RESULT = new ArrayList<>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_list",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("case_list",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 23: // expr_list ::= expr_list error ERROR 
+            {
+              ArrayList<Expr> RESULT =null;
+		int elleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int elright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Expr> el = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = el; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr_list",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 18: // case_list ::= case_list case_branch 
+          case 24: // case_list ::= case_branch 
             {
-              Object RESULT =null;
+              ArrayList<CaseBranch> RESULT =null;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		CaseBranch b = (CaseBranch)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ArrayList<>(); RESULT.add(b); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("case_list",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
 
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 25: // case_list ::= case_list case_branch 
+            {
+              ArrayList<CaseBranch> RESULT =null;
+		int clleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int clright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<CaseBranch> cl = (ArrayList<CaseBranch>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		CaseBranch b = (CaseBranch)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 cl.add(b); RESULT = cl; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("case_list",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 19: // case_branch ::= ID COLON TYPEID DARROW expr SEMI 
+          case 26: // case_branch ::= ID COLON TYPEID DARROW expr SEMI 
             {
-              Object RESULT =null;
+              CaseBranch RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 System.out.println("    |-- Case Branch: " + id + " como " + type);
-     checkNotSelf(id, idleft, idright); 
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 checkNotSelf(id, idleft, idright);
+     RESULT = new CaseBranch(idleft, idright, id, type, e);
+     listener.caseBranchParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("case_branch",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 20: // argument_list ::= expr 
+          case 27: // argument_list ::= expr 
             {
-              Object RESULT =null;
-
+              ArrayList<Expr> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ArrayList<>(); RESULT.add(e); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("argument_list",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 21: // argument_list ::= argument_list COMMA expr 
+          case 28: // argument_list ::= argument_list COMMA expr 
             {
-              Object RESULT =null;
-
+              ArrayList<Expr> RESULT =null;
+		int alleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int alright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<Expr> al = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 al.add(e); RESULT = al; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("argument_list",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 22: // let_list ::= ID COLON TYPEID 
+          case 29: // let_list ::= let_binding 
             {
-              Object RESULT =null;
-		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
-		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    |-- Var Let: " + id + " : " + type);
-     checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_list",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              ArrayList<LetBinding> RESULT =null;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LetBinding b = (LetBinding)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ArrayList<>(); if (b != null) RESULT.add(b); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_list",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 23: // let_list ::= ID COLON TYPEID ASSIGN expr 
+          case 30: // let_list ::= let_list COMMA let_binding 
             {
-              Object RESULT =null;
-		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
-		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 System.out.println("    |-- Var Let (com init): " + id);
-    checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_list",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              ArrayList<LetBinding> RESULT =null;
+		int llleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int llright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<LetBinding> ll = (ArrayList<LetBinding>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LetBinding b = (LetBinding)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 if (b != null) ll.add(b); RESULT = ll; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_list",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 24: // let_list ::= let_list COMMA ID COLON TYPEID 
+          case 31: // let_binding ::= ID COLON TYPEID 
             {
-              Object RESULT =null;
+              LetBinding RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    |-- Var Let: " + id);
-    checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_list",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 checkNotSelf(id, idleft, idright);
+     RESULT = new LetBinding(idleft, idright, id, type, null);
+     listener.letVariableParsed(id, type, false); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_binding",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 25: // let_list ::= let_list COMMA ID COLON TYPEID ASSIGN expr 
+          case 32: // let_binding ::= ID COLON TYPEID ASSIGN expr 
             {
-              Object RESULT =null;
+              LetBinding RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 System.out.println("    |-- Var Let (com init): " + id);
-     checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_list",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 checkNotSelf(id, idleft, idright);
+     RESULT = new LetBinding(idleft, idright, id, type, e);
+     listener.letVariableParsed(id, type, true); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_binding",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 26: // expr ::= ID ASSIGN expr 
+          case 33: // let_binding ::= error 
             {
-              Object RESULT =null;
+              LetBinding RESULT =null;
+		 RESULT = null; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("let_binding",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 34: // expr ::= ID ASSIGN expr 
+            {
+              Expr RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 System.out.println("    |-- Atribuicao para variavel: " + id);
-      checkNotSelf(id, idleft, idright); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 checkNotSelf(id, idleft, idright);
+      RESULT = new Assign(idleft, idright, id, e);
+      listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 27: // expr ::= expr AT TYPEID DOT ID LPAREN RPAREN 
+          case 35: // expr ::= expr AT TYPEID DOT ID LPAREN RPAREN 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 System.out.println("    |-- Static Dispatch @" + type + "." + id + "()"); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new StaticDispatch(idleft, idright, e, type, id, NO_ARGS);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 28: // expr ::= expr AT TYPEID DOT ID LPAREN argument_list RPAREN 
+          case 36: // expr ::= expr AT TYPEID DOT ID LPAREN argument_list RPAREN 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-7)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 System.out.println("    |-- Static Dispatch @" + type + "." + id + "(...)"); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int alleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int alright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<Expr> al = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new StaticDispatch(idleft, idright, e, type, id, al.toArray(NO_ARGS));
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 29: // expr ::= expr DOT ID LPAREN RPAREN 
+          case 37: // expr ::= expr DOT ID LPAREN RPAREN 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 System.out.println("    |-- Dispatch para metodo: " + id + "()"); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new Dispatch(idleft, idright, e, id, NO_ARGS);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 30: // expr ::= expr DOT ID LPAREN argument_list RPAREN 
+          case 38: // expr ::= expr DOT ID LPAREN argument_list RPAREN 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 System.out.println("    |-- Dispatch para metodo: " + id + "(args...)"); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int alleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int alright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<Expr> al = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new Dispatch(idleft, idright, e, id, al.toArray(NO_ARGS));
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 31: // expr ::= ID LPAREN RPAREN 
+          case 39: // expr ::= ID LPAREN RPAREN 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
-		 System.out.println("    |-- Chamada Self: " + id + "()"); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new Dispatch(idleft, idright, new ObjectRef(idleft, idright, TreeConstants.self), id, NO_ARGS);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 32: // expr ::= ID LPAREN argument_list RPAREN 
+          case 40: // expr ::= ID LPAREN argument_list RPAREN 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
-		 System.out.println("    |-- Chamada Self: " + id + "(args...)"); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int alleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int alright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<Expr> al = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new Dispatch(idleft, idright, new ObjectRef(idleft, idright, TreeConstants.self), id, al.toArray(NO_ARGS));
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 33: // expr ::= IF expr THEN expr ELSE expr FI 
+          case 41: // expr ::= IF expr THEN expr ELSE expr FI 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Estrutura Condicional (IF-THEN-ELSE)"); 
+              Expr RESULT =null;
+		int ileft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
+		int iright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
+		Object i = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		Expr p = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int tleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Expr t = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr f = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new Cond(ileft, iright, p, t, f);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 34: // expr ::= WHILE expr LOOP expr POOL 
+          case 42: // expr ::= WHILE expr LOOP expr POOL 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Estrutura de Repeticao (WHILE)"); 
+              Expr RESULT =null;
+		int wleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int wright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Object w = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Expr p = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr b = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new Loop(wleft, wright, p, b);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 35: // expr ::= LBRACE expr_list RBRACE 
+          case 43: // expr ::= LBRACE expr_list RBRACE 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Bloco de codigo { ... }"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int elleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int elright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<Expr> el = (ArrayList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new Block(lleft, lright, el.toArray(NO_ARGS));
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 36: // expr ::= LET ID COLON TYPEID IN expr 
-            {
-              Object RESULT =null;
-		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
-		 System.out.println("    |-- Estrutura LET simples (" + id + ")");
-     checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
-            }
-          return CUP$Parser$result;
-
-          /*. . . . . . . . . . . . . . . . . . . .*/
-          case 37: // expr ::= LET ID COLON TYPEID ASSIGN expr IN expr 
-            {
-              Object RESULT =null;
-		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		 System.out.println("    |-- Estrutura LET com init (" + id + ")");
-     checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
-            }
-          return CUP$Parser$result;
-
-          /*. . . . . . . . . . . . . . . . . . . .*/
-          case 38: // expr ::= LET ID COLON TYPEID COMMA let_list IN expr 
+          case 44: // expr ::= LET let_list IN expr 
             {
-              Object RESULT =null;
-		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
-		 System.out.println("    |-- Estrutura LET multiplo (" + id + ", ...)");
-     checkNotSelf(id, idleft, idright); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Object l = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int llleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int llright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		ArrayList<LetBinding> ll = (ArrayList<LetBinding>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int bleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr b = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = nestLets(lleft, lright, ll, b);
+       if (!ll.isEmpty()) listener.letParsed((Let) RESULT, ll.size()); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 39: // expr ::= CASE expr OF case_list ESAC 
+          case 45: // expr ::= CASE expr OF case_list ESAC 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Estrutura CASE"); 
+              Expr RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Object c = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int clleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int clright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		ArrayList<CaseBranch> cl = (ArrayList<CaseBranch>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new Case(cleft, cright, e, cl.toArray(new CaseBranch[0]));
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 40: // expr ::= NEW TYPEID 
+          case 46: // expr ::= NEW TYPEID 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object n = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
 		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    |-- New (Instancia de " + type + ")"); 
+		IdSymbol type = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new New(nleft, nright, type);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 41: // expr ::= ISVOID expr 
+          case 47: // expr ::= ISVOID expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Teste ISVOID"); 
+              Expr RESULT =null;
+		int ileft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int iright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object i = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new IsVoid(ileft, iright, e);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 42: // expr ::= NEG expr 
+          case 48: // expr ::= NEG expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Operacao de Negacao (~)"); 
+              Expr RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object n = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Neg(nleft, nright, e);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 43: // expr ::= NOT expr 
+          case 49: // expr ::= NOT expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Operacao NOT"); 
+              Expr RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object n = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Not(nleft, nright, e);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 44: // expr ::= expr PLUS expr 
+          case 50: // expr ::= expr PLUS expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Operacao SOMA (+)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Plus(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 45: // expr ::= expr MINUS expr 
+          case 51: // expr ::= expr MINUS expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Operacao SUBTRACAO (-)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Sub(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 46: // expr ::= expr MULT expr 
+          case 52: // expr ::= expr MULT expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Operacao MULTIPLICACAO (*)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Mul(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 47: // expr ::= expr DIV expr 
+          case 53: // expr ::= expr DIV expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Operacao DIVISAO (/)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Divide(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 48: // expr ::= expr LT expr 
+          case 54: // expr ::= expr LT expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Comparacao MENOR QUE (<)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Lt(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 49: // expr ::= expr LE expr 
+          case 55: // expr ::= expr LE expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Comparacao MENOR IGUAL (<=)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Le(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 50: // expr ::= expr EQ expr 
+          case 56: // expr ::= expr EQ expr 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Comparacao IGUAL (=)"); 
+              Expr RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr l = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int opleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int opright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Object op = (Object)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int rleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr r = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Eq(opleft, opright, l, r);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 51: // expr ::= LPAREN expr RPAREN 
+          case 57: // expr ::= LPAREN expr RPAREN 
             {
-              Object RESULT =null;
-
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = e; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 52: // expr ::= ID 
+          case 58: // expr ::= ID 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    |-- ID lido: " + id); 
+		IdSymbol id = (IdSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ObjectRef(idleft, idright, id);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 53: // expr ::= INT_CONST 
+          case 59: // expr ::= INT_CONST 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
 		int valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Integer val = (Integer)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    |-- Inteiro lido: " + val); 
+		 RESULT = new IntConst(valleft, valright, AbstractTable.inttable.addInt(val));
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 54: // expr ::= STR_CONST 
+          case 60: // expr ::= STR_CONST 
             {
-              Object RESULT =null;
+              Expr RESULT =null;
 		int sleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
-		String s = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 System.out.println("    |-- String lida: \"" + s + "\""); 
+		StringSymbol s = (StringSymbol)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new StringConst(sleft, sright, s);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 55: // expr ::= TRUE 
+          case 61: // expr ::= TRUE 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Booleano: true"); 
+              Expr RESULT =null;
+		int tleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Boolean t = (Boolean)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new BoolConst(tleft, tright, true);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 56: // expr ::= FALSE 
+          case 62: // expr ::= FALSE 
             {
-              Object RESULT =null;
-		 System.out.println("    |-- Booleano: false"); 
+              Expr RESULT =null;
+		int fleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int fright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Boolean f = (Boolean)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new BoolConst(fleft, fright, false);
+       listener.exprParsed(RESULT); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
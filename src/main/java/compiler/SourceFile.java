@@ -0,0 +1,112 @@
+package compiler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Conteúdo completo de um arquivo fonte, já decodificado em UTF-8.
+ *
+ * O arquivo é lido de uma vez pelo NIO (mapeado em memória quando é grande)
+ * e decodificado uma única vez para um {@code char[]}, que o {@link Lexer}
+ * usa diretamente como buffer.
+ */
+public final class SourceFile {
+
+    /* Acima deste tamanho o arquivo é mapeado em vez de copiado para o heap */
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private final Path path;
+    private final char[] chars;
+    private final int length;
+    private final long byteSize;
+
+    public SourceFile(Path path, char[] chars, int length) {
+        this(path, chars, length, length);
+    }
+
+    private SourceFile(Path path, char[] chars, int length, long byteSize) {
+        this.path = path;
+        this.chars = chars;
+        this.length = length;
+        this.byteSize = byteSize;
+    }
+
+    public static SourceFile of(Path path, String text) {
+        return new SourceFile(path, text.toCharArray(), text.length());
+    }
+
+    public static SourceFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo grande demais: " + path);
+            }
+            ByteBuffer bytes;
+            if (size > MAP_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                    // lê até encher o buffer
+                }
+                bytes.flip();
+            }
+            return decode(path, bytes);
+        }
+    }
+
+    private static SourceFile decode(Path path, ByteBuffer bytes) throws IOException {
+        int n = bytes.remaining();
+        char[] chars = new char[n];
+
+        // Caminho rápido: fontes Cool costumam ser ASCII puro
+        int i = 0;
+        for (; i < n; i++) {
+            byte b = bytes.get(i);
+            if (b < 0) {
+                break;
+            }
+            chars[i] = (char) b;
+        }
+        if (i == n) {
+            return new SourceFile(path, chars, n, n);
+        }
+
+        // Há bytes não ASCII: decodifica o restante como UTF-8
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        bytes.position(i);
+        CharBuffer out = CharBuffer.wrap(chars);
+        out.position(i);
+        decoder.decode(bytes, out, true);
+        decoder.flush(out);
+        // UTF-8 nunca gera mais chars que bytes, então o vetor sempre basta
+        return new SourceFile(path, chars, out.position(), n);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /** Caracteres da fonte; apenas as primeiras {@link #length()} posições são válidas. */
+    public char[] chars() {
+        return chars;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /** Tamanho do arquivo em bytes; quando a fonte não veio de um arquivo, o número de caracteres. */
+    public long byteSize() {
+        return byteSize;
+    }
+}
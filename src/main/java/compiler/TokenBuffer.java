@@ -0,0 +1,139 @@
+package compiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Sequência de tokens de um arquivo guardada como vetores paralelos de
+ * inteiros (um vetor por campo), preenchida por {@link Lexer#lexAll}.
+ *
+ * O campo {@code value} depende do tipo do token: índice na idtable para
+ * ID/TYPEID, índice na stringtable para STR_CONST, o próprio valor para
+ * INT_CONST, 0/1 para TRUE/FALSE e a posição da mensagem em
+ * {@link #error(int)} para ERROR. Nos demais tokens vale 0.
+ *
+ * Um mesmo buffer pode ser relido várias vezes pelo {@link Parser} através
+ * de {@link #scanner()}, sem passar pelo {@link Lexer} de novo.
+ */
+public final class TokenBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] kind;
+    private int[] start;
+    private int[] length;
+    private int[] line;
+    private int[] column;
+    private int[] value;
+    private int size;
+    private int eofLine;
+    private int eofColumn;
+    private final ArrayList<String> errors = new ArrayList<>();
+
+    public TokenBuffer() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public TokenBuffer(int capacity) {
+        capacity = Math.max(capacity, 16);
+        kind = new int[capacity];
+        start = new int[capacity];
+        length = new int[capacity];
+        line = new int[capacity];
+        column = new int[capacity];
+        value = new int[capacity];
+    }
+
+    void add(int kind, int start, int length, int line, int column, int value) {
+        if (size == this.kind.length) {
+            grow();
+        }
+        this.kind[size] = kind;
+        this.start[size] = start;
+        this.length[size] = length;
+        this.line[size] = line;
+        this.column[size] = column;
+        this.value[size] = value;
+        size++;
+    }
+
+    /** Guarda a mensagem de um token ERROR e devolve seu índice. */
+    int addError(String message) {
+        errors.add(message);
+        return errors.size() - 1;
+    }
+
+    /* Posição do fim da entrada, a mesma do EOF que o lexer devolveria */
+    void setEof(int line, int column) {
+        eofLine = line;
+        eofColumn = column;
+    }
+
+    private void grow() {
+        int capacity = kind.length * 2;
+        kind = Arrays.copyOf(kind, capacity);
+        start = Arrays.copyOf(start, capacity);
+        length = Arrays.copyOf(length, capacity);
+        line = Arrays.copyOf(line, capacity);
+        column = Arrays.copyOf(column, capacity);
+        value = Arrays.copyOf(value, capacity);
+    }
+
+    /** Esvazia o buffer mantendo a capacidade já alocada. */
+    public void clear() {
+        size = 0;
+        eofLine = 0;
+        eofColumn = 0;
+        errors.clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Tipo do token (constante de {@link sym}). */
+    public int kind(int i) {
+        return kind[i];
+    }
+
+    /** Deslocamento do primeiro caractere do token na entrada. */
+    public int start(int i) {
+        return start[i];
+    }
+
+    /** Número de caracteres do token na entrada. */
+    public int length(int i) {
+        return length[i];
+    }
+
+    public int line(int i) {
+        return line[i];
+    }
+
+    public int column(int i) {
+        return column[i];
+    }
+
+    public int value(int i) {
+        return value[i];
+    }
+
+    /** Linha do fim da entrada, para o EOF entregue ao parser. */
+    public int eofLine() {
+        return eofLine;
+    }
+
+    public int eofColumn() {
+        return eofColumn;
+    }
+
+    /** Mensagem do token ERROR cujo {@code value} é {@code index}. */
+    public String error(int index) {
+        return errors.get(index);
+    }
+
+    /** Novo scanner para o CUP que percorre este buffer do início. */
+    public TokenBufferScanner scanner() {
+        return new TokenBufferScanner(this);
+    }
+}
@@ -0,0 +1,53 @@
+package compiler;
+
+import compiler.util.AbstractTable;
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+
+/**
+ * Adapta um {@link TokenBuffer} à interface de scanner do CUP, recriando os
+ * {@link Symbol}s com os mesmos valores que o {@link Lexer} produziria.
+ */
+public final class TokenBufferScanner implements Scanner {
+
+    private final TokenBuffer tokens;
+    private int next;
+
+    public TokenBufferScanner(TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /** Volta ao primeiro token, para uma nova análise do mesmo buffer. */
+    public void reset() {
+        next = 0;
+    }
+
+    @Override
+    public Symbol next_token() {
+        if (next >= tokens.size()) {
+            return new Symbol(sym.EOF, tokens.eofLine(), tokens.eofColumn());
+        }
+        int i = next++;
+        int kind = tokens.kind(i);
+        return new Symbol(kind, tokens.line(i), tokens.column(i), valueOf(kind, tokens.value(i)));
+    }
+
+    private Object valueOf(int kind, int value) {
+        switch (kind) {
+        case sym.ID:
+        case sym.TYPEID:
+            return AbstractTable.idtable.lookup(value);
+        case sym.STR_CONST:
+            return AbstractTable.stringtable.lookup(value);
+        case sym.INT_CONST:
+            return Integer.valueOf(value);
+        case sym.TRUE:
+        case sym.FALSE:
+            return value != 0 ? Boolean.TRUE : Boolean.FALSE;
+        case sym.ERROR:
+            return tokens.error(value);
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Atribuição: {@code nome <- expr}. */
+public final class Assign extends Expr {
+
+    public final IdSymbol name;
+    public final Expr expr;
+
+    public Assign(int line, int column, IdSymbol name, Expr expr) {
+        super(line, column);
+        this.name = name;
+        this.expr = expr;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,510 @@
+package compiler.ast;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import compiler.util.AbstractSymbol;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import compiler.util.IntSymbol;
+import compiler.util.StringSymbol;
+
+/**
+ * Formato binário compacto da AST, usado pelo cache e para passar árvores
+ * entre processos sem reanalisar o código-fonte.
+ *
+ * Layout (todos os inteiros são varints sem sinal de 7 bits por byte, exceto
+ * onde indicado):
+ * <pre>
+ *   "CAST" versão
+ *   tabela de identificadores   n (comprimento bytes-UTF-8)*n
+ *   tabela de inteiros          idem
+ *   tabela de strings           idem
+ *   nós em pré-ordem
+ * </pre>
+ * Cada nó é {@code tipo Δlinha coluna campos...}: o tipo é uma das
+ * constantes {@code K_*}, {@code Δlinha} é a diferença para a linha do nó
+ * anterior em zigzag (quase sempre um byte) e os símbolos são índices nas
+ * tabelas acima. Listas são {@code n} seguido dos elementos; uma expressão
+ * opcional ausente é o tipo {@link #K_NONE}.
+ *
+ * A leitura avança sobre um {@link ByteBuffer} sem copiá-lo, então funciona
+ * direto sobre um arquivo mapeado em memória ({@link #load(Path)}); só as
+ * strings das tabelas são materializadas, e cada uma é internada na
+ * {@link AbstractTable} correspondente, como faria o lexer.
+ */
+public final class AstFormat {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 'C', 'A', 'S', 'T' };
+
+    static final int K_NONE = 0;
+    static final int K_PROGRAM = 1;
+    static final int K_CLASS = 2;
+    static final int K_METHOD = 3;
+    static final int K_ATTRIBUTE = 4;
+    static final int K_FORMAL = 5;
+    static final int K_BRANCH = 6;
+    static final int K_ASSIGN = 7;
+    static final int K_STATIC_DISPATCH = 8;
+    static final int K_DISPATCH = 9;
+    static final int K_COND = 10;
+    static final int K_LOOP = 11;
+    static final int K_BLOCK = 12;
+    static final int K_LET = 13;
+    static final int K_CASE = 14;
+    static final int K_NEW = 15;
+    static final int K_ISVOID = 16;
+    static final int K_NEG = 17;
+    static final int K_NOT = 18;
+    static final int K_PLUS = 19;
+    static final int K_SUB = 20;
+    static final int K_MUL = 21;
+    static final int K_DIVIDE = 22;
+    static final int K_LT = 23;
+    static final int K_LE = 24;
+    static final int K_EQ = 25;
+    static final int K_OBJECT = 26;
+    static final int K_INT = 27;
+    static final int K_STRING = 28;
+    static final int K_TRUE = 29;
+    static final int K_FALSE = 30;
+
+    private AstFormat() {
+    }
+
+    /** Codifica o programa no formato binário. */
+    public static byte[] encode(Program program) {
+        Writer w = new Writer();
+        program.accept(w, null);
+
+        Bytes out = new Bytes(w.body.size + 256);
+        out.write(MAGIC, 0, MAGIC.length);
+        out.varint(VERSION);
+        w.ids.writeTo(out);
+        w.ints.writeTo(out);
+        w.strings.writeTo(out);
+        out.write(w.body.buf, 0, w.body.size);
+        return out.toByteArray();
+    }
+
+    public static void write(Program program, OutputStream out) throws IOException {
+        out.write(encode(program));
+    }
+
+    public static Program decode(byte[] bytes) throws IOException {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodifica um programa a partir da posição atual de {@code buffer}.
+     * A posição do buffer recebido não é alterada.
+     *
+     * @throws IOException se os dados não estão no formato ou são de outra versão
+     */
+    public static Program decode(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.slice();
+        try {
+            for (byte b : MAGIC) {
+                if (in.get() != b) {
+                    throw new IOException("não é uma AST binária");
+                }
+            }
+            int version = varint(in);
+            if (version != VERSION) {
+                throw new IOException("versão " + version + " da AST binária (esperada " + VERSION + ")");
+            }
+            Reader r = new Reader(in);
+            TreeNode root = r.node();
+            if (!(root instanceof Program)) {
+                throw new IOException("AST binária corrompida: a raiz não é um programa");
+            }
+            return (Program) root;
+        } catch (RuntimeException e) {
+            // Underflow, índice fora da tabela, tipo de nó trocado, inteiro inválido...
+            throw new IOException("AST binária corrompida", e);
+        }
+    }
+
+    /** Lê um programa de um arquivo mapeado em memória. */
+    public static Program load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static int varint(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("AST binária corrompida: varint longo demais");
+    }
+
+    /* Buffer de bytes crescente, sem a sincronização de ByteArrayOutputStream */
+    private static final class Bytes {
+        byte[] buf;
+        int size;
+
+        Bytes(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+
+        void varint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        void write(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, buf, size, len);
+            size += len;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+    }
+
+    /* Símbolos de uma tabela na ordem em que aparecem na árvore */
+    private static final class SymbolIndex {
+        final IdentityHashMap<AbstractSymbol, Integer> indices = new IdentityHashMap<>();
+        final List<AbstractSymbol> symbols = new ArrayList<>();
+
+        int indexOf(AbstractSymbol s) {
+            Integer i = indices.get(s);
+            if (i == null) {
+                i = symbols.size();
+                indices.put(s, i);
+                symbols.add(s);
+            }
+            return i;
+        }
+
+        void writeTo(Bytes out) {
+            out.varint(symbols.size());
+            for (AbstractSymbol s : symbols) {
+                byte[] utf8 = s.getString().getBytes(StandardCharsets.UTF_8);
+                out.varint(utf8.length);
+                out.write(utf8, 0, utf8.length);
+            }
+        }
+    }
+
+    private static final class Writer implements Visitor<Void, Void> {
+        final Bytes body = new Bytes(4096);
+        final SymbolIndex ids = new SymbolIndex();
+        final SymbolIndex ints = new SymbolIndex();
+        final SymbolIndex strings = new SymbolIndex();
+        int lastLine;
+
+        private void header(int kind, TreeNode node) {
+            body.varint(kind);
+            int delta = node.line - lastLine;
+            body.varint((delta << 1) ^ (delta >> 31));
+            body.varint(node.column);
+            lastLine = node.line;
+        }
+
+        private void id(IdSymbol s) {
+            body.varint(ids.indexOf(s));
+        }
+
+        private void node(TreeNode node) {
+            if (node == null) {
+                body.varint(K_NONE);
+            } else {
+                node.accept(this, null);
+            }
+        }
+
+        private void nodes(TreeNode[] nodes) {
+            body.varint(nodes.length);
+            for (TreeNode n : nodes) {
+                n.accept(this, null);
+            }
+        }
+
+        private Void binary(int kind, BinaryExpr node) {
+            header(kind, node);
+            node(node.left);
+            node(node.right);
+            return null;
+        }
+
+        @Override public Void visit(Program node, Void arg) { header(K_PROGRAM, node); nodes(node.classes); return null; }
+        @Override public Void visit(ClassDecl node, Void arg) { header(K_CLASS, node); id(node.name); id(node.parent); nodes(node.features); return null; }
+        @Override public Void visit(Method node, Void arg) { header(K_METHOD, node); id(node.name); nodes(node.formals); id(node.type); node(node.body); return null; }
+        @Override public Void visit(Attribute node, Void arg) { header(K_ATTRIBUTE, node); id(node.name); id(node.type); node(node.init); return null; }
+        @Override public Void visit(Formal node, Void arg) { header(K_FORMAL, node); id(node.name); id(node.type); return null; }
+        @Override public Void visit(CaseBranch node, Void arg) { header(K_BRANCH, node); id(node.name); id(node.type); node(node.expr); return null; }
+
+        @Override public Void visit(Assign node, Void arg) { header(K_ASSIGN, node); id(node.name); node(node.expr); return null; }
+        @Override public Void visit(StaticDispatch node, Void arg) { header(K_STATIC_DISPATCH, node); node(node.expr); id(node.typeName); id(node.name); nodes(node.args); return null; }
+        @Override public Void visit(Dispatch node, Void arg) { header(K_DISPATCH, node); node(node.expr); id(node.name); nodes(node.args); return null; }
+        @Override public Void visit(Cond node, Void arg) { header(K_COND, node); node(node.pred); node(node.thenExpr); node(node.elseExpr); return null; }
+        @Override public Void visit(Loop node, Void arg) { header(K_LOOP, node); node(node.pred); node(node.body); return null; }
+        @Override public Void visit(Block node, Void arg) { header(K_BLOCK, node); nodes(node.body); return null; }
+        @Override public Void visit(Let node, Void arg) { header(K_LET, node); id(node.name); id(node.type); node(node.init); node(node.body); return null; }
+        @Override public Void visit(Case node, Void arg) { header(K_CASE, node); node(node.expr); nodes(node.branches); return null; }
+        @Override public Void visit(New node, Void arg) { header(K_NEW, node); id(node.typeName); return null; }
+        @Override public Void visit(IsVoid node, Void arg) { header(K_ISVOID, node); node(node.expr); return null; }
+        @Override public Void visit(Neg node, Void arg) { header(K_NEG, node); node(node.expr); return null; }
+        @Override public Void visit(Not node, Void arg) { header(K_NOT, node); node(node.expr); return null; }
+        @Override public Void visit(Plus node, Void arg) { return binary(K_PLUS, node); }
+        @Override public Void visit(Sub node, Void arg) { return binary(K_SUB, node); }
+        @Override public Void visit(Mul node, Void arg) { return binary(K_MUL, node); }
+        @Override public Void visit(Divide node, Void arg) { return binary(K_DIVIDE, node); }
+        @Override public Void visit(Lt node, Void arg) { return binary(K_LT, node); }
+        @Override public Void visit(Le node, Void arg) { return binary(K_LE, node); }
+        @Override public Void visit(Eq node, Void arg) { return binary(K_EQ, node); }
+        @Override public Void visit(ObjectRef node, Void arg) { header(K_OBJECT, node); id(node.name); return null; }
+        @Override public Void visit(IntConst node, Void arg) { header(K_INT, node); body.varint(ints.indexOf(node.symbol)); return null; }
+        @Override public Void visit(StringConst node, Void arg) { header(K_STRING, node); body.varint(strings.indexOf(node.value)); return null; }
+        @Override public Void visit(BoolConst node, Void arg) { header(node.value ? K_TRUE : K_FALSE, node); return null; }
+    }
+
+    private static final class Reader {
+        final ByteBuffer in;
+        final IdSymbol[] ids;
+        final IntSymbol[] ints;
+        final StringSymbol[] strings;
+        byte[] scratch = new byte[64];
+        int lastLine;
+
+        Reader(ByteBuffer in) throws IOException {
+            this.in = in;
+            int n = count();
+            ids = new IdSymbol[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = AbstractTable.idtable.addString(string());
+            }
+            n = count();
+            ints = new IntSymbol[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = AbstractTable.inttable.addString(string());
+            }
+            n = count();
+            strings = new StringSymbol[n];
+            for (int i = 0; i < n; i++) {
+                strings[i] = AbstractTable.stringtable.addString(string());
+            }
+        }
+
+        private String string() throws IOException {
+            int len = varint(in);
+            if (len > in.remaining()) {
+                throw new IOException("AST binária corrompida: string além do fim");
+            }
+            if (len > scratch.length) {
+                scratch = new byte[Math.max(len, scratch.length * 2)];
+            }
+            in.get(scratch, 0, len);
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+
+        private IdSymbol id() throws IOException {
+            return ids[varint(in)];
+        }
+
+        private int count() throws IOException {
+            int n = varint(in);
+            // Cada elemento ocupa ao menos um byte: evita alocar arrays absurdos
+            if (n < 0 || n > in.remaining()) {
+                throw new IOException("AST binária corrompida: lista longa demais");
+            }
+            return n;
+        }
+
+        /* Filho obrigatório: K_NONE só é aceito onde a AST admite null */
+        private TreeNode required() throws IOException {
+            TreeNode node = node();
+            if (node == null) {
+                throw new IOException("AST binária corrompida: filho obrigatório ausente");
+            }
+            return node;
+        }
+
+        private Expr expr() throws IOException {
+            return (Expr) required();
+        }
+
+        /* Inicialização de atributo ou de let */
+        private Expr optionalExpr() throws IOException {
+            return (Expr) node();
+        }
+
+        private Expr[] exprs() throws IOException {
+            Expr[] a = new Expr[count()];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = expr();
+            }
+            return a;
+        }
+
+        TreeNode node() throws IOException {
+            int kind = varint(in);
+            if (kind == K_NONE) {
+                return null;
+            }
+            int zigzag = varint(in);
+            int line = lastLine + ((zigzag >>> 1) ^ -(zigzag & 1));
+            int column = varint(in);
+            lastLine = line;
+
+            switch (kind) {
+            case K_PROGRAM: {
+                ClassDecl[] classes = new ClassDecl[count()];
+                for (int i = 0; i < classes.length; i++) {
+                    classes[i] = (ClassDecl) required();
+                }
+                return new Program(line, column, classes);
+            }
+            case K_CLASS: {
+                IdSymbol name = id();
+                IdSymbol parent = id();
+                Feature[] features = new Feature[count()];
+                for (int i = 0; i < features.length; i++) {
+                    features[i] = (Feature) required();
+                }
+                return new ClassDecl(line, column, name, parent, features);
+            }
+            case K_METHOD: {
+                IdSymbol name = id();
+                Formal[] formals = new Formal[count()];
+                for (int i = 0; i < formals.length; i++) {
+                    formals[i] = (Formal) required();
+                }
+                IdSymbol type = id();
+                return new Method(line, column, name, formals, type, expr());
+            }
+            case K_ATTRIBUTE: {
+                IdSymbol name = id();
+                IdSymbol type = id();
+                return new Attribute(line, column, name, type, optionalExpr());
+            }
+            case K_FORMAL: {
+                IdSymbol name = id();
+                return new Formal(line, column, name, id());
+            }
+            case K_BRANCH: {
+                IdSymbol name = id();
+                IdSymbol type = id();
+                return new CaseBranch(line, column, name, type, expr());
+            }
+            case K_ASSIGN: {
+                IdSymbol name = id();
+                return new Assign(line, column, name, expr());
+            }
+            case K_STATIC_DISPATCH: {
+                Expr expr = expr();
+                IdSymbol typeName = id();
+                IdSymbol name = id();
+                return new StaticDispatch(line, column, expr, typeName, name, exprs());
+            }
+            case K_DISPATCH: {
+                Expr expr = expr();
+                IdSymbol name = id();
+                return new Dispatch(line, column, expr, name, exprs());
+            }
+            case K_COND: {
+                Expr pred = expr();
+                Expr thenExpr = expr();
+                return new Cond(line, column, pred, thenExpr, expr());
+            }
+            case K_LOOP: {
+                Expr pred = expr();
+                return new Loop(line, column, pred, expr());
+            }
+            case K_BLOCK:
+                return new Block(line, column, exprs());
+            case K_LET: {
+                IdSymbol name = id();
+                IdSymbol type = id();
+                Expr init = optionalExpr();
+                return new Let(line, column, name, type, init, expr());
+            }
+            case K_CASE: {
+                Expr expr = expr();
+                CaseBranch[] branches = new CaseBranch[count()];
+                for (int i = 0; i < branches.length; i++) {
+                    branches[i] = (CaseBranch) required();
+                }
+                return new Case(line, column, expr, branches);
+            }
+            case K_NEW:
+                return new New(line, column, id());
+            case K_ISVOID:
+                return new IsVoid(line, column, expr());
+            case K_NEG:
+                return new Neg(line, column, expr());
+            case K_NOT:
+                return new Not(line, column, expr());
+            case K_PLUS: {
+                Expr left = expr();
+                return new Plus(line, column, left, expr());
+            }
+            case K_SUB: {
+                Expr left = expr();
+                return new Sub(line, column, left, expr());
+            }
+            case K_MUL: {
+                Expr left = expr();
+                return new Mul(line, column, left, expr());
+            }
+            case K_DIVIDE: {
+                Expr left = expr();
+                return new Divide(line, column, left, expr());
+            }
+            case K_LT: {
+                Expr left = expr();
+                return new Lt(line, column, left, expr());
+            }
+            case K_LE: {
+                Expr left = expr();
+                return new Le(line, column, left, expr());
+            }
+            case K_EQ: {
+                Expr left = expr();
+                return new Eq(line, column, left, expr());
+            }
+            case K_OBJECT:
+                return new ObjectRef(line, column, id());
+            case K_INT:
+                return new IntConst(line, column, ints[varint(in)]);
+            case K_STRING:
+                return new StringConst(line, column, strings[varint(in)]);
+            case K_TRUE:
+                return new BoolConst(line, column, true);
+            case K_FALSE:
+                return new BoolConst(line, column, false);
+            default:
+                throw new IOException("AST binária corrompida: tipo de nó " + kind);
+            }
+        }
+    }
+}
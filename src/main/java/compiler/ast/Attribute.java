@@ -0,0 +1,20 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Atributo: {@code nome : Tipo [<- init];} */
+public final class Attribute extends Feature {
+
+    /** Expressão de inicialização, ou {@code null} quando ausente. */
+    public final Expr init;
+
+    public Attribute(int line, int column, IdSymbol name, IdSymbol type, Expr init) {
+        super(line, column, name, type);
+        this.init = init;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
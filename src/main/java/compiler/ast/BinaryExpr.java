@@ -0,0 +1,14 @@
+package compiler.ast;
+
+/** Base das operações binárias aritméticas e de comparação. */
+public abstract class BinaryExpr extends Expr {
+
+    public final Expr left;
+    public final Expr right;
+
+    protected BinaryExpr(int line, int column, Expr left, Expr right) {
+        super(line, column);
+        this.left = left;
+        this.right = right;
+    }
+}
@@ -0,0 +1,17 @@
+package compiler.ast;
+
+/** Bloco: {@code { e1; e2; ... }}. */
+public final class Block extends Expr {
+
+    public final Expr[] body;
+
+    public Block(int line, int column, Expr[] body) {
+        super(line, column);
+        this.body = body;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,17 @@
+package compiler.ast;
+
+/** Constante booleana ({@code true} ou {@code false}). */
+public final class BoolConst extends Expr {
+
+    public final boolean value;
+
+    public BoolConst(int line, int column, boolean value) {
+        super(line, column);
+        this.value = value;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
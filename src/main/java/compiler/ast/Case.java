@@ -0,0 +1,19 @@
+package compiler.ast;
+
+/** Case: {@code case expr of ramos esac}. */
+public final class Case extends Expr {
+
+    public final Expr expr;
+    public final CaseBranch[] branches;
+
+    public Case(int line, int column, Expr expr, CaseBranch[] branches) {
+        super(line, column);
+        this.expr = expr;
+        this.branches = branches;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,23 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Ramo de um case: {@code nome : Tipo => expr;} */
+public final class CaseBranch extends TreeNode {
+
+    public final IdSymbol name;
+    public final IdSymbol type;
+    public final Expr expr;
+
+    public CaseBranch(int line, int column, IdSymbol name, IdSymbol type, Expr expr) {
+        super(line, column);
+        this.name = name;
+        this.type = type;
+        this.expr = expr;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,24 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Declaração de classe: {@code class Nome [inherits Pai] { features };} */
+public final class ClassDecl extends TreeNode {
+
+    public final IdSymbol name;
+    /** Nome da classe pai; {@code Object} quando não há cláusula {@code inherits}. */
+    public final IdSymbol parent;
+    public final Feature[] features;
+
+    public ClassDecl(int line, int column, IdSymbol name, IdSymbol parent, Feature[] features) {
+        super(line, column);
+        this.name = name;
+        this.parent = parent;
+        this.features = features;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
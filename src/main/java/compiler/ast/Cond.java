@@ -0,0 +1,21 @@
+package compiler.ast;
+
+/** Condicional: {@code if pred then thenExpr else elseExpr fi}. */
+public final class Cond extends Expr {
+
+    public final Expr pred;
+    public final Expr thenExpr;
+    public final Expr elseExpr;
+
+    public Cond(int line, int column, Expr pred, Expr thenExpr, Expr elseExpr) {
+        super(line, column);
+        this.pred = pred;
+        this.thenExpr = thenExpr;
+        this.elseExpr = elseExpr;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
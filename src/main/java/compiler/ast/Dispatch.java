@@ -0,0 +1,28 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/**
+ * Despacho dinâmico: {@code expr.metodo(args)}.
+ *
+ * A chamada sem receptor ({@code metodo(args)}) é representada com um
+ * {@link ObjectRef} para {@code self} como receptor.
+ */
+public final class Dispatch extends Expr {
+
+    public final Expr expr;
+    public final IdSymbol name;
+    public final Expr[] args;
+
+    public Dispatch(int line, int column, Expr expr, IdSymbol name, Expr[] args) {
+        super(line, column);
+        this.expr = expr;
+        this.name = name;
+        this.args = args;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,14 @@
+package compiler.ast;
+
+/** Divisão inteira: {@code left / right}. */
+public final class Divide extends BinaryExpr {
+
+    public Divide(int line, int column, Expr left, Expr right) {
+        super(line, column, left, right);
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,23 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Base de todas as expressões. */
+public abstract class Expr extends TreeNode {
+
+    /* Único campo mutável da AST: anotado uma vez pelo verificador de tipos */
+    private IdSymbol staticType;
+
+    protected Expr(int line, int column) {
+        super(line, column);
+    }
+
+    /** Tipo estático (um nome de classe ou SELF_TYPE), ou {@code null} antes da verificação de tipos. */
+    public IdSymbol getStaticType() {
+        return staticType;
+    }
+
+    public void setStaticType(IdSymbol staticType) {
+        this.staticType = staticType;
+    }
+}
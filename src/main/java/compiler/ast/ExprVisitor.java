@@ -0,0 +1,46 @@
+package compiler.ast;
+
+/**
+ * Base dos visitantes que só percorrem expressões (verificação de tipos e
+ * backends). Os nós que não são expressões falham com
+ * {@link IllegalStateException}; quem também visita features sobrescreve
+ * {@link #visit(Method, Object)} e {@link #visit(Attribute, Object)}.
+ */
+public abstract class ExprVisitor<R, A> implements Visitor<R, A> {
+
+    /* Erro de programação: um nó fora de expressão chegou a este visitante */
+    protected IllegalStateException unexpected(TreeNode node) {
+        return new IllegalStateException(getClass().getSimpleName() + " não visita "
+                + node.getClass().getSimpleName() + " (linha " + node.line + ")");
+    }
+
+    @Override
+    public R visit(Program node, A arg) {
+        throw unexpected(node);
+    }
+
+    @Override
+    public R visit(ClassDecl node, A arg) {
+        throw unexpected(node);
+    }
+
+    @Override
+    public R visit(Method node, A arg) {
+        throw unexpected(node);
+    }
+
+    @Override
+    public R visit(Attribute node, A arg) {
+        throw unexpected(node);
+    }
+
+    @Override
+    public R visit(Formal node, A arg) {
+        throw unexpected(node);
+    }
+
+    @Override
+    public R visit(CaseBranch node, A arg) {
+        throw unexpected(node);
+    }
+}
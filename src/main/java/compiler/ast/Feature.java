@@ -0,0 +1,17 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Membro de uma classe: método ou atributo. */
+public abstract class Feature extends TreeNode {
+
+    public final IdSymbol name;
+    /** Tipo de retorno (método) ou tipo declarado (atributo). */
+    public final IdSymbol type;
+
+    protected Feature(int line, int column, IdSymbol name, IdSymbol type) {
+        super(line, column);
+        this.name = name;
+        this.type = type;
+    }
+}
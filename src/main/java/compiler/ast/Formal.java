@@ -0,0 +1,21 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Parâmetro formal de método: {@code nome : Tipo}. */
+public final class Formal extends TreeNode {
+
+    public final IdSymbol name;
+    public final IdSymbol type;
+
+    public Formal(int line, int column, IdSymbol name, IdSymbol type) {
+        super(line, column);
+        this.name = name;
+        this.type = type;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
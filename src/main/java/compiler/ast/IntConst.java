@@ -0,0 +1,22 @@
+package compiler.ast;
+
+import compiler.util.IntSymbol;
+
+/** Constante inteira. */
+public final class IntConst extends Expr {
+
+    /** Entrada da inttable (usada para gerar as constantes do programa). */
+    public final IntSymbol symbol;
+    public final int value;
+
+    public IntConst(int line, int column, IntSymbol symbol) {
+        super(line, column);
+        this.symbol = symbol;
+        this.value = symbol.getValue();
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
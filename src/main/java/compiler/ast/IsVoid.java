@@ -0,0 +1,17 @@
+package compiler.ast;
+
+/** Teste de void: {@code isvoid expr}. */
+public final class IsVoid extends Expr {
+
+    public final Expr expr;
+
+    public IsVoid(int line, int column, Expr expr) {
+        super(line, column);
+        this.expr = expr;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,31 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/**
+ * Let com uma única variável: {@code let nome : Tipo [<- init] in body}.
+ *
+ * Um let com várias variáveis é representado como lets aninhados,
+ * um por variável, na ordem em que aparecem.
+ */
+public final class Let extends Expr {
+
+    public final IdSymbol name;
+    public final IdSymbol type;
+    /** Expressão de inicialização, ou {@code null} quando ausente. */
+    public final Expr init;
+    public final Expr body;
+
+    public Let(int line, int column, IdSymbol name, IdSymbol type, Expr init, Expr body) {
+        super(line, column);
+        this.name = name;
+        this.type = type;
+        this.init = init;
+        this.body = body;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
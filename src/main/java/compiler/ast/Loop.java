@@ -0,0 +1,19 @@
+package compiler.ast;
+
+/** Repetição: {@code while pred loop body pool}. */
+public final class Loop extends Expr {
+
+    public final Expr pred;
+    public final Expr body;
+
+    public Loop(int line, int column, Expr pred, Expr body) {
+        super(line, column);
+        this.pred = pred;
+        this.body = body;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,14 @@
+package compiler.ast;
+
+/** Comparação: {@code left < right}. */
+public final class Lt extends BinaryExpr {
+
+    public Lt(int line, int column, Expr left, Expr right) {
+        super(line, column, left, right);
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
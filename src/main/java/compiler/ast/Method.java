@@ -0,0 +1,21 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Método: {@code nome(formais) : Tipo { corpo };} */
+public final class Method extends Feature {
+
+    public final Formal[] formals;
+    public final Expr body;
+
+    public Method(int line, int column, IdSymbol name, Formal[] formals, IdSymbol returnType, Expr body) {
+        super(line, column, name, returnType);
+        this.formals = formals;
+        this.body = body;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,17 @@
+package compiler.ast;
+
+/** Complemento aritmético: {@code ~expr}. */
+public final class Neg extends Expr {
+
+    public final Expr expr;
+
+    public Neg(int line, int column, Expr expr) {
+        super(line, column);
+        this.expr = expr;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,19 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Instanciação: {@code new Tipo}. */
+public final class New extends Expr {
+
+    public final IdSymbol typeName;
+
+    public New(int line, int column, IdSymbol typeName) {
+        super(line, column);
+        this.typeName = typeName;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
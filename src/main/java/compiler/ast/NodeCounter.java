@@ -0,0 +1,53 @@
+package compiler.ast;
+
+/** Conta os nós de uma AST (programa, classes, features, formais, ramos e expressões). */
+public final class NodeCounter implements Visitor<Integer, Void> {
+
+    private static final NodeCounter INSTANCE = new NodeCounter();
+
+    private NodeCounter() {
+    }
+
+    public static int count(TreeNode node) {
+        return node == null ? 0 : node.accept(INSTANCE, null);
+    }
+
+    private static int count(TreeNode[] nodes) {
+        int n = 0;
+        for (TreeNode node : nodes) {
+            n += count(node);
+        }
+        return n;
+    }
+
+    @Override public Integer visit(Program node, Void arg) { return 1 + count(node.classes); }
+    @Override public Integer visit(ClassDecl node, Void arg) { return 1 + count(node.features); }
+    @Override public Integer visit(Method node, Void arg) { return 1 + count(node.formals) + count(node.body); }
+    @Override public Integer visit(Attribute node, Void arg) { return 1 + count(node.init); }
+    @Override public Integer visit(Formal node, Void arg) { return 1; }
+    @Override public Integer visit(CaseBranch node, Void arg) { return 1 + count(node.expr); }
+
+    @Override public Integer visit(Assign node, Void arg) { return 1 + count(node.expr); }
+    @Override public Integer visit(StaticDispatch node, Void arg) { return 1 + count(node.expr) + count(node.args); }
+    @Override public Integer visit(Dispatch node, Void arg) { return 1 + count(node.expr) + count(node.args); }
+    @Override public Integer visit(Cond node, Void arg) { return 1 + count(node.pred) + count(node.thenExpr) + count(node.elseExpr); }
+    @Override public Integer visit(Loop node, Void arg) { return 1 + count(node.pred) + count(node.body); }
+    @Override public Integer visit(Block node, Void arg) { return 1 + count(node.body); }
+    @Override public Integer visit(Let node, Void arg) { return 1 + count(node.init) + count(node.body); }
+    @Override public Integer visit(Case node, Void arg) { return 1 + count(node.expr) + count(node.branches); }
+    @Override public Integer visit(New node, Void arg) { return 1; }
+    @Override public Integer visit(IsVoid node, Void arg) { return 1 + count(node.expr); }
+    @Override public Integer visit(Neg node, Void arg) { return 1 + count(node.expr); }
+    @Override public Integer visit(Not node, Void arg) { return 1 + count(node.expr); }
+    @Override public Integer visit(Plus node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(Sub node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(Mul node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(Divide node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(Lt node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(Le node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(Eq node, Void arg) { return 1 + count(node.left) + count(node.right); }
+    @Override public Integer visit(ObjectRef node, Void arg) { return 1; }
+    @Override public Integer visit(IntConst node, Void arg) { return 1; }
+    @Override public Integer visit(StringConst node, Void arg) { return 1; }
+    @Override public Integer visit(BoolConst node, Void arg) { return 1; }
+}
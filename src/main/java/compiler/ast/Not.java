@@ -0,0 +1,17 @@
+package compiler.ast;
+
+/** Negação booleana: {@code not expr}. */
+public final class Not extends Expr {
+
+    public final Expr expr;
+
+    public Not(int line, int column, Expr expr) {
+        super(line, column);
+        this.expr = expr;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,19 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Referência a um identificador (variável, atributo, parâmetro ou {@code self}). */
+public final class ObjectRef extends Expr {
+
+    public final IdSymbol name;
+
+    public ObjectRef(int line, int column, IdSymbol name) {
+        super(line, column);
+        this.name = name;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,17 @@
+package compiler.ast;
+
+/** Raiz da AST: a lista de classes do programa. */
+public final class Program extends TreeNode {
+
+    public final ClassDecl[] classes;
+
+    public Program(int line, int column, ClassDecl[] classes) {
+        super(line, column);
+        this.classes = classes;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
@@ -0,0 +1,25 @@
+package compiler.ast;
+
+import compiler.util.IdSymbol;
+
+/** Despacho estático: {@code expr@Tipo.metodo(args)}. */
+public final class StaticDispatch extends Expr {
+
+    public final Expr expr;
+    public final IdSymbol typeName;
+    public final IdSymbol name;
+    public final Expr[] args;
+
+    public StaticDispatch(int line, int column, Expr expr, IdSymbol typeName, IdSymbol name, Expr[] args) {
+        super(line, column);
+        this.expr = expr;
+        this.typeName = typeName;
+        this.name = name;
+        this.args = args;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
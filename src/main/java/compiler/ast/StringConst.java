@@ -0,0 +1,19 @@
+package compiler.ast;
+
+import compiler.util.StringSymbol;
+
+/** Constante string (já com as sequências de escape resolvidas). */
+public final class StringConst extends Expr {
+
+    public final StringSymbol value;
+
+    public StringConst(int line, int column, StringSymbol value) {
+        super(line, column);
+        this.value = value;
+    }
+
+    @Override
+    public <R, A> R accept(Visitor<R, A> visitor, A arg) {
+        return visitor.visit(this, arg);
+    }
+}
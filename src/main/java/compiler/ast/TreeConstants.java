@@ -0,0 +1,45 @@
+package compiler.ast;
+
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+
+/** Nomes pré-definidos da linguagem, já internados na idtable. */
+public final class TreeConstants {
+
+    private TreeConstants() { }
+
+    private static IdSymbol id(String name) {
+        return AbstractTable.idtable.addString(name);
+    }
+
+    // Classes básicas
+    public static final IdSymbol Object_ = id("Object");
+    public static final IdSymbol IO = id("IO");
+    public static final IdSymbol Int = id("Int");
+    public static final IdSymbol Bool = id("Bool");
+    public static final IdSymbol Str = id("String");
+    public static final IdSymbol Main = id("Main");
+
+    // Tipos especiais
+    public static final IdSymbol SELF_TYPE = id("SELF_TYPE");
+    public static final IdSymbol self = id("self");
+    /** Pai de Object. */
+    public static final IdSymbol No_class = id("_no_class");
+
+    // Métodos das classes básicas
+    public static final IdSymbol main_meth = id("main");
+    public static final IdSymbol abort = id("abort");
+    public static final IdSymbol type_name = id("type_name");
+    public static final IdSymbol copy = id("copy");
+    public static final IdSymbol out_string = id("out_string");
+    public static final IdSymbol out_int = id("out_int");
+    public static final IdSymbol in_string = id("in_string");
+    public static final IdSymbol in_int = id("in_int");
+    public static final IdSymbol length = id("length");
+    public static final IdSymbol concat = id("concat");
+    public static final IdSymbol substr = id("substr");
+
+    // Nomes de parâmetros das classes básicas
+    public static final IdSymbol arg = id("arg");
+    public static final IdSymbol arg2 = id("arg2");
+}
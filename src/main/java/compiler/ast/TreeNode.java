@@ -0,0 +1,20 @@
+package compiler.ast;
+
+/**
+ * Base de todos os nós da árvore sintática abstrata (AST).
+ *
+ * As posições são guardadas como inteiros (linha e coluna, ambas começando em 1)
+ * para manter os nós compactos mesmo em programas muito grandes.
+ */
+public abstract class TreeNode {
+
+    public final int line;
+    public final int column;
+
+    protected TreeNode(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    public abstract <R, A> R accept(Visitor<R, A> visitor, A arg);
+}
@@ -0,0 +1,39 @@
+package compiler.ast;
+
+/**
+ * Visitante da AST. {@code R} é o tipo do resultado e {@code A} o tipo do
+ * argumento repassado a cada visita (contexto da passada).
+ */
+public interface Visitor<R, A> {
+
+    R visit(Program node, A arg);
+    R visit(ClassDecl node, A arg);
+    R visit(Method node, A arg);
+    R visit(Attribute node, A arg);
+    R visit(Formal node, A arg);
+    R visit(CaseBranch node, A arg);
+
+    R visit(Assign node, A arg);
+    R visit(StaticDispatch node, A arg);
+    R visit(Dispatch node, A arg);
+    R visit(Cond node, A arg);
+    R visit(Loop node, A arg);
+    R visit(Block node, A arg);
+    R visit(Let node, A arg);
+    R visit(Case node, A arg);
+    R visit(New node, A arg);
+    R visit(IsVoid node, A arg);
+    R visit(Neg node, A arg);
+    R visit(Not node, A arg);
+    R visit(Plus node, A arg);
+    R visit(Sub node, A arg);
+    R visit(Mul node, A arg);
+    R visit(Divide node, A arg);
+    R visit(Lt node, A arg);
+    R visit(Le node, A arg);
+    R visit(Eq node, A arg);
+    R visit(ObjectRef node, A arg);
+    R visit(IntConst node, A arg);
+    R visit(StringConst node, A arg);
+    R visit(BoolConst node, A arg);
+}
@@ -0,0 +1,364 @@
+package compiler.corpus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de programas Cool sintéticos para benchmarks e testes de carga.
+ *
+ * O programa gerado depende apenas da semente e do {@link Shape}: a mesma
+ * combinação produz sempre o mesmo texto. Os programas são válidos também
+ * semanticamente (tipos corretos, sem recursão e sem divisão), de modo que
+ * servem de entrada para qualquer passada do compilador, não só para o
+ * lexer e o parser. Toda expressão gerada é do tipo Int.
+ */
+public final class CorpusGenerator {
+
+    /** Forma do programa gerado. Os campos podem ser alterados à vontade. */
+    public static final class Shape {
+        /** Número de classes, além de Main. */
+        public int classes = 20;
+        /** Comprimento das cadeias de herança (1 = todas herdam de Object). */
+        public int inheritanceDepth = 3;
+        public int attributesPerClass = 2;
+        public int methodsPerClass = 3;
+        /** Profundidade máxima de let/case/if/bloco aninhados. */
+        public int nesting = 3;
+        /** Tamanho das constantes string (no máximo 1024). */
+        public int stringLength = 16;
+        /** Linhas de comentário geradas para cada linha de código. */
+        public int commentLinesPerLine = 0;
+
+        public static Shape small() {
+            return new Shape();
+        }
+
+        public static Shape medium() {
+            Shape s = new Shape();
+            s.classes = 500;
+            return s;
+        }
+
+        public static Shape huge() {
+            Shape s = new Shape();
+            s.classes = 5000;
+            s.methodsPerClass = 4;
+            return s;
+        }
+
+        public static Shape deepInheritance() {
+            Shape s = new Shape();
+            s.classes = 2000;
+            s.inheritanceDepth = 1000;
+            s.methodsPerClass = 1;
+            return s;
+        }
+
+        public static Shape deepNesting() {
+            Shape s = new Shape();
+            s.classes = 10;
+            s.methodsPerClass = 2;
+            s.nesting = 60;
+            return s;
+        }
+
+        public static Shape longStrings() {
+            Shape s = new Shape();
+            s.classes = 200;
+            s.attributesPerClass = 8;
+            s.stringLength = 1024;
+            return s;
+        }
+
+        public static Shape commentHeavy() {
+            Shape s = new Shape();
+            s.classes = 200;
+            s.commentLinesPerLine = 4;
+            return s;
+        }
+
+        /** Preset pelo nome usado na linha de comando. */
+        public static Shape named(String name) {
+            switch (name) {
+            case "small": return small();
+            case "medium": return medium();
+            case "huge": return huge();
+            case "deep-inheritance": return deepInheritance();
+            case "deep-nesting": return deepNesting();
+            case "long-strings": return longStrings();
+            case "comment-heavy": return commentHeavy();
+            default: throw new IllegalArgumentException("Forma desconhecida: " + name);
+            }
+        }
+    }
+
+    private static final String PRESETS =
+            "small, medium, huge, deep-inheritance, deep-nesting, long-strings, comment-heavy";
+
+    private static final String WORDS =
+            "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789 .,;:!?()[]{}<>=+-*/@~";
+
+    private final long seed;
+    private final Shape shape;
+
+    private SplittableRandom random;
+    private Appendable out;
+    private int indent;
+    private int fresh;
+
+    public CorpusGenerator(long seed, Shape shape) {
+        this.seed = seed;
+        this.shape = shape;
+    }
+
+    public String generate() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    public void writeTo(Appendable out) throws IOException {
+        this.random = new SplittableRandom(seed);
+        this.out = out;
+        this.indent = 0;
+        this.fresh = 0;
+
+        comment("Programa gerado: semente " + seed + ", " + shape.classes + " classes");
+        for (int c = 0; c < shape.classes; c++) {
+            classDecl(c);
+        }
+        mainClass();
+    }
+
+    private static String className(int c) {
+        return "C" + c;
+    }
+
+    private static String methodName(int c, int m) {
+        return "c" + c + "_m" + m;
+    }
+
+    // Cadeias de herança: C0 <- C1 <- ... <- C(d-1), depois uma nova cadeia
+    private String parentOf(int c) {
+        int depth = Math.max(shape.inheritanceDepth, 1);
+        return c % depth == 0 ? null : className(c - 1);
+    }
+
+    private void classDecl(int c) throws IOException {
+        String parent = parentOf(c);
+        line("class " + className(c) + (parent != null ? " inherits " + parent : "") + " {");
+        indent++;
+
+        for (int a = 0; a < shape.attributesPerClass; a++) {
+            if (a % 2 == 0) {
+                line("c" + c + "_a" + a + " : Int <- " + random.nextInt(1000) + ";");
+            } else {
+                line("c" + c + "_s" + a + " : String <- " + stringConstant() + ";");
+            }
+        }
+
+        for (int m = 0; m < shape.methodsPerClass; m++) {
+            line(methodName(c, m) + "(x : Int, y : Int) : Int {");
+            indent++;
+            List<String> scope = new ArrayList<>(List.of("x", "y"));
+            // Cada método pode chamar o anterior da mesma classe, mas só uma vez,
+            // para o custo de execução crescer linearmente
+            boolean[] call = { m > 0 };
+            line(expr(c, m, scope, shape.nesting, call));
+            indent--;
+            line("};");
+        }
+
+        indent--;
+        line("};");
+        line("");
+    }
+
+    private void mainClass() throws IOException {
+        line("class Main inherits IO {");
+        indent++;
+        line("main() : Object {");
+        indent++;
+        line("{");
+        indent++;
+        int step = Math.max(1, shape.classes / 10);
+        for (int c = 0; c < shape.classes && shape.methodsPerClass > 0; c += step) {
+            line("out_int(new " + className(c) + "." + methodName(c, shape.methodsPerClass - 1) + "(" + c + ", 1));");
+            line("out_string(\"\\n\");");
+        }
+        line("0;");
+        indent--;
+        line("}");
+        indent--;
+        line("};");
+        indent--;
+        line("};");
+    }
+
+    /*
+     * Expressão Int com "depth" níveis de aninhamento. Só uma subexpressão
+     * desce até o fim; as demais têm no máximo um nível, para o tamanho do
+     * texto crescer linearmente com a profundidade.
+     */
+    private String expr(int c, int m, List<String> scope, int depth, boolean[] call) {
+        if (depth <= 0) {
+            return leaf(scope);
+        }
+        int side = Math.min(depth - 1, 1);
+        switch (random.nextInt(7)) {
+        case 0: {
+            String v = "v" + (fresh++);
+            String init = expr(c, m, scope, side, call);
+            scope.add(v);
+            String body = expr(c, m, scope, depth - 1, call);
+            scope.remove(scope.size() - 1);
+            return "(let " + v + " : Int <- " + init + " in " + body + ")";
+        }
+        case 1:
+            return "(if " + expr(c, m, scope, side, call) + " < " + leaf(scope)
+                    + " then " + expr(c, m, scope, depth - 1, call)
+                    + " else " + leaf(scope) + " fi)";
+        case 2: {
+            String n = "n" + (fresh++);
+            String scrutinee = expr(c, m, scope, side, call);
+            scope.add(n);
+            String branch = expr(c, m, scope, depth - 1, call);
+            scope.remove(scope.size() - 1);
+            return "(case " + scrutinee + " of " + n + " : Int => " + branch + "; o : Object => 0; esac)";
+        }
+        case 3:
+            return "{ " + expr(c, m, scope, side, call) + "; while false loop 0 pool; "
+                    + expr(c, m, scope, depth - 1, call) + "; }";
+        case 4:
+            if (call[0]) {
+                call[0] = false;
+                return methodName(c, m - 1) + "(" + expr(c, m, scope, depth - 1, call) + ", " + leaf(scope) + ")";
+            }
+            return "(" + expr(c, m, scope, depth - 1, call) + " * " + leaf(scope) + ")";
+        case 5:
+            return "(" + expr(c, m, scope, depth - 1, call) + " - " + leaf(scope) + ")";
+        default:
+            return "(" + leaf(scope) + " + " + expr(c, m, scope, depth - 1, call) + ")";
+        }
+    }
+
+    private String leaf(List<String> scope) {
+        if (random.nextInt(3) == 0) {
+            return Integer.toString(random.nextInt(100));
+        }
+        return scope.get(random.nextInt(scope.size()));
+    }
+
+    private String stringConstant() {
+        int length = Math.min(shape.stringLength, 1024);
+        StringBuilder sb = new StringBuilder(length + 8).append('"');
+        int chars = 0;
+        while (chars < length) {
+            int r = random.nextInt(40);
+            if (r == 0 && chars + 1 < length) {
+                sb.append(random.nextBoolean() ? "\\n" : "\\t");
+            } else if (r == 1) {
+                sb.append("\\\"");
+            } else {
+                sb.append(WORDS.charAt(random.nextInt(WORDS.length())));
+            }
+            chars++;
+        }
+        return sb.append('"').toString();
+    }
+
+    private void line(String text) throws IOException {
+        for (int i = 0; i < indent; i++) {
+            out.append("    ");
+        }
+        out.append(text).append('\n');
+        for (int i = 0; i < shape.commentLinesPerLine; i++) {
+            if (random.nextBoolean()) {
+                comment("comentario " + random.nextInt(1_000_000) + " -- com tracos");
+            } else {
+                out.append("(* bloco (* aninhado *) ").append(Integer.toString(random.nextInt(1_000_000))).append(" *)\n");
+            }
+        }
+    }
+
+    private void comment(String text) throws IOException {
+        out.append("-- ").append(text).append('\n');
+    }
+
+    private static final String USAGE = ""
+            + "Uso: CorpusGenerator [opções]\n"
+            + "  --shape NOME     forma do programa: " + PRESETS + " (padrão: small)\n"
+            + "  --seed N         semente (padrão: 42)\n"
+            + "  --classes N      número de classes\n"
+            + "  --depth N        comprimento das cadeias de herança\n"
+            + "  --nesting N      profundidade de let/case/if aninhados\n"
+            + "  --methods N      métodos por classe\n"
+            + "  --string N       tamanho das constantes string\n"
+            + "  --comments N     linhas de comentário por linha de código\n"
+            + "  -o ARQUIVO       saída (padrão: saída padrão)";
+
+    public static void main(String[] args) throws IOException {
+        Shape shape = Shape.small();
+        long seed = 42;
+        Path output = null;
+
+        try {
+            // --shape primeiro, para as outras opções ajustarem o preset
+            for (int i = 0; i + 1 < args.length; i++) {
+                if (args[i].equals("--shape")) {
+                    shape = Shape.named(args[i + 1]);
+                }
+            }
+            for (int i = 0; i < args.length; i++) {
+                String opt = args[i];
+                if (opt.equals("-h") || opt.equals("--help")) {
+                    System.out.println(USAGE);
+                    return;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Faltou o valor de " + opt);
+                }
+                String value = args[++i];
+                switch (opt) {
+                case "--shape": break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--classes": shape.classes = Integer.parseInt(value); break;
+                case "--depth": shape.inheritanceDepth = Integer.parseInt(value); break;
+                case "--nesting": shape.nesting = Integer.parseInt(value); break;
+                case "--methods": shape.methodsPerClass = Integer.parseInt(value); break;
+                case "--string": shape.stringLength = Integer.parseInt(value); break;
+                case "--comments": shape.commentLinesPerLine = Integer.parseInt(value); break;
+                case "-o": output = Paths.get(value); break;
+                default: throw new IllegalArgumentException("Opção desconhecida: " + opt);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        CorpusGenerator generator = new CorpusGenerator(seed, shape);
+        if (output == null) {
+            generator.writeTo(System.out);
+            System.out.flush();
+        } else {
+            try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                generator.writeTo(writer);
+            }
+        }
+    }
+}
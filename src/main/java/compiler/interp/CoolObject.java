@@ -0,0 +1,19 @@
+package compiler.interp;
+
+/**
+ * Objeto de uma classe do programa durante a interpretação. Int, Bool e
+ * String são representados pelos tipos Java correspondentes ({@link Integer},
+ * {@link Boolean} e {@link String}) e void por {@code null}.
+ */
+final class CoolObject {
+
+    /** Índice da classe na {@link compiler.semant.ClassTable}. */
+    final int classIndex;
+    /** Atributos na ordem do layout de {@link compiler.semant.DispatchTables}. */
+    final Object[] fields;
+
+    CoolObject(int classIndex, Object[] fields) {
+        this.classIndex = classIndex;
+        this.fields = fields;
+    }
+}
@@ -0,0 +1,22 @@
+package compiler.interp;
+
+/**
+ * Erro na execução de um programa Cool (despacho em void, divisão por zero,
+ * case sem ramo, abort...). A linha é a da expressão que falhou, ou 0
+ * quando não se aplica.
+ */
+public class CoolRuntimeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+
+    public CoolRuntimeException(int line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    public int getLine() {
+        return line;
+    }
+}
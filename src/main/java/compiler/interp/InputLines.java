@@ -0,0 +1,43 @@
+package compiler.interp;
+
+/**
+ * Leitura de valores das linhas de entrada, comum ao interpretador e aos
+ * backends da JVM e de MIPS, para que {@code in_int} se comporte igual em
+ * todos.
+ */
+public final class InputLines {
+
+    private InputLines() {
+    }
+
+    /**
+     * Valor de {@code in_int} para uma linha: o inteiro no começo dela
+     * (depois de espaços, com {@code -} opcional), descartando o resto.
+     * Sem dígitos, fim da entrada ({@code null}) ou valor fora do
+     * intervalo de Int, devolve 0.
+     */
+    public static int leadingInt(String line) {
+        if (line == null) {
+            return 0;
+        }
+        int i = 0;
+        int n = line.length();
+        while (i < n && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        boolean negative = i < n && line.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (i < n && line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+            value = value * 10 + (line.charAt(i++) - '0');
+            if (++digits > 10) {
+                return 0;
+            }
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+}
@@ -0,0 +1,626 @@
+package compiler.interp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import compiler.ast.*;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.semant.SymbolTable;
+import compiler.util.IdSymbol;
+
+/**
+ * Interpretador de programas Cool já verificados pelo
+ * {@link compiler.semant.TypeChecker}.
+ *
+ * Antes de executar, cada método e cada inicialização de atributo é
+ * traduzido uma única vez para uma árvore de {@link Code}: variáveis locais
+ * viram posições num array do quadro de ativação, atributos viram posições
+ * do layout do objeto e cada despacho guarda o índice do método na vtable,
+ * resolvido pelo tipo estático do receptor. Na execução não há busca por
+ * nome: um despacho dinâmico é {@code vtables[classe][indice]}.
+ *
+ * Os métodos das classes básicas (corpo {@code null} na AST) são
+ * implementados aqui. A recursão do programa Cool vira recursão Java, então
+ * {@link #run()} executa numa thread com pilha grande.
+ */
+public final class Interpreter {
+
+    /** Pilha da thread que executa o programa. */
+    public static final long STACK_SIZE = 1L << 29;
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /* Métodos das classes básicas */
+    private static final int USER = 0;
+    private static final int ABORT = 1;
+    private static final int TYPE_NAME = 2;
+    private static final int COPY = 3;
+    private static final int OUT_STRING = 4;
+    private static final int OUT_INT = 5;
+    private static final int IN_STRING = 6;
+    private static final int IN_INT = 7;
+    private static final int LENGTH = 8;
+    private static final int CONCAT = 9;
+    private static final int SUBSTR = 10;
+
+    /** Expressão traduzida: avalia no quadro de ativação dado. */
+    interface Code {
+        Object eval(Frame f);
+    }
+
+    /** Quadro de ativação: o objeto self e as variáveis locais (formais primeiro). */
+    static final class Frame {
+        final Object self;
+        final Object[] locals;
+
+        Frame(Object self, Object[] locals) {
+            this.self = self;
+            this.locals = locals;
+        }
+    }
+
+    /* Método traduzido; compartilhado pelas vtables de todas as classes que o herdam */
+    private static final class Compiled {
+        final Method method;
+        final int owner;
+        final int builtin;
+        Code body;
+        int locals;
+
+        Compiled(Method method, int owner, int builtin) {
+            this.method = method;
+            this.owner = owner;
+            this.builtin = builtin;
+        }
+    }
+
+    /* Inicialização de um atributo: posição, código e tamanho do quadro */
+    private static final class Init {
+        final int slot;
+        final Code code;
+        final int locals;
+
+        Init(int slot, Code code, int locals) {
+            this.slot = slot;
+            this.code = code;
+            this.locals = locals;
+        }
+    }
+
+    private final ClassTable classes;
+    private final DispatchTables tables;
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    private final Compiled[][] vtables;
+    /* Valores padrão dos atributos de cada classe, copiados em cada new */
+    private final Object[][] defaults;
+    private final Init[][] inits;
+
+    public Interpreter(ClassTable classes, DispatchTables tables, BufferedReader in, PrintStream out) {
+        this.classes = classes;
+        this.tables = tables;
+        this.in = in;
+        this.out = out;
+        int n = classes.size();
+        this.vtables = new Compiled[n][];
+        this.defaults = new Object[n][];
+        this.inits = new Init[n][];
+        link();
+    }
+
+    /** Executa {@code (new Main).main()}. */
+    public void run() {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                runMain();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "cool-main", STACK_SIZE);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        } finally {
+            out.flush();
+        }
+        // Como em JvmBackend.run: nenhuma falha morre junto com a thread
+        Throwable t = failure[0];
+        if (t instanceof StackOverflowError) {
+            throw new CoolRuntimeException(0, "estouro da pilha de chamadas");
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t != null) {
+            throw new IllegalStateException("falha ao executar o programa", t);
+        }
+    }
+
+    private void runMain() {
+        int main = classes.indexOf(TreeConstants.Main);
+        Object self = instantiate(main, 0);
+        invoke(vtables[main][tables.methodSlot(main, TreeConstants.main_meth)], self, NO_ARGS, 0);
+    }
+
+    /* Traduz todos os métodos e inicializações e monta as vtables */
+    private void link() {
+        IdentityHashMap<Method, Compiled> compiled = new IdentityHashMap<>();
+        for (int c : classes.topologicalOrder()) {
+            Compiled[] vtable = new Compiled[tables.methodCount(c)];
+            for (int slot = 0; slot < vtable.length; slot++) {
+                Method m = tables.method(c, slot);
+                Compiled code = compiled.get(m);
+                if (code == null) {
+                    int owner = tables.methodOwner(c, slot);
+                    code = new Compiled(m, owner, m.body == null ? builtin(m.name) : USER);
+                    compiled.put(m, code);
+                }
+                vtable[slot] = code;
+            }
+            vtables[c] = vtable;
+        }
+        for (Compiled code : compiled.values()) {
+            if (code.builtin == USER) {
+                Translator t = new Translator(code.owner);
+                t.scope.enterScope();
+                for (Formal formal : code.method.formals) {
+                    t.scope.add(formal.name, t.next++);
+                }
+                t.max = t.next;
+                code.body = t.translate(code.method.body);
+                code.locals = t.max;
+            }
+        }
+
+        for (int c = 0; c < classes.size(); c++) {
+            int count = tables.attributeCount(c);
+            Object[] values = new Object[count];
+            Init[] list = new Init[count];
+            int n = 0;
+            for (int slot = 0; slot < count; slot++) {
+                Attribute a = tables.attribute(c, slot);
+                values[slot] = defaultValue(classes.indexOf(a.type));
+                if (a.init != null) {
+                    Translator t = new Translator(tables.attributeOwner(c, slot));
+                    t.scope.enterScope();
+                    list[n++] = new Init(slot, t.translate(a.init), t.max);
+                }
+            }
+            defaults[c] = values;
+            inits[c] = Arrays.copyOf(list, n);
+        }
+    }
+
+    private static int builtin(IdSymbol name) {
+        if (name == TreeConstants.abort) return ABORT;
+        if (name == TreeConstants.type_name) return TYPE_NAME;
+        if (name == TreeConstants.copy) return COPY;
+        if (name == TreeConstants.out_string) return OUT_STRING;
+        if (name == TreeConstants.out_int) return OUT_INT;
+        if (name == TreeConstants.in_string) return IN_STRING;
+        if (name == TreeConstants.in_int) return IN_INT;
+        if (name == TreeConstants.length) return LENGTH;
+        if (name == TreeConstants.concat) return CONCAT;
+        if (name == TreeConstants.substr) return SUBSTR;
+        throw new IllegalStateException("método básico desconhecido: " + name);
+    }
+
+    private static Object defaultValue(int type) {
+        switch (type) {
+        case ClassTable.INT:
+            return 0;
+        case ClassTable.STRING:
+            return "";
+        case ClassTable.BOOL:
+            return Boolean.FALSE;
+        default:
+            return null;
+        }
+    }
+
+    private static int classOf(Object value) {
+        if (value instanceof CoolObject) {
+            return ((CoolObject) value).classIndex;
+        }
+        if (value instanceof Integer) {
+            return ClassTable.INT;
+        }
+        if (value instanceof String) {
+            return ClassTable.STRING;
+        }
+        return ClassTable.BOOL;
+    }
+
+    private Object instantiate(int c, int line) {
+        switch (c) {
+        case ClassTable.INT:
+        case ClassTable.STRING:
+        case ClassTable.BOOL:
+            return defaultValue(c);
+        default:
+            CoolObject obj = new CoolObject(c, defaults[c].clone());
+            for (Init init : inits[c]) {
+                obj.fields[init.slot] = init.code.eval(new Frame(obj, new Object[init.locals]));
+            }
+            return obj;
+        }
+    }
+
+    private Object invoke(Compiled m, Object self, Object[] args, int line) {
+        if (m.builtin != USER) {
+            return builtin(m.builtin, self, args, line);
+        }
+        Object[] locals = m.locals == args.length ? args : Arrays.copyOf(args, m.locals);
+        return m.body.eval(new Frame(self, locals));
+    }
+
+    private Object builtin(int builtin, Object self, Object[] args, int line) {
+        switch (builtin) {
+        case ABORT:
+            out.flush();
+            throw new CoolRuntimeException(line, "abort chamado na classe " + classes.name(classOf(self)));
+        case TYPE_NAME:
+            return classes.name(classOf(self)).getString();
+        case COPY:
+            if (self instanceof CoolObject) {
+                CoolObject obj = (CoolObject) self;
+                return new CoolObject(obj.classIndex, obj.fields.clone());
+            }
+            return self;
+        case OUT_STRING:
+            out.print((String) args[0]);
+            return self;
+        case OUT_INT:
+            out.print((int) (Integer) args[0]);
+            return self;
+        case IN_STRING: {
+            String s = readLine();
+            return s == null ? "" : s;
+        }
+        case IN_INT:
+            return InputLines.leadingInt(readLine());
+        case LENGTH:
+            return ((String) self).length();
+        case CONCAT:
+            return (String) self + (String) args[0];
+        case SUBSTR: {
+            String s = (String) self;
+            int i = (Integer) args[0];
+            int l = (Integer) args[1];
+            if (i < 0 || l < 0 || i + l > s.length()) {
+                throw new CoolRuntimeException(line, "substr(" + i + ", " + l + ") fora dos limites de uma string de "
+                        + s.length() + " caractere(s)");
+            }
+            return s.substring(i, i + l);
+        }
+        default:
+            throw new IllegalStateException();
+        }
+    }
+
+    private String readLine() {
+        out.flush();
+        try {
+            return in.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Tradução da AST tipada para Code, dentro de um método ou inicialização
+     * de atributo da classe owner. O escopo guarda a posição de cada local no
+     * quadro; next é a próxima posição livre e max o tamanho do quadro.
+     */
+    private final class Translator extends ExprVisitor<Code, Void> {
+
+        final int owner;
+        final SymbolTable scope = new SymbolTable();
+        int next;
+        int max;
+
+        Translator(int owner) {
+            this.owner = owner;
+        }
+
+        Code translate(Expr e) {
+            return e.accept(this, null);
+        }
+
+        private Code[] translate(Expr[] es) {
+            Code[] codes = new Code[es.length];
+            for (int i = 0; i < es.length; i++) {
+                codes[i] = translate(es[i]);
+            }
+            return codes;
+        }
+
+        private int newLocal() {
+            int slot = next++;
+            max = Math.max(max, next);
+            return slot;
+        }
+
+        private int staticClass(Expr e) {
+            IdSymbol type = e.getStaticType();
+            if (type == null) {
+                throw new IllegalStateException("a AST não passou pelo verificador de tipos");
+            }
+            return type == TreeConstants.SELF_TYPE ? owner : classes.indexOf(type);
+        }
+
+        @Override
+        public Code visit(ObjectRef node, Void arg) {
+            if (node.name == TreeConstants.self) {
+                return f -> f.self;
+            }
+            int local = scope.lookup(node.name);
+            if (local != SymbolTable.NOT_FOUND) {
+                return f -> f.locals[local];
+            }
+            int field = tables.attributeSlot(owner, node.name);
+            return f -> ((CoolObject) f.self).fields[field];
+        }
+
+        @Override
+        public Code visit(Assign node, Void arg) {
+            Code value = translate(node.expr);
+            int local = scope.lookup(node.name);
+            if (local != SymbolTable.NOT_FOUND) {
+                return f -> f.locals[local] = value.eval(f);
+            }
+            int field = tables.attributeSlot(owner, node.name);
+            return f -> ((CoolObject) f.self).fields[field] = value.eval(f);
+        }
+
+        @Override
+        public Code visit(Dispatch node, Void arg) {
+            Code[] args = translate(node.args);
+            Code receiver = translate(node.expr);
+            int slot = tables.methodSlot(staticClass(node.expr), node.name);
+            int line = node.line;
+            String name = node.name.getString();
+            return f -> {
+                Object[] values = evalArgs(args, f);
+                Object self = receiver.eval(f);
+                if (self == null) {
+                    throw new CoolRuntimeException(line, "despacho de " + name + " em void");
+                }
+                return invoke(vtables[classOf(self)][slot], self, values, line);
+            };
+        }
+
+        @Override
+        public Code visit(StaticDispatch node, Void arg) {
+            Code[] args = translate(node.args);
+            Code receiver = translate(node.expr);
+            int target = classes.indexOf(node.typeName);
+            Compiled method = vtables[target][tables.methodSlot(target, node.name)];
+            int line = node.line;
+            String name = node.name.getString();
+            return f -> {
+                Object[] values = evalArgs(args, f);
+                Object self = receiver.eval(f);
+                if (self == null) {
+                    throw new CoolRuntimeException(line, "despacho de " + name + " em void");
+                }
+                return invoke(method, self, values, line);
+            };
+        }
+
+        private Object[] evalArgs(Code[] args, Frame f) {
+            if (args.length == 0) {
+                return NO_ARGS;
+            }
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = args[i].eval(f);
+            }
+            return values;
+        }
+
+        @Override
+        public Code visit(Cond node, Void arg) {
+            Code pred = translate(node.pred);
+            Code then = translate(node.thenExpr);
+            Code otherwise = translate(node.elseExpr);
+            return f -> (Boolean) pred.eval(f) ? then.eval(f) : otherwise.eval(f);
+        }
+
+        @Override
+        public Code visit(Loop node, Void arg) {
+            Code pred = translate(node.pred);
+            Code body = translate(node.body);
+            return f -> {
+                while ((Boolean) pred.eval(f)) {
+                    body.eval(f);
+                }
+                return null;
+            };
+        }
+
+        @Override
+        public Code visit(Block node, Void arg) {
+            Code[] body = translate(node.body);
+            return f -> {
+                Object last = null;
+                for (Code c : body) {
+                    last = c.eval(f);
+                }
+                return last;
+            };
+        }
+
+        @Override
+        public Code visit(Let node, Void arg) {
+            Object initial = defaultValue(node.type == TreeConstants.SELF_TYPE ? owner : classes.indexOf(node.type));
+            Code init = node.init == null ? f -> initial : translate(node.init);
+            int slot = newLocal();
+            scope.enterScope();
+            scope.add(node.name, slot);
+            Code body = translate(node.body);
+            scope.exitScope();
+            next--;
+            return f -> {
+                f.locals[slot] = init.eval(f);
+                return body.eval(f);
+            };
+        }
+
+        @Override
+        public Code visit(Case node, Void arg) {
+            Code expr = translate(node.expr);
+            int n = node.branches.length;
+            int[] types = new int[n];
+            Code[] bodies = new Code[n];
+            int slot = newLocal();
+            for (int i = 0; i < n; i++) {
+                CaseBranch b = node.branches[i];
+                types[i] = classes.indexOf(b.type);
+                scope.enterScope();
+                scope.add(b.name, slot);
+                bodies[i] = translate(b.expr);
+                scope.exitScope();
+            }
+            next--;
+            int line = node.line;
+            return f -> {
+                Object value = expr.eval(f);
+                if (value == null) {
+                    throw new CoolRuntimeException(line, "case em void");
+                }
+                int c = classOf(value);
+                int best = -1;
+                for (int i = 0; i < n; i++) {
+                    if (classes.conforms(c, types[i])
+                            && (best < 0 || classes.depth(types[i]) > classes.depth(types[best]))) {
+                        best = i;
+                    }
+                }
+                if (best < 0) {
+                    throw new CoolRuntimeException(line, "nenhum ramo do case aceita a classe " + classes.name(c));
+                }
+                f.locals[slot] = value;
+                return bodies[best].eval(f);
+            };
+        }
+
+        @Override
+        public Code visit(New node, Void arg) {
+            int line = node.line;
+            if (node.typeName == TreeConstants.SELF_TYPE) {
+                return f -> instantiate(classOf(f.self), line);
+            }
+            int c = classes.indexOf(node.typeName);
+            return f -> instantiate(c, line);
+        }
+
+        @Override
+        public Code visit(IsVoid node, Void arg) {
+            Code expr = translate(node.expr);
+            return f -> expr.eval(f) == null;
+        }
+
+        @Override
+        public Code visit(Neg node, Void arg) {
+            Code expr = translate(node.expr);
+            return f -> -(Integer) expr.eval(f);
+        }
+
+        @Override
+        public Code visit(Not node, Void arg) {
+            Code expr = translate(node.expr);
+            return f -> !(Boolean) expr.eval(f);
+        }
+
+        @Override
+        public Code visit(Plus node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            return f -> (Integer) l.eval(f) + (Integer) r.eval(f);
+        }
+
+        @Override
+        public Code visit(Sub node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            return f -> (Integer) l.eval(f) - (Integer) r.eval(f);
+        }
+
+        @Override
+        public Code visit(Mul node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            return f -> (Integer) l.eval(f) * (Integer) r.eval(f);
+        }
+
+        @Override
+        public Code visit(Divide node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            int line = node.line;
+            return f -> {
+                int a = (Integer) l.eval(f);
+                int b = (Integer) r.eval(f);
+                if (b == 0) {
+                    throw new CoolRuntimeException(line, "divisão por zero");
+                }
+                return a / b;
+            };
+        }
+
+        @Override
+        public Code visit(Lt node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            return f -> (Integer) l.eval(f) < (Integer) r.eval(f);
+        }
+
+        @Override
+        public Code visit(Le node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            return f -> (Integer) l.eval(f) <= (Integer) r.eval(f);
+        }
+
+        @Override
+        public Code visit(Eq node, Void arg) {
+            Code l = translate(node.left);
+            Code r = translate(node.right);
+            return f -> {
+                Object a = l.eval(f);
+                Object b = r.eval(f);
+                // Int, Bool e String comparam o valor; os demais, a identidade
+                return a == b || (a != null && !(a instanceof CoolObject) && a.equals(b));
+            };
+        }
+
+        @Override
+        public Code visit(IntConst node, Void arg) {
+            Object value = node.value;
+            return f -> value;
+        }
+
+        @Override
+        public Code visit(StringConst node, Void arg) {
+            String value = node.value.getString();
+            return f -> value;
+        }
+
+        @Override
+        public Code visit(BoolConst node, Void arg) {
+            Object value = node.value;
+            return f -> value;
+        }
+    }
+}
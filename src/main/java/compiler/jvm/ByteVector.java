@@ -0,0 +1,85 @@
+package compiler.jvm;
+
+import java.util.Arrays;
+
+/** Array de bytes que cresce conforme necessário, em big-endian como o formato .class. */
+final class ByteVector {
+
+    private byte[] data;
+    private int length;
+
+    ByteVector(int capacity) {
+        data = new byte[capacity];
+    }
+
+    int length() {
+        return length;
+    }
+
+    ByteVector u1(int b) {
+        ensure(1);
+        data[length++] = (byte) b;
+        return this;
+    }
+
+    ByteVector u2(int s) {
+        ensure(2);
+        data[length++] = (byte) (s >>> 8);
+        data[length++] = (byte) s;
+        return this;
+    }
+
+    ByteVector u4(int i) {
+        ensure(4);
+        data[length++] = (byte) (i >>> 24);
+        data[length++] = (byte) (i >>> 16);
+        data[length++] = (byte) (i >>> 8);
+        data[length++] = (byte) i;
+        return this;
+    }
+
+    ByteVector bytes(ByteVector other) {
+        ensure(other.length);
+        System.arraycopy(other.data, 0, data, length, other.length);
+        length += other.length;
+        return this;
+    }
+
+    /* Sobrescreve dois bytes já escritos (deslocamentos de saltos) */
+    void putU2(int offset, int s) {
+        data[offset] = (byte) (s >>> 8);
+        data[offset + 1] = (byte) s;
+    }
+
+    /** UTF-8 modificado da JVM, precedido do tamanho em bytes. */
+    ByteVector utf8(String s) {
+        int start = length;
+        u2(0);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x01 && c <= 0x7F) {
+                u1(c);
+            } else if (c <= 0x7FF) {
+                u1(0xC0 | (c >> 6)).u1(0x80 | (c & 0x3F));
+            } else {
+                u1(0xE0 | (c >> 12)).u1(0x80 | ((c >> 6) & 0x3F)).u1(0x80 | (c & 0x3F));
+            }
+        }
+        int size = length - start - 2;
+        if (size > 0xFFFF) {
+            throw new IllegalArgumentException("constante grande demais para o .class: " + size + " bytes");
+        }
+        putU2(start, size);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(data, length);
+    }
+
+    private void ensure(int n) {
+        if (length + n > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + n));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package compiler.jvm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritor mínimo de arquivos .class: pool de constantes, campos e métodos
+ * com o atributo Code, nada mais. A versão é 49 (Java 5), a última em que
+ * a JVM aceita código sem StackMapTable e verifica por inferência de tipos;
+ * assim o gerador não precisa calcular os quadros de pilha.
+ */
+final class ClassFile {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_SUPER = 0x0020;
+
+    private static final int VERSION = 49;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteVector pool = new ByteVector(1024);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private int poolCount = 1;
+
+    private final int thisClass;
+    private final int superClass;
+    private final ByteVector fields = new ByteVector(256);
+    private int fieldCount;
+    private final List<ByteVector> methods = new ArrayList<>();
+
+    /** Nomes internos, com barras ("cool/Main"). */
+    ClassFile(String name, String superName) {
+        thisClass = classRef(name);
+        superClass = classRef(superName);
+    }
+
+    void field(int access, String name, String desc) {
+        fields.u2(access).u2(utf8(name)).u2(utf8(desc)).u2(0);
+        fieldCount++;
+    }
+
+    /** Novo corpo de método que usa o pool desta classe. */
+    CodeBuilder code() {
+        return new CodeBuilder(this);
+    }
+
+    /** Acrescenta um método; o mesmo corpo pode ser usado por mais de um. */
+    void method(int access, String name, String desc, CodeBuilder code) {
+        ByteVector bytecode = code.finish();
+        ByteVector m = new ByteVector(bytecode.length() + 32);
+        m.u2(access).u2(utf8(name)).u2(utf8(desc)).u2(1);
+        m.u2(utf8("Code")).u4(12 + bytecode.length());
+        m.u2(code.maxStack()).u2(code.maxLocals()).u4(bytecode.length()).bytes(bytecode);
+        m.u2(0).u2(0);
+        methods.add(m);
+    }
+
+    byte[] toByteArray() {
+        ByteVector out = new ByteVector(pool.length() + fields.length() + 1024);
+        out.u4(0xCAFEBABE).u2(0).u2(VERSION);
+        out.u2(poolCount).bytes(pool);
+        out.u2(ACC_PUBLIC | ACC_SUPER).u2(thisClass).u2(superClass).u2(0);
+        out.u2(fieldCount).bytes(fields);
+        out.u2(methods.size());
+        for (ByteVector m : methods) {
+            out.bytes(m);
+        }
+        out.u2(0);
+        return out.toByteArray();
+    }
+
+    /* Pool de constantes; cada entrada aparece uma vez */
+
+    int utf8(String s) {
+        Integer index = constants.get("U" + s);
+        if (index == null) {
+            pool.u1(CONSTANT_UTF8).utf8(s);
+            index = add("U" + s);
+        }
+        return index;
+    }
+
+    int integer(int value) {
+        String key = "I" + value;
+        Integer index = constants.get(key);
+        if (index == null) {
+            pool.u1(CONSTANT_INTEGER).u4(value);
+            index = add(key);
+        }
+        return index;
+    }
+
+    int string(String s) {
+        int utf8 = utf8(s);
+        return entry("S" + s, CONSTANT_STRING, utf8, -1);
+    }
+
+    int classRef(String internalName) {
+        int utf8 = utf8(internalName);
+        return entry("C" + internalName, CONSTANT_CLASS, utf8, -1);
+    }
+
+    int fieldRef(String owner, String name, String desc) {
+        return memberRef(CONSTANT_FIELDREF, owner, name, desc);
+    }
+
+    int methodRef(String owner, String name, String desc) {
+        return memberRef(CONSTANT_METHODREF, owner, name, desc);
+    }
+
+    private int memberRef(int tag, String owner, String name, String desc) {
+        int cls = classRef(owner);
+        int nameAndType = entry("N" + name + ' ' + desc, CONSTANT_NAME_AND_TYPE, utf8(name), utf8(desc));
+        return entry(tag + owner + '.' + name + ' ' + desc, tag, cls, nameAndType);
+    }
+
+    private int entry(String key, int tag, int a, int b) {
+        Integer index = constants.get(key);
+        if (index == null) {
+            pool.u1(tag).u2(a);
+            if (b >= 0) {
+                pool.u2(b);
+            }
+            index = add(key);
+        }
+        return index;
+    }
+
+    private int add(String key) {
+        if (poolCount >= 0xFFFF) {
+            throw new IllegalStateException("pool de constantes cheio");
+        }
+        constants.put(key, poolCount);
+        return poolCount++;
+    }
+}
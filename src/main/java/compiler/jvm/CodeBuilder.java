@@ -0,0 +1,289 @@
+package compiler.jvm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpo de um método em bytecode. Calcula a profundidade máxima da pilha e o
+ * número de variáveis locais à medida que as instruções são emitidas, e
+ * resolve os saltos para rótulos no final ({@link #finish()}).
+ *
+ * Só as instruções que o gerador usa estão aqui; todos os valores ocupam uma
+ * posição da pilha e das locais (int, boolean ou referência).
+ */
+final class CodeBuilder {
+
+    static final int ACONST_NULL = 1;
+    static final int ICONST_0 = 3;
+    static final int BIPUSH = 16;
+    static final int SIPUSH = 17;
+    static final int LDC = 18;
+    static final int LDC_W = 19;
+    static final int ILOAD = 21;
+    static final int ALOAD = 25;
+    static final int ISTORE = 54;
+    static final int ASTORE = 58;
+    static final int POP = 87;
+    static final int DUP = 89;
+    static final int DUP_X1 = 90;
+    static final int SWAP = 95;
+    static final int IADD = 96;
+    static final int ISUB = 100;
+    static final int IMUL = 104;
+    static final int IDIV = 108;
+    static final int INEG = 116;
+    static final int IXOR = 130;
+    static final int IFEQ = 153;
+    static final int IFNE = 154;
+    static final int IF_ICMPEQ = 159;
+    static final int IF_ICMPNE = 160;
+    static final int IF_ICMPLT = 161;
+    static final int IF_ICMPGE = 162;
+    static final int IF_ICMPGT = 163;
+    static final int IF_ICMPLE = 164;
+    static final int IF_ACMPEQ = 165;
+    static final int IF_ACMPNE = 166;
+    static final int GOTO = 167;
+    static final int IRETURN = 172;
+    static final int ARETURN = 176;
+    static final int RETURN = 177;
+    static final int GETFIELD = 180;
+    static final int PUTFIELD = 181;
+    static final int INVOKEVIRTUAL = 182;
+    static final int INVOKESPECIAL = 183;
+    static final int INVOKESTATIC = 184;
+    static final int NEW = 187;
+    static final int ATHROW = 191;
+    static final int CHECKCAST = 192;
+    static final int INSTANCEOF = 193;
+    static final int WIDE = 196;
+    static final int IFNULL = 198;
+    static final int IFNONNULL = 199;
+
+    /** Destino de saltos; a profundidade da pilha é a do primeiro salto para ele. */
+    static final class Label {
+        int pc = -1;
+        int depth = -1;
+    }
+
+    private final ClassFile owner;
+    private final ByteVector code = new ByteVector(256);
+    private final List<Label> fixupLabels = new ArrayList<>();
+    private final List<Integer> fixupPcs = new ArrayList<>();
+    private int depth;
+    private int maxStack;
+    private int maxLocals;
+    private ByteVector finished;
+
+    CodeBuilder(ClassFile owner) {
+        this.owner = owner;
+    }
+
+    int maxStack() {
+        return maxStack;
+    }
+
+    int maxLocals() {
+        return maxLocals;
+    }
+
+    /** Garante espaço para as locais 0..n-1 (this e os parâmetros). */
+    void reserveLocals(int n) {
+        maxLocals = Math.max(maxLocals, n);
+    }
+
+    /** Instrução sem operandos. */
+    void op(int opcode) {
+        code.u1(opcode);
+        switch (opcode) {
+        case ACONST_NULL:
+        case DUP:
+        case DUP_X1:
+            push(1);
+            break;
+        case POP:
+        case IADD:
+        case ISUB:
+        case IMUL:
+        case IDIV:
+        case IXOR:
+        case IRETURN:
+        case ARETURN:
+        case ATHROW:
+            push(-1);
+            break;
+        case SWAP:
+        case INEG:
+        case RETURN:
+            break;
+        default:
+            if (opcode >= ICONST_0 - 1 && opcode <= ICONST_0 + 5) {
+                push(1);
+                break;
+            }
+            throw new IllegalArgumentException("opcode sem tratamento: " + opcode);
+        }
+        if (opcode == IRETURN || opcode == ARETURN || opcode == RETURN || opcode == ATHROW) {
+            unreachable();
+        }
+    }
+
+    void iconst(int value) {
+        if (value >= -1 && value <= 5) {
+            op(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            code.u1(BIPUSH).u1(value);
+            push(1);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            code.u1(SIPUSH).u2(value);
+            push(1);
+        } else {
+            ldc(owner.integer(value));
+        }
+    }
+
+    void ldc(String value) {
+        ldc(owner.string(value));
+    }
+
+    private void ldc(int index) {
+        if (index <= 0xFF) {
+            code.u1(LDC).u1(index);
+        } else {
+            code.u1(LDC_W).u2(index);
+        }
+        push(1);
+    }
+
+    void load(boolean reference, int slot) {
+        local(reference ? ALOAD : ILOAD, slot);
+        push(1);
+    }
+
+    void store(boolean reference, int slot) {
+        local(reference ? ASTORE : ISTORE, slot);
+        push(-1);
+    }
+
+    private void local(int opcode, int slot) {
+        maxLocals = Math.max(maxLocals, slot + 1);
+        if (slot <= 3) {
+            // iload_0, aload_0, istore_0, astore_0 e vizinhos
+            int base = opcode == ILOAD ? 26 : opcode == ALOAD ? 42 : opcode == ISTORE ? 59 : 75;
+            code.u1(base + slot);
+        } else if (slot <= 0xFF) {
+            code.u1(opcode).u1(slot);
+        } else {
+            code.u1(WIDE).u1(opcode).u2(slot);
+        }
+    }
+
+    void field(int opcode, String owner, String name, String desc) {
+        code.u1(opcode).u2(this.owner.fieldRef(owner, name, desc));
+        push(opcode == GETFIELD ? 0 : -2);
+    }
+
+    void invoke(int opcode, String owner, String name, String desc) {
+        code.u1(opcode).u2(this.owner.methodRef(owner, name, desc));
+        int delta = -argumentSlots(desc);
+        if (opcode != INVOKESTATIC) {
+            delta--;
+        }
+        if (desc.charAt(desc.length() - 1) != 'V') {
+            delta++;
+        }
+        push(delta);
+    }
+
+    /** new, checkcast ou instanceof. */
+    void type(int opcode, String internalName) {
+        code.u1(opcode).u2(owner.classRef(internalName));
+        if (opcode == NEW) {
+            push(1);
+        }
+    }
+
+    void jump(int opcode, Label target) {
+        int pc = code.length();
+        code.u1(opcode).u2(0);
+        fixupLabels.add(target);
+        fixupPcs.add(pc);
+        switch (opcode) {
+        case IFEQ:
+        case IFNE:
+        case IFNULL:
+        case IFNONNULL:
+            push(-1);
+            break;
+        case GOTO:
+            break;
+        default:
+            push(-2);
+        }
+        if (target.depth < 0) {
+            target.depth = depth;
+        }
+        if (opcode == GOTO) {
+            unreachable();
+        }
+    }
+
+    void label(Label label) {
+        label.pc = code.length();
+        if (label.depth >= 0) {
+            depth = label.depth;
+        } else {
+            label.depth = depth;
+        }
+    }
+
+    ByteVector finish() {
+        if (finished == null) {
+            for (int i = 0; i < fixupPcs.size(); i++) {
+                int pc = fixupPcs.get(i);
+                Label target = fixupLabels.get(i);
+                if (target.pc < 0) {
+                    throw new IllegalStateException("rótulo não posicionado");
+                }
+                int offset = target.pc - pc;
+                if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                    throw new IllegalStateException("método grande demais para saltos de 16 bits");
+                }
+                code.putU2(pc + 1, offset);
+            }
+            if (code.length() > 0xFFFF) {
+                throw new IllegalStateException("método grande demais: " + code.length() + " bytes de bytecode");
+            }
+            finished = code;
+        }
+        return finished;
+    }
+
+    private void push(int delta) {
+        depth += delta;
+        maxStack = Math.max(maxStack, depth);
+    }
+
+    /* Depois de goto, return ou athrow a próxima instrução só é alcançada por um rótulo */
+    private void unreachable() {
+        depth = 0;
+    }
+
+    private static int argumentSlots(String desc) {
+        int slots = 0;
+        int i = 1;
+        while (desc.charAt(i) != ')') {
+            char c = desc.charAt(i);
+            boolean array = c == '[';
+            while (c == '[') {
+                c = desc.charAt(++i);
+            }
+            if (c == 'L') {
+                i = desc.indexOf(';', i);
+            }
+            slots += !array && (c == 'J' || c == 'D') ? 2 : 1;
+            i++;
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,40 @@
+package compiler.jvm;
+
+/**
+ * A classe Object de Cool no código gerado: toda classe Cool compilada
+ * estende esta (ou {@link CoolIO}). Os nomes e descritores dos métodos são
+ * os que o {@link JvmBackend} gera para os métodos de Object, de modo que
+ * uma classe Cool pode redefini-los.
+ */
+public class CoolBase implements Cloneable {
+
+    /** Inicializa os atributos; cada classe gerada chama a da superclasse antes das suas. */
+    public void init$() {
+    }
+
+    /** {@code new SELF_TYPE}: nova instância, já inicializada, da classe dinâmica. */
+    public CoolBase new$() {
+        return new CoolBase();
+    }
+
+    public Object abort() {
+        return CoolRuntime.abort(this);
+    }
+
+    public String type_name() {
+        return CoolRuntime.type_name(this);
+    }
+
+    public Object copy() {
+        return CoolRuntime.copy(this);
+    }
+
+    /* Cópia rasa para Object.copy(); super.clone() não despacha para um clone() de Cool */
+    final CoolBase copy$() {
+        try {
+            return (CoolBase) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package compiler.jvm;
+
+import java.util.Map;
+
+/** Carrega as classes geradas pelo {@link JvmBackend}, a partir dos bytes em memória. */
+final class CoolClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> classes;
+
+    CoolClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+        super(parent);
+        this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
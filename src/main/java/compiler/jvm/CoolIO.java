@@ -0,0 +1,26 @@
+package compiler.jvm;
+
+/** A classe IO de Cool no código gerado. */
+public class CoolIO extends CoolBase {
+
+    @Override
+    public CoolBase new$() {
+        return new CoolIO();
+    }
+
+    public CoolIO out_string(String s) {
+        return CoolRuntime.out_string(this, s);
+    }
+
+    public CoolIO out_int(int i) {
+        return CoolRuntime.out_int(this, i);
+    }
+
+    public String in_string() {
+        return CoolRuntime.in_string(this);
+    }
+
+    public int in_int() {
+        return CoolRuntime.in_int(this);
+    }
+}
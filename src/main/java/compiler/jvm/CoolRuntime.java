@@ -0,0 +1,153 @@
+package compiler.jvm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+
+import compiler.interp.CoolRuntimeException;
+import compiler.interp.InputLines;
+
+/**
+ * Funções chamadas pelo código gerado: os métodos das classes básicas
+ * (também usados no despacho estático, como {@code x@IO.out_string(s)}), o
+ * despacho dos métodos de Object quando o receptor pode ser um Int, Bool ou
+ * String encaixotado, e a criação dos erros de execução.
+ *
+ * A entrada e a saída ficam em campos estáticos, definidos por
+ * {@link JvmBackend#run} enquanto o programa executa; por isso as execuções
+ * são feitas uma de cada vez.
+ */
+public final class CoolRuntime {
+
+    static BufferedReader in;
+    static PrintStream out;
+
+    private CoolRuntime() {
+    }
+
+    /* Object */
+
+    public static Object abort(Object self) {
+        out.flush();
+        throw new CoolRuntimeException(0, "abort chamado na classe " + type_name(self));
+    }
+
+    public static String type_name(Object self) {
+        if (self instanceof Integer) {
+            return "Int";
+        }
+        if (self instanceof Boolean) {
+            return "Bool";
+        }
+        if (self instanceof String) {
+            return "String";
+        }
+        Class<?> c = self.getClass();
+        if (c == CoolBase.class) {
+            return "Object";
+        }
+        if (c == CoolIO.class) {
+            return "IO";
+        }
+        return c.getName().substring(JvmBackend.PACKAGE.length());
+    }
+
+    public static Object copy(Object self) {
+        return self instanceof CoolBase ? ((CoolBase) self).copy$() : self;
+    }
+
+    /* Despacho dinâmico dos métodos de Object num receptor de tipo estático Object */
+
+    public static Object invokeAbort(Object self, int line) {
+        return self instanceof CoolBase ? ((CoolBase) self).abort() : abort(checkVoid(self, "abort", line));
+    }
+
+    public static String invokeTypeName(Object self, int line) {
+        return self instanceof CoolBase ? ((CoolBase) self).type_name()
+                : type_name(checkVoid(self, "type_name", line));
+    }
+
+    public static Object invokeCopy(Object self, int line) {
+        return self instanceof CoolBase ? ((CoolBase) self).copy() : copy(checkVoid(self, "copy", line));
+    }
+
+    private static Object checkVoid(Object self, String method, int line) {
+        if (self == null) {
+            throw dispatchOnVoid(line, method);
+        }
+        return self;
+    }
+
+    /* IO */
+
+    public static CoolIO out_string(CoolIO self, String s) {
+        out.print(s);
+        return self;
+    }
+
+    public static CoolIO out_int(CoolIO self, int i) {
+        out.print(i);
+        return self;
+    }
+
+    public static String in_string(CoolIO self) {
+        String s = readLine();
+        return s == null ? "" : s;
+    }
+
+    public static int in_int(CoolIO self) {
+        return InputLines.leadingInt(readLine());
+    }
+
+    private static String readLine() {
+        out.flush();
+        try {
+            return in.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* String */
+
+    public static int length(String self) {
+        return self.length();
+    }
+
+    public static String concat(String self, String s) {
+        return self.concat(s);
+    }
+
+    public static String substr(String self, int i, int l) {
+        if (i < 0 || l < 0 || i + l > self.length()) {
+            throw new CoolRuntimeException(0, "substr(" + i + ", " + l + ") fora dos limites de uma string de "
+                    + self.length() + " caractere(s)");
+        }
+        return self.substring(i, i + l);
+    }
+
+    /* Igualdade quando um dos lados tem tipo estático Object */
+
+    public static boolean equal(Object a, Object b) {
+        return a == b || (a != null && !(a instanceof CoolBase) && a.equals(b));
+    }
+
+    /* Erros de execução; o código gerado lança o valor devolvido */
+
+    public static CoolRuntimeException dispatchOnVoid(int line, String method) {
+        return new CoolRuntimeException(line, "despacho de " + method + " em void");
+    }
+
+    public static CoolRuntimeException caseOnVoid(int line) {
+        return new CoolRuntimeException(line, "case em void");
+    }
+
+    public static CoolRuntimeException caseWithoutBranch(int line, Object value) {
+        return new CoolRuntimeException(line, "nenhum ramo do case aceita a classe " + type_name(value));
+    }
+
+    public static CoolRuntimeException divisionByZero(int line) {
+        return new CoolRuntimeException(line, "divisão por zero");
+    }
+}
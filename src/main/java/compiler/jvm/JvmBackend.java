@@ -0,0 +1,880 @@
+package compiler.jvm;
+
+import static compiler.jvm.CodeBuilder.*;
+
+import java.io.BufferedReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import compiler.ast.*;
+import compiler.interp.CoolRuntimeException;
+import compiler.interp.Interpreter;
+import compiler.jvm.CodeBuilder.Label;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.semant.SymbolTable;
+import compiler.util.IdSymbol;
+
+/**
+ * Compila um programa Cool já verificado para bytecode da JVM, uma classe
+ * por classe Cool (no pacote {@code cool}), e o executa com um
+ * {@link ClassLoader} próprio. O JIT do HotSpot otimiza o resultado como
+ * qualquer código Java.
+ *
+ * Representação dos valores, pelo tipo estático:
+ * <ul>
+ * <li>Int e Bool são {@code int} e {@code boolean}, sem caixa; viram
+ * {@link Integer} e {@link Boolean} só quando passam para um lugar de tipo
+ * Object (e voltam num ramo de {@code case});</li>
+ * <li>String é {@link String} e Object é {@link Object};</li>
+ * <li>as demais classes são as classes geradas, que estendem
+ * {@link CoolBase} ou {@link CoolIO}.</li>
+ * </ul>
+ * Os métodos Cool são métodos virtuais com o nome original. SELF_TYPE no
+ * retorno vira a classe que introduziu o método, para que as redefinições
+ * tenham o mesmo descritor; quem chama converte com checkcast. O despacho
+ * estático ({@code e@T.f()}) chama uma cópia estática do método,
+ * {@code f$static}, gerada só para os métodos que são alvo dele.
+ *
+ * Como em {@link Interpreter}, os argumentos são avaliados antes do
+ * receptor; o receptor só é avaliado primeiro quando a troca não pode ser
+ * observada (self, constantes, variáveis com argumentos sem efeitos).
+ */
+public final class JvmBackend {
+
+    /** Pacote das classes geradas ("cool.Main"). */
+    public static final String PACKAGE = "cool.";
+
+    private static final String INTERNAL_PACKAGE = "cool/";
+    private static final String BASE = "compiler/jvm/CoolBase";
+    private static final String IO = "compiler/jvm/CoolIO";
+    private static final String RUNTIME = "compiler/jvm/CoolRuntime";
+    private static final String ERROR = "Lcompiler/interp/CoolRuntimeException;";
+    private static final String NEW_DESC = "()L" + BASE + ";";
+    private static final String STATIC_SUFFIX = "$static";
+
+    private final ClassTable classes;
+    private final DispatchTables tables;
+    private Map<String, byte[]> compiled;
+
+    /* Corpo e classe de cada método, para gerar as cópias de despacho estático */
+    private final Map<Method, CodeBuilder> bodies = new IdentityHashMap<>();
+    private final Map<Method, Integer> owners = new IdentityHashMap<>();
+    private final Map<Method, Integer> staticTargets = new IdentityHashMap<>();
+
+    public JvmBackend(ClassTable classes, DispatchTables tables) {
+        this.classes = classes;
+        this.tables = tables;
+    }
+
+    /** Bytes de cada classe gerada, pelo nome binário ("cool.Main"). */
+    public Map<String, byte[]> compile() {
+        if (compiled == null) {
+            ClassFile[] files = new ClassFile[classes.size()];
+            for (int c : classes.topologicalOrder()) {
+                if (!classes.isBasic(c)) {
+                    files[c] = compileClass(c);
+                }
+            }
+            for (Map.Entry<Method, Integer> e : staticTargets.entrySet()) {
+                Method m = e.getKey();
+                int owner = owners.get(m);
+                files[owner].method(ClassFile.ACC_PUBLIC | ClassFile.ACC_STATIC, m.name.getString() + STATIC_SUFFIX,
+                        staticDesc(owner, e.getValue()), bodies.get(m));
+            }
+            Map<String, byte[]> result = new LinkedHashMap<>();
+            for (int c : classes.topologicalOrder()) {
+                if (files[c] != null) {
+                    result.put(PACKAGE + classes.name(c).getString(), files[c].toByteArray());
+                }
+            }
+            compiled = result;
+        }
+        return compiled;
+    }
+
+    /**
+     * Compila, carrega e executa {@code (new Main).main()}, numa thread com
+     * a mesma pilha grande do interpretador. Execuções simultâneas esperam
+     * umas pelas outras, pois a entrada e a saída ficam em
+     * {@link CoolRuntime}.
+     */
+    public void run(BufferedReader in, PrintStream out) {
+        CoolClassLoader loader = new CoolClassLoader(compile(), JvmBackend.class.getClassLoader());
+        Throwable[] failure = new Throwable[1];
+        synchronized (CoolRuntime.class) {
+            CoolRuntime.in = in;
+            CoolRuntime.out = out;
+            Thread thread = new Thread(null, () -> {
+                try {
+                    Class<?> main = loader.loadClass(PACKAGE + TreeConstants.Main.getString());
+                    CoolBase self = (CoolBase) main.getConstructor().newInstance();
+                    self.init$();
+                    main.getMethod(TreeConstants.main_meth.getString()).invoke(self);
+                } catch (InvocationTargetException e) {
+                    failure[0] = e.getCause();
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            }, "cool-main", Interpreter.STACK_SIZE);
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                thread.interrupt();
+                Thread.currentThread().interrupt();
+            } finally {
+                out.flush();
+                CoolRuntime.in = null;
+                CoolRuntime.out = null;
+            }
+        }
+        Throwable t = failure[0];
+        if (t instanceof StackOverflowError) {
+            throw new CoolRuntimeException(0, "estouro da pilha de chamadas");
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t != null) {
+            throw new IllegalStateException("falha ao executar o código gerado", t);
+        }
+    }
+
+    private ClassFile compileClass(int c) {
+        String name = internalName(c);
+        String parent = internalName(classes.parent(c));
+        ClassFile cf = new ClassFile(name, parent);
+
+        List<Integer> own = new ArrayList<>();
+        for (int slot = 0; slot < tables.attributeCount(c); slot++) {
+            if (tables.attributeOwner(c, slot) == c) {
+                own.add(slot);
+                Attribute a = tables.attribute(c, slot);
+                cf.field(ClassFile.ACC_PUBLIC, a.name.getString(), desc(resolve(a.type, c)));
+            }
+        }
+
+        // <init>: só os padrões que a JVM não dá (String é "")
+        CodeBuilder init = cf.code();
+        init.reserveLocals(1);
+        init.load(true, 0);
+        init.invoke(INVOKESPECIAL, parent, "<init>", "()V");
+        for (int slot : own) {
+            Attribute a = tables.attribute(c, slot);
+            if (resolve(a.type, c) == ClassTable.STRING) {
+                init.load(true, 0);
+                init.ldc("");
+                init.field(PUTFIELD, name, a.name.getString(), desc(ClassTable.STRING));
+            }
+        }
+        init.op(RETURN);
+        cf.method(ClassFile.ACC_PUBLIC, "<init>", "()V", init);
+
+        // init$: inicializações na ordem do layout, as da superclasse antes
+        CodeBuilder attrs = cf.code();
+        attrs.reserveLocals(1);
+        attrs.load(true, 0);
+        attrs.invoke(INVOKESPECIAL, parent, "init$", "()V");
+        for (int slot : own) {
+            Attribute a = tables.attribute(c, slot);
+            if (a.init != null) {
+                int type = resolve(a.type, c);
+                Emitter e = new Emitter(c, attrs, 1);
+                attrs.load(true, 0);
+                e.expr(a.init, type);
+                attrs.field(PUTFIELD, name, a.name.getString(), desc(type));
+            }
+        }
+        attrs.op(RETURN);
+        cf.method(ClassFile.ACC_PUBLIC, "init$", "()V", attrs);
+
+        CodeBuilder create = cf.code();
+        create.reserveLocals(1);
+        instantiate(create, c);
+        create.op(ARETURN);
+        cf.method(ClassFile.ACC_PUBLIC, "new$", NEW_DESC, create);
+
+        for (int slot = 0; slot < tables.methodCount(c); slot++) {
+            if (tables.methodOwner(c, slot) == c) {
+                cf.method(ClassFile.ACC_PUBLIC, tables.method(c, slot).name.getString(), methodDesc(c, slot),
+                        compileMethod(cf, c, slot));
+            }
+        }
+        return cf;
+    }
+
+    private CodeBuilder compileMethod(ClassFile cf, int c, int slot) {
+        Method m = tables.method(c, slot);
+        CodeBuilder code = cf.code();
+        Emitter e = new Emitter(c, code, 1 + m.formals.length);
+        code.reserveLocals(1 + m.formals.length);
+        e.scope.enterScope();
+        for (int i = 0; i < m.formals.length; i++) {
+            e.scope.add(m.formals[i].name, 1 + i);
+            e.setLocalType(1 + i, resolve(m.formals[i].type, c));
+        }
+        int ret = returnType(c, slot);
+        e.expr(m.body, ret);
+        code.op(isPrimitive(ret) ? IRETURN : ARETURN);
+        bodies.put(m, code);
+        owners.put(m, c);
+        return code;
+    }
+
+    /* new C: aloca, padrões de <init> e depois init$ */
+    private void instantiate(CodeBuilder code, int c) {
+        String name = internalName(c);
+        code.type(NEW, name);
+        code.op(DUP);
+        code.invoke(INVOKESPECIAL, name, "<init>", "()V");
+        if (c != ClassTable.OBJECT && c != ClassTable.IO) {
+            code.op(DUP);
+            code.invoke(INVOKEVIRTUAL, name, "init$", "()V");
+        }
+    }
+
+    /* Tipos: índices de classe, com SELF_TYPE já resolvido para a classe corrente */
+
+    private int resolve(IdSymbol type, int self) {
+        return type == TreeConstants.SELF_TYPE ? self : classes.indexOf(type);
+    }
+
+    private static boolean isPrimitive(int type) {
+        return type == ClassTable.INT || type == ClassTable.BOOL;
+    }
+
+    private String internalName(int c) {
+        switch (c) {
+        case ClassTable.OBJECT:
+            return BASE;
+        case ClassTable.IO:
+            return IO;
+        case ClassTable.INT:
+            return "java/lang/Integer";
+        case ClassTable.BOOL:
+            return "java/lang/Boolean";
+        case ClassTable.STRING:
+            return "java/lang/String";
+        default:
+            return INTERNAL_PACKAGE + classes.name(c).getString();
+        }
+    }
+
+    private String desc(int type) {
+        switch (type) {
+        case ClassTable.INT:
+            return "I";
+        case ClassTable.BOOL:
+            return "Z";
+        case ClassTable.OBJECT:
+            return "Ljava/lang/Object;";
+        default:
+            return "L" + internalName(type) + ";";
+        }
+    }
+
+    /* Classe que introduziu o método da posição slot da vtable de c */
+    private int introducer(int c, int slot) {
+        int p = classes.parent(c);
+        while (p != ClassTable.NO_CLASS && tables.methodCount(p) > slot) {
+            c = p;
+            p = classes.parent(c);
+        }
+        return c;
+    }
+
+    private int returnType(int c, int slot) {
+        Method m = tables.method(c, slot);
+        return m.type == TreeConstants.SELF_TYPE ? introducer(c, slot) : classes.indexOf(m.type);
+    }
+
+    private int[] paramTypes(Method m) {
+        int[] types = new int[m.formals.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = classes.indexOf(m.formals[i].type);
+        }
+        return types;
+    }
+
+    private String params(int c, int slot) {
+        StringBuilder sb = new StringBuilder();
+        for (int type : paramTypes(tables.method(c, slot))) {
+            sb.append(desc(type));
+        }
+        return sb.toString();
+    }
+
+    private String methodDesc(int c, int slot) {
+        return "(" + params(c, slot) + ")" + desc(returnType(c, slot));
+    }
+
+    private String staticDesc(int owner, int slot) {
+        return "(L" + internalName(owner) + ";" + params(owner, slot) + ")" + desc(returnType(owner, slot));
+    }
+
+    /*
+     * Geração do corpo de um método (ou das inicializações de atributos) da
+     * classe owner. Cada expressão deixa na pilha um valor do seu tipo
+     * estático, que expr() converte para o tipo pedido. As locais ocupam
+     * posições a partir de next; localTypes guarda o tipo de cada uma.
+     */
+    private final class Emitter extends ExprVisitor<Void, Void> {
+
+        final int owner;
+        final CodeBuilder code;
+        final SymbolTable scope = new SymbolTable();
+        int next;
+        int[] localTypes = new int[16];
+
+        Emitter(int owner, CodeBuilder code, int next) {
+            this.owner = owner;
+            this.code = code;
+            this.next = next;
+        }
+
+        void setLocalType(int slot, int type) {
+            if (slot >= localTypes.length) {
+                localTypes = Arrays.copyOf(localTypes, Math.max(slot + 1, localTypes.length * 2));
+            }
+            localTypes[slot] = type;
+        }
+
+        int type(Expr e) {
+            IdSymbol type = e.getStaticType();
+            if (type == null) {
+                throw new IllegalStateException("a AST não passou pelo verificador de tipos");
+            }
+            return resolve(type, owner);
+        }
+
+        void expr(Expr e, int want) {
+            e.accept(this, null);
+            adapt(type(e), want);
+        }
+
+        /* Converte o valor do topo da pilha de from para to */
+        void adapt(int from, int to) {
+            if (from == to) {
+                return;
+            }
+            if (isPrimitive(from)) {
+                if (!isPrimitive(to)) {
+                    if (from == ClassTable.INT) {
+                        code.invoke(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;");
+                    } else {
+                        code.invoke(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;");
+                    }
+                }
+                return;
+            }
+            if (to == ClassTable.INT) {
+                code.type(CHECKCAST, "java/lang/Integer");
+                code.invoke(INVOKEVIRTUAL, "java/lang/Integer", "intValue", "()I");
+            } else if (to == ClassTable.BOOL) {
+                code.type(CHECKCAST, "java/lang/Boolean");
+                code.invoke(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z");
+            } else if (to != ClassTable.OBJECT && !classes.conforms(from, to)) {
+                code.type(CHECKCAST, internalName(to));
+            }
+        }
+
+        private void pushDefault(int type) {
+            switch (type) {
+            case ClassTable.INT:
+            case ClassTable.BOOL:
+                code.iconst(0);
+                break;
+            case ClassTable.STRING:
+                code.ldc("");
+                break;
+            default:
+                code.op(ACONST_NULL);
+            }
+        }
+
+        private void error(String method, String desc) {
+            code.invoke(INVOKESTATIC, RUNTIME, method, desc);
+            code.op(ATHROW);
+        }
+
+        @Override
+        public Void visit(ObjectRef node, Void arg) {
+            if (node.name == TreeConstants.self) {
+                code.load(true, 0);
+                return null;
+            }
+            int local = scope.lookup(node.name);
+            if (local != SymbolTable.NOT_FOUND) {
+                int type = localTypes[local];
+                code.load(!isPrimitive(type), local);
+                adapt(type, type(node));
+                return null;
+            }
+            int slot = tables.attributeSlot(owner, node.name);
+            int declaring = tables.attributeOwner(owner, slot);
+            int type = resolve(tables.attribute(owner, slot).type, declaring);
+            code.load(true, 0);
+            code.field(GETFIELD, internalName(declaring), node.name.getString(), desc(type));
+            adapt(type, type(node));
+            return null;
+        }
+
+        @Override
+        public Void visit(Assign node, Void arg) {
+            int value = type(node.expr);
+            int local = scope.lookup(node.name);
+            if (local != SymbolTable.NOT_FOUND) {
+                expr(node.expr, value);
+                code.op(DUP);
+                adapt(value, localTypes[local]);
+                code.store(!isPrimitive(localTypes[local]), local);
+            } else {
+                int slot = tables.attributeSlot(owner, node.name);
+                int declaring = tables.attributeOwner(owner, slot);
+                int type = resolve(tables.attribute(owner, slot).type, declaring);
+                code.load(true, 0);
+                expr(node.expr, value);
+                code.op(DUP_X1);
+                adapt(value, type);
+                code.field(PUTFIELD, internalName(declaring), node.name.getString(), desc(type));
+            }
+            adapt(value, type(node));
+            return null;
+        }
+
+        @Override
+        public Void visit(Dispatch node, Void arg) {
+            int receiver = type(node.expr);
+            int slot = tables.methodSlot(receiver, node.name);
+            int ret = returnType(receiver, slot);
+            int[] params = paramTypes(tables.method(receiver, slot));
+            String name = node.name.getString();
+            switch (receiver) {
+            case ClassTable.OBJECT:
+                // Pode ser Int, Bool ou String em caixa: CoolRuntime decide
+                receiverAndArgs(node.expr, ClassTable.OBJECT, node.args, params, false, name, node.line);
+                code.iconst(node.line);
+                code.invoke(INVOKESTATIC, RUNTIME, objectDispatcher(node.name),
+                        "(Ljava/lang/Object;I)" + desc(ret));
+                break;
+            case ClassTable.INT:
+            case ClassTable.BOOL:
+            case ClassTable.STRING:
+                // Sem redefinições possíveis: chama a implementação direto
+                builtin(node.expr, tables.methodOwner(receiver, slot), node.args, params, ret, name, node.line);
+                break;
+            default:
+                receiverAndArgs(node.expr, receiver, node.args, params, true, name, node.line);
+                code.invoke(INVOKEVIRTUAL, internalName(receiver), name, methodDesc(receiver, slot));
+            }
+            adapt(ret, type(node));
+            return null;
+        }
+
+        @Override
+        public Void visit(StaticDispatch node, Void arg) {
+            int target = classes.indexOf(node.typeName);
+            int slot = tables.methodSlot(target, node.name);
+            int declaring = tables.methodOwner(target, slot);
+            int ret = returnType(target, slot);
+            Method method = tables.method(target, slot);
+            int[] params = paramTypes(method);
+            String name = node.name.getString();
+            if (classes.isBasic(declaring)) {
+                builtin(node.expr, declaring, node.args, params, ret, name, node.line);
+            } else {
+                receiverAndArgs(node.expr, declaring, node.args, params, true, name, node.line);
+                code.invoke(INVOKESTATIC, internalName(declaring), name + STATIC_SUFFIX,
+                        staticDesc(declaring, slot));
+                staticTargets.put(method, slot);
+            }
+            adapt(ret, type(node));
+            return null;
+        }
+
+        /* Método de uma classe básica, sem despacho: CoolRuntime.nome(self, args) */
+        private void builtin(Expr receiver, int declaring, Expr[] args, int[] params, int ret, String name,
+                int line) {
+            receiverAndArgs(receiver, declaring, args, params, true, name, line);
+            StringBuilder desc = new StringBuilder("(").append(desc(declaring));
+            for (int p : params) {
+                desc.append(desc(p));
+            }
+            code.invoke(INVOKESTATIC, RUNTIME, name, desc.append(')').append(desc(ret)).toString());
+        }
+
+        private String objectDispatcher(IdSymbol name) {
+            if (name == TreeConstants.abort) {
+                return "invokeAbort";
+            }
+            if (name == TreeConstants.type_name) {
+                return "invokeTypeName";
+            }
+            return "invokeCopy";
+        }
+
+        /*
+         * Empilha o receptor (convertido para want) e os argumentos. Cool
+         * avalia os argumentos primeiro; quando a ordem pode ser observada,
+         * eles passam por locais temporárias.
+         */
+        private void receiverAndArgs(Expr receiver, int want, Expr[] args, int[] params, boolean checkVoid,
+                String name, int line) {
+            if (receiverFirst(receiver, args)) {
+                receiver(receiver, want, checkVoid, name, line);
+                for (int i = 0; i < args.length; i++) {
+                    expr(args[i], params[i]);
+                }
+                return;
+            }
+            int base = next;
+            next += args.length;
+            for (int i = 0; i < args.length; i++) {
+                expr(args[i], params[i]);
+                code.store(!isPrimitive(params[i]), base + i);
+            }
+            receiver(receiver, want, checkVoid, name, line);
+            for (int i = 0; i < args.length; i++) {
+                code.load(!isPrimitive(params[i]), base + i);
+            }
+            next = base;
+        }
+
+        private void receiver(Expr receiver, int want, boolean checkVoid, String name, int line) {
+            int type = type(receiver);
+            receiver.accept(this, null);
+            if (checkVoid && !isPrimitive(type) && type != ClassTable.STRING && !isSelf(receiver)
+                    && !(receiver instanceof New)) {
+                Label ok = new Label();
+                code.op(DUP);
+                code.jump(IFNONNULL, ok);
+                code.iconst(line);
+                code.ldc(name);
+                error("dispatchOnVoid", "(ILjava/lang/String;)" + ERROR);
+                code.label(ok);
+            }
+            adapt(type, want);
+        }
+
+        private boolean receiverFirst(Expr receiver, Expr[] args) {
+            if (args.length == 0 || isSelf(receiver) || isConstant(receiver)) {
+                return true;
+            }
+            boolean pure = receiver instanceof ObjectRef;
+            for (Expr a : args) {
+                if (!isConstant(a) && !isSelf(a) && !(pure && a instanceof ObjectRef)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSelf(Expr e) {
+            return e instanceof ObjectRef && ((ObjectRef) e).name == TreeConstants.self;
+        }
+
+        private boolean isConstant(Expr e) {
+            return e instanceof IntConst || e instanceof StringConst || e instanceof BoolConst;
+        }
+
+        /* Salta para target se o valor booleano de e for when, sem materializá-lo quando possível */
+        private void branch(Expr e, boolean when, Label target) {
+            if (e instanceof Not) {
+                branch(((Not) e).expr, !when, target);
+            } else if (e instanceof BoolConst) {
+                if (((BoolConst) e).value == when) {
+                    code.jump(GOTO, target);
+                }
+            } else if (e instanceof Lt) {
+                compare((Lt) e);
+                code.jump(when ? IF_ICMPLT : IF_ICMPGE, target);
+            } else if (e instanceof Le) {
+                compare((Le) e);
+                code.jump(when ? IF_ICMPLE : IF_ICMPGT, target);
+            } else if (e instanceof Eq) {
+                Eq eq = (Eq) e;
+                int l = type(eq.left);
+                int r = type(eq.right);
+                if (isPrimitive(l) && isPrimitive(r)) {
+                    compare(eq);
+                    code.jump(when ? IF_ICMPEQ : IF_ICMPNE, target);
+                } else if (l == ClassTable.STRING && r == ClassTable.STRING) {
+                    compare(eq);
+                    code.invoke(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z");
+                    code.jump(when ? IFNE : IFEQ, target);
+                } else if (l != ClassTable.OBJECT && r != ClassTable.OBJECT) {
+                    compare(eq);
+                    code.jump(when ? IF_ACMPEQ : IF_ACMPNE, target);
+                } else {
+                    // Object pode conter Int, Bool ou String, comparados pelo valor
+                    expr(eq.left, ClassTable.OBJECT);
+                    expr(eq.right, ClassTable.OBJECT);
+                    code.invoke(INVOKESTATIC, RUNTIME, "equal", "(Ljava/lang/Object;Ljava/lang/Object;)Z");
+                    code.jump(when ? IFNE : IFEQ, target);
+                }
+            } else if (e instanceof IsVoid && !isPrimitive(type(((IsVoid) e).expr))) {
+                Expr inner = ((IsVoid) e).expr;
+                expr(inner, type(inner));
+                code.jump(when ? IFNULL : IFNONNULL, target);
+            } else {
+                expr(e, ClassTable.BOOL);
+                code.jump(when ? IFNE : IFEQ, target);
+            }
+        }
+
+        private void compare(BinaryExpr e) {
+            expr(e.left, type(e.left));
+            expr(e.right, type(e.right));
+        }
+
+        /* Materializa uma condição como 0 ou 1 */
+        private void condition(Expr e) {
+            Label no = new Label();
+            Label end = new Label();
+            branch(e, false, no);
+            code.iconst(1);
+            code.jump(GOTO, end);
+            code.label(no);
+            code.iconst(0);
+            code.label(end);
+        }
+
+        @Override
+        public Void visit(Cond node, Void arg) {
+            int type = type(node);
+            Label otherwise = new Label();
+            Label end = new Label();
+            branch(node.pred, false, otherwise);
+            expr(node.thenExpr, type);
+            code.jump(GOTO, end);
+            code.label(otherwise);
+            expr(node.elseExpr, type);
+            code.label(end);
+            return null;
+        }
+
+        @Override
+        public Void visit(Loop node, Void arg) {
+            Label top = new Label();
+            Label end = new Label();
+            code.label(top);
+            branch(node.pred, false, end);
+            node.body.accept(this, null);
+            code.op(POP);
+            code.jump(GOTO, top);
+            code.label(end);
+            code.op(ACONST_NULL);
+            return null;
+        }
+
+        @Override
+        public Void visit(Block node, Void arg) {
+            for (int i = 0; i < node.body.length; i++) {
+                node.body[i].accept(this, null);
+                if (i < node.body.length - 1) {
+                    code.op(POP);
+                }
+            }
+            adapt(type(node.body[node.body.length - 1]), type(node));
+            return null;
+        }
+
+        @Override
+        public Void visit(Let node, Void arg) {
+            int type = resolve(node.type, owner);
+            if (node.init == null) {
+                pushDefault(type);
+            } else {
+                expr(node.init, type);
+            }
+            int slot = next++;
+            setLocalType(slot, type);
+            code.store(!isPrimitive(type), slot);
+            scope.enterScope();
+            scope.add(node.name, slot);
+            expr(node.body, type(node));
+            scope.exitScope();
+            next--;
+            return null;
+        }
+
+        @Override
+        public Void visit(Case node, Void arg) {
+            int result = type(node);
+            int value = next++;
+            int bound = next++;
+            expr(node.expr, ClassTable.OBJECT);
+            code.store(true, value);
+
+            Label ok = new Label();
+            code.load(true, value);
+            code.jump(IFNONNULL, ok);
+            code.iconst(node.line);
+            error("caseOnVoid", "(I)" + ERROR);
+            code.label(ok);
+
+            // Do ramo mais profundo para o mais raso: o primeiro que aceita é o mais próximo
+            CaseBranch[] branches = node.branches.clone();
+            Arrays.sort(branches, (a, b) -> classes.depth(classes.indexOf(b.type))
+                    - classes.depth(classes.indexOf(a.type)));
+            Label end = new Label();
+            boolean exhaustive = false;
+            for (CaseBranch b : branches) {
+                int type = classes.indexOf(b.type);
+                Label skip = new Label();
+                if (type != ClassTable.OBJECT) {
+                    code.load(true, value);
+                    code.type(INSTANCEOF, internalName(type));
+                    code.jump(IFEQ, skip);
+                }
+                code.load(true, value);
+                adapt(ClassTable.OBJECT, type);
+                setLocalType(bound, type);
+                code.store(!isPrimitive(type), bound);
+                scope.enterScope();
+                scope.add(b.name, bound);
+                expr(b.expr, result);
+                scope.exitScope();
+                code.jump(GOTO, end);
+                if (type == ClassTable.OBJECT) {
+                    exhaustive = true;
+                    break;
+                }
+                code.label(skip);
+            }
+            if (!exhaustive) {
+                code.iconst(node.line);
+                code.load(true, value);
+                error("caseWithoutBranch", "(ILjava/lang/Object;)" + ERROR);
+            }
+            code.label(end);
+            next -= 2;
+            return null;
+        }
+
+        @Override
+        public Void visit(New node, Void arg) {
+            if (node.typeName == TreeConstants.SELF_TYPE) {
+                code.load(true, 0);
+                code.invoke(INVOKEVIRTUAL, internalName(owner), "new$", NEW_DESC);
+                code.type(CHECKCAST, internalName(owner));
+                return null;
+            }
+            int c = classes.indexOf(node.typeName);
+            if (isPrimitive(c) || c == ClassTable.STRING) {
+                pushDefault(c);
+            } else {
+                instantiate(code, c);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(IsVoid node, Void arg) {
+            if (isPrimitive(type(node.expr)) || type(node.expr) == ClassTable.STRING) {
+                node.expr.accept(this, null);
+                code.op(POP);
+                code.iconst(0);
+            } else {
+                condition(node);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Neg node, Void arg) {
+            expr(node.expr, ClassTable.INT);
+            code.op(INEG);
+            return null;
+        }
+
+        @Override
+        public Void visit(Not node, Void arg) {
+            expr(node.expr, ClassTable.BOOL);
+            code.iconst(1);
+            code.op(IXOR);
+            return null;
+        }
+
+        private void arithmetic(BinaryExpr node, int opcode) {
+            expr(node.left, ClassTable.INT);
+            expr(node.right, ClassTable.INT);
+            code.op(opcode);
+        }
+
+        @Override
+        public Void visit(Plus node, Void arg) {
+            arithmetic(node, IADD);
+            return null;
+        }
+
+        @Override
+        public Void visit(Sub node, Void arg) {
+            arithmetic(node, ISUB);
+            return null;
+        }
+
+        @Override
+        public Void visit(Mul node, Void arg) {
+            arithmetic(node, IMUL);
+            return null;
+        }
+
+        @Override
+        public Void visit(Divide node, Void arg) {
+            expr(node.left, ClassTable.INT);
+            expr(node.right, ClassTable.INT);
+            Label ok = new Label();
+            code.op(DUP);
+            code.jump(IFNE, ok);
+            code.iconst(node.line);
+            error("divisionByZero", "(I)" + ERROR);
+            code.label(ok);
+            code.op(IDIV);
+            return null;
+        }
+
+        @Override
+        public Void visit(Lt node, Void arg) {
+            condition(node);
+            return null;
+        }
+
+        @Override
+        public Void visit(Le node, Void arg) {
+            condition(node);
+            return null;
+        }
+
+        @Override
+        public Void visit(Eq node, Void arg) {
+            condition(node);
+            return null;
+        }
+
+        @Override
+        public Void visit(IntConst node, Void arg) {
+            code.iconst(node.value);
+            return null;
+        }
+
+        @Override
+        public Void visit(StringConst node, Void arg) {
+            code.ldc(node.value.getString());
+            return null;
+        }
+
+        @Override
+        public Void visit(BoolConst node, Void arg) {
+            code.iconst(node.value ? 1 : 0);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package compiler.mips;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Saída do {@link CodeGen}. Cada linha é montada num único
+ * {@link StringBuilder}, reaproveitado do início ao fim, e o texto vai para
+ * o {@link Writer} em blocos de {@link #FLUSH} caracteres: nenhuma string é
+ * criada por instrução ou por método, e a memória usada não depende do
+ * tamanho do programa.
+ *
+ * Uso: {@code w.op("lw").reg(T1).mem(12, A0).end()} escreve
+ * {@code "\tlw\t$t1 12($a0)\n"}.
+ */
+final class AsmWriter {
+
+    static final int FLUSH = 8192;
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(FLUSH + 256);
+    private boolean first;
+
+    AsmWriter(Writer out) {
+        this.out = out;
+    }
+
+    /** Instrução ou diretiva; os operandos seguem separados por espaço. */
+    AsmWriter op(String mnemonic) {
+        line.append('\t').append(mnemonic);
+        first = true;
+        return this;
+    }
+
+    AsmWriter reg(String register) {
+        separator();
+        line.append(register);
+        return this;
+    }
+
+    AsmWriter imm(int value) {
+        separator();
+        line.append(value);
+        return this;
+    }
+
+    /** Referência a um rótulo formado pelas partes dadas ("Main", ".", "main"). */
+    AsmWriter sym(String a) {
+        separator();
+        line.append(a);
+        return this;
+    }
+
+    AsmWriter sym(String a, String b) {
+        separator();
+        line.append(a).append(b);
+        return this;
+    }
+
+    AsmWriter sym(String a, String b, String c) {
+        separator();
+        line.append(a).append(b).append(c);
+        return this;
+    }
+
+    AsmWriter sym(String prefix, int n) {
+        separator();
+        line.append(prefix).append(n);
+        return this;
+    }
+
+    /** Endereço base + deslocamento: {@code 12($a0)}. */
+    AsmWriter mem(int offset, String base) {
+        separator();
+        line.append(offset).append('(').append(base).append(')');
+        return this;
+    }
+
+    /** Texto entre aspas (o conteúdo de .ascii, sem aspas nem barras). */
+    AsmWriter quoted(CharSequence text) {
+        separator();
+        line.append('"').append(text).append('"');
+        return this;
+    }
+
+    void end() {
+        line.append('\n');
+        if (line.length() >= FLUSH) {
+            flush();
+        }
+    }
+
+    void label(String a) {
+        line.append(a).append(":\n");
+    }
+
+    void label(String a, String b) {
+        line.append(a).append(b).append(":\n");
+    }
+
+    void label(String a, String b, String c) {
+        line.append(a).append(b).append(c).append(":\n");
+    }
+
+    void label(String prefix, int n) {
+        line.append(prefix).append(n).append(":\n");
+    }
+
+    /** Linha em branco ou de comentário. */
+    void comment(String text) {
+        line.append("# ").append(text).append('\n');
+    }
+
+    void flush() {
+        try {
+            out.append(line);
+            line.setLength(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void separator() {
+        if (first) {
+            line.append('\t');
+            first = false;
+        } else {
+            line.append(' ');
+        }
+    }
+}
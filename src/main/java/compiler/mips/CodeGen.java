@@ -0,0 +1,751 @@
+package compiler.mips;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import compiler.ast.*;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.semant.SymbolTable;
+import compiler.util.IdSymbol;
+
+/**
+ * Geração de código MIPS para o SPIM, com as convenções do runtime padrão
+ * de Cool (trap.handler): objetos com etiqueta, tamanho e ponteiro para a
+ * tabela de despacho nos três primeiros words; protótipos
+ * {@code X_protObj} copiados por {@code Object.copy} e inicializados por
+ * {@code X_init}; {@code class_nameTab}, {@code class_objTab} e
+ * {@code X_dispTab}; métodos {@code X.m}; e as rotinas do runtime
+ * ({@code Object.copy}, {@code IO.out_string}, {@code equality_test},
+ * {@code _dispatch_abort}...), que não são geradas aqui.
+ *
+ * As etiquetas seguem a pré-ordem da hierarquia, então "a classe de tag t
+ * conforma com C" é {@code tag(C) <= t <= ultimoTag(C)}, que o case testa
+ * com duas comparações. As posições de atributos e métodos vêm de
+ * {@link DispatchTables}.
+ *
+ * O texto vai direto para o {@link Writer} por um único {@link AsmWriter}:
+ * primeiro o segmento de código, depois o de dados, com as constantes
+ * encontradas no caminho. A convenção de chamada é a do compilador de
+ * referência: receptor em $a0, argumentos na pilha (o chamado os
+ * desempilha), resultado em $a0, self em $s0 e locais relativos a $fp.
+ */
+public final class CodeGen {
+
+    static final String ZERO = "$zero";
+    static final String A0 = "$a0";
+    static final String A1 = "$a1";
+    static final String T1 = "$t1";
+    static final String T2 = "$t2";
+    static final String S0 = "$s0";
+    static final String SP = "$sp";
+    static final String FP = "$fp";
+    static final String RA = "$ra";
+
+    /* Layout dos objetos, em bytes */
+    static final int TAG_OFFSET = 0;
+    static final int SIZE_OFFSET = 4;
+    static final int DISPATCH_OFFSET = 8;
+    static final int ATTRIBUTE_OFFSET = 12;
+    static final int HEADER_WORDS = 3;
+
+    private final ClassTable classes;
+    private final DispatchTables tables;
+
+    /* Etiqueta de cada classe (pré-ordem), a última do seu ramo, e a classe de cada etiqueta */
+    private final int[] tag;
+    private final int[] lastTag;
+    private final int[] byTag;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<Integer, Integer> ints = new LinkedHashMap<>();
+    private AsmWriter w;
+    private int labels;
+
+    public CodeGen(ClassTable classes, DispatchTables tables) {
+        this.classes = classes;
+        this.tables = tables;
+        int n = classes.size();
+        tag = new int[n];
+        lastTag = new int[n];
+        byTag = new int[n];
+        numberClasses();
+    }
+
+    /** Etiqueta da classe c no código gerado. */
+    public int tag(int c) {
+        return tag[c];
+    }
+
+    /* Pré-ordem iterativa a partir de Object, filhos na ordem dos índices */
+    private void numberClasses() {
+        int n = classes.size();
+        int[] childCount = new int[n + 1];
+        for (int c = 0; c < n; c++) {
+            if (c != ClassTable.OBJECT) {
+                childCount[classes.parent(c) + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            childCount[i + 1] += childCount[i];
+        }
+        int[] children = new int[n];
+        int[] fill = Arrays.copyOf(childCount, n);
+        for (int c = 0; c < n; c++) {
+            if (c != ClassTable.OBJECT) {
+                children[fill[classes.parent(c)]++] = c;
+            }
+        }
+        Deque<Integer> stack = new ArrayDeque<>();
+        int[] next = new int[n];
+        int counter = 0;
+        stack.push(ClassTable.OBJECT);
+        tag[ClassTable.OBJECT] = counter;
+        byTag[counter++] = ClassTable.OBJECT;
+        next[ClassTable.OBJECT] = childCount[ClassTable.OBJECT];
+        while (!stack.isEmpty()) {
+            int c = stack.peek();
+            if (next[c] < childCount[c + 1]) {
+                int child = children[next[c]++];
+                tag[child] = counter;
+                byTag[counter++] = child;
+                next[child] = childCount[child];
+                stack.push(child);
+            } else {
+                lastTag[c] = counter - 1;
+                stack.pop();
+            }
+        }
+    }
+
+    /** Escreve o programa inteiro em out. */
+    public void generate(Writer out) throws IOException {
+        w = new AsmWriter(out);
+        try {
+            text();
+            data();
+            w.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private String name(int c) {
+        return classes.name(c).getString();
+    }
+
+    private int stringConst(String s) {
+        return strings.computeIfAbsent(s, k -> strings.size());
+    }
+
+    private int intConst(int value) {
+        return ints.computeIfAbsent(value, k -> ints.size());
+    }
+
+    private int newLabel() {
+        return labels++;
+    }
+
+    /* Segmento de código */
+
+    private void text() {
+        w.op(".text").end();
+        for (String global : new String[] { "Main_init", "Int_init", "String_init", "Bool_init", "Main.main" }) {
+            w.op(".globl").sym(global).end();
+        }
+        for (int t = 0; t < byTag.length; t++) {
+            int c = byTag[t];
+            initMethod(c);
+            for (int slot = 0; slot < tables.methodCount(c); slot++) {
+                Method m = tables.method(c, slot);
+                if (tables.methodOwner(c, slot) == c && m.body != null) {
+                    method(c, m);
+                }
+            }
+        }
+    }
+
+    private void prologue() {
+        w.op("addiu").reg(SP).reg(SP).imm(-12).end();
+        w.op("sw").reg(FP).mem(12, SP).end();
+        w.op("sw").reg(S0).mem(8, SP).end();
+        w.op("sw").reg(RA).mem(4, SP).end();
+        w.op("addiu").reg(FP).reg(SP).imm(4).end();
+        w.op("move").reg(S0).reg(A0).end();
+    }
+
+    private void epilogue(int args) {
+        w.op("lw").reg(FP).mem(12, SP).end();
+        w.op("lw").reg(S0).mem(8, SP).end();
+        w.op("lw").reg(RA).mem(4, SP).end();
+        w.op("addiu").reg(SP).reg(SP).imm(12 + 4 * args).end();
+        w.op("jr").reg(RA).end();
+    }
+
+    /* X_init: inicializa a superclasse e depois os atributos próprios, na ordem */
+    private void initMethod(int c) {
+        w.label(name(c), "_init");
+        prologue();
+        if (c != ClassTable.OBJECT) {
+            w.op("jal").sym(name(classes.parent(c)), "_init").end();
+        }
+        Emitter e = new Emitter(c);
+        for (int slot = 0; slot < tables.attributeCount(c); slot++) {
+            Attribute a = tables.attribute(c, slot);
+            if (tables.attributeOwner(c, slot) == c && a.init != null) {
+                a.init.accept(e, null);
+                w.op("sw").reg(A0).mem(ATTRIBUTE_OFFSET + 4 * slot, S0).end();
+            }
+        }
+        w.op("move").reg(A0).reg(S0).end();
+        epilogue(0);
+    }
+
+    private void method(int c, Method m) {
+        w.label(name(c), ".", m.name.getString());
+        prologue();
+        Emitter e = new Emitter(c);
+        int n = m.formals.length;
+        e.scope.enterScope();
+        for (int i = 0; i < n; i++) {
+            // O último argumento empilhado fica logo acima do quadro
+            e.scope.add(m.formals[i].name, 12 + 4 * (n - 1 - i));
+        }
+        m.body.accept(e, null);
+        epilogue(n);
+    }
+
+    /*
+     * Expressões: o resultado fica em $a0. pushed conta os words empilhados
+     * desde a entrada no método; a variável do let ou do case empilhada
+     * quando pushed era k fica em -4(k+1)($fp).
+     */
+    private final class Emitter extends ExprVisitor<Void, Void> {
+
+        final int self;
+        /* Arquivo da classe, nas mensagens de _dispatch_abort e _case_abort2 */
+        final String file;
+        final SymbolTable scope = new SymbolTable();
+        int pushed;
+
+        Emitter(int self) {
+            this.self = self;
+            this.file = classes.file(self) == null ? "" : classes.file(self);
+        }
+
+        private void push() {
+            w.op("sw").reg(A0).mem(0, SP).end();
+            w.op("addiu").reg(SP).reg(SP).imm(-4).end();
+            pushed++;
+        }
+
+        private void pop(String register) {
+            w.op("lw").reg(register).mem(4, SP).end();
+            w.op("addiu").reg(SP).reg(SP).imm(4).end();
+            pushed--;
+        }
+
+        private int staticClass(Expr e) {
+            IdSymbol type = e.getStaticType();
+            if (type == null) {
+                throw new IllegalStateException("a AST não passou pelo verificador de tipos");
+            }
+            return type == TreeConstants.SELF_TYPE ? self : classes.indexOf(type);
+        }
+
+        private void loadDefault(IdSymbol type) {
+            int c = type == TreeConstants.SELF_TYPE ? self : classes.indexOf(type);
+            switch (c) {
+            case ClassTable.INT:
+                w.op("la").reg(A0).sym("int_const", intConst(0)).end();
+                break;
+            case ClassTable.STRING:
+                w.op("la").reg(A0).sym("str_const", stringConst("")).end();
+                break;
+            case ClassTable.BOOL:
+                w.op("la").reg(A0).sym("bool_const0").end();
+                break;
+            default:
+                w.op("move").reg(A0).reg(ZERO).end();
+            }
+        }
+
+        /* Em $a0 o bool_const1 se a condição saltar para o rótulo, senão bool_const0 */
+        private void boolResult(String branch, String a, String b) {
+            int done = newLabel();
+            w.op("la").reg(A0).sym("bool_const1").end();
+            if (b == null) {
+                w.op(branch).reg(a).sym("label", done).end();
+            } else {
+                w.op(branch).reg(a).reg(b).sym("label", done).end();
+            }
+            w.op("la").reg(A0).sym("bool_const0").end();
+            w.label("label", done);
+        }
+
+        @Override
+        public Void visit(ObjectRef node, Void arg) {
+            if (node.name == TreeConstants.self) {
+                w.op("move").reg(A0).reg(S0).end();
+                return null;
+            }
+            int offset = scope.lookup(node.name);
+            if (offset != SymbolTable.NOT_FOUND) {
+                w.op("lw").reg(A0).mem(offset, FP).end();
+            } else {
+                int slot = tables.attributeSlot(self, node.name);
+                w.op("lw").reg(A0).mem(ATTRIBUTE_OFFSET + 4 * slot, S0).end();
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Assign node, Void arg) {
+            node.expr.accept(this, null);
+            int offset = scope.lookup(node.name);
+            if (offset != SymbolTable.NOT_FOUND) {
+                w.op("sw").reg(A0).mem(offset, FP).end();
+            } else {
+                int slot = tables.attributeSlot(self, node.name);
+                w.op("sw").reg(A0).mem(ATTRIBUTE_OFFSET + 4 * slot, S0).end();
+            }
+            return null;
+        }
+
+        /* Argumentos na ordem, empilhados; depois o receptor, testado contra void */
+        private void arguments(Expr receiver, IdSymbol name, Expr[] args, int line) {
+            for (Expr a : args) {
+                a.accept(this, null);
+                push();
+            }
+            receiver.accept(this, null);
+            if (!(receiver instanceof ObjectRef && ((ObjectRef) receiver).name == TreeConstants.self)) {
+                int ok = newLabel();
+                w.op("bne").reg(A0).reg(ZERO).sym("label", ok).end();
+                w.op("la").reg(A0).sym("str_const", stringConst(file)).end();
+                w.op("li").reg(T1).imm(line).end();
+                // O nome do método em $a1 é só para a mensagem; o trap.handler o ignora
+                w.op("la").reg(A1).sym("str_const", stringConst(name.getString())).end();
+                w.op("jal").sym("_dispatch_abort").end();
+                w.label("label", ok);
+            }
+        }
+
+        @Override
+        public Void visit(Dispatch node, Void arg) {
+            arguments(node.expr, node.name, node.args, node.line);
+            int slot = tables.methodSlot(staticClass(node.expr), node.name);
+            w.op("lw").reg(T1).mem(DISPATCH_OFFSET, A0).end();
+            w.op("lw").reg(T1).mem(4 * slot, T1).end();
+            w.op("jalr").reg(T1).end();
+            pushed -= node.args.length;
+            return null;
+        }
+
+        @Override
+        public Void visit(StaticDispatch node, Void arg) {
+            arguments(node.expr, node.name, node.args, node.line);
+            int target = classes.indexOf(node.typeName);
+            int slot = tables.methodSlot(target, node.name);
+            w.op("la").reg(T1).sym(name(target), "_dispTab").end();
+            w.op("lw").reg(T1).mem(4 * slot, T1).end();
+            w.op("jalr").reg(T1).end();
+            pushed -= node.args.length;
+            return null;
+        }
+
+        @Override
+        public Void visit(Cond node, Void arg) {
+            int otherwise = newLabel();
+            int end = newLabel();
+            node.pred.accept(this, null);
+            w.op("lw").reg(T1).mem(ATTRIBUTE_OFFSET, A0).end();
+            w.op("beqz").reg(T1).sym("label", otherwise).end();
+            node.thenExpr.accept(this, null);
+            w.op("b").sym("label", end).end();
+            w.label("label", otherwise);
+            node.elseExpr.accept(this, null);
+            w.label("label", end);
+            return null;
+        }
+
+        @Override
+        public Void visit(Loop node, Void arg) {
+            int top = newLabel();
+            int end = newLabel();
+            w.label("label", top);
+            node.pred.accept(this, null);
+            w.op("lw").reg(T1).mem(ATTRIBUTE_OFFSET, A0).end();
+            w.op("beqz").reg(T1).sym("label", end).end();
+            node.body.accept(this, null);
+            w.op("b").sym("label", top).end();
+            w.label("label", end);
+            w.op("move").reg(A0).reg(ZERO).end();
+            return null;
+        }
+
+        @Override
+        public Void visit(Block node, Void arg) {
+            for (Expr e : node.body) {
+                e.accept(this, null);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Let node, Void arg) {
+            if (node.init == null) {
+                loadDefault(node.type);
+            } else {
+                node.init.accept(this, null);
+            }
+            int offset = -4 * (pushed + 1);
+            push();
+            scope.enterScope();
+            scope.add(node.name, offset);
+            node.body.accept(this, null);
+            scope.exitScope();
+            w.op("addiu").reg(SP).reg(SP).imm(4).end();
+            pushed--;
+            return null;
+        }
+
+        @Override
+        public Void visit(Case node, Void arg) {
+            node.expr.accept(this, null);
+            int nonVoid = newLabel();
+            int end = newLabel();
+            w.op("bne").reg(A0).reg(ZERO).sym("label", nonVoid).end();
+            w.op("la").reg(A0).sym("str_const", stringConst(file)).end();
+            w.op("li").reg(T1).imm(node.line).end();
+            w.op("jal").sym("_case_abort2").end();
+            w.label("label", nonVoid);
+            w.op("lw").reg(T2).mem(TAG_OFFSET, A0).end();
+
+            // Do ramo mais profundo para o mais raso: o primeiro que aceita é o mais próximo
+            CaseBranch[] branches = node.branches.clone();
+            Arrays.sort(branches, (a, b) -> classes.depth(classes.indexOf(b.type))
+                    - classes.depth(classes.indexOf(a.type)));
+            for (CaseBranch b : branches) {
+                int c = classes.indexOf(b.type);
+                int next = newLabel();
+                w.op("blt").reg(T2).imm(tag[c]).sym("label", next).end();
+                w.op("bgt").reg(T2).imm(lastTag[c]).sym("label", next).end();
+                int offset = -4 * (pushed + 1);
+                push();
+                scope.enterScope();
+                scope.add(b.name, offset);
+                b.expr.accept(this, null);
+                scope.exitScope();
+                w.op("addiu").reg(SP).reg(SP).imm(4).end();
+                pushed--;
+                w.op("b").sym("label", end).end();
+                w.label("label", next);
+            }
+            w.op("li").reg(T1).imm(node.line).end();
+            w.op("jal").sym("_case_abort").end();
+            w.label("label", end);
+            return null;
+        }
+
+        @Override
+        public Void visit(New node, Void arg) {
+            if (node.typeName == TreeConstants.SELF_TYPE) {
+                // class_objTab tem protótipo e init de cada etiqueta, 8 bytes por classe
+                w.op("la").reg(T1).sym("class_objTab").end();
+                w.op("lw").reg(T2).mem(TAG_OFFSET, S0).end();
+                w.op("sll").reg(T2).reg(T2).imm(3).end();
+                w.op("addu").reg(T1).reg(T1).reg(T2).end();
+                w.op("sw").reg(T1).mem(0, SP).end();
+                w.op("addiu").reg(SP).reg(SP).imm(-4).end();
+                w.op("lw").reg(A0).mem(0, T1).end();
+                w.op("jal").sym("Object.copy").end();
+                w.op("lw").reg(T1).mem(4, SP).end();
+                w.op("addiu").reg(SP).reg(SP).imm(4).end();
+                w.op("lw").reg(T1).mem(4, T1).end();
+                w.op("jalr").reg(T1).end();
+                return null;
+            }
+            String c = name(classes.indexOf(node.typeName));
+            w.op("la").reg(A0).sym(c, "_protObj").end();
+            w.op("jal").sym("Object.copy").end();
+            w.op("jal").sym(c, "_init").end();
+            return null;
+        }
+
+        @Override
+        public Void visit(IsVoid node, Void arg) {
+            node.expr.accept(this, null);
+            w.op("move").reg(T1).reg(A0).end();
+            boolResult("beqz", T1, null);
+            return null;
+        }
+
+        @Override
+        public Void visit(Neg node, Void arg) {
+            node.expr.accept(this, null);
+            w.op("jal").sym("Object.copy").end();
+            w.op("lw").reg(T1).mem(ATTRIBUTE_OFFSET, A0).end();
+            w.op("neg").reg(T1).reg(T1).end();
+            w.op("sw").reg(T1).mem(ATTRIBUTE_OFFSET, A0).end();
+            return null;
+        }
+
+        @Override
+        public Void visit(Not node, Void arg) {
+            node.expr.accept(this, null);
+            w.op("lw").reg(T1).mem(ATTRIBUTE_OFFSET, A0).end();
+            boolResult("beqz", T1, null);
+            return null;
+        }
+
+        /* Esquerdo empilhado, direito em $a0; os valores ficam em $t1 e $t2 */
+        private void operands(BinaryExpr node, boolean copyRight) {
+            node.left.accept(this, null);
+            push();
+            node.right.accept(this, null);
+            if (copyRight) {
+                w.op("jal").sym("Object.copy").end();
+            }
+            pop(T1);
+            w.op("lw").reg(T1).mem(ATTRIBUTE_OFFSET, T1).end();
+            w.op("lw").reg(T2).mem(ATTRIBUTE_OFFSET, A0).end();
+        }
+
+        private void arithmetic(BinaryExpr node, String op) {
+            operands(node, true);
+            w.op(op).reg(T1).reg(T1).reg(T2).end();
+            w.op("sw").reg(T1).mem(ATTRIBUTE_OFFSET, A0).end();
+        }
+
+        @Override
+        public Void visit(Plus node, Void arg) {
+            arithmetic(node, "addu");
+            return null;
+        }
+
+        @Override
+        public Void visit(Sub node, Void arg) {
+            arithmetic(node, "subu");
+            return null;
+        }
+
+        @Override
+        public Void visit(Mul node, Void arg) {
+            arithmetic(node, "mul");
+            return null;
+        }
+
+        @Override
+        public Void visit(Divide node, Void arg) {
+            arithmetic(node, "div");
+            return null;
+        }
+
+        @Override
+        public Void visit(Lt node, Void arg) {
+            operands(node, false);
+            boolResult("blt", T1, T2);
+            return null;
+        }
+
+        @Override
+        public Void visit(Le node, Void arg) {
+            operands(node, false);
+            boolResult("ble", T1, T2);
+            return null;
+        }
+
+        @Override
+        public Void visit(Eq node, Void arg) {
+            node.left.accept(this, null);
+            push();
+            node.right.accept(this, null);
+            pop(T1);
+            w.op("move").reg(T2).reg(A0).end();
+            int done = newLabel();
+            w.op("la").reg(A0).sym("bool_const1").end();
+            w.op("beq").reg(T1).reg(T2).sym("label", done).end();
+            w.op("la").reg(A1).sym("bool_const0").end();
+            w.op("jal").sym("equality_test").end();
+            w.label("label", done);
+            return null;
+        }
+
+        @Override
+        public Void visit(IntConst node, Void arg) {
+            w.op("la").reg(A0).sym("int_const", intConst(node.value)).end();
+            return null;
+        }
+
+        @Override
+        public Void visit(StringConst node, Void arg) {
+            w.op("la").reg(A0).sym("str_const", stringConst(node.value.getString())).end();
+            return null;
+        }
+
+        @Override
+        public Void visit(BoolConst node, Void arg) {
+            w.op("la").reg(A0).sym(node.value ? "bool_const1" : "bool_const0").end();
+            return null;
+        }
+    }
+
+    /* Segmento de dados */
+
+    private void data() {
+        w.op(".data").end();
+        w.op(".align").imm(2).end();
+        for (String global : new String[] { "class_nameTab", "Main_protObj", "Int_protObj", "String_protObj",
+                "bool_const0", "bool_const1", "_int_tag", "_bool_tag", "_string_tag" }) {
+            w.op(".globl").sym(global).end();
+        }
+        w.label("_int_tag");
+        w.op(".word").imm(tag[ClassTable.INT]).end();
+        w.label("_bool_tag");
+        w.op(".word").imm(tag[ClassTable.BOOL]).end();
+        w.label("_string_tag");
+        w.op(".word").imm(tag[ClassTable.STRING]).end();
+        w.op(".globl").sym("_MemMgr_INITIALIZER").end();
+        w.label("_MemMgr_INITIALIZER");
+        w.op(".word").sym("_NoGC_Init").end();
+        w.op(".globl").sym("_MemMgr_COLLECTOR").end();
+        w.label("_MemMgr_COLLECTOR");
+        w.op(".word").sym("_NoGC_Collect").end();
+        w.op(".globl").sym("_MemMgr_TEST").end();
+        w.label("_MemMgr_TEST");
+        w.op(".word").imm(0).end();
+
+        // Os nomes das classes também são constantes
+        for (int t = 0; t < byTag.length; t++) {
+            stringConst(name(byTag[t]));
+        }
+        stringConst("");
+        intConst(0);
+        // Cada string registra a constante do seu tamanho antes das inteiras serem escritas
+        Map<String, Integer> lengths = new HashMap<>();
+        for (String s : strings.keySet()) {
+            lengths.put(s, intConst(s.getBytes(StandardCharsets.UTF_8).length));
+        }
+        for (Map.Entry<String, Integer> e : strings.entrySet()) {
+            stringConstant(e.getValue(), e.getKey(), lengths.get(e.getKey()));
+        }
+        for (Map.Entry<Integer, Integer> e : ints.entrySet()) {
+            w.op(".word").imm(-1).end();
+            w.label("int_const", e.getValue());
+            w.op(".word").imm(tag[ClassTable.INT]).end();
+            w.op(".word").imm(HEADER_WORDS + 1).end();
+            w.op(".word").sym("Int_dispTab").end();
+            w.op(".word").imm(e.getKey()).end();
+        }
+        for (int b = 0; b <= 1; b++) {
+            w.op(".word").imm(-1).end();
+            w.label("bool_const", b);
+            w.op(".word").imm(tag[ClassTable.BOOL]).end();
+            w.op(".word").imm(HEADER_WORDS + 1).end();
+            w.op(".word").sym("Bool_dispTab").end();
+            w.op(".word").imm(b).end();
+        }
+
+        w.label("class_nameTab");
+        for (int t = 0; t < byTag.length; t++) {
+            w.op(".word").sym("str_const", strings.get(name(byTag[t]))).end();
+        }
+        w.label("class_objTab");
+        for (int t = 0; t < byTag.length; t++) {
+            String c = name(byTag[t]);
+            w.op(".word").sym(c, "_protObj").end();
+            w.op(".word").sym(c, "_init").end();
+        }
+        for (int t = 0; t < byTag.length; t++) {
+            int c = byTag[t];
+            w.label(name(c), "_dispTab");
+            for (int slot = 0; slot < tables.methodCount(c); slot++) {
+                w.op(".word").sym(name(tables.methodOwner(c, slot)), ".", tables.method(c, slot).name.getString())
+                        .end();
+            }
+        }
+        for (int t = 0; t < byTag.length; t++) {
+            prototype(byTag[t]);
+        }
+        w.op(".globl").sym("heap_start").end();
+        w.label("heap_start");
+        w.op(".word").imm(0).end();
+    }
+
+    private void stringConstant(int index, String value, int lengthConst) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        w.op(".word").imm(-1).end();
+        w.label("str_const", index);
+        w.op(".word").imm(tag[ClassTable.STRING]).end();
+        w.op(".word").imm(HEADER_WORDS + 1 + (bytes.length + 4) / 4).end();
+        w.op(".word").sym("String_dispTab").end();
+        w.op(".word").sym("int_const", lengthConst).end();
+        // Trechos imprimíveis em .ascii; aspas, barra e o resto byte a byte
+        StringBuilder run = new StringBuilder();
+        for (byte b : bytes) {
+            int c = b & 0xFF;
+            if (c >= 0x20 && c < 0x7F && c != '"' && c != '\\') {
+                run.append((char) c);
+                continue;
+            }
+            asciiRun(run);
+            w.op(".byte").imm(c).end();
+        }
+        asciiRun(run);
+        w.op(".byte").imm(0).end();
+        w.op(".align").imm(2).end();
+    }
+
+    private void asciiRun(StringBuilder run) {
+        if (run.length() > 0) {
+            w.op(".ascii").quoted(run).end();
+            run.setLength(0);
+        }
+    }
+
+    private void prototype(int c) {
+        int attributes = tables.attributeCount(c);
+        w.op(".word").imm(-1).end();
+        w.label(name(c), "_protObj");
+        w.op(".word").imm(tag[c]).end();
+        switch (c) {
+        case ClassTable.INT:
+        case ClassTable.BOOL:
+            w.op(".word").imm(HEADER_WORDS + 1).end();
+            w.op(".word").sym(name(c), "_dispTab").end();
+            w.op(".word").imm(0).end();
+            return;
+        case ClassTable.STRING:
+            w.op(".word").imm(HEADER_WORDS + 2).end();
+            w.op(".word").sym("String_dispTab").end();
+            w.op(".word").sym("int_const", intConst(0)).end();
+            w.op(".word").imm(0).end();
+            return;
+        default:
+            w.op(".word").imm(HEADER_WORDS + attributes).end();
+            w.op(".word").sym(name(c), "_dispTab").end();
+            for (int slot = 0; slot < attributes; slot++) {
+                IdSymbol type = tables.attribute(c, slot).type;
+                int t = type == TreeConstants.SELF_TYPE ? -1 : classes.indexOf(type);
+                if (t == ClassTable.INT) {
+                    w.op(".word").sym("int_const", intConst(0)).end();
+                } else if (t == ClassTable.STRING) {
+                    w.op(".word").sym("str_const", stringConst("")).end();
+                } else if (t == ClassTable.BOOL) {
+                    w.op(".word").sym("bool_const0").end();
+                } else {
+                    w.op(".word").imm(0).end();
+                }
+            }
+        }
+    }
+}
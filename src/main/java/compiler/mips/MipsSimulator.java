@@ -0,0 +1,642 @@
+package compiler.mips;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import compiler.interp.CoolRuntimeException;
+import compiler.interp.InputLines;
+
+/**
+ * Simulador mínimo de MIPS para rodar a saída do {@link CodeGen} nos testes
+ * sem depender do SPIM. Entende só o subconjunto que o gerador emite
+ * (ver {@link #load}), e as rotinas do runtime de Cool (trap.handler) são
+ * implementadas aqui em Java: todo rótulo usado e não definido no programa
+ * precisa ser uma delas ({@code Object.copy}, {@code IO.out_string},
+ * {@code equality_test}, {@code _dispatch_abort}...).
+ *
+ * Os dados e o heap ficam num único vetor de bytes little-endian a partir
+ * de {@link #DATA_BASE}, com alocação por incremento e sem coleta; a pilha
+ * é um vetor de words à parte, abaixo de {@link #STACK_TOP}, que cresce até
+ * {@link #MAX_STACK_BYTES}. Os erros de execução são
+ * {@link CoolRuntimeException}, com as mesmas mensagens do interpretador.
+ */
+public final class MipsSimulator {
+
+    public static final int TEXT_BASE = 0x00400000;
+    public static final int DATA_BASE = 0x10000000;
+    public static final int STACK_TOP = 0x7ffffffc;
+    public static final int MAX_STACK_BYTES = 1 << 28;
+    public static final int MAX_HEAP_BYTES = 1 << 30;
+
+    /* Endereços das rotinas em Java e do retorno final, fora do segmento de código */
+    private static final int BUILTIN_BASE = 0x00001000;
+    private static final int HALT = BUILTIN_BASE - 4;
+    private static final String[] BUILTINS = {
+        "Object.copy", "Object.abort", "Object.type_name",
+        "IO.out_string", "IO.out_int", "IO.in_string", "IO.in_int",
+        "String.length", "String.concat", "String.substr",
+        "equality_test", "_dispatch_abort", "_case_abort", "_case_abort2",
+        "_NoGC_Init", "_NoGC_Collect",
+    };
+    private static final int COPY = 0, ABORT = 1, TYPE_NAME = 2, OUT_STRING = 3, OUT_INT = 4, IN_STRING = 5,
+            IN_INT = 6, LENGTH = 7, CONCAT = 8, SUBSTR = 9, EQUALITY_TEST = 10, DISPATCH_ABORT = 11,
+            CASE_ABORT = 12, CASE_ABORT2 = 13, NOGC_INIT = 14, NOGC_COLLECT = 15;
+
+    /* Instruções já decodificadas */
+    private static final int LI = 0, LW = 1, SW = 2, ADDIU = 3, ADDU = 4, SUBU = 5, MUL = 6, DIV = 7, NEG = 8,
+            SLL = 9, JAL = 10, JALR = 11, JR = 12, B = 13, BEQ = 14, BNE = 15, BLT = 16, BLE = 17, BGT = 18,
+            BGE = 19;
+
+    private static final Map<String, Integer> REGISTERS = new HashMap<>();
+    static {
+        String[] names = { "zero", "at", "v0", "v1", "a0", "a1", "a2", "a3", "t0", "t1", "t2", "t3", "t4", "t5",
+            "t6", "t7", "s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7", "t8", "t9", "k0", "k1", "gp", "sp", "fp",
+            "ra" };
+        for (int i = 0; i < names.length; i++) {
+            REGISTERS.put("$" + names[i], i);
+            REGISTERS.put("$" + i, i);
+        }
+    }
+    private static final int ZERO = 0, A0 = 4, A1 = 5, T1 = 9, T2 = 10, SP = 29, RA = 31;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    private int[] op = new int[1024];
+    private int[] rd = new int[1024];
+    private int[] rs = new int[1024];
+    private int[] rt = new int[1024];
+    private int[] imm = new int[1024];
+    /* Segundo operando de desvio imediato em vez de registrador */
+    private boolean[] immOperand = new boolean[1024];
+    private int count;
+
+    private final Map<String, Integer> labels = new HashMap<>();
+    /* Rótulos a resolver no fim: instrução ou endereço de dados que os usa */
+    private final List<Object[]> textFixups = new ArrayList<>();
+    private final List<Object[]> dataFixups = new ArrayList<>();
+
+    private byte[] memory = new byte[1 << 16];
+    private int heapTop = DATA_BASE;
+    private int[] stack = new int[1 << 12];
+
+    private final int[] reg = new int[32];
+
+    public MipsSimulator(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Monta o programa. Diretivas: .text, .data, .globl, .align, .word
+     * (números ou rótulos), .byte, .ascii e .asciiz. Instruções: la, li,
+     * move, lw, sw, addiu, addu, subu, mul, div (com três registradores),
+     * neg, sll, jal, jalr, jr, b, beq, bne, blt, ble, bgt, bge (o segundo
+     * operando pode ser imediato), beqz e bnez.
+     */
+    public void load(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        boolean text = true;
+        int lineNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            int colon;
+            while ((colon = labelEnd(line)) > 0) {
+                String label = line.substring(0, colon);
+                if (labels.put(label, text ? TEXT_BASE + 4 * count : heapTop) != null) {
+                    throw error(lineNo, "rótulo repetido " + label);
+                }
+                line = line.substring(colon + 1).trim();
+            }
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int space = firstSpace(line);
+            String mnemonic = line.substring(0, space);
+            String rest = line.substring(space).trim();
+            if (mnemonic.equals(".ascii") || mnemonic.equals(".asciiz")) {
+                ascii(rest, mnemonic.equals(".asciiz"), lineNo);
+                continue;
+            }
+            int hash = rest.indexOf('#');
+            if (hash >= 0) {
+                rest = rest.substring(0, hash).trim();
+            }
+            String[] args = rest.isEmpty() ? new String[0] : rest.split("[\\s,]+");
+            switch (mnemonic) {
+            case ".text":
+                text = true;
+                break;
+            case ".data":
+                text = false;
+                break;
+            case ".globl":
+                break;
+            case ".align":
+                int align = 1 << Integer.parseInt(args[0]);
+                heapTop = (heapTop + align - 1) & -align;
+                break;
+            case ".word":
+                for (String a : args) {
+                    int at = allocate(4);
+                    if (isNumber(a)) {
+                        storeWord(at, parseNumber(a, lineNo));
+                    } else {
+                        dataFixups.add(new Object[] { at, a, lineNo });
+                    }
+                }
+                break;
+            case ".byte":
+                for (String a : args) {
+                    memory[allocate(1) - DATA_BASE] = (byte) parseNumber(a, lineNo);
+                }
+                break;
+            default:
+                if (!text) {
+                    throw error(lineNo, "instrução fora do segmento de código: " + mnemonic);
+                }
+                instruction(mnemonic, args, lineNo);
+            }
+        }
+        for (Object[] f : textFixups) {
+            imm[(Integer) f[0]] = resolve((String) f[1], (Integer) f[2]);
+        }
+        for (Object[] f : dataFixups) {
+            storeWord((Integer) f[0], resolve((String) f[1], (Integer) f[2]));
+        }
+        heapTop = (heapTop + 3) & -4;
+    }
+
+    /** Executa o programa carregado como o trap.handler: copia Main_protObj, Main_init e Main.main. */
+    public void run() {
+        reg[SP] = STACK_TOP;
+        reg[A0] = resolve("Main_protObj", 0);
+        builtin(COPY);
+        call(resolve("Main_init", 0));
+        call(resolve("Main.main", 0));
+        out.flush();
+    }
+
+    private void call(int address) {
+        reg[RA] = HALT;
+        int pc = address;
+        int[] r = reg;
+        while (pc != HALT) {
+            if (pc < TEXT_BASE) {
+                builtin((pc - BUILTIN_BASE) >> 2);
+                pc = r[RA];
+                continue;
+            }
+            int i = (pc - TEXT_BASE) >> 2;
+            pc += 4;
+            switch (op[i]) {
+            case LI: r[rd[i]] = imm[i]; break;
+            case LW: r[rd[i]] = loadWord(r[rs[i]] + imm[i]); break;
+            case SW: storeWord(r[rs[i]] + imm[i], r[rd[i]]); break;
+            case ADDIU: r[rd[i]] = r[rs[i]] + imm[i]; break;
+            case ADDU: r[rd[i]] = r[rs[i]] + r[rt[i]]; break;
+            case SUBU: r[rd[i]] = r[rs[i]] - r[rt[i]]; break;
+            case MUL: r[rd[i]] = r[rs[i]] * r[rt[i]]; break;
+            case DIV:
+                if (r[rt[i]] == 0) {
+                    throw new CoolRuntimeException(0, "divisão por zero");
+                }
+                r[rd[i]] = r[rs[i]] / r[rt[i]];
+                break;
+            case NEG: r[rd[i]] = -r[rs[i]]; break;
+            case SLL: r[rd[i]] = r[rs[i]] << imm[i]; break;
+            case JAL: r[RA] = pc; pc = imm[i]; break;
+            case JALR: r[RA] = pc; pc = r[rs[i]]; break;
+            case JR: pc = r[rs[i]]; break;
+            case B: pc = imm[i]; break;
+            default:
+                int a = r[rs[i]];
+                int b = immOperand[i] ? rt[i] : r[rt[i]];
+                boolean taken;
+                switch (op[i]) {
+                case BEQ: taken = a == b; break;
+                case BNE: taken = a != b; break;
+                case BLT: taken = a < b; break;
+                case BLE: taken = a <= b; break;
+                case BGT: taken = a > b; break;
+                case BGE: taken = a >= b; break;
+                default: throw new IllegalStateException();
+                }
+                if (taken) {
+                    pc = imm[i];
+                }
+            }
+            r[ZERO] = 0;
+        }
+    }
+
+    /* Montagem */
+
+    private void instruction(String mnemonic, String[] a, int lineNo) {
+        if (count == op.length) {
+            int n = count * 2;
+            op = Arrays.copyOf(op, n);
+            rd = Arrays.copyOf(rd, n);
+            rs = Arrays.copyOf(rs, n);
+            rt = Arrays.copyOf(rt, n);
+            imm = Arrays.copyOf(imm, n);
+            immOperand = Arrays.copyOf(immOperand, n);
+        }
+        int i = count++;
+        switch (mnemonic) {
+        case "la":
+            emit(i, LI, register(a, 0, lineNo), 0, 0);
+            symbol(i, a, 1, lineNo);
+            break;
+        case "li":
+            emit(i, LI, register(a, 0, lineNo), 0, 0);
+            imm[i] = parseNumber(operand(a, 1, lineNo), lineNo);
+            break;
+        case "move":
+            emit(i, ADDIU, register(a, 0, lineNo), register(a, 1, lineNo), 0);
+            break;
+        case "lw":
+        case "sw": {
+            String m = operand(a, 1, lineNo);
+            int open = m.indexOf('(');
+            if (open < 0 || !m.endsWith(")")) {
+                throw error(lineNo, "endereço inválido " + m);
+            }
+            emit(i, mnemonic.equals("lw") ? LW : SW, register(a, 0, lineNo),
+                    registerNamed(m.substring(open + 1, m.length() - 1), lineNo), 0);
+            imm[i] = open == 0 ? 0 : parseNumber(m.substring(0, open), lineNo);
+            break;
+        }
+        case "addiu":
+        case "sll":
+            emit(i, mnemonic.equals("addiu") ? ADDIU : SLL, register(a, 0, lineNo), register(a, 1, lineNo), 0);
+            imm[i] = parseNumber(operand(a, 2, lineNo), lineNo);
+            break;
+        case "addu":
+        case "subu":
+        case "mul":
+        case "div":
+            emit(i, mnemonic.equals("addu") ? ADDU : mnemonic.equals("subu") ? SUBU : mnemonic.equals("mul") ? MUL : DIV,
+                    register(a, 0, lineNo), register(a, 1, lineNo), register(a, 2, lineNo));
+            break;
+        case "neg":
+            emit(i, NEG, register(a, 0, lineNo), register(a, 1, lineNo), 0);
+            break;
+        case "jal":
+        case "b":
+            emit(i, mnemonic.equals("jal") ? JAL : B, 0, 0, 0);
+            symbol(i, a, 0, lineNo);
+            break;
+        case "jalr":
+        case "jr":
+            emit(i, mnemonic.equals("jalr") ? JALR : JR, 0, register(a, 0, lineNo), 0);
+            break;
+        case "beqz":
+        case "bnez":
+            emit(i, mnemonic.equals("beqz") ? BEQ : BNE, 0, register(a, 0, lineNo), ZERO);
+            symbol(i, a, 1, lineNo);
+            break;
+        case "beq":
+        case "bne":
+        case "blt":
+        case "ble":
+        case "bgt":
+        case "bge": {
+            int code = BEQ + Arrays.asList("beq", "bne", "blt", "ble", "bgt", "bge").indexOf(mnemonic);
+            String second = operand(a, 1, lineNo);
+            if (isNumber(second)) {
+                emit(i, code, 0, register(a, 0, lineNo), parseNumber(second, lineNo));
+                immOperand[i] = true;
+            } else {
+                emit(i, code, 0, register(a, 0, lineNo), registerNamed(second, lineNo));
+            }
+            symbol(i, a, 2, lineNo);
+            break;
+        }
+        default:
+            throw error(lineNo, "instrução desconhecida " + mnemonic);
+        }
+    }
+
+    private void emit(int i, int code, int d, int s, int t) {
+        op[i] = code;
+        rd[i] = d;
+        rs[i] = s;
+        rt[i] = t;
+        imm[i] = 0;
+        immOperand[i] = false;
+    }
+
+    private void symbol(int i, String[] a, int index, int lineNo) {
+        textFixups.add(new Object[] { i, operand(a, index, lineNo), lineNo });
+    }
+
+    private int resolve(String label, int lineNo) {
+        Integer address = labels.get(label);
+        if (address != null) {
+            return address;
+        }
+        int builtin = Arrays.asList(BUILTINS).indexOf(label);
+        if (builtin < 0) {
+            throw error(lineNo, "rótulo indefinido " + label);
+        }
+        return BUILTIN_BASE + 4 * builtin;
+    }
+
+    private void ascii(String rest, boolean terminate, int lineNo) {
+        int open = rest.indexOf('"');
+        int close = rest.lastIndexOf('"');
+        if (open < 0 || close <= open) {
+            throw error(lineNo, "string inválida " + rest);
+        }
+        for (int k = open + 1; k < close; k++) {
+            char c = rest.charAt(k);
+            if (c == '\\' && k + 1 < close) {
+                char e = rest.charAt(++k);
+                c = e == 'n' ? '\n' : e == 't' ? '\t' : e == '0' ? '\0' : e;
+            }
+            memory[allocate(1) - DATA_BASE] = (byte) c;
+        }
+        if (terminate) {
+            memory[allocate(1) - DATA_BASE] = 0;
+        }
+    }
+
+    private static int labelEnd(String line) {
+        for (int k = 0; k < line.length(); k++) {
+            char c = line.charAt(k);
+            if (c == ':') {
+                return k;
+            }
+            if (Character.isWhitespace(c) || c == '"' || c == '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int firstSpace(String line) {
+        for (int k = 0; k < line.length(); k++) {
+            if (Character.isWhitespace(line.charAt(k))) {
+                return k;
+            }
+        }
+        return line.length();
+    }
+
+    private static String operand(String[] a, int index, int lineNo) {
+        if (index >= a.length) {
+            throw error(lineNo, "faltam operandos");
+        }
+        return a[index];
+    }
+
+    private static int register(String[] a, int index, int lineNo) {
+        return registerNamed(operand(a, index, lineNo), lineNo);
+    }
+
+    private static int registerNamed(String name, int lineNo) {
+        Integer r = REGISTERS.get(name);
+        if (r == null) {
+            throw error(lineNo, "registrador inválido " + name);
+        }
+        return r;
+    }
+
+    private static boolean isNumber(String s) {
+        char c = s.charAt(0);
+        return Character.isDigit(c) || (c == '-' && s.length() > 1);
+    }
+
+    private static int parseNumber(String s, int lineNo) {
+        try {
+            return s.startsWith("0x") ? Integer.parseUnsignedInt(s.substring(2), 16) : Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw error(lineNo, "número inválido " + s);
+        }
+    }
+
+    private static IllegalArgumentException error(int lineNo, String message) {
+        return new IllegalArgumentException("linha " + lineNo + ": " + message);
+    }
+
+    /* Memória */
+
+    private int allocate(int bytes) {
+        int at = heapTop;
+        long end = (long) at - DATA_BASE + bytes;
+        if (end > MAX_HEAP_BYTES) {
+            throw new CoolRuntimeException(0, "memória esgotada");
+        }
+        if (end > memory.length) {
+            memory = Arrays.copyOf(memory, (int) Math.min(MAX_HEAP_BYTES, Math.max(end, 2L * memory.length)));
+        }
+        heapTop += bytes;
+        return at;
+    }
+
+    private int loadWord(int address) {
+        if (address >= DATA_BASE && address < heapTop) {
+            int k = address - DATA_BASE;
+            return (memory[k] & 0xFF) | (memory[k + 1] & 0xFF) << 8 | (memory[k + 2] & 0xFF) << 16
+                    | memory[k + 3] << 24;
+        }
+        int slot = stackSlot(address);
+        return slot < stack.length ? stack[slot] : 0;
+    }
+
+    private void storeWord(int address, int value) {
+        if (address >= DATA_BASE && address < heapTop) {
+            int k = address - DATA_BASE;
+            memory[k] = (byte) value;
+            memory[k + 1] = (byte) (value >> 8);
+            memory[k + 2] = (byte) (value >> 16);
+            memory[k + 3] = (byte) (value >> 24);
+            return;
+        }
+        int slot = stackSlot(address);
+        if (slot >= stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(slot + 1, 2 * stack.length));
+        }
+        stack[slot] = value;
+    }
+
+    private static int stackSlot(int address) {
+        long offset = (long) STACK_TOP - address;
+        if (offset >= MAX_STACK_BYTES) {
+            throw new CoolRuntimeException(0, "estouro da pilha de chamadas");
+        }
+        if (offset < 0 || address < DATA_BASE || (offset & 3) != 0) {
+            throw new CoolRuntimeException(0, String.format("acesso inválido à memória em 0x%08x", address));
+        }
+        return (int) (offset >> 2);
+    }
+
+    /* Rotinas do runtime */
+
+    private int word(String label, int offset) {
+        return loadWord(resolve(label, 0) + offset);
+    }
+
+    private int copy(int object) {
+        int bytes = 4 * loadWord(object + CodeGen.SIZE_OFFSET);
+        int copy = allocate(bytes);
+        System.arraycopy(memory, object - DATA_BASE, memory, copy - DATA_BASE, bytes);
+        return copy;
+    }
+
+    private int newInt(int value) {
+        int object = copy(resolve("Int_protObj", 0));
+        storeWord(object + CodeGen.ATTRIBUTE_OFFSET, value);
+        return object;
+    }
+
+    private int newString(byte[] bytes) {
+        int words = CodeGen.HEADER_WORDS + 1 + (bytes.length + 4) / 4;
+        int length = newInt(bytes.length);
+        int object = allocate(4 * words);
+        storeWord(object + CodeGen.TAG_OFFSET, word("_string_tag", 0));
+        storeWord(object + CodeGen.SIZE_OFFSET, words);
+        storeWord(object + CodeGen.DISPATCH_OFFSET, word("String_protObj", CodeGen.DISPATCH_OFFSET));
+        storeWord(object + CodeGen.ATTRIBUTE_OFFSET, length);
+        System.arraycopy(bytes, 0, memory, object + CodeGen.ATTRIBUTE_OFFSET + 4 - DATA_BASE, bytes.length);
+        return object;
+    }
+
+    private byte[] stringBytes(int object) {
+        int length = loadWord(loadWord(object + CodeGen.ATTRIBUTE_OFFSET) + CodeGen.ATTRIBUTE_OFFSET);
+        int start = object + CodeGen.ATTRIBUTE_OFFSET + 4 - DATA_BASE;
+        return Arrays.copyOfRange(memory, start, start + length);
+    }
+
+    private String string(int object) {
+        return new String(stringBytes(object), StandardCharsets.UTF_8);
+    }
+
+    private int intValue(int object) {
+        return loadWord(object + CodeGen.ATTRIBUTE_OFFSET);
+    }
+
+    private String className(int object) {
+        int tag = loadWord(object + CodeGen.TAG_OFFSET);
+        return string(word("class_nameTab", 4 * tag));
+    }
+
+    /* Argumento k (0 = o último empilhado) de uma rotina que desempilha os seus */
+    private int argument(int k) {
+        return loadWord(reg[SP] + 4 * (k + 1));
+    }
+
+    private void builtin(int builtin) {
+        int self = reg[A0];
+        switch (builtin) {
+        case COPY:
+            reg[A0] = copy(self);
+            return;
+        case ABORT:
+            out.flush();
+            throw new CoolRuntimeException(0, "abort chamado na classe " + className(self));
+        case TYPE_NAME:
+            reg[A0] = word("class_nameTab", 4 * loadWord(self + CodeGen.TAG_OFFSET));
+            return;
+        case OUT_STRING:
+            out.print(string(argument(0)));
+            reg[SP] += 4;
+            return;
+        case OUT_INT:
+            out.print(intValue(argument(0)));
+            reg[SP] += 4;
+            return;
+        case IN_STRING: {
+            String s = readLine();
+            reg[A0] = newString((s == null ? "" : s).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        case IN_INT:
+            reg[A0] = newInt(InputLines.leadingInt(readLine()));
+            return;
+        case LENGTH:
+            reg[A0] = loadWord(self + CodeGen.ATTRIBUTE_OFFSET);
+            return;
+        case CONCAT: {
+            byte[] a = stringBytes(self);
+            byte[] b = stringBytes(argument(0));
+            byte[] both = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, both, a.length, b.length);
+            reg[SP] += 4;
+            reg[A0] = newString(both);
+            return;
+        }
+        case SUBSTR: {
+            byte[] s = stringBytes(self);
+            int l = intValue(argument(0));
+            int i = intValue(argument(1));
+            reg[SP] += 8;
+            if (i < 0 || l < 0 || i + l > s.length) {
+                throw new CoolRuntimeException(0, "substr(" + i + ", " + l + ") fora dos limites de uma string de "
+                        + s.length + " caractere(s)");
+            }
+            reg[A0] = newString(Arrays.copyOfRange(s, i, i + l));
+            return;
+        }
+        case EQUALITY_TEST:
+            if (!equal(reg[T1], reg[T2])) {
+                reg[A0] = reg[A1];
+            }
+            return;
+        case DISPATCH_ABORT:
+            out.flush();
+            throw new CoolRuntimeException(reg[T1], "despacho de " + string(reg[A1]) + " em void");
+        case CASE_ABORT:
+            out.flush();
+            throw new CoolRuntimeException(reg[T1], "nenhum ramo do case aceita a classe " + className(self));
+        case CASE_ABORT2:
+            out.flush();
+            throw new CoolRuntimeException(reg[T1], "case em void");
+        case NOGC_INIT:
+        case NOGC_COLLECT:
+            // Sem coleta: o heap só cresce
+            return;
+        default:
+            throw new IllegalStateException("rotina desconhecida " + builtin);
+        }
+    }
+
+    /* equality_test: mesmos valores para Int, Bool e String; os demais já foram comparados por endereço */
+    private boolean equal(int a, int b) {
+        if (a == 0 || b == 0) {
+            return false;
+        }
+        int tag = loadWord(a + CodeGen.TAG_OFFSET);
+        if (tag != loadWord(b + CodeGen.TAG_OFFSET)) {
+            return false;
+        }
+        if (tag == word("_string_tag", 0)) {
+            return Arrays.equals(stringBytes(a), stringBytes(b));
+        }
+        if (tag == word("_int_tag", 0) || tag == word("_bool_tag", 0)) {
+            return intValue(a) == intValue(b);
+        }
+        return false;
+    }
+
+    private String readLine() {
+        out.flush();
+        try {
+            return in.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package compiler.semant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import compiler.Diagnostic;
+import compiler.Diagnostics;
+import compiler.ast.ClassDecl;
+import compiler.ast.Expr;
+import compiler.ast.Feature;
+import compiler.ast.Formal;
+import compiler.ast.Method;
+import compiler.ast.Program;
+import compiler.ast.TreeConstants;
+import compiler.util.IdSymbol;
+
+/**
+ * Tabela de classes do programa e grafo de herança.
+ *
+ * Cada classe recebe um índice denso: as classes básicas vêm primeiro
+ * ({@link #OBJECT}, {@link #IO}, {@link #INT}, {@link #STRING},
+ * {@link #BOOL}), seguidas das classes do programa na ordem em que foram
+ * adicionadas. As passadas seguintes usam esse índice em arrays de int no
+ * lugar de mapas por nome.
+ *
+ * {@link #build()} valida os pais e procura ciclos em tempo linear no número
+ * de classes, sem recursão, então cadeias de herança muito profundas não
+ * estouram a pilha. Com a hierarquia válida, {@link #conforms} e
+ * {@link #lub} respondem em tempo constante (ver {@link HierarchyIndex}).
+ * Os métodos das classes básicas têm corpo {@code null}:
+ * quem executa o programa os trata como primitivas.
+ */
+public final class ClassTable {
+
+    public static final int OBJECT = 0;
+    public static final int IO = 1;
+    public static final int INT = 2;
+    public static final int STRING = 3;
+    public static final int BOOL = 4;
+    /** Pai de Object, e resultado de {@link #indexOf} para nomes desconhecidos. */
+    public static final int NO_CLASS = -1;
+
+    private static final int BASIC_CLASSES = 5;
+
+    private final Diagnostics diagnostics;
+    private final List<ClassDecl> classes = new ArrayList<>();
+    private final List<String> files = new ArrayList<>();
+    private final HashMap<IdSymbol, Integer> byName = new HashMap<>();
+
+    private int[] parent;
+    private int[] depth;
+    private int[] order;
+    private HierarchyIndex index;
+    private boolean built;
+
+    public ClassTable(Diagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+        installBasicClasses();
+    }
+
+    /** Tabela das classes de um único programa, já construída. */
+    public static ClassTable of(Program program, String file, Diagnostics diagnostics) {
+        ClassTable table = new ClassTable(diagnostics);
+        table.add(file, program.classes);
+        table.build();
+        return table;
+    }
+
+    /**
+     * Adiciona as classes de um arquivo. Redefinições são relatadas aqui e a
+     * classe repetida é descartada.
+     */
+    public void add(String file, ClassDecl[] decls) {
+        if (built) {
+            throw new IllegalStateException("tabela de classes já construída");
+        }
+        for (ClassDecl c : decls) {
+            if (c.name == TreeConstants.SELF_TYPE || isBasicName(c.name)) {
+                diagnostics.error(Diagnostic.Code.BASIC_CLASS_REDEFINED, file, c.line, c.column,
+                        "a classe básica " + c.name + " não pode ser redefinida");
+            } else if (byName.containsKey(c.name)) {
+                diagnostics.error(Diagnostic.Code.CLASS_REDEFINED, file, c.line, c.column,
+                        "a classe " + c.name + " já foi definida");
+            } else {
+                install(c, file);
+            }
+        }
+    }
+
+    /**
+     * Liga cada classe ao pai, verifica a hierarquia e a existência de Main.
+     *
+     * @return {@code true} se a hierarquia é válida; caso contrário os erros
+     *         estão nos diagnósticos e as consultas de hierarquia não valem
+     */
+    public boolean build() {
+        if (built) {
+            throw new IllegalStateException("tabela de classes já construída");
+        }
+        built = true;
+        int n = classes.size();
+        int errors = diagnostics.errorCount();
+
+        parent = new int[n];
+        parent[OBJECT] = NO_CLASS;
+        for (int c = 1; c < n; c++) {
+            parent[c] = resolveParent(c);
+        }
+        if (!findCycles()) {
+            return false;
+        }
+        sortByDepth();
+        index = new HierarchyIndex(parent, depth);
+
+        if (!byName.containsKey(TreeConstants.Main)) {
+            diagnostics.error(Diagnostic.Code.MISSING_MAIN, null, 0, 0, "a classe Main não foi definida");
+        }
+        return diagnostics.errorCount() == errors;
+    }
+
+    /* Índice do pai de c; NO_CLASS (com erro relatado) se o pai é inválido */
+    private int resolveParent(int c) {
+        ClassDecl decl = classes.get(c);
+        Integer p = byName.get(decl.parent);
+        if (p == null) {
+            String message = decl.parent == TreeConstants.SELF_TYPE
+                    ? "a classe " + decl.name + " não pode herdar de SELF_TYPE"
+                    : "a classe " + decl.name + " herda da classe " + decl.parent + ", que não foi definida";
+            diagnostics.error(decl.parent == TreeConstants.SELF_TYPE ? Diagnostic.Code.INVALID_PARENT
+                    : Diagnostic.Code.UNDEFINED_PARENT, files.get(c), decl.line, decl.column, message);
+            return NO_CLASS;
+        }
+        if (p == INT || p == STRING || p == BOOL) {
+            diagnostics.error(Diagnostic.Code.INVALID_PARENT, files.get(c), decl.line, decl.column,
+                    "a classe " + decl.name + " não pode herdar de " + decl.parent);
+            return NO_CLASS;
+        }
+        return p;
+    }
+
+    /*
+     * Percorre a cadeia de pais a partir de cada classe ainda não visitada,
+     * marcando o caminho com o número da partida. Encontrar uma marca do
+     * próprio caminho é um ciclo; encontrar uma classe já resolvida (ou
+     * Object) encerra o caminho, e as profundidades são preenchidas de trás
+     * para frente. Cada classe entra em um único caminho: O(n) no total.
+     */
+    private boolean findCycles() {
+        int n = classes.size();
+        depth = new int[n];
+        int[] mark = new int[n];
+        int[] path = new int[n];
+        boolean ok = true;
+
+        Arrays.fill(depth, -1);
+        depth[OBJECT] = 0;
+        for (int start = 1; start < n; start++) {
+            if (depth[start] >= 0 || mark[start] != 0) {
+                continue;
+            }
+            int len = 0;
+            int c = start;
+            while (c != NO_CLASS && depth[c] < 0 && mark[c] == 0) {
+                mark[c] = start;
+                path[len++] = c;
+                c = parent[c];
+            }
+            if (c != NO_CLASS && depth[c] >= 0) {
+                for (int d = depth[c] + 1, i = len - 1; i >= 0; i--, d++) {
+                    depth[path[i]] = d;
+                }
+            } else if (c != NO_CLASS && mark[c] == start) {
+                // O ciclo começa em c; as classes antes dele no caminho só herdam do ciclo
+                int i = len - 1;
+                while (path[i] != c) {
+                    i--;
+                }
+                for (int j = i; j < len; j++) {
+                    ClassDecl decl = classes.get(path[j]);
+                    diagnostics.error(Diagnostic.Code.INHERITANCE_CYCLE, files.get(path[j]), decl.line, decl.column,
+                            "a classe " + decl.name + ", ou um de seus ancestrais, herda de si mesma");
+                }
+                ok = false;
+            } else {
+                // Pai inválido (já relatado) ou cadeia que termina num ciclo
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    /* Ordem por profundidade (pais antes dos filhos), por contagem */
+    private void sortByDepth() {
+        int n = classes.size();
+        int maxDepth = 0;
+        for (int c = 0; c < n; c++) {
+            maxDepth = Math.max(maxDepth, depth[c]);
+        }
+        int[] start = new int[maxDepth + 2];
+        for (int c = 0; c < n; c++) {
+            start[depth[c] + 1]++;
+        }
+        for (int d = 1; d < start.length; d++) {
+            start[d] += start[d - 1];
+        }
+        order = new int[n];
+        for (int c = 0; c < n; c++) {
+            order[start[depth[c]]++] = c;
+        }
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    /** Índice da classe, ou {@link #NO_CLASS} se não existe. */
+    public int indexOf(IdSymbol name) {
+        Integer c = byName.get(name);
+        return c == null ? NO_CLASS : c;
+    }
+
+    public ClassDecl classDecl(int c) {
+        return classes.get(c);
+    }
+
+    public IdSymbol name(int c) {
+        return classes.get(c).name;
+    }
+
+    /** Arquivo em que a classe foi definida; {@code null} para as básicas. */
+    public String file(int c) {
+        return files.get(c);
+    }
+
+    public boolean isBasic(int c) {
+        return c < BASIC_CLASSES;
+    }
+
+    /** Índice do pai, ou {@link #NO_CLASS} para Object. */
+    public int parent(int c) {
+        checkBuilt();
+        return parent[c];
+    }
+
+    /** Distância até Object (0 para Object). */
+    public int depth(int c) {
+        checkBuilt();
+        return depth[c];
+    }
+
+    /** {@code a} é {@code b} ou descende de {@code b}. Tempo constante. */
+    public boolean conforms(int a, int b) {
+        checkBuilt();
+        return index.conforms(a, b);
+    }
+
+    /** Menor ancestral comum de {@code a} e {@code b} (o "join" das regras de tipo). Tempo constante. */
+    public int lub(int a, int b) {
+        checkBuilt();
+        return index.lca(a, b);
+    }
+
+    /** Classes ordenadas por profundidade: todo pai aparece antes dos filhos. */
+    public int[] topologicalOrder() {
+        checkBuilt();
+        return order.clone();
+    }
+
+    private void checkBuilt() {
+        if (order == null) {
+            throw new IllegalStateException("hierarquia não construída ou inválida");
+        }
+    }
+
+    private boolean isBasicName(IdSymbol name) {
+        Integer c = byName.get(name);
+        return c != null && c < BASIC_CLASSES;
+    }
+
+    private void install(ClassDecl c, String file) {
+        byName.put(c.name, classes.size());
+        classes.add(c);
+        files.add(file);
+    }
+
+    private void installBasicClasses() {
+        IdSymbol obj = TreeConstants.Object_;
+        IdSymbol str = TreeConstants.Str;
+        IdSymbol intType = TreeConstants.Int;
+        IdSymbol self = TreeConstants.SELF_TYPE;
+
+        install(basic(obj, TreeConstants.No_class,
+                method(TreeConstants.abort, obj),
+                method(TreeConstants.type_name, str),
+                method(TreeConstants.copy, self)), null);
+        install(basic(TreeConstants.IO, obj,
+                method(TreeConstants.out_string, self, formal(TreeConstants.arg, str)),
+                method(TreeConstants.out_int, self, formal(TreeConstants.arg, intType)),
+                method(TreeConstants.in_string, str),
+                method(TreeConstants.in_int, intType)), null);
+        install(basic(intType, obj), null);
+        install(basic(str, obj,
+                method(TreeConstants.length, intType),
+                method(TreeConstants.concat, str, formal(TreeConstants.arg, str)),
+                method(TreeConstants.substr, str, formal(TreeConstants.arg, intType),
+                        formal(TreeConstants.arg2, intType))), null);
+        install(basic(TreeConstants.Bool, obj), null);
+    }
+
+    private static ClassDecl basic(IdSymbol name, IdSymbol parent, Feature... features) {
+        return new ClassDecl(0, 0, name, parent, features);
+    }
+
+    private static Method method(IdSymbol name, IdSymbol returnType, Formal... formals) {
+        return new Method(0, 0, name, formals, returnType, (Expr) null);
+    }
+
+    private static Formal formal(IdSymbol name, IdSymbol type) {
+        return new Formal(0, 0, name, type);
+    }
+}
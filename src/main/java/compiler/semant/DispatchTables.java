@@ -0,0 +1,227 @@
+package compiler.semant;
+
+import java.util.Arrays;
+
+import compiler.ast.Attribute;
+import compiler.ast.ClassDecl;
+import compiler.ast.Feature;
+import compiler.ast.Method;
+import compiler.util.IdSymbol;
+
+/**
+ * Tabela de métodos (vtable) e layout de atributos de cada classe, montados
+ * uma vez a partir da tabela de classes.
+ *
+ * Cada classe começa com uma cópia das tabelas do pai: os métodos e
+ * atributos herdados mantêm a posição, uma redefinição de método ocupa a
+ * posição do método herdado e as features novas vão para o fim. Assim o
+ * índice de um método é o mesmo na classe e em todas as descendentes, e o
+ * despacho dinâmico é {@code method(classeDinamica, indice)}, com o índice
+ * resolvido uma vez pelo tipo estático.
+ *
+ * Erros de features (redefinições no mesmo escopo, atributos herdados
+ * redeclarados) não são relatados aqui, e sim pelo {@link TypeChecker}:
+ * a primeira definição fica na tabela e as repetidas são ignoradas.
+ */
+public final class DispatchTables {
+
+    /** Resultado de {@link #methodSlot} e {@link #attributeSlot} para nomes ausentes. */
+    public static final int NONE = -1;
+
+    private final Method[][] methods;
+    private final int[][] methodOwners;
+    private final NameIndex[] methodSlots;
+    private final Attribute[][] attributes;
+    private final int[][] attributeOwners;
+    private final NameIndex[] attributeSlots;
+
+    public DispatchTables(ClassTable classes) {
+        int n = classes.size();
+        methods = new Method[n][];
+        methodOwners = new int[n][];
+        methodSlots = new NameIndex[n];
+        attributes = new Attribute[n][];
+        attributeOwners = new int[n][];
+        attributeSlots = new NameIndex[n];
+
+        for (int c : classes.topologicalOrder()) {
+            build(c, classes.parent(c), classes.classDecl(c));
+        }
+    }
+
+    private void build(int c, int parent, ClassDecl decl) {
+        int newMethods = 0;
+        int newAttributes = 0;
+        for (Feature f : decl.features) {
+            if (f instanceof Method) {
+                newMethods++;
+            } else {
+                newAttributes++;
+            }
+        }
+
+        Method[] ms;
+        int[] mOwners;
+        NameIndex mSlots;
+        Attribute[] as;
+        int[] aOwners;
+        NameIndex aSlots;
+        int mCount;
+        int aCount;
+        if (parent == ClassTable.NO_CLASS) {
+            ms = new Method[newMethods];
+            mOwners = new int[newMethods];
+            mSlots = new NameIndex(newMethods);
+            as = new Attribute[newAttributes];
+            aOwners = new int[newAttributes];
+            aSlots = new NameIndex(newAttributes);
+            mCount = 0;
+            aCount = 0;
+        } else {
+            mCount = methods[parent].length;
+            aCount = attributes[parent].length;
+            ms = Arrays.copyOf(methods[parent], mCount + newMethods);
+            mOwners = Arrays.copyOf(methodOwners[parent], mCount + newMethods);
+            mSlots = methodSlots[parent].copy(mCount + newMethods);
+            as = Arrays.copyOf(attributes[parent], aCount + newAttributes);
+            aOwners = Arrays.copyOf(attributeOwners[parent], aCount + newAttributes);
+            aSlots = attributeSlots[parent].copy(aCount + newAttributes);
+        }
+        int inheritedMethods = mCount;
+
+        for (Feature f : decl.features) {
+            if (f instanceof Method) {
+                int slot = mSlots.get(f.name);
+                if (slot == NONE) {
+                    mSlots.put(f.name, mCount);
+                    mOwners[mCount] = c;
+                    ms[mCount++] = (Method) f;
+                } else if (slot < inheritedMethods && mOwners[slot] != c) {
+                    // Redefinição: substitui o herdado na mesma posição
+                    mOwners[slot] = c;
+                    ms[slot] = (Method) f;
+                }
+            } else if (aSlots.get(f.name) == NONE) {
+                aSlots.put(f.name, aCount);
+                aOwners[aCount] = c;
+                as[aCount++] = (Attribute) f;
+            }
+        }
+
+        methods[c] = mCount == ms.length ? ms : Arrays.copyOf(ms, mCount);
+        methodOwners[c] = mCount == mOwners.length ? mOwners : Arrays.copyOf(mOwners, mCount);
+        methodSlots[c] = mSlots;
+        attributes[c] = aCount == as.length ? as : Arrays.copyOf(as, aCount);
+        attributeOwners[c] = aCount == aOwners.length ? aOwners : Arrays.copyOf(aOwners, aCount);
+        attributeSlots[c] = aSlots;
+    }
+
+    /** Número de métodos da classe, herdados inclusive. */
+    public int methodCount(int c) {
+        return methods[c].length;
+    }
+
+    /** Índice do método {@code name} na vtable de {@code c}, ou {@link #NONE}. */
+    public int methodSlot(int c, IdSymbol name) {
+        return methodSlots[c].get(name);
+    }
+
+    /** Implementação que {@code c} usa na posição {@code slot}. */
+    public Method method(int c, int slot) {
+        return methods[c][slot];
+    }
+
+    /** Classe que define a implementação da posição {@code slot} de {@code c}. */
+    public int methodOwner(int c, int slot) {
+        return methodOwners[c][slot];
+    }
+
+    /** Método {@code name} visível em {@code c}, ou {@code null}. */
+    public Method findMethod(int c, IdSymbol name) {
+        int slot = methodSlots[c].get(name);
+        return slot == NONE ? null : methods[c][slot];
+    }
+
+    /** Número de atributos de um objeto da classe, herdados inclusive. */
+    public int attributeCount(int c) {
+        return attributes[c].length;
+    }
+
+    /** Posição do atributo {@code name} nos objetos de {@code c}, ou {@link #NONE}. */
+    public int attributeSlot(int c, IdSymbol name) {
+        return attributeSlots[c].get(name);
+    }
+
+    /** Atributos na ordem do layout, que também é a ordem de inicialização. */
+    public Attribute attribute(int c, int slot) {
+        return attributes[c][slot];
+    }
+
+    /** Classe que declara o atributo da posição {@code slot}. */
+    public int attributeOwner(int c, int slot) {
+        return attributeOwners[c][slot];
+    }
+
+    /* Mapa de símbolo para posição: hash aberto pelo índice da idtable, sem remoção */
+    private static final class NameIndex {
+        private int[] keys;
+        private int[] values;
+
+        NameIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) * 2;
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        NameIndex copy(int expected) {
+            NameIndex copy;
+            if (expected * 2 <= keys.length) {
+                copy = new NameIndex(0);
+                copy.keys = keys.clone();
+                copy.values = values.clone();
+            } else {
+                copy = new NameIndex(expected);
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != 0) {
+                        copy.insert(keys[i], values[i]);
+                    }
+                }
+            }
+            return copy;
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        int get(IdSymbol name) {
+            int key = name.getIndex() + 1;
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                int k = keys[i];
+                if (k == key) {
+                    return values[i];
+                }
+                if (k == 0) {
+                    return NONE;
+                }
+            }
+        }
+
+        /* Só para nomes ausentes; a capacidade foi reservada na criação */
+        void put(IdSymbol name, int value) {
+            insert(name.getIndex() + 1, value);
+        }
+
+        private void insert(int key, int value) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package compiler.semant;
+
+/**
+ * Índice da árvore de herança para consultas em tempo constante.
+ *
+ * Uma busca em profundidade a partir de Object numera as classes em
+ * pré-ordem; a subárvore de {@code c} ocupa o intervalo
+ * {@code [pre[c], end[c]]}, então {@code a} conforma com {@code b} se e
+ * somente se {@code pre[a]} cai no intervalo de {@code b}.
+ *
+ * O ancestral comum mais próximo usa a variante do percurso de Euler com
+ * só n posições: para {@code pre[a] < pre[b]}, o LCA é o pai da classe de
+ * menor profundidade em {@code (pre[a], pre[b]]} da pré-ordem. O mínimo de
+ * qualquer intervalo sai de uma sparse table ({@code O(n log n)} ints,
+ * montada uma vez) com duas consultas sobrepostas.
+ *
+ * Tudo é iterativo, para aguentar cadeias de herança muito profundas.
+ */
+final class HierarchyIndex {
+
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] pre;
+    private final int[] end;
+    /* table[k][i]: classe de menor profundidade em order[i .. i + 2^k) */
+    private final int[][] table;
+
+    HierarchyIndex(int[] parent, int[] depth) {
+        int n = parent.length;
+        this.parent = parent;
+        this.depth = depth;
+        this.pre = new int[n];
+        this.end = new int[n];
+
+        // Filhos de cada classe em CSR: childStart[c] .. childStart[c + 1]
+        int[] childStart = new int[n + 1];
+        for (int c = 0; c < n; c++) {
+            if (parent[c] >= 0) {
+                childStart[parent[c] + 1]++;
+            }
+        }
+        for (int c = 0; c < n; c++) {
+            childStart[c + 1] += childStart[c];
+        }
+        int[] children = new int[Math.max(0, n - 1)];
+        int[] fill = childStart.clone();
+        for (int c = 0; c < n; c++) {
+            if (parent[c] >= 0) {
+                children[fill[parent[c]]++] = c;
+            }
+        }
+
+        // Pré-ordem com pilha explícita; os filhos entram ao contrário para sair na ordem
+        int[] order = new int[n];
+        int[] stack = new int[n];
+        int top = 0;
+        int next = 0;
+        stack[top++] = ClassTable.OBJECT;
+        while (top > 0) {
+            int c = stack[--top];
+            pre[c] = next;
+            order[next++] = c;
+            for (int i = childStart[c + 1] - 1; i >= childStart[c]; i--) {
+                stack[top++] = children[i];
+            }
+        }
+
+        // Fim da subárvore: tamanhos acumulados de trás para frente na pré-ordem
+        int[] size = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int c = order[i];
+            size[c]++;
+            if (parent[c] >= 0) {
+                size[parent[c]] += size[c];
+            }
+        }
+        for (int c = 0; c < n; c++) {
+            end[c] = pre[c] + size[c] - 1;
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(n);
+        table = new int[levels][];
+        table[0] = order;
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            int[] prev = table[k - 1];
+            int[] cur = new int[n - (1 << k) + 1];
+            for (int i = 0; i < cur.length; i++) {
+                cur[i] = shallower(prev[i], prev[i + half]);
+            }
+            table[k] = cur;
+        }
+    }
+
+    private int shallower(int a, int b) {
+        return depth[a] <= depth[b] ? a : b;
+    }
+
+    /** {@code a} é {@code b} ou descende de {@code b}. */
+    boolean conforms(int a, int b) {
+        return pre[b] <= pre[a] && pre[a] <= end[b];
+    }
+
+    /** Ancestral comum mais próximo de {@code a} e {@code b}. */
+    int lca(int a, int b) {
+        if (a == b) {
+            return a;
+        }
+        int lo = Math.min(pre[a], pre[b]) + 1;
+        int hi = Math.max(pre[a], pre[b]);
+        int k = 31 - Integer.numberOfLeadingZeros(hi - lo + 1);
+        int m = shallower(table[k][lo], table[k][hi - (1 << k) + 1]);
+        return parent[m];
+    }
+}
@@ -0,0 +1,186 @@
+package compiler.semant;
+
+import java.util.Arrays;
+
+import compiler.util.IdSymbol;
+
+/**
+ * Tabela de símbolos com escopos aninhados, de identificador para um valor
+ * inteiro (o tipo de uma variável na verificação de tipos, por exemplo).
+ * Um nome declarado num escopo interno esconde o mesmo nome dos externos
+ * até o escopo ser fechado.
+ *
+ * Em vez de um mapa por escopo, há um único hash aberto indexado pelo
+ * índice do símbolo na idtable, com a declaração visível de cada nome, e
+ * um log de desfazer: cada {@link #add} guarda o valor que escondeu, e
+ * {@link #exitScope} restaura os valores até a marca do escopo. Depois que
+ * os arrays atingem o tamanho de trabalho, abrir e fechar escopos não aloca
+ * nada, e a mesma tabela pode ser reaproveitada entre métodos e classes.
+ */
+public final class SymbolTable {
+
+    /** Resultado de {@link #lookup} e {@link #probe} para nomes não declarados. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 64;
+    /* Nomes guardados além dos quais o hash é esvaziado ao fechar o último escopo */
+    private static final int MAX_IDLE_KEYS = 4096;
+
+    /* Hash aberto com sondagem linear: índice do símbolo + 1 (0 = vazio) */
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    /* Escopo da declaração visível em cada posição */
+    private int[] scopes = new int[INITIAL_CAPACITY];
+    private int used;
+
+    /* Log de desfazer: posição no hash, valor e escopo anteriores */
+    private int[] logSlot = new int[INITIAL_CAPACITY];
+    private int[] logValue = new int[INITIAL_CAPACITY];
+    private int[] logScope = new int[INITIAL_CAPACITY];
+    private int logSize;
+
+    /* Tamanho do log na entrada de cada escopo aberto */
+    private int[] marks = new int[16];
+    private int depth;
+
+    public SymbolTable() {
+        Arrays.fill(values, NOT_FOUND);
+    }
+
+    public void enterScope() {
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth * 2);
+        }
+        marks[depth++] = logSize;
+    }
+
+    public void exitScope() {
+        if (depth == 0) {
+            throw new IllegalStateException("exitScope sem enterScope");
+        }
+        int mark = marks[--depth];
+        while (logSize > mark) {
+            logSize--;
+            int slot = logSlot[logSize];
+            values[slot] = logValue[logSize];
+            scopes[slot] = logScope[logSize];
+        }
+        if (depth == 0 && used > MAX_IDLE_KEYS) {
+            // Sem escopos abertos nada é visível: descarta os nomes acumulados
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, NOT_FOUND);
+            used = 0;
+        }
+    }
+
+    /** Declara {@code name} no escopo atual, escondendo declarações anteriores. */
+    public void add(IdSymbol name, int value) {
+        if (depth == 0) {
+            throw new IllegalStateException("add fora de um escopo");
+        }
+        int slot = slot(name.getIndex());
+        if (logSize == logSlot.length) {
+            int capacity = logSize * 2;
+            logSlot = Arrays.copyOf(logSlot, capacity);
+            logValue = Arrays.copyOf(logValue, capacity);
+            logScope = Arrays.copyOf(logScope, capacity);
+        }
+        logSlot[logSize] = slot;
+        logValue[logSize] = values[slot];
+        logScope[logSize] = scopes[slot];
+        logSize++;
+        values[slot] = value;
+        scopes[slot] = depth;
+    }
+
+    /** Valor da declaração mais interna de {@code name}, ou {@link #NOT_FOUND}. */
+    public int lookup(IdSymbol name) {
+        int key = name.getIndex() + 1;
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == 0) {
+                return NOT_FOUND;
+            }
+        }
+    }
+
+    /** Como {@link #lookup}, mas só no escopo atual. */
+    public int probe(IdSymbol name) {
+        int key = name.getIndex() + 1;
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return values[i] != NOT_FOUND && scopes[i] == depth ? values[i] : NOT_FOUND;
+            }
+            if (k == 0) {
+                return NOT_FOUND;
+            }
+        }
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /* Os índices da idtable são densos: basta espalhá-los pelo hash */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /* Posição do símbolo no hash, criando-a se é a primeira vez que ele aparece */
+    private int slot(int index) {
+        int key = index + 1;
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return i;
+            }
+        }
+        if (2 * (used + 1) > keys.length) {
+            grow();
+            return slot(index);
+        }
+        keys[i] = key;
+        used++;
+        return i;
+    }
+
+    /* Dobra o hash; as posições mudam, então o log é remapeado junto */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int[] oldScopes = scopes;
+        int capacity = oldKeys.length * 2;
+        int mask = capacity - 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        scopes = new int[capacity];
+        Arrays.fill(values, NOT_FOUND);
+
+        int[] moved = new int[oldKeys.length];
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key == 0) {
+                continue;
+            }
+            int i = mix(key) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = oldValues[j];
+            scopes[i] = oldScopes[j];
+            moved[j] = i;
+        }
+        for (int j = 0; j < logSize; j++) {
+            logSlot[j] = moved[logSlot[j]];
+        }
+    }
+}
@@ -0,0 +1,523 @@
+package compiler.semant;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import compiler.Diagnostic;
+import compiler.Diagnostics;
+import compiler.ast.*;
+import compiler.util.IdSymbol;
+
+/**
+ * Verificador de tipos de Cool.
+ *
+ * Primeiro monta as {@link DispatchTables}, que resolvem métodos e
+ * atributos por índice. Depois verifica cada classe (assinaturas,
+ * redefinições e as expressões dos corpos): como uma classe só lê a tabela
+ * de classes e as tabelas de despacho, cada faixa de classes é verificada
+ * numa tarefa de fork-join. Os erros ficam separados por classe e são
+ * juntados na ordem dos índices, então a saída não depende do
+ * escalonamento.
+ *
+ * Cada expressão recebe o seu tipo estático ({@link Expr#setStaticType}).
+ * Uma expressão com erro recebe internamente um tipo que conforma com
+ * qualquer outro, para que um erro não provoque outros em cascata; na
+ * anotação ela aparece como Object.
+ */
+public final class TypeChecker {
+
+    /* SELF_TYPE entre os tipos representados pelo índice da classe */
+    private static final int SELF_TYPE = -2;
+    /* Tipo de uma expressão com erro: conforma com tudo, e tudo conforma com ele */
+    private static final int NO_TYPE = -3;
+    /* Classes por tarefa de fork-join */
+    private static final int GRAIN = 8;
+
+    private final ClassTable classes;
+    private final Diagnostics diagnostics;
+    private final DispatchTables tables;
+    /* Erros de cada classe; criados só quando a classe tem algum */
+    private final Diagnostics[] perClass;
+
+    /** A tabela de classes precisa ter sido construída sem erros. */
+    public TypeChecker(ClassTable classes, Diagnostics diagnostics) {
+        this.classes = classes;
+        this.diagnostics = diagnostics;
+        this.tables = new DispatchTables(classes);
+        this.perClass = new Diagnostics[classes.size()];
+    }
+
+    /** Tabelas de métodos e atributos usadas na verificação, para as passadas seguintes. */
+    public DispatchTables dispatchTables() {
+        return tables;
+    }
+
+    /**
+     * Verifica o programa usando até {@code jobs} threads.
+     *
+     * @return {@code true} se não houve erros de tipo
+     */
+    public boolean check(int jobs) {
+        int errors = diagnostics.errorCount();
+        checkMain();
+
+        int first = ClassTable.BOOL + 1;
+        if (first < classes.size()) {
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, jobs));
+            try {
+                pool.invoke(new CheckTask(first, classes.size()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        for (Diagnostics d : perClass) {
+            if (d != null) {
+                diagnostics.addAll(d.getDiagnostics());
+            }
+        }
+        return diagnostics.errorCount() == errors;
+    }
+
+    private void error(int c, TreeNode at, Diagnostic.Code code, String message) {
+        Diagnostics d = perClass[c];
+        if (d == null) {
+            d = perClass[c] = new Diagnostics();
+        }
+        d.error(code, classes.file(c), at.line, at.column, message);
+    }
+
+    /* Tipo declarado numa assinatura; nome desconhecido já foi relatado na coleta */
+    private int resolve(IdSymbol name) {
+        if (name == TreeConstants.SELF_TYPE) {
+            return SELF_TYPE;
+        }
+        int t = classes.indexOf(name);
+        return t == ClassTable.NO_CLASS ? NO_TYPE : t;
+    }
+
+    private boolean isDefined(IdSymbol type) {
+        return type == TreeConstants.SELF_TYPE || classes.indexOf(type) != ClassTable.NO_CLASS;
+    }
+
+    /* Assinaturas e redefinições das features de c */
+    private void checkFeatures(int c) {
+        int parent = classes.parent(c);
+        ClassDecl decl = classes.classDecl(c);
+
+        for (Feature f : decl.features) {
+            if (f instanceof Method) {
+                Method m = (Method) f;
+                if (tables.findMethod(c, m.name) != m) {
+                    error(c, m, Diagnostic.Code.METHOD_REDEFINED,
+                            "o método " + m.name + " já foi definido na classe " + decl.name);
+                    continue;
+                }
+                checkSignature(c, m);
+                Method inherited = tables.findMethod(parent, m.name);
+                if (inherited != null && !sameSignature(m, inherited)) {
+                    error(c, m, Diagnostic.Code.BAD_OVERRIDE, "a redefinição de " + m.name
+                            + " não tem a mesma assinatura do método herdado");
+                }
+            } else {
+                Attribute a = (Attribute) f;
+                int slot = tables.attributeSlot(c, a.name);
+                if (tables.attribute(c, slot) != a) {
+                    error(c, a, Diagnostic.Code.ATTRIBUTE_REDEFINED, tables.attributeOwner(c, slot) == c
+                            ? "o atributo " + a.name + " já foi definido na classe " + decl.name
+                            : "o atributo " + a.name + " é herdado e não pode ser redefinido");
+                    continue;
+                }
+                if (!isDefined(a.type)) {
+                    error(c, a, Diagnostic.Code.UNDEFINED_TYPE,
+                            "o tipo " + a.type + " do atributo " + a.name + " não foi definido");
+                }
+            }
+        }
+    }
+
+    private void checkSignature(int c, Method m) {
+        for (int i = 0; i < m.formals.length; i++) {
+            Formal f = m.formals[i];
+            if (f.type == TreeConstants.SELF_TYPE) {
+                error(c, f, Diagnostic.Code.UNDEFINED_TYPE, "o parâmetro " + f.name + " não pode ter o tipo SELF_TYPE");
+            } else if (!isDefined(f.type)) {
+                error(c, f, Diagnostic.Code.UNDEFINED_TYPE,
+                        "o tipo " + f.type + " do parâmetro " + f.name + " não foi definido");
+            }
+            for (int j = 0; j < i; j++) {
+                if (m.formals[j].name == f.name) {
+                    error(c, f, Diagnostic.Code.DUPLICATE_FORMAL,
+                            "o parâmetro " + f.name + " aparece mais de uma vez em " + m.name);
+                    break;
+                }
+            }
+        }
+        if (!isDefined(m.type)) {
+            error(c, m, Diagnostic.Code.UNDEFINED_TYPE,
+                    "o tipo de retorno " + m.type + " de " + m.name + " não foi definido");
+        }
+    }
+
+    private static boolean sameSignature(Method a, Method b) {
+        if (a.type != b.type || a.formals.length != b.formals.length) {
+            return false;
+        }
+        for (int i = 0; i < a.formals.length; i++) {
+            if (a.formals[i].type != b.formals[i].type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkMain() {
+        int main = classes.indexOf(TreeConstants.Main);
+        if (main == ClassTable.NO_CLASS) {
+            return;
+        }
+        Method m = tables.findMethod(main, TreeConstants.main_meth);
+        if (m == null) {
+            error(main, classes.classDecl(main), Diagnostic.Code.MISSING_MAIN_METHOD,
+                    "a classe Main não tem o método main");
+        } else if (m.formals.length != 0) {
+            error(main, m, Diagnostic.Code.MISSING_MAIN_METHOD, "o método main não deve ter parâmetros");
+        }
+    }
+
+    private final class CheckTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi;
+
+        CheckTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= GRAIN) {
+                SymbolTable scope = new SymbolTable();
+                for (int c = lo; c < hi; c++) {
+                    new ClassChecker(c, scope).run();
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new CheckTask(lo, mid), new CheckTask(mid, hi));
+        }
+    }
+
+    /*
+     * Verifica as expressões de uma classe. Cada visita deixa o tipo da
+     * expressão em result (como índice de classe ou SELF_TYPE) e o anota no nó.
+     */
+    private final class ClassChecker extends ExprVisitor<Void, Void> {
+
+        private final int current;
+        private final SymbolTable scope;
+        private int result;
+
+        ClassChecker(int current, SymbolTable scope) {
+            this.current = current;
+            this.scope = scope;
+        }
+
+        void run() {
+            checkFeatures(current);
+            ClassDecl decl = classes.classDecl(current);
+            for (Feature f : decl.features) {
+                f.accept(this, null);
+            }
+        }
+
+        private int check(Expr e) {
+            e.accept(this, null);
+            return result;
+        }
+
+        private Void type(Expr e, int t) {
+            result = t;
+            e.setStaticType(t == SELF_TYPE ? TreeConstants.SELF_TYPE
+                    : t == NO_TYPE ? TreeConstants.Object_ : classes.name(t));
+            return null;
+        }
+
+        private void error(TreeNode at, Diagnostic.Code code, String message) {
+            TypeChecker.this.error(current, at, code, message);
+        }
+
+        private String name(int t) {
+            return t == SELF_TYPE ? "SELF_TYPE" : classes.name(t).getString();
+        }
+
+        private boolean conforms(int a, int b) {
+            if (a == NO_TYPE || b == NO_TYPE) {
+                return true;
+            }
+            if (a == SELF_TYPE) {
+                if (b == SELF_TYPE) {
+                    return true;
+                }
+                a = current;
+            } else if (b == SELF_TYPE) {
+                return false;
+            }
+            return classes.conforms(a, b);
+        }
+
+        private int lub(int a, int b) {
+            if (a == b || b == NO_TYPE) {
+                return a;
+            }
+            if (a == NO_TYPE) {
+                return b;
+            }
+            return classes.lub(a == SELF_TYPE ? current : a, b == SELF_TYPE ? current : b);
+        }
+
+        /* Tipo declarado dentro de uma expressão; desconhecido é relatado aqui */
+        private int declared(TreeNode at, IdSymbol type) {
+            if (!isDefined(type)) {
+                error(at, Diagnostic.Code.UNDEFINED_TYPE, "o tipo " + type + " não foi definido");
+                return NO_TYPE;
+            }
+            return resolve(type);
+        }
+
+        private void expect(Expr e, int actual, int expected, String what) {
+            if (!conforms(actual, expected)) {
+                error(e, Diagnostic.Code.TYPE_MISMATCH,
+                        what + " tem o tipo " + name(actual) + ", que não conforma com " + name(expected));
+            }
+        }
+
+        /* Tipo de uma variável visível: local, self ou atributo */
+        private int variable(TreeNode at, IdSymbol name) {
+            if (name == TreeConstants.self) {
+                return SELF_TYPE;
+            }
+            int t = scope.lookup(name);
+            if (t != SymbolTable.NOT_FOUND) {
+                return t;
+            }
+            int slot = tables.attributeSlot(current, name);
+            if (slot != DispatchTables.NONE) {
+                return resolve(tables.attribute(current, slot).type);
+            }
+            error(at, Diagnostic.Code.UNDEFINED_IDENTIFIER, "o identificador " + name + " não foi declarado");
+            return NO_TYPE;
+        }
+
+        @Override
+        public Void visit(Method node, Void arg) {
+            scope.enterScope();
+            for (Formal f : node.formals) {
+                scope.add(f.name, resolve(f.type));
+            }
+            int body = check(node.body);
+            scope.exitScope();
+            expect(node.body, body, resolve(node.type), "o corpo de " + node.name);
+            return null;
+        }
+
+        @Override
+        public Void visit(Attribute node, Void arg) {
+            if (node.init != null) {
+                expect(node.init, check(node.init), resolve(node.type), "a inicialização de " + node.name);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Assign node, Void arg) {
+            int target = variable(node, node.name);
+            int value = check(node.expr);
+            expect(node.expr, value, target, "o valor atribuído a " + node.name);
+            return type(node, value);
+        }
+
+        @Override
+        public Void visit(StaticDispatch node, Void arg) {
+            int receiver = check(node.expr);
+            int[] args = checkArgs(node.args);
+            if (node.typeName == TreeConstants.SELF_TYPE) {
+                error(node, Diagnostic.Code.UNDEFINED_TYPE, "o despacho estático não pode ser para SELF_TYPE");
+                return type(node, NO_TYPE);
+            }
+            int target = declared(node, node.typeName);
+            if (target == NO_TYPE) {
+                return type(node, NO_TYPE);
+            }
+            expect(node.expr, receiver, target, "o receptor de " + node.name);
+            return dispatch(node, target, receiver, node.name, node.args, args);
+        }
+
+        @Override
+        public Void visit(Dispatch node, Void arg) {
+            int receiver = check(node.expr);
+            int[] args = checkArgs(node.args);
+            return dispatch(node, receiver == SELF_TYPE ? current : receiver, receiver, node.name, node.args, args);
+        }
+
+        private int[] checkArgs(Expr[] args) {
+            int[] types = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                types[i] = check(args[i]);
+            }
+            return types;
+        }
+
+        private Void dispatch(Expr node, int lookupClass, int receiver, IdSymbol name, Expr[] args, int[] argTypes) {
+            if (lookupClass == NO_TYPE) {
+                return type(node, NO_TYPE);
+            }
+            Method m = tables.findMethod(lookupClass, name);
+            if (m == null) {
+                error(node, Diagnostic.Code.UNDEFINED_METHOD,
+                        "o método " + name + " não existe na classe " + name(lookupClass));
+                return type(node, NO_TYPE);
+            }
+            if (m.formals.length != args.length) {
+                error(node, Diagnostic.Code.WRONG_ARGUMENT_COUNT, "o método " + name + " espera "
+                        + m.formals.length + " argumento(s), mas recebeu " + args.length);
+            } else {
+                for (int i = 0; i < args.length; i++) {
+                    Formal f = m.formals[i];
+                    if (f.type != TreeConstants.SELF_TYPE) {
+                        expect(args[i], argTypes[i], resolve(f.type), "o argumento " + f.name + " de " + name);
+                    }
+                }
+            }
+            return type(node, m.type == TreeConstants.SELF_TYPE ? receiver : resolve(m.type));
+        }
+
+        @Override
+        public Void visit(Cond node, Void arg) {
+            expect(node.pred, check(node.pred), ClassTable.BOOL, "a condição do if");
+            int then = check(node.thenExpr);
+            int otherwise = check(node.elseExpr);
+            return type(node, lub(then, otherwise));
+        }
+
+        @Override
+        public Void visit(Loop node, Void arg) {
+            expect(node.pred, check(node.pred), ClassTable.BOOL, "a condição do while");
+            check(node.body);
+            return type(node, ClassTable.OBJECT);
+        }
+
+        @Override
+        public Void visit(Block node, Void arg) {
+            int last = ClassTable.OBJECT;
+            for (Expr e : node.body) {
+                last = check(e);
+            }
+            return type(node, last);
+        }
+
+        @Override
+        public Void visit(Let node, Void arg) {
+            int declared = declared(node, node.type);
+            if (node.init != null) {
+                expect(node.init, check(node.init), declared, "a inicialização de " + node.name);
+            }
+            scope.enterScope();
+            scope.add(node.name, declared);
+            int body = check(node.body);
+            scope.exitScope();
+            return type(node, body);
+        }
+
+        @Override
+        public Void visit(Case node, Void arg) {
+            check(node.expr);
+            int joined = ClassTable.OBJECT;
+            for (int i = 0; i < node.branches.length; i++) {
+                CaseBranch b = node.branches[i];
+                int branchType;
+                if (b.type == TreeConstants.SELF_TYPE) {
+                    error(b, Diagnostic.Code.UNDEFINED_TYPE, "um ramo de case não pode ter o tipo SELF_TYPE");
+                    branchType = NO_TYPE;
+                } else {
+                    branchType = declared(b, b.type);
+                }
+                for (int j = 0; j < i; j++) {
+                    if (node.branches[j].type == b.type) {
+                        error(b, Diagnostic.Code.DUPLICATE_BRANCH, "há mais de um ramo para o tipo " + b.type);
+                        break;
+                    }
+                }
+                scope.enterScope();
+                scope.add(b.name, branchType);
+                int t = check(b.expr);
+                scope.exitScope();
+                joined = i == 0 ? t : lub(joined, t);
+            }
+            return type(node, joined);
+        }
+
+        @Override
+        public Void visit(New node, Void arg) {
+            return type(node, node.typeName == TreeConstants.SELF_TYPE ? SELF_TYPE : declared(node, node.typeName));
+        }
+
+        @Override
+        public Void visit(IsVoid node, Void arg) {
+            check(node.expr);
+            return type(node, ClassTable.BOOL);
+        }
+
+        @Override
+        public Void visit(Neg node, Void arg) {
+            expect(node.expr, check(node.expr), ClassTable.INT, "o operando de ~");
+            return type(node, ClassTable.INT);
+        }
+
+        @Override
+        public Void visit(Not node, Void arg) {
+            expect(node.expr, check(node.expr), ClassTable.BOOL, "o operando de not");
+            return type(node, ClassTable.BOOL);
+        }
+
+        private Void arithmetic(BinaryExpr node, String op, int resultType) {
+            expect(node.left, check(node.left), ClassTable.INT, "o operando esquerdo de " + op);
+            expect(node.right, check(node.right), ClassTable.INT, "o operando direito de " + op);
+            return type(node, resultType);
+        }
+
+        @Override public Void visit(Plus node, Void arg) { return arithmetic(node, "+", ClassTable.INT); }
+        @Override public Void visit(Sub node, Void arg) { return arithmetic(node, "-", ClassTable.INT); }
+        @Override public Void visit(Mul node, Void arg) { return arithmetic(node, "*", ClassTable.INT); }
+        @Override public Void visit(Divide node, Void arg) { return arithmetic(node, "/", ClassTable.INT); }
+        @Override public Void visit(Lt node, Void arg) { return arithmetic(node, "<", ClassTable.BOOL); }
+        @Override public Void visit(Le node, Void arg) { return arithmetic(node, "<=", ClassTable.BOOL); }
+
+        @Override
+        public Void visit(Eq node, Void arg) {
+            int left = check(node.left);
+            int right = check(node.right);
+            if ((isBasicValue(left) || isBasicValue(right)) && left != right
+                    && left != NO_TYPE && right != NO_TYPE) {
+                error(node, Diagnostic.Code.TYPE_MISMATCH,
+                        "não é possível comparar " + name(left) + " com " + name(right));
+            }
+            return type(node, ClassTable.BOOL);
+        }
+
+        private boolean isBasicValue(int t) {
+            return t == ClassTable.INT || t == ClassTable.STRING || t == ClassTable.BOOL;
+        }
+
+        @Override
+        public Void visit(ObjectRef node, Void arg) {
+            return type(node, variable(node, node.name));
+        }
+
+        @Override public Void visit(IntConst node, Void arg) { return type(node, ClassTable.INT); }
+        @Override public Void visit(StringConst node, Void arg) { return type(node, ClassTable.STRING); }
+        @Override public Void visit(BoolConst node, Void arg) { return type(node, ClassTable.BOOL); }
+    }
+}
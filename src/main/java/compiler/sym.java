@@ -40,6 +40,7 @@ public interface sym {
   public static final int error = 1;
   public static final int ISVOID = 8;
   public static final int EQ = 29;
+  public static final int ERROR = 44;
   public static final int COLON = 41;
   public static final int NEG = 34;
   public static final int LBRACE = 39;
@@ -96,7 +97,8 @@ public interface sym {
   "RBRACE",
   "COLON",
   "SEMI",
-  "COMMA"
+  "COMMA",
+  "ERROR"
   };
 }
 
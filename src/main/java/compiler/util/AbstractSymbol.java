@@ -0,0 +1,50 @@
+package compiler.util;
+
+/**
+ * Entrada de uma das tabelas de nomes do compilador ({@link AbstractTable}).
+ *
+ * Cada string é guardada uma única vez por tabela, então dois símbolos da
+ * mesma tabela são iguais se e somente se são o mesmo objeto. O índice é
+ * denso (0, 1, 2, ...) e serve de chave inteira para as passadas seguintes.
+ */
+public abstract class AbstractSymbol {
+
+    protected final String str;
+    protected final int index;
+
+    protected AbstractSymbol(String str, int index) {
+        this.str = str;
+        this.index = index;
+    }
+
+    public String getString() {
+        return str;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /* Compara com um trecho de buffer sem criar uma String */
+    public boolean equalsChars(char[] buf, int off, int len) {
+        if (str.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (str.charAt(i) != buf[off + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return str;
+    }
+}
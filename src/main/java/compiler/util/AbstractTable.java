@@ -0,0 +1,138 @@
+package compiler.util;
+
+/**
+ * Tabela de strings internadas, no estilo das tabelas do compilador Cool de
+ * referência: {@link #idtable} para identificadores e tipos, {@link #inttable}
+ * para constantes inteiras e {@link #stringtable} para constantes string.
+ *
+ * As tabelas são globais e podem ser usadas por vários lexers em paralelo;
+ * a inserção é sincronizada. Num processo de longa duração elas só crescem;
+ * {@link #truncate} as devolve a um tamanho anterior quando nenhum símbolo
+ * novo está mais em uso (ver {@code CompileDaemon}). O hash é o mesmo de {@link String#hashCode()},
+ * então {@link #addChars} encontra o mesmo símbolo que {@link #addString}
+ * sem precisar materializar a String quando ela já está na tabela.
+ */
+public abstract class AbstractTable<S extends AbstractSymbol> {
+
+    public static final IdTable idtable = new IdTable();
+    public static final IntTable inttable = new IntTable();
+    public static final StringTable stringtable = new StringTable();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /* Hash aberto com sondagem linear; o tamanho é sempre potência de 2 */
+    private AbstractSymbol[] slots = new AbstractSymbol[INITIAL_CAPACITY];
+    /* Símbolos na ordem de inserção, indexados por getIndex() */
+    private AbstractSymbol[] byIndex = new AbstractSymbol[INITIAL_CAPACITY];
+    private int size;
+
+    protected abstract S newSymbol(String str, int index);
+
+    public static int hash(char[] buf, int off, int len) {
+        int h = 0;
+        for (int i = 0; i < len; i++) {
+            h = 31 * h + buf[off + i];
+        }
+        return h;
+    }
+
+    /* Espalha os bits altos, já que o hash de String é fraco nos bits baixos */
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /** Devolve o símbolo para {@code buf[off, off+len)}, inserindo-o se for novo. */
+    public S addChars(char[] buf, int off, int len) {
+        return addChars(buf, off, len, hash(buf, off, len));
+    }
+
+    /** Igual a {@link #addChars(char[], int, int)}, com o hash já calculado. */
+    @SuppressWarnings("unchecked")
+    public synchronized S addChars(char[] buf, int off, int len, int hash) {
+        int mask = slots.length - 1;
+        int i = spread(hash) & mask;
+        AbstractSymbol s;
+        while ((s = slots[i]) != null) {
+            if (s.str.hashCode() == hash && s.equalsChars(buf, off, len)) {
+                return (S) s;
+            }
+            i = (i + 1) & mask;
+        }
+        return insert(i, new String(buf, off, len));
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized S addString(String str) {
+        int hash = str.hashCode();
+        int mask = slots.length - 1;
+        int i = spread(hash) & mask;
+        AbstractSymbol s;
+        while ((s = slots[i]) != null) {
+            if (s.str.equals(str)) {
+                return (S) s;
+            }
+            i = (i + 1) & mask;
+        }
+        return insert(i, str);
+    }
+
+    private S insert(int slot, String str) {
+        S sym = newSymbol(str, size);
+        slots[slot] = sym;
+        if (size == byIndex.length) {
+            AbstractSymbol[] grown = new AbstractSymbol[size * 2];
+            System.arraycopy(byIndex, 0, grown, 0, size);
+            byIndex = grown;
+        }
+        byIndex[size++] = sym;
+        // Mantém a ocupação abaixo de 50%
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return sym;
+    }
+
+    private void rehash(int capacity) {
+        AbstractSymbol[] grown = new AbstractSymbol[capacity];
+        int mask = grown.length - 1;
+        for (int n = 0; n < size; n++) {
+            AbstractSymbol s = byIndex[n];
+            int i = spread(s.str.hashCode()) & mask;
+            while (grown[i] != null) {
+                i = (i + 1) & mask;
+            }
+            grown[i] = s;
+        }
+        slots = grown;
+    }
+
+    /**
+     * Remove os símbolos de índice {@code >= size}, os inseridos por último,
+     * e encolhe a tabela. Os índices removidos são reaproveitados,
+     * então nenhum dos símbolos removidos pode continuar em uso.
+     */
+    public synchronized void truncate(int size) {
+        if (size < 0 || size > this.size) {
+            throw new IllegalArgumentException("tamanho " + size + " fora de [0, " + this.size + "]");
+        }
+        this.size = size;
+        int capacity = INITIAL_CAPACITY;
+        while (size * 2 > capacity) {
+            capacity *= 2;
+        }
+        AbstractSymbol[] kept = new AbstractSymbol[capacity];
+        System.arraycopy(byIndex, 0, kept, 0, size);
+        byIndex = kept;
+        rehash(capacity);
+    }
+
+    /** Símbolo com o índice dado, ou {@code null} se não existir. */
+    @SuppressWarnings("unchecked")
+    public synchronized S lookup(int index) {
+        return index >= 0 && index < size ? (S) byIndex[index] : null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,9 @@
+package compiler.util;
+
+/** Identificador ou nome de tipo, guardado na {@link AbstractTable#idtable}. */
+public final class IdSymbol extends AbstractSymbol {
+
+    IdSymbol(String str, int index) {
+        super(str, index);
+    }
+}
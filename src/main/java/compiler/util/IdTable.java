@@ -0,0 +1,12 @@
+package compiler.util;
+
+/** Tabela de identificadores e nomes de tipo. */
+public final class IdTable extends AbstractTable<IdSymbol> {
+
+    IdTable() { }
+
+    @Override
+    protected IdSymbol newSymbol(String str, int index) {
+        return new IdSymbol(str, index);
+    }
+}
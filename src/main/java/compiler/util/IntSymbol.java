@@ -0,0 +1,16 @@
+package compiler.util;
+
+/** Constante inteira, guardada na {@link AbstractTable#inttable}. */
+public final class IntSymbol extends AbstractSymbol {
+
+    private final int value;
+
+    IntSymbol(String str, int index) {
+        super(str, index);
+        this.value = Integer.parseInt(str);
+    }
+
+    public int getValue() {
+        return value;
+    }
+}
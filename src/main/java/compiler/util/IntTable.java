@@ -0,0 +1,16 @@
+package compiler.util;
+
+/** Tabela de constantes inteiras. */
+public final class IntTable extends AbstractTable<IntSymbol> {
+
+    IntTable() { }
+
+    public IntSymbol addInt(int value) {
+        return addString(Integer.toString(value));
+    }
+
+    @Override
+    protected IntSymbol newSymbol(String str, int index) {
+        return new IntSymbol(str, index);
+    }
+}
@@ -0,0 +1,9 @@
+package compiler.util;
+
+/** Constante string, guardada na {@link AbstractTable#stringtable}. */
+public final class StringSymbol extends AbstractSymbol {
+
+    StringSymbol(String str, int index) {
+        super(str, index);
+    }
+}
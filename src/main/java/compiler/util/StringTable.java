@@ -0,0 +1,12 @@
+package compiler.util;
+
+/** Tabela de constantes string. */
+public final class StringTable extends AbstractTable<StringSymbol> {
+
+    StringTable() { }
+
+    @Override
+    protected StringSymbol newSymbol(String str, int index) {
+        return new StringSymbol(str, index);
+    }
+}
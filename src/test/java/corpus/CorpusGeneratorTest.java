@@ -0,0 +1,77 @@
+package corpus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostics;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.ClassDecl;
+import compiler.ast.Program;
+import compiler.corpus.CorpusGenerator;
+import compiler.corpus.CorpusGenerator.Shape;
+import org.junit.jupiter.api.Test;
+
+public class CorpusGeneratorTest {
+
+	private static Program parse(String code, Diagnostics diagnostics) throws Exception {
+		Lexer lexer = new Lexer(SourceFile.of(null, code));
+		lexer.setDiagnostics(diagnostics, "gerado.cl");
+		Parser parser = new Parser(lexer, CoolSymbolFactory.INSTANCE);
+		parser.setDiagnostics(diagnostics, "gerado.cl");
+		return parser.parseProgram();
+	}
+
+	@Test
+	void testSameSeedSameProgram() {
+		String a = new CorpusGenerator(7, Shape.small()).generate();
+		String b = new CorpusGenerator(7, Shape.small()).generate();
+		String c = new CorpusGenerator(8, Shape.small()).generate();
+
+		assertEquals(a, b);
+		assertNotEquals(a, c);
+	}
+
+	@Test
+	void testEveryShapeParsesWithoutErrors() throws Exception {
+		for (String name : List.of("small", "deep-nesting", "long-strings", "comment-heavy")) {
+			Diagnostics diagnostics = new Diagnostics();
+			Shape shape = Shape.named(name);
+			Program program = parse(new CorpusGenerator(1, shape).generate(), diagnostics);
+
+			assertEquals(List.of(), diagnostics.getDiagnostics(), name);
+			assertEquals(shape.classes + 1, program.classes.length, name);
+		}
+	}
+
+	@Test
+	void testInheritanceChains() throws Exception {
+		Shape shape = Shape.small();
+		shape.classes = 10;
+		shape.inheritanceDepth = 4;
+		Program program = parse(new CorpusGenerator(3, shape).generate(), new Diagnostics());
+
+		// C0 <- C1 <- C2 <- C3, C4 <- ... <- C7, C8 <- C9
+		ClassDecl[] classes = program.classes;
+		assertEquals("Object", classes[0].parent.getString());
+		assertEquals("C2", classes[3].parent.getString());
+		assertEquals("Object", classes[4].parent.getString());
+		assertEquals("C8", classes[9].parent.getString());
+		assertEquals("Main", classes[10].name.getString());
+	}
+
+	@Test
+	void testShapeControlsSize() {
+		Shape shape = Shape.small();
+		String plain = new CorpusGenerator(5, shape).generate();
+		shape.commentLinesPerLine = 2;
+		String commented = new CorpusGenerator(5, shape).generate();
+
+		assertTrue(commented.lines().count() >= 3 * plain.lines().count() - 3);
+	}
+}
@@ -0,0 +1,165 @@
+package driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import compiler.AstCache;
+import compiler.Driver;
+import compiler.SourceFile;
+import compiler.ast.Attribute;
+import compiler.ast.ClassDecl;
+import compiler.ast.Expr;
+import compiler.ast.Feature;
+import compiler.ast.Formal;
+import compiler.ast.IntConst;
+import compiler.ast.Method;
+import compiler.ast.Neg;
+import compiler.ast.NodeCounter;
+import compiler.ast.Program;
+import compiler.ast.TreeConstants;
+import compiler.util.AbstractTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AstCacheTest {
+
+	private static final String SOURCE = "class A inherits IO {\n"
+			+ "    x : Int <- 1 + 2;\n"
+			+ "    f(a : Int, b : String) : Object { out_string(b) };\n"
+			+ "};\n";
+
+	@Test
+	void testSecondParseHitsCache(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, SOURCE);
+		AstCache cache = new AstCache(dir.resolve("cache"));
+		Driver driver = new Driver(1, false);
+		driver.setCache(cache);
+
+		Driver.FileResult first = driver.parseFile(f);
+		Driver.FileResult second = driver.parseFile(f);
+
+		assertFalse(first.cached);
+		assertTrue(second.cached);
+		assertTrue(second.ok());
+		assertEquals(NodeCounter.count(first.program), NodeCounter.count(second.program));
+		// Os símbolos lidos do cache voltam para as tabelas: comparações por == continuam valendo
+		assertSame(first.program.classes[0].name, second.program.classes[0].name);
+		Attribute x = (Attribute) second.program.classes[0].features[0];
+		assertSame(((Attribute) first.program.classes[0].features[0]).type, x.type);
+	}
+
+	@Test
+	void testChangedFileMisses(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, SOURCE);
+		Driver driver = new Driver(1, false);
+		driver.setCache(new AstCache(dir.resolve("cache")));
+		driver.parseFile(f);
+
+		Files.writeString(f, SOURCE + "class B { };\n");
+		Driver.FileResult result = driver.parseFile(f);
+
+		assertFalse(result.cached);
+		assertEquals(2, result.program.classes.length);
+	}
+
+	@Test
+	void testFilesWithErrorsAreNotStored(@TempDir Path dir) throws Exception {
+		Path cacheDir = dir.resolve("cache");
+		Driver driver = new Driver(1, false);
+		driver.setCache(new AstCache(cacheDir));
+
+		Driver.FileResult first = driver.parseFile(Path.of("src/test/resources/cool/test5.cl"));
+		Driver.FileResult second = driver.parseFile(Path.of("src/test/resources/cool/test5.cl"));
+
+		assertFalse(first.ok());
+		assertFalse(second.cached);
+		assertFalse(second.diagnostics.isEmpty());
+	}
+
+	@Test
+	void testCorruptEntryIsAMiss(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, SOURCE);
+		Path cacheDir = dir.resolve("cache");
+		AstCache cache = new AstCache(cacheDir);
+		Driver driver = new Driver(1, false);
+		driver.setCache(cache);
+		driver.parseFile(f);
+
+		try (Stream<Path> entries = Files.list(cacheDir)) {
+			for (Path entry : (Iterable<Path>) entries::iterator) {
+				Files.write(entry, new byte[] { 1, 2, 3 });
+			}
+		}
+		String key = AstCache.key(SourceFile.read(f));
+		assertNull(cache.load(key));
+		// A entrada corrompida é apagada ao ser lida
+		try (Stream<Path> entries = Files.list(cacheDir)) {
+			assertEquals(0, entries.count());
+		}
+
+		Driver.FileResult again = driver.parseFile(f);
+		assertFalse(again.cached);
+		assertTrue(again.ok());
+		assertTrue(driver.parseFile(f).cached);
+	}
+
+	@Test
+	void testLoadReturnsTheStoredTree(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, SOURCE);
+		AstCache cache = new AstCache(dir.resolve("cache"));
+		Driver driver = new Driver(1, false);
+		driver.setCache(cache);
+		Driver.FileResult parsed = driver.parseFile(f);
+
+		Program program = cache.load(AstCache.key(SourceFile.read(f)));
+
+		assertEquals(1, program.classes.length);
+		assertEquals(NodeCounter.count(parsed.program), NodeCounter.count(program));
+		assertNull(cache.load(AstCache.key(SourceFile.of(null, SOURCE + "\n"))));
+	}
+
+	/* main() : Object { ~~~...~1 }, com depth negações aninhadas */
+	private static Program deepProgram(int depth) {
+		Expr body = new IntConst(1, 1, AbstractTable.inttable.addString("1"));
+		for (int i = 0; i < depth; i++) {
+			body = new Neg(1, 1, body);
+		}
+		Method main = new Method(1, 1, TreeConstants.main_meth, new Formal[0], TreeConstants.Object_, body);
+		return new Program(1, 1, new ClassDecl[] {
+				new ClassDecl(1, 1, TreeConstants.Main, TreeConstants.Object_, new Feature[] { main }) });
+	}
+
+	@Test
+	void testTooDeepTreeIsAMiss(@TempDir Path dir) throws Exception {
+		Path cacheDir = dir.resolve("cache");
+		AstCache cache = new AstCache(cacheDir);
+		Program deep = deepProgram(500_000);
+
+		// Nesta pilha a gravação estoura e a árvore fica fora do cache
+		cache.store("fundo", deep);
+		assertNull(cache.load("fundo"));
+
+		// Gravada com uma pilha grande, a entrada não pode ser lida nesta: falta, e é apagada
+		Thread big = new Thread(null, () -> cache.store("fundo", deep), "pilha-grande", 1L << 30);
+		big.start();
+		big.join();
+		try (Stream<Path> entries = Files.list(cacheDir)) {
+			assertEquals(1, entries.count());
+		}
+		assertNull(cache.load("fundo"));
+		try (Stream<Path> entries = Files.list(cacheDir)) {
+			assertEquals(0, entries.count());
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import compiler.CompileDaemon;
+import compiler.Driver;
+import compiler.ast.TreeConstants;
+import compiler.util.AbstractTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompileDaemonTest {
+
+	private static final String OK = "src/test/resources/cool/test1.cl";
+	private static final String BAD = "src/test/resources/cool/test5.cl";
+
+	@Test
+	void testRequestsOverStreams() throws Exception {
+		StringWriter output = new StringWriter();
+		new CompileDaemon(new Driver(2, false)).serve(new StringReader(""
+				+ "ping\n"
+				+ "check " + OK + "\n"
+				+ "check " + BAD + "\n"
+				+ "check " + OK + " " + BAD + "\n"
+				+ "check " + OK + "\n"
+				+ "quit\n"
+				+ "ping\n"), output);
+
+		List<String> lines = output.toString().lines().toList();
+		assertEquals("pong", lines.get(0));
+		assertTrue(lines.get(1).startsWith("fim ok 1 0 "), lines.get(1));
+
+		// Erro sintático: o diagnóstico vem antes da linha de fim
+		assertTrue(lines.get(2).startsWith(BAD + ":"), lines.get(2));
+		assertTrue(lines.get(3).startsWith("fim erro 1 1 "), lines.get(3));
+
+		assertTrue(lines.get(5).startsWith("fim erro 2 1 "), lines.get(5));
+
+		// O lexer e o parser reaproveitados não guardam estado do erro anterior
+		assertTrue(lines.get(6).startsWith("fim ok 1 0 "), lines.get(6));
+
+		// Nada é lido depois de "quit"
+		assertEquals(7, lines.size());
+	}
+
+	@Test
+	void testSymbolTablesAreTrimmedBetweenRequests(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, "class Limpeza { nome_unico_do_teste : String <- \"constante unica\"; };\n");
+		CompileDaemon daemon = new CompileDaemon(new Driver(1, false), 0);
+		int ids = AbstractTable.idtable.size();
+		StringWriter output = new StringWriter();
+		daemon.serve(new StringReader("check " + f + "\ncheck " + f + "\n"), output);
+
+		List<String> lines = output.toString().lines().toList();
+		assertTrue(lines.get(0).startsWith("fim ok 1 0 "), lines.get(0));
+		assertTrue(lines.get(1).startsWith("fim ok 1 0 "), lines.get(1));
+		assertEquals(0, daemon.newSymbols());
+		assertEquals(ids, AbstractTable.idtable.size());
+		// Os nomes pré-definidos continuam sendo os mesmos objetos
+		assertSame(TreeConstants.Main, AbstractTable.idtable.addString("Main"));
+	}
+
+	@Test
+	void testUnknownCommand() throws Exception {
+		StringWriter output = new StringWriter();
+		new CompileDaemon(new Driver(1, false)).serve(new StringReader("compila x.cl\n"), output);
+
+		assertEquals("fim erro comando desconhecido: compila", output.toString().trim());
+	}
+
+	@Test
+	void testUnixSocket(@TempDir Path dir) throws Exception {
+		Path socket = dir.resolve("cool.sock");
+		CompileDaemon daemon = new CompileDaemon(new Driver(1, false));
+		Thread server = new Thread(() -> {
+			try {
+				daemon.serveSocket(socket);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		server.start();
+
+		try (SocketChannel channel = connect(socket)) {
+			PrintWriter out = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), true);
+			BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+
+			out.println("check " + OK);
+			assertTrue(in.readLine().startsWith("fim ok 1 0 "));
+			out.println("shutdown");
+			assertEquals("fim ok", in.readLine());
+		}
+
+		server.join(5000);
+		assertFalse(server.isAlive());
+		assertFalse(Files.exists(socket));
+	}
+
+	@Test
+	void testSocketPathThatIsARegularFileIsKept(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("notas.txt");
+		Files.writeString(file, "não apagar");
+
+		assertThrows(IOException.class, () -> new CompileDaemon(new Driver(1, false)).serveSocket(file));
+		assertEquals("não apagar", Files.readString(file));
+	}
+
+	/* Espera o daemon começar a escutar */
+	private static SocketChannel connect(Path socket) throws Exception {
+		for (int attempt = 0; ; attempt++) {
+			SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+			try {
+				channel.connect(UnixDomainSocketAddress.of(socket));
+				return channel;
+			} catch (java.io.IOException e) {
+				channel.close();
+				if (attempt == 200) {
+					throw e;
+				}
+				Thread.sleep(10);
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import compiler.Driver;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompilerEventsTest {
+
+	@Test
+	void testLexAndParseEventsAreRecorded(@TempDir Path dir) throws Exception {
+		Path source = dir.resolve("a.cl");
+		Files.writeString(source, "class A { x : Int <- 1 + 2; };\n");
+		Path output = dir.resolve("gravacao.jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable("compiler.Lex").withThreshold(java.time.Duration.ZERO);
+			recording.enable("compiler.Parse").withThreshold(java.time.Duration.ZERO);
+			recording.start();
+			new Driver(1, false).parseAll(List.of(source));
+			recording.stop();
+			recording.dump(output);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+		RecordedEvent lex = find(events, "compiler.Lex");
+		RecordedEvent parse = find(events, "compiler.Parse");
+
+		assertEquals(source.toString(), lex.getString("file"));
+		assertEquals(Files.size(source), lex.getLong("bytes"));
+		assertEquals(13, lex.getLong("tokens"));
+
+		assertEquals(source.toString(), parse.getString("file"));
+		assertEquals(13, parse.getLong("tokens"));
+		assertEquals(6, parse.getLong("nodes"));
+		assertEquals(0, parse.getInt("errors"));
+	}
+
+	private static RecordedEvent find(List<RecordedEvent> events, String name) {
+		RecordedEvent found = null;
+		for (RecordedEvent e : events) {
+			if (e.getEventType().getName().equals(name)) {
+				found = e;
+			}
+		}
+		assertTrue(found != null, "Evento " + name + " não gravado");
+		return found;
+	}
+}
@@ -0,0 +1,138 @@
+package driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import compiler.CompileStats;
+import compiler.Diagnostics;
+import compiler.Driver;
+import compiler.ast.Program;
+import compiler.semant.ClassTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DriverTest {
+
+	@Test
+	void testCollectSourcesFromDirectory() throws Exception {
+		List<Path> files = Driver.collectSources(List.of("src/test/resources/cool"));
+
+		assertEquals(7, files.size());
+		assertTrue(files.get(0).endsWith("test1.cl"));
+		assertTrue(files.get(6).endsWith("test7.cl"));
+	}
+
+	@Test
+	void testParallelResultsKeepInputOrder(@TempDir Path dir) throws Exception {
+		List<Path> files = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Path f = dir.resolve(String.format("f%02d.cl", i));
+			Files.writeString(f, "class C" + i + " { x : Int <- " + i + "; };\nclass D" + i + " inherits C" + i + " { };\n");
+			files.add(f);
+		}
+
+		List<Driver.FileResult> results = new Driver(4, false).parseAll(files);
+		Program merged = Driver.merge(results);
+
+		assertEquals(80, merged.classes.length);
+		for (int i = 0; i < 40; i++) {
+			assertTrue(results.get(i).ok());
+			assertEquals("C" + i, merged.classes[2 * i].name.getString());
+			assertEquals("D" + i, merged.classes[2 * i + 1].name.getString());
+		}
+	}
+
+	@Test
+	void testFailingFileDoesNotStopOthers() throws Exception {
+		List<Path> files = List.of(
+				Path.of("src/test/resources/cool/test1.cl"),
+				Path.of("src/test/resources/cool/test4.cl"),
+				Path.of("src/test/resources/cool/test3.cl"));
+
+		List<Driver.FileResult> results = new Driver(3, false).parseAll(files);
+
+		assertTrue(results.get(0).ok());
+		assertFalse(results.get(1).ok());
+		assertTrue(results.get(2).ok());
+		assertEquals(3, Driver.merge(results).classes.length);
+	}
+
+	@Test
+	void testTraceIsCollectedPerFile() throws Exception {
+		List<Driver.FileResult> results = new Driver(2, true).parseAll(List.of(
+				Path.of("src/test/resources/cool/test1.cl"),
+				Path.of("src/test/resources/cool/test3.cl")));
+
+		assertTrue(results.get(0).trace.contains("[CLASSE] Definida"));
+		assertTrue(results.get(1).trace.contains("[CLASSE] Definida"));
+	}
+
+	@Test
+	void testStatsPerPhase(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, "class A { x : Int <- 1 + 2; };\n");
+
+		List<Driver.FileResult> results = new Driver(1, false, true).parseAll(List.of(f));
+		CompileStats stats = results.get(0).stats;
+
+		List<CompileStats.Phase> phases = stats.phases();
+		assertEquals(List.of("read", "lex", "parse"), phases.stream().map(p -> p.name).toList());
+		// class A { x : Int <- 1 + 2 ; } ;
+		assertEquals(13, phases.get(1).items);
+		// Program, ClassDecl, Attribute, Plus, IntConst, IntConst
+		assertEquals(6, phases.get(2).items);
+		assertTrue(phases.get(2).wallNanos > 0);
+
+		String json = Driver.statsJson(results, 1000);
+		assertTrue(json.startsWith("{\"wallNanos\":1000,\"files\":1,\"total\":{\"read\":{"), json);
+		assertTrue(json.contains("\"lex\":{\"wallNanos\":"), json);
+		assertTrue(json.contains("\"tokens\":13}"), json);
+		assertTrue(json.contains("\"nodes\":6}"), json);
+	}
+
+	@Test
+	void testStatsCoverSemanticPhases(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("a.cl");
+		Files.writeString(f, "class Main { main() : Int { 1 }; };\n");
+		Driver driver = new Driver(1, false, true);
+		List<Driver.FileResult> results = driver.parseAll(List.of(f));
+
+		CompileStats passes = new CompileStats();
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = Driver.classTable(results, diagnostics, passes);
+		assertNotNull(driver.typeCheck(table, diagnostics, passes));
+
+		List<CompileStats.Phase> phases = Driver.totalStats(results, passes).phases();
+		assertEquals(List.of("read", "lex", "parse", "classes", "typecheck"), phases.stream().map(p -> p.name).toList());
+		// Object, IO, Int, String, Bool e Main
+		assertEquals(6, phases.get(3).items);
+		assertTrue(Driver.statsJson(results, passes, 1000).contains("\"typecheck\":{\"wallNanos\":"));
+	}
+
+	@Test
+	void testEofErrorPositionDoesNotDependOnStats(@TempDir Path dir) throws Exception {
+		Path f = dir.resolve("eof.cl");
+		Files.writeString(f, "class A {\n  x : Int;\n");
+
+		String plain = new Driver(1, false).parseAll(List.of(f)).get(0).diagnostics.toString();
+		String measured = new Driver(1, false, true).parseAll(List.of(f)).get(0).diagnostics.toString();
+
+		assertTrue(plain.contains("eof.cl:3:1:"), plain);
+		assertEquals(plain, measured);
+	}
+
+	@Test
+	void testNoStatsByDefault() throws Exception {
+		List<Driver.FileResult> results = new Driver(1, false).parseAll(List.of(Path.of("src/test/resources/cool/test1.cl")));
+
+		assertNull(results.get(0).stats);
+	}
+}
@@ -0,0 +1,184 @@
+package interp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import compiler.interp.CoolRuntimeException;
+import compiler.interp.InputLines;
+import compiler.interp.Interpreter;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import support.CoolPrograms;
+
+public class InterpreterTest {
+
+	private static final CoolPrograms.Runner RUNNER = (program, in, out) -> new Interpreter(program.classes,
+			program.tables, in, out).run();
+
+	private static String run(String code, String input) throws Exception {
+		return CoolPrograms.run(RUNNER, code, input);
+	}
+
+	private static String run(String code) throws Exception {
+		return run(code, "");
+	}
+
+	@Test
+	void testRecursionAndArithmetic() throws Exception {
+		assertEquals("55 832040", run("class Main inherits IO {\n"
+				+ "  fib(n : Int) : Int { if n < 2 then n else fib(n - 1) + fib(n - 2) fi };\n"
+				+ "  main() : Object { out_int(fib(10)).out_string(\" \").out_int(fib(30)) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testDynamicDispatchUsesOverride() throws Exception {
+		assertEquals("AB", run("class A { f() : String { \"A\" }; g() : String { f() }; };\n"
+				+ "class B inherits A { f() : String { \"B\" }; };\n"
+				+ "class Main inherits IO {\n"
+				+ "  main() : Object { { out_string((new A).g()); out_string((new B).g()); } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testAttributesAreInitializedInOrder() throws Exception {
+		// b vê o valor já atribuído a a; c ainda tem o padrão quando b é avaliado
+		assertEquals("3 0 5", run("class Main inherits IO {\n"
+				+ "  a : Int <- 3;\n"
+				+ "  b : Int <- a + c;\n"
+				+ "  c : Int <- 2;\n"
+				+ "  main() : Object { out_int(b).out_string(\" \").out_int(b - a).out_string(\" \").out_int(a + c) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testLetShadowsAndRestores() throws Exception {
+		assertEquals("1 2 3 2 1", run("class Main inherits IO {\n"
+				+ "  x : Int <- 1;\n"
+				+ "  main() : Object { {\n"
+				+ "    out_int(x);\n"
+				+ "    let x : Int <- 2 in { out_string(\" \").out_int(x);\n"
+				+ "      let x : Int <- 3 in out_string(\" \").out_int(x);\n"
+				+ "      out_string(\" \").out_int(x); };\n"
+				+ "    out_string(\" \").out_int(x);\n"
+				+ "  } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testCasePicksClosestBranch() throws Exception {
+		assertEquals("B Object A", run("class A {}; class B inherits A {}; class C inherits B {};\n"
+				+ "class Main inherits IO {\n"
+				+ "  f(o : Object) : String { case o of a : A => \"A\"; b : B => \"B\"; x : Object => \"Object\"; esac };\n"
+				+ "  main() : Object { out_string(f(new C)).out_string(\" \").out_string(f(1))\n"
+				+ "      .out_string(\" \").out_string(f(new A)) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testInputBuiltins() throws Exception {
+		// in_int lê o inteiro do começo da linha e descarta o resto
+		assertEquals("Ana 42 0 -8", run("class Main inherits IO {\n"
+				+ "  main() : Object { let s : String <- in_string(), a : Int <- in_int(), b : Int <- in_int(),\n"
+				+ "      c : Int <- in_int() in\n"
+				+ "      out_string(s).out_string(\" \").out_int(a).out_string(\" \").out_int(b).out_string(\" \").out_int(c) };\n"
+				+ "};\n", "Ana\n42\nxyz\n  -8 trailing\n"));
+	}
+
+	@Test
+	void testLeadingInt() {
+		assertEquals(-8, InputLines.leadingInt("  -8 trailing"));
+		assertEquals(12, InputLines.leadingInt("12abc"));
+		assertEquals(0, InputLines.leadingInt("abc"));
+		assertEquals(0, InputLines.leadingInt("-"));
+		assertEquals(0, InputLines.leadingInt(null));
+		assertEquals(Integer.MIN_VALUE, InputLines.leadingInt("-2147483648"));
+		assertEquals(0, InputLines.leadingInt("2147483648"));
+	}
+
+	@Test
+	void testArgumentsAreEvaluatedBeforeReceiver() throws Exception {
+		// e0.f(e1): e1 é avaliado antes de e0
+		assertEquals("baMain", run("class Main inherits IO {\n"
+				+ "  main() : Object { out_string(\"a\").out_string(out_string(\"b\").type_name()) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testDispatchOnVoidIsRuntimeError() {
+		CoolRuntimeException e = assertThrows(CoolRuntimeException.class, () -> run("class A { f() : Int { 1 }; };\n"
+				+ "class Main {\n"
+				+ "  a : A;\n"
+				+ "  main() : Object {\n"
+				+ "    a.f()\n"
+				+ "  };\n"
+				+ "};\n"));
+		assertEquals(5, e.getLine());
+		assertTrue(e.getMessage().contains("void"), e.getMessage());
+	}
+
+	@Test
+	void testDivisionByZeroAndSubstrBounds() {
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { 1 / (1 - 1) }; };\n"));
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { \"abc\".substr(2, 2) }; };\n"));
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { case 1 of s : String => s; esac }; };\n"));
+	}
+
+	@Test
+	void testAbortStopsTheProgram() {
+		CoolRuntimeException e = assertThrows(CoolRuntimeException.class,
+				() -> run("class Main inherits IO { main() : Object { { abort(); out_string(\"depois\"); } }; };\n"));
+		assertTrue(e.getMessage().contains("Main"), e.getMessage());
+	}
+
+	@Test
+	void testFailuresOutsideCoolReachTheCaller() throws Exception {
+		CoolPrograms.Checked program = CoolPrograms.check("class Main inherits IO {\n"
+				+ "  main() : Object { out_string(in_string()) };\n"
+				+ "};\n");
+		BufferedReader broken = new BufferedReader(new Reader() {
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				throw new IOException("entrada fechada");
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+		PrintStream out = new PrintStream(new ByteArrayOutputStream(), false, StandardCharsets.UTF_8);
+		Interpreter interpreter = new Interpreter(program.classes, program.tables, broken, out);
+		assertThrows(UncheckedIOException.class, interpreter::run);
+	}
+
+	@Test
+	void testDeepRecursion() throws Exception {
+		assertEquals("100000", run(CoolPrograms.DEEP_RECURSION));
+	}
+
+	@Test
+	void testProgramFromTestResources() throws Exception {
+		String code = Files.readString(Paths.get("src", "test", "resources", "cool", "test3.cl"));
+		assertEquals("Andre eh amigo de Carlos\n", run(code));
+	}
+
+	@TestFactory
+	Stream<DynamicTest> testRegressionPrograms() throws Exception {
+		return CoolPrograms.regressionTests(RUNNER);
+	}
+}
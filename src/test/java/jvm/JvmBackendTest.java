@@ -0,0 +1,179 @@
+package jvm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import compiler.interp.CoolRuntimeException;
+import compiler.interp.Interpreter;
+import compiler.jvm.JvmBackend;
+import java.io.BufferedReader;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import support.CoolPrograms;
+
+public class JvmBackendTest {
+
+	private static void runJvm(CoolPrograms.Checked program, BufferedReader in, PrintStream out) throws Exception {
+		new JvmBackend(program.classes, program.tables).run(in, out);
+	}
+
+	private static String run(String code, String input) throws Exception {
+		return CoolPrograms.run(JvmBackendTest::runJvm, code, input);
+	}
+
+	private static String run(String code) throws Exception {
+		return run(code, "");
+	}
+
+	/* Mesmo programa pelo interpretador, para comparar as saídas */
+	private static String interpret(String code, String input) throws Exception {
+		return CoolPrograms.run((program, in, out) -> new Interpreter(program.classes, program.tables, in, out).run(),
+				code, input);
+	}
+
+	@Test
+	void testGeneratesOneClassPerUserClass() throws Exception {
+		CoolPrograms.Checked program = CoolPrograms.check(
+				"class A { x : Int; }; class B inherits A {}; class Main inherits IO { main() : Object { 0 }; };\n");
+		Map<String, byte[]> generated = new JvmBackend(program.classes, program.tables).compile();
+		assertEquals(Set.of("cool.A", "cool.B", "cool.Main"), generated.keySet());
+		for (byte[] bytes : generated.values()) {
+			// CAFEBABE, versão 49.0
+			assertEquals((byte) 0xCA, bytes[0]);
+			assertEquals(49, bytes[7]);
+		}
+	}
+
+	@Test
+	void testRecursionAndArithmetic() throws Exception {
+		assertEquals("55 832040 -2147483648 -3", run("class Main inherits IO {\n"
+				+ "  fib(n : Int) : Int { if n < 2 then n else fib(n - 1) + fib(n - 2) fi };\n"
+				+ "  main() : Object { out_int(fib(10)).out_string(\" \").out_int(fib(30))\n"
+				+ "      .out_string(\" \").out_int(2147483647 + 1).out_string(\" \").out_int(~7 / 2) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testOverridesAndSelfType() throws Exception {
+		assertEquals("AB B 2 B", run("class A {\n"
+				+ "  n : Int;\n"
+				+ "  f() : String { \"A\" };\n"
+				+ "  g() : String { f() };\n"
+				+ "  inc() : SELF_TYPE { { n <- n + 1; self; } };\n"
+				+ "  get() : Int { n };\n"
+				+ "  twin() : SELF_TYPE { new SELF_TYPE };\n"
+				+ "};\n"
+				+ "class B inherits A { f() : String { \"B\" }; };\n"
+				+ "class Main inherits IO {\n"
+				+ "  main() : Object { let b : B <- new B in {\n"
+				+ "    out_string((new A).g()).out_string(b.g()).out_string(\" \");\n"
+				+ "    out_string(b.inc().inc().f()).out_string(\" \");\n"
+				+ "    out_int(b.get()).out_string(\" \");\n"
+				+ "    out_string(b.twin().type_name());\n"
+				+ "  } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testStaticDispatchSkipsOverride() throws Exception {
+		assertEquals("B A Object", run("class A { f() : String { \"A\" }; };\n"
+				+ "class B inherits A { f() : String { \"B\" }; type_name() : String { \"outro\" }; };\n"
+				+ "class Main inherits IO {\n"
+				+ "  main() : Object { let b : B <- new B in\n"
+				+ "    out_string(b.f()).out_string(\" \").out_string(b@A.f()).out_string(\" \")\n"
+				+ "        .out_string((new Object)@Object.type_name()) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testPrimitivesCrossObjectBoundary() throws Exception {
+		// Int e Bool em caixa quando viram Object, e de volta no case
+		assertEquals("Int 8 Bool false String ab true false true", run("class Main inherits IO {\n"
+				+ "  o : Object;\n"
+				+ "  d(x : Object) : String { case x of i : Int => \"Int \".concat(if i = 7 then \"8\" else \"?\" fi);\n"
+				+ "      b : Bool => if b then \"?\" else \"Bool false\" fi; s : String => \"String \".concat(s); esac };\n"
+				+ "  main() : Object { {\n"
+				+ "    out_string(d(7)).out_string(\" \").out_string(d(false)).out_string(\" \").out_string(d(\"ab\"));\n"
+				+ "    o <- 3;\n"
+				+ "    let p : Object <- 1 + 2, q : Object <- new Object in {\n"
+				+ "      out_string(if o = p then \" true\" else \" false\" fi);\n"
+				+ "      out_string(if q = new Object then \" true\" else \" false\" fi);\n"
+				+ "      out_string(if q = q then \" true\" else \" false\" fi);\n"
+				+ "    };\n"
+				+ "  } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testAttributeInitializationOrder() throws Exception {
+		String code = "class A { s : String; a : Int <- 3; t : String <- s.concat(\"x\"); };\n"
+				+ "class B inherits A { b : Int <- a + c; c : Int <- 2; get() : Int { b }; };\n"
+				+ "class Main inherits IO { main() : Object { out_int((new B).get()) }; };\n";
+		assertEquals("3", run(code));
+	}
+
+	@Test
+	void testInputBuiltins() throws Exception {
+		// in_int lê o inteiro do começo da linha e descarta o resto
+		assertEquals("Ana 42 0 -8", run("class Main inherits IO {\n"
+				+ "  main() : Object { let s : String <- in_string(), a : Int <- in_int(), b : Int <- in_int(),\n"
+				+ "      c : Int <- in_int() in\n"
+				+ "      out_string(s).out_string(\" \").out_int(a).out_string(\" \").out_int(b).out_string(\" \").out_int(c) };\n"
+				+ "};\n", "Ana\n42\nxyz\n  -8 trailing\n"));
+	}
+
+	@Test
+	void testRuntimeErrors() {
+		CoolRuntimeException e = assertThrows(CoolRuntimeException.class, () -> run("class A { f() : Int { 1 }; };\n"
+				+ "class Main {\n"
+				+ "  a : A;\n"
+				+ "  main() : Object {\n"
+				+ "    a.f()\n"
+				+ "  };\n"
+				+ "};\n"));
+		assertEquals(5, e.getLine());
+		assertTrue(e.getMessage().contains("void"), e.getMessage());
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { 1 / (1 - 1) }; };\n"));
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { case 1 of s : String => s; esac }; };\n"));
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { o : Object; main() : Object { o.type_name() }; };\n"));
+		CoolRuntimeException abort = assertThrows(CoolRuntimeException.class,
+				() -> run("class Main inherits IO { main() : Object { { abort(); out_string(\"depois\"); } }; };\n"));
+		assertTrue(abort.getMessage().contains("Main"), abort.getMessage());
+	}
+
+	@Test
+	void testArgumentsAreEvaluatedBeforeReceiver() throws Exception {
+		String code = "class Main inherits IO {\n"
+				+ "  x : Int <- 1;\n"
+				+ "  c : Main;\n"
+				+ "  set(n : Int) : Main { { x <- n; self; } };\n"
+				+ "  show(n : Int) : SELF_TYPE { out_int(x).out_int(n) };\n"
+				+ "  main() : Object { {\n"
+				+ "    out_string(\"a\").out_string(out_string(\"b\").type_name());\n"
+				+ "    c <- self;\n"
+				+ "    set(5).show(c.set(7).x());\n"
+				+ "  } };\n"
+				+ "  x() : Int { x };\n"
+				+ "};\n";
+		assertEquals(interpret(code, ""), run(code));
+	}
+
+	@Test
+	void testDeepRecursion() throws Exception {
+		assertEquals("100000", run(CoolPrograms.DEEP_RECURSION));
+	}
+
+	@TestFactory
+	Stream<DynamicTest> testRegressionPrograms() throws Exception {
+		return CoolPrograms.regressionTests(JvmBackendTest::runJvm);
+	}
+}
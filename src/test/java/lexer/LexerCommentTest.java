@@ -1,7 +1,7 @@
 package lexer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.StringReader;
 import java.lang.reflect.Field;
@@ -45,27 +45,32 @@ public class LexerCommentTest {
 	}
 
 	@Test
-	void testUnterminatedComment() {
+	void testUnterminatedComment() throws Exception {
 		String code = "(* Este comentario nao termina ";
 
 		Lexer lexer = new Lexer(new StringReader(code));
 
 		// Ao tentar pegar o próximo token, o lexer vai ler até o fim e perceber que o comentário não fechou
-		assertThrows(
-				Lexer.UnterminatedCommentException.class,
-				() -> lexer.next_token()
-		);
+		Symbol token = lexer.next_token();
+		assertEquals(sym.ERROR, token.sym);
+		assertTrue(token.value.toString().contains("Comentário de bloco não terminado"));
+		assertEquals(sym.EOF, lexer.next_token().sym);
 	}
 
 	@Test
-	void testUnterminatedStringAtNewline() {
+	void testUnterminatedStringAtNewline() throws Exception {
 		String code = "\"uma string\n com erro";
 		Lexer lexer = new Lexer(new StringReader(code));
 
-		// A exceção deve ser lançada imediatamente ao encontrar a quebra de linha dentro da string
-		assertThrows(
-				Lexer.UnterminatedStringException.class,
-				() -> lexer.next_token()
-		);
+		// O erro é emitido ao encontrar a quebra de linha dentro da string
+		assertEquals(sym.ERROR, lexer.next_token().sym);
+
+		// e a análise continua na linha seguinte
+		Symbol com = lexer.next_token();
+		assertEquals(sym.ID, com.sym);
+		assertEquals(2, com.left);
+		assertEquals("com", com.value.toString());
+		assertEquals(sym.ID, lexer.next_token().sym);
+		assertEquals(sym.EOF, lexer.next_token().sym);
 	}
 }
\ No newline at end of file
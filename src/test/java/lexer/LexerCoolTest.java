@@ -122,4 +122,35 @@ public class LexerCoolTest {
 		Symbol t3 = lexer.next_token();
 		assertEquals(sym.EOF, t3.sym);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testKeywordPrefixesAreIdentifiers() throws Exception {
+		String code = "classe Classy iF inherits_x TRUE tRUE fi1 Of";
+		Lexer lexer = new Lexer(new StringReader(code));
+
+		// Um keyword só vence quando o lexema inteiro casa com ele
+		assertToken(sym.ID, "classe", lexer.next_token());
+		assertToken(sym.TYPEID, "Classy", lexer.next_token());
+		assertEquals(sym.IF, lexer.next_token().sym);
+		assertToken(sym.ID, "inherits_x", lexer.next_token());
+		assertToken(sym.TYPEID, "TRUE", lexer.next_token());
+
+		Symbol t = lexer.next_token();
+		assertEquals(sym.TRUE, t.sym);
+		assertEquals(true, t.value);
+
+		assertToken(sym.ID, "fi1", lexer.next_token());
+		assertEquals(sym.OF, lexer.next_token().sym);
+		assertEquals(sym.EOF, lexer.next_token().sym);
+	}
+
+	@Test
+	void testVerticalTabIsWhitespace() throws Exception {
+		Lexer lexer = new Lexer(new StringReader("voce \u000B vai"));
+
+		// O 'v' não faz parte do espaço em branco; só o caractere \v (11) faz
+		assertToken(sym.ID, "voce", lexer.next_token());
+		assertToken(sym.ID, "vai", lexer.next_token());
+		assertEquals(sym.EOF, lexer.next_token().sym);
+	}
+}
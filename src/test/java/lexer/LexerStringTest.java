@@ -1,7 +1,6 @@
 package lexer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.StringReader;
@@ -32,12 +31,12 @@ public class LexerStringTest {
 
 		Lexer lexer = new Lexer(new StringReader(code));
 
-		Lexer.StringTooLongException thrown = assertThrows(
-				Lexer.StringTooLongException.class,
-				() -> lexer.next_token()
-		);
+		Symbol token = lexer.next_token();
+		assertEquals(sym.ERROR, token.sym);
+		assertTrue(token.value.toString().contains("String excede 1024 caracteres"));
 
-		assertTrue(thrown.getMessage().contains("String excede 1024 caracteres"));
+		// O resto da string é descartado até o '"' de fechamento
+		assertEquals(sym.EOF, lexer.next_token().sym);
 	}
 
 	@Test
@@ -46,12 +45,11 @@ public class LexerStringTest {
 
 		Lexer lexer = new Lexer(new StringReader(code));
 
-		Lexer.NullCharInStringException thrown = assertThrows(
-				Lexer.NullCharInStringException.class,
-				() -> lexer.next_token()
-		);
+		Symbol token = lexer.next_token();
+		assertEquals(sym.ERROR, token.sym);
+		assertTrue(token.value.toString().contains("String contém \\0"));
 
-		assertTrue(thrown.getMessage().contains("String contém \\0"));
+		assertEquals(sym.EOF, lexer.next_token().sym);
 	}
 
 	@Test
@@ -60,9 +58,9 @@ public class LexerStringTest {
 
 		Lexer lexer = new Lexer(new StringReader(code));
 
-		assertThrows(
-				Lexer.UnterminatedStringException.class,
-				() -> lexer.next_token()
-		);
+		Symbol token = lexer.next_token();
+		assertEquals(sym.ERROR, token.sym);
+		assertTrue(token.value.toString().contains("EOF dentro de string"));
+		assertEquals(sym.EOF, lexer.next_token().sym);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import compiler.Lexer;
+import compiler.SourceFile;
+import compiler.sym;
+import java_cup.runtime.Symbol;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SourceFileTest {
+
+	private void assertSameTokens(String code, Lexer fromFile) throws Exception {
+		Lexer fromReader = new Lexer(new StringReader(code));
+		while (true) {
+			Symbol expected = fromReader.next_token();
+			Symbol actual = fromFile.next_token();
+			assertEquals(expected.sym, actual.sym);
+			assertEquals(expected.left, actual.left);
+			assertEquals(expected.right, actual.right);
+			if (expected.value != null) {
+				assertEquals(expected.value.toString(), actual.value.toString());
+			}
+			if (expected.sym == sym.EOF) {
+				break;
+			}
+		}
+	}
+
+	@Test
+	void testSmallFile() throws Exception {
+		Path path = Paths.get("src/test/resources/cool/test2.cl");
+		String code = Files.readString(path, StandardCharsets.UTF_8);
+
+		assertSameTokens(code, new Lexer(SourceFile.read(path)));
+	}
+
+	@Test
+	void testUtf8Content(@TempDir Path dir) throws Exception {
+		String code = "x <- \"média ção\"; -- comentário\ny";
+		Path path = dir.resolve("utf8.cl");
+		Files.writeString(path, code, StandardCharsets.UTF_8);
+
+		SourceFile source = SourceFile.read(path);
+		assertEquals(code.length(), source.length());
+		assertSameTokens(code, new Lexer(source));
+	}
+
+	@Test
+	void testLargeMappedFile(@TempDir Path dir) throws Exception {
+		// Bem maior que o buffer de 16 KB do JFlex e que o limite de mapeamento
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; sb.length() < (3 << 20); i++) {
+			sb.append("class C").append(i).append(" { x : Int <- ").append(i).append("; };\n");
+		}
+		String code = sb.toString();
+		Path path = dir.resolve("big.cl");
+		Files.writeString(path, code, StandardCharsets.UTF_8);
+
+		assertSameTokens(code, new Lexer(SourceFile.read(path)));
+	}
+
+	@Test
+	void testTokenTouchingEndOfInput() throws Exception {
+		// O último token termina exatamente no fim do vetor, sem quebra de linha
+		String code = "x <- y";
+		assertSameTokens(code, new Lexer(SourceFile.of(null, code)));
+
+		Lexer lexer = new Lexer(SourceFile.of(null, "(* aberto"));
+		assertEquals(sym.ERROR, lexer.next_token().sym);
+		assertEquals(sym.EOF, lexer.next_token().sym);
+	}
+}
@@ -0,0 +1,91 @@
+package lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.TokenBuffer;
+import compiler.TokenBufferScanner;
+import compiler.sym;
+import compiler.ast.Program;
+import compiler.util.AbstractTable;
+import java_cup.runtime.Symbol;
+import org.junit.jupiter.api.Test;
+
+public class TokenBufferTest {
+
+	@Test
+	void testLexAllMatchesNextToken() throws Exception {
+		String code = Files.readString(Paths.get("src/test/resources/cool/test2.cl"));
+
+		TokenBuffer buffer = new Lexer(new StringReader(code)).lexAll(new TokenBuffer());
+		Lexer lexer = new Lexer(new StringReader(code));
+
+		for (int i = 0; i < buffer.size(); i++) {
+			Symbol token = lexer.next_token();
+			assertEquals(token.sym, buffer.kind(i), "Tipo do token " + i);
+			assertEquals(token.left, buffer.line(i), "Linha do token " + i);
+			assertEquals(token.right, buffer.column(i), "Coluna do token " + i);
+		}
+		assertEquals(sym.EOF, lexer.next_token().sym);
+	}
+
+	@Test
+	void testOffsetsAndValues() throws Exception {
+		String code = "x <- \"a\\tb\" + 42;";
+		TokenBuffer buffer = new Lexer(new StringReader(code)).lexAll(new TokenBuffer());
+
+		assertEquals(6, buffer.size());
+
+		// x
+		assertEquals(sym.ID, buffer.kind(0));
+		assertSame(AbstractTable.idtable.addString("x"), AbstractTable.idtable.lookup(buffer.value(0)));
+
+		// "a\tb": offsets cobrem as aspas; o valor é a string já sem escape
+		assertEquals(sym.STR_CONST, buffer.kind(2));
+		assertEquals(5, buffer.start(2));
+		assertEquals(6, buffer.length(2));
+		assertEquals(6, buffer.column(2));
+		assertEquals("a\tb", AbstractTable.stringtable.lookup(buffer.value(2)).getString());
+
+		// 42: o valor do INT_CONST é o próprio inteiro
+		assertEquals(sym.INT_CONST, buffer.kind(4));
+		assertEquals(42, buffer.value(4));
+		assertEquals(code.indexOf("42"), buffer.start(4));
+		assertEquals(2, buffer.length(4));
+	}
+
+	@Test
+	void testParseFromBufferTwice() throws Exception {
+		String code = Files.readString(Paths.get("src/test/resources/cool/test2.cl"));
+		TokenBuffer buffer = new Lexer(new StringReader(code)).lexAll(new TokenBuffer());
+
+		TokenBufferScanner scanner = buffer.scanner();
+		Program first = new Parser(scanner, CoolSymbolFactory.INSTANCE).parseProgram();
+		scanner.reset();
+		Program second = new Parser(scanner, CoolSymbolFactory.INSTANCE).parseProgram();
+
+		assertEquals(1, first.classes.length);
+		assertSame(first.classes[0].name, second.classes[0].name);
+		assertEquals(first.classes[0].features.length, second.classes[0].features.length);
+	}
+
+	@Test
+	void testErrorTokenKeepsMessage() throws Exception {
+		TokenBuffer buffer = new Lexer(new StringReader("a # b")).lexAll(new TokenBuffer());
+
+		assertEquals(3, buffer.size());
+		assertEquals(sym.ERROR, buffer.kind(1));
+		assertEquals("Caractere inválido: # na linha 1", buffer.error(buffer.value(1)));
+
+		TokenBufferScanner scanner = buffer.scanner();
+		scanner.next_token();
+		assertEquals("Caractere inválido: # na linha 1", scanner.next_token().value);
+	}
+}
@@ -0,0 +1,171 @@
+package mips;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import compiler.Diagnostics;
+import compiler.interp.CoolRuntimeException;
+import compiler.mips.CodeGen;
+import compiler.mips.MipsSimulator;
+import compiler.semant.ClassTable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import support.CoolPrograms;
+
+public class CodeGenTest {
+
+	private static final CoolPrograms.Runner RUNNER = (program, in, out) -> {
+		MipsSimulator sim = new MipsSimulator(in, out);
+		sim.load(new StringReader(assemble(program)));
+		sim.run();
+	};
+
+	private static String assemble(CoolPrograms.Checked program) throws Exception {
+		StringWriter asm = new StringWriter();
+		new CodeGen(program.classes, program.tables).generate(asm);
+		return asm.toString();
+	}
+
+	private static String assemble(String code) throws Exception {
+		return assemble(CoolPrograms.check(code));
+	}
+
+	private static String run(String code, String input) throws Exception {
+		return CoolPrograms.run(RUNNER, code, input);
+	}
+
+	private static String run(String code) throws Exception {
+		return run(code, "");
+	}
+
+	@Test
+	void testEmitsRuntimeTables() throws Exception {
+		String asm = assemble("class A { x : Int; f() : Int { x }; };\n"
+				+ "class Main { main() : Object { (new A).f() }; };\n");
+		for (String label : new String[] { "class_nameTab:", "class_objTab:", "Main_protObj:", "A_dispTab:",
+				"A_init:", "A.f:", "Main.main:", "heap_start:" }) {
+			assertTrue(asm.contains("\n" + label + "\n"), label);
+		}
+		// Os métodos herdados apontam para o dono na tabela de despacho
+		assertTrue(asm.contains("A_dispTab:\n\t.word\tObject.abort\n\t.word\tObject.type_name\n"
+				+ "\t.word\tObject.copy\n\t.word\tA.f\n"), asm);
+	}
+
+	@Test
+	void testAbortMessagesNameTheClassFile() throws Exception {
+		Diagnostics diags = new Diagnostics();
+		ClassTable classes = new ClassTable(diags);
+		classes.add("a.cl", CoolPrograms.parse("class A { b : B; f() : Int { b.g() }; };\n").classes);
+		classes.add("b.cl", CoolPrograms.parse("class B { a : A; g() : Int { a.f() }; };\n"
+				+ "class Main { main() : Object { (new A).f() }; };\n").classes);
+		classes.build();
+		String asm = assemble(CoolPrograms.check(classes, diags));
+		assertEquals("a.cl", abortFile(asm, "A.f:"));
+		assertEquals("b.cl", abortFile(asm, "B.g:"));
+	}
+
+	/* Texto da constante passada em $a0 ao primeiro _dispatch_abort do método */
+	private static String abortFile(String asm, String method) {
+		int at = asm.indexOf("\n" + method + "\n");
+		Matcher la = Pattern.compile("\tla\t\\$a0 (str_const\\d+)\n").matcher(asm);
+		assertTrue(la.find(at), method);
+		int constant = asm.indexOf("\n" + la.group(1) + ":\n");
+		Matcher ascii = Pattern.compile("\t\\.ascii\t\"([^\"]*)\"").matcher(asm);
+		assertTrue(ascii.find(constant), la.group(1));
+		return ascii.group(1);
+	}
+
+	@Test
+	void testRecursionAndArithmetic() throws Exception {
+		assertEquals("55 -7 6", run("class Main inherits IO {\n"
+				+ "  fib(n : Int) : Int { if n < 2 then n else fib(n - 1) + fib(n - 2) fi };\n"
+				+ "  main() : Object { out_int(fib(10)).out_string(\" \").out_int(~(15 / 2))\n"
+				+ "      .out_string(\" \").out_int(2 * 3) };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testDispatchStaticDispatchAndSelfType() throws Exception {
+		assertEquals("BA B", run("class A { f() : String { \"A\" }; me() : SELF_TYPE { new SELF_TYPE }; };\n"
+				+ "class B inherits A { f() : String { \"B\" }; };\n"
+				+ "class Main inherits IO {\n"
+				+ "  main() : Object { let b : B <- new B in {\n"
+				+ "    out_string(b.f()); out_string(b@A.f()); out_string(\" \"); out_string(b.me().type_name());\n"
+				+ "  } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testLetCaseAndLoops() throws Exception {
+		assertEquals("B Object A 10", run("class A {}; class B inherits A {}; class C inherits B {};\n"
+				+ "class Main inherits IO {\n"
+				+ "  f(o : Object) : String { case o of a : A => \"A\"; b : B => \"B\"; x : Object => \"Object\"; esac };\n"
+				+ "  main() : Object { {\n"
+				+ "    out_string(f(new C)).out_string(\" \").out_string(f(1)).out_string(\" \").out_string(f(new A));\n"
+				+ "    let i : Int, s : Int in { while i < 5 loop { s <- s + i; i <- i + 1; } pool;\n"
+				+ "      out_string(\" \").out_int(s); };\n"
+				+ "  } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testStringsAndEquality() throws Exception {
+		assertEquals("ola, mundo 10 mun true false true \"x\"\n", run("class Main inherits IO {\n"
+				+ "  main() : Object { let s : String <- \"ola, \".concat(\"mundo\") in {\n"
+				+ "    out_string(s).out_string(\" \").out_int(s.length()).out_string(\" \").out_string(s.substr(5, 3));\n"
+				+ "    out_string(if s = \"ola, mundo\" then \" true\" else \" false\" fi);\n"
+				+ "    out_string(if new Object = new Object then \" true\" else \" false\" fi);\n"
+				+ "    out_string(if isvoid (let o : Object in o) then \" true\" else \" false\" fi);\n"
+				+ "    out_string(\" \\\"x\\\"\\n\");\n"
+				+ "  } };\n"
+				+ "};\n"));
+	}
+
+	@Test
+	void testInputBuiltins() throws Exception {
+		// in_int lê o inteiro do começo da linha e descarta o resto
+		assertEquals("Ana 42 0 -8", run("class Main inherits IO {\n"
+				+ "  main() : Object { let s : String <- in_string(), a : Int <- in_int(), b : Int <- in_int(),\n"
+				+ "      c : Int <- in_int() in\n"
+				+ "      out_string(s).out_string(\" \").out_int(a).out_string(\" \").out_int(b).out_string(\" \").out_int(c) };\n"
+				+ "};\n", "Ana\n42\nxyz\n  -8 trailing\n"));
+	}
+
+	@Test
+	void testRuntimeErrors() {
+		CoolRuntimeException e = assertThrows(CoolRuntimeException.class, () -> run("class A { f() : Int { 1 }; };\n"
+				+ "class Main {\n"
+				+ "  a : A;\n"
+				+ "  main() : Object {\n"
+				+ "    a.f()\n"
+				+ "  };\n"
+				+ "};\n"));
+		assertEquals(5, e.getLine());
+		assertEquals("despacho de f em void", e.getMessage());
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { 1 / (1 - 1) }; };\n"));
+		assertThrows(CoolRuntimeException.class,
+				() -> run("class Main { main() : Object { \"abc\".substr(2, 2) }; };\n"));
+		e = assertThrows(CoolRuntimeException.class,
+				() -> run("class Main inherits IO { main() : Object { { abort(); out_string(\"depois\"); } }; };\n"));
+		assertEquals("abort chamado na classe Main", e.getMessage());
+	}
+
+	@Test
+	void testDeepRecursion() throws Exception {
+		assertEquals("100000", run(CoolPrograms.DEEP_RECURSION));
+	}
+
+	/* Os mesmos programas de regressão do interpretador, agora compilados para MIPS */
+	@TestFactory
+	Stream<DynamicTest> testRegressionPrograms() throws Exception {
+		return CoolPrograms.regressionTests(RUNNER);
+	}
+}
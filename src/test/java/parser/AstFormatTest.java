@@ -0,0 +1,131 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.*;
+import compiler.corpus.CorpusGenerator;
+import compiler.corpus.CorpusGenerator.Shape;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AstFormatTest {
+
+	private static Program parse(String code) throws Exception {
+		return new Parser(new Lexer(SourceFile.of(null, code)), CoolSymbolFactory.INSTANCE).parseProgram();
+	}
+
+	/* Decodifica e codifica de novo: os bytes só batem se a árvore for a mesma */
+	private static Program roundTrip(Program program) throws Exception {
+		byte[] bytes = AstFormat.encode(program);
+		Program decoded = AstFormat.decode(bytes);
+		assertArrayEquals(bytes, AstFormat.encode(decoded));
+		assertEquals(NodeCounter.count(program), NodeCounter.count(decoded));
+		return decoded;
+	}
+
+	@Test
+	void testRoundTripTestFiles() throws Exception {
+		for (int i = 1; i <= 3; i++) {
+			roundTrip(parse(Files.readString(Paths.get("src/test/resources/cool/test" + i + ".cl"))));
+		}
+	}
+
+	@Test
+	void testRoundTripEveryShape() throws Exception {
+		for (Shape shape : new Shape[] { Shape.small(), Shape.deepNesting(), Shape.longStrings(), Shape.deepInheritance() }) {
+			roundTrip(parse(new CorpusGenerator(3, shape).generate()));
+		}
+	}
+
+	@Test
+	void testKeepsPositionsSymbolsAndConstants() throws Exception {
+		Program program = parse("class A inherits IO {\n"
+				+ "  x : Int <- 12345;\n"
+				+ "  s : String <- \"olá\\n\";\n"
+				+ "  b : Bool <- false;\n"
+				+ "  f(y : Int) : Int { let z : Int in case y of q : Int => q + z; esac };\n"
+				+ "};\n");
+		Program decoded = roundTrip(program);
+
+		ClassDecl a = decoded.classes[0];
+		assertSame(program.classes[0].name, a.name);
+		assertEquals(1, a.line);
+		Attribute x = assertInstanceOf(Attribute.class, a.features[0]);
+		assertEquals(2, x.line);
+		assertEquals(3, x.column);
+		assertEquals(12345, assertInstanceOf(IntConst.class, x.init).value);
+		StringConst s = assertInstanceOf(StringConst.class, ((Attribute) a.features[1]).init);
+		assertSame(((StringConst) ((Attribute) program.classes[0].features[1]).init).value, s.value);
+		assertEquals(false, assertInstanceOf(BoolConst.class, ((Attribute) a.features[2]).init).value);
+		Let let = assertInstanceOf(Let.class, ((Method) a.features[3]).body);
+		assertNull(let.init);
+		assertEquals(5, let.line);
+	}
+
+	@Test
+	void testIsCompact() throws Exception {
+		String code = new CorpusGenerator(1, Shape.medium()).generate();
+		Program program = parse(code);
+		byte[] bytes = AstFormat.encode(program);
+
+		assertTrue(bytes.length < code.length(), bytes.length + " bytes para " + code.length() + " caracteres");
+	}
+
+	@Test
+	void testLoadFromMappedFile(@TempDir Path dir) throws Exception {
+		Program program = parse(Files.readString(Paths.get("src/test/resources/cool/test2.cl")));
+		Path file = dir.resolve("test2.ast");
+		Files.write(file, AstFormat.encode(program));
+
+		assertArrayEquals(AstFormat.encode(program), AstFormat.encode(AstFormat.load(file)));
+	}
+
+	@Test
+	void testDecodeDoesNotMoveBuffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.wrap(AstFormat.encode(parse("class A { };")));
+		AstFormat.decode(buffer);
+
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	void testCorruptInputIsAnIOException() throws Exception {
+		byte[] bytes = AstFormat.encode(parse(Files.readString(Paths.get("src/test/resources/cool/test1.cl"))));
+
+		assertThrows(IOException.class, () -> AstFormat.decode(Arrays.copyOf(bytes, bytes.length / 2)));
+		assertThrows(IOException.class, () -> AstFormat.decode(new byte[] { 'X', 'A', 'S', 'T', 1 }));
+		byte[] otherVersion = bytes.clone();
+		otherVersion[4] = 99;
+		assertThrows(IOException.class, () -> AstFormat.decode(otherVersion));
+	}
+
+	@Test
+	void testInconsistentContentIsAnIOException() {
+		// Tabela de ids com tamanho negativo (varint de -1)
+		assertThrows(IOException.class, () -> AstFormat.decode(new byte[] {
+				'C', 'A', 'S', 'T', 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F }));
+		// Constante inteira que não é um número
+		assertThrows(IOException.class, () -> AstFormat.decode(new byte[] {
+				'C', 'A', 'S', 'T', 1, 0, 1, 3, 'a', 'b', 'c', 0 }));
+		// Programa com uma classe ausente (K_NONE) no lugar de um ClassDecl
+		assertThrows(IOException.class, () -> AstFormat.decode(new byte[] {
+				'C', 'A', 'S', 'T', 1, 0, 0, 0, 1, 0, 0, 1, 0 }));
+	}
+}
@@ -0,0 +1,107 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+
+import compiler.CompilationAbortedException;
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostic;
+import compiler.Diagnostics;
+import compiler.Driver;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.ast.Program;
+import org.junit.jupiter.api.Test;
+
+public class DiagnosticsTest {
+
+	private static Parser parser(String code, Diagnostics diagnostics) {
+		Lexer lexer = new Lexer(new StringReader(code));
+		lexer.setDiagnostics(diagnostics, "entrada.cl");
+		Parser parser = new Parser(lexer, CoolSymbolFactory.INSTANCE);
+		parser.setDiagnostics(diagnostics, "entrada.cl");
+		return parser;
+	}
+
+	@Test
+	void testSelfAsIdentifierDoesNotStopTheParse() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		Parser p = parser("class A {\n  self : Int;\n  f() : Int { 1 };\n};\n", diagnostics);
+		Program program = p.parseProgram();
+
+		// O erro é registrado, mas a AST continua completa
+		assertNotNull(program);
+		assertEquals(2, program.classes[0].features.length);
+		assertEquals(1, diagnostics.errorCount());
+		Diagnostic d = diagnostics.getDiagnostics().get(0);
+		assertEquals(Diagnostic.Code.SELF_AS_IDENTIFIER, d.code);
+		assertEquals(2, d.line);
+	}
+
+	@Test
+	void testUnrecoverableSyntaxErrorAborts() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		// Sem o ';' final não há onde a recuperação de erros possa retomar
+		Parser p = parser("class A {\n  f() : Int { 1 };\n}\n", diagnostics);
+
+		assertThrows(CompilationAbortedException.class, p::parseProgram);
+
+		assertTrue(diagnostics.hasErrors());
+		Diagnostic d = diagnostics.getDiagnostics().get(0);
+		assertEquals(Diagnostic.Code.SYNTAX_ERROR, d.code);
+		assertEquals("entrada.cl", d.file);
+		assertEquals(4, d.line);
+		assertTrue(d.message.contains("fim de arquivo"), d.message);
+	}
+
+	@Test
+	void testEveryLexicalErrorIsRecordedOnce() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		Parser p = parser(""
+				+ "class A {\n"
+				+ "  s : String <- \"sem fim\n"
+				+ "  ;\n"
+				+ "  x : Int <- 3 # 4;\n"
+				+ "  y : Int <- 99999999999;\n"
+				+ "  z : Int;\n"
+				+ "};\n", diagnostics);
+
+		Program program = p.parseProgram();
+
+		// Cada erro léxico vira um único diagnóstico, sem erro sintático repetido
+		List<Diagnostic> all = diagnostics.getDiagnostics();
+		assertEquals(List.of(Diagnostic.Code.UNTERMINATED_STRING, Diagnostic.Code.INVALID_CHAR,
+				Diagnostic.Code.INTEGER_OUT_OF_RANGE), all.stream().map(d -> d.code).toList());
+		assertEquals(List.of(2, 4, 5), all.stream().map(d -> d.line).toList());
+		assertEquals(1, program.classes[0].features.length);
+	}
+
+	@Test
+	void testDriverCollectsDiagnosticsPerFile() {
+		List<Driver.FileResult> results = new Driver(2, false).parseAll(List.of(
+				Path.of("src/test/resources/cool/test1.cl"),
+				Path.of("src/test/resources/cool/test5.cl"),
+				Path.of("src/test/resources/cool/test7.cl")));
+
+		assertTrue(results.get(0).ok());
+		assertTrue(results.get(0).diagnostics.isEmpty());
+
+		// Erro sintático recuperado: há AST, mas o arquivo tem erro
+		assertFalse(results.get(1).ok());
+		assertNotNull(results.get(1).program);
+		assertEquals(Diagnostic.Code.SYNTAX_ERROR, results.get(1).diagnostics.get(0).code);
+		assertTrue(results.get(1).diagnostics.get(0).file.endsWith("test5.cl"));
+
+		// self como identificador: há AST, mas o arquivo tem erro
+		assertFalse(results.get(2).ok());
+		assertNotNull(results.get(2).program);
+		assertEquals(Diagnostic.Code.SELF_AS_IDENTIFIER, results.get(2).diagnostics.get(0).code);
+	}
+}
@@ -0,0 +1,76 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import compiler.ConsoleTraceListener;
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.ParseListener;
+import compiler.Parser;
+import compiler.ast.ClassDecl;
+import compiler.ast.Feature;
+import compiler.ast.Let;
+import org.junit.jupiter.api.Test;
+
+public class ParseListenerTest {
+
+	private static final String CODE = ""
+			+ "class A inherits IO {\n"
+			+ "  x : Int;\n"
+			+ "  f() : Object { let a : Int, b : Int <- 1 in out_int(a + b) };\n"
+			+ "};\n";
+
+	@Test
+	void testSilentByDefault() throws Exception {
+		PrintStream original = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+		try {
+			new Parser(new Lexer(new StringReader(CODE)), CoolSymbolFactory.INSTANCE).parseProgram();
+		} finally {
+			System.setOut(original);
+		}
+
+		// Sem listener, o parser não deve escrever nada no console
+		assertEquals("", captured.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testListenerReceivesReductions() throws Exception {
+		List<String> events = new ArrayList<>();
+		Parser parser = new Parser(new Lexer(new StringReader(CODE)), CoolSymbolFactory.INSTANCE);
+		parser.setParseListener(new ParseListener() {
+			@Override public void classParsed(ClassDecl c) { events.add("class " + c.name); }
+			@Override public void featureParsed(Feature f) { events.add("feature " + f.name); }
+			@Override public void letParsed(Let let, int variables) { events.add("let " + variables); }
+		});
+		parser.parseProgram();
+
+		// As reduções chegam de baixo para cima: features antes da classe
+		assertEquals(List.of("feature x", "let 2", "feature f", "class A"), events);
+	}
+
+	@Test
+	void testConsoleTrace() throws Exception {
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		Parser parser = new Parser(new Lexer(new StringReader(CODE)), CoolSymbolFactory.INSTANCE);
+		parser.setParseListener(new ConsoleTraceListener(new PrintStream(captured, true, StandardCharsets.UTF_8)));
+		parser.parseProgram();
+
+		String trace = captured.toString(StandardCharsets.UTF_8);
+		assertTrue(trace.contains("[CLASSE] Definida: A herda de IO"));
+		assertTrue(trace.contains(" --- Atributo: x : Int"));
+		assertTrue(trace.contains("    |-- Var Let (com init): b"));
+		assertTrue(trace.contains("    |-- Estrutura LET multiplo (a, ...)"));
+		assertTrue(trace.contains("    |-- Chamada Self: out_int(args...)"));
+		assertTrue(trace.contains("=== Análise Sintática Concluída com Sucesso! ==="));
+	}
+}
@@ -0,0 +1,96 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import compiler.CoolSymbolFactory;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.ast.*;
+import org.junit.jupiter.api.Test;
+
+public class ParserAstTest {
+
+	private Program parse(String code) throws Exception {
+		Parser parser = new Parser(new Lexer(new StringReader(code)), CoolSymbolFactory.INSTANCE);
+		return parser.parseProgram();
+	}
+
+	@Test
+	void testClassAndFeatures() throws Exception {
+		String code = Files.readString(Paths.get("src/test/resources/cool/test2.cl"));
+		Program program = parse(code);
+
+		assertEquals(1, program.classes.length);
+		ClassDecl main = program.classes[0];
+		assertEquals("Main", main.name.getString());
+		assertEquals("IO", main.parent.getString());
+		assertEquals(3, main.line);
+
+		// 4 atributos + o método main
+		assertEquals(5, main.features.length);
+		Attribute name = assertInstanceOf(Attribute.class, main.features[0]);
+		assertEquals("name", name.name.getString());
+		assertEquals("String", name.type.getString());
+		assertNull(name.init);
+
+		Method m = assertInstanceOf(Method.class, main.features[4]);
+		assertEquals("main", m.name.getString());
+		assertEquals("Object", m.type.getString());
+		assertEquals(0, m.formals.length);
+
+		Block body = assertInstanceOf(Block.class, m.body);
+		assertEquals(17, body.body.length);
+	}
+
+	@Test
+	void testSelfDispatchAndInheritanceDefault() throws Exception {
+		Program program = parse("class A { f(x : Int) : Object { g(x, 1) }; };");
+
+		ClassDecl a = program.classes[0];
+		assertEquals("Object", a.parent.getString());
+
+		Method f = (Method) a.features[0];
+		assertEquals(1, f.formals.length);
+		assertEquals("x", f.formals[0].name.getString());
+
+		Dispatch call = assertInstanceOf(Dispatch.class, f.body);
+		assertEquals("g", call.name.getString());
+		assertSame(TreeConstants.self, assertInstanceOf(ObjectRef.class, call.expr).name);
+		assertEquals(2, call.args.length);
+		assertEquals(1, assertInstanceOf(IntConst.class, call.args[1]).value);
+	}
+
+	@Test
+	void testMultipleLetIsNested() throws Exception {
+		Program program = parse("class A { f() : Int { let a : Int, b : Int <- 2, c : Int in a + b * c }; };");
+
+		Method f = (Method) program.classes[0].features[0];
+		Let a = assertInstanceOf(Let.class, f.body);
+		Let b = assertInstanceOf(Let.class, a.body);
+		Let c = assertInstanceOf(Let.class, b.body);
+		assertEquals("a", a.name.getString());
+		assertEquals("b", b.name.getString());
+		assertEquals("c", c.name.getString());
+		assertNull(a.init);
+		assertEquals(2, assertInstanceOf(IntConst.class, b.init).value);
+
+		// Precedência: a + (b * c)
+		Plus plus = assertInstanceOf(Plus.class, c.body);
+		assertInstanceOf(Mul.class, plus.right);
+	}
+
+	@Test
+	void testNamesAreInterned() throws Exception {
+		Program program = parse("class A { x : Int; y : Int; };");
+
+		Feature[] features = program.classes[0].features;
+		assertSame(features[0].type, features[1].type);
+	}
+}
@@ -0,0 +1,131 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.io.StringReader;
+import java.util.List;
+
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostic;
+import compiler.Diagnostics;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.ast.Block;
+import compiler.ast.IntConst;
+import compiler.ast.Let;
+import compiler.ast.Method;
+import compiler.ast.Program;
+import org.junit.jupiter.api.Test;
+
+public class ParserRecoveryTest {
+
+	private Diagnostics diagnostics;
+
+	private Program parse(String code) throws Exception {
+		diagnostics = new Diagnostics();
+		Parser parser = new Parser(new Lexer(new StringReader(code)), CoolSymbolFactory.INSTANCE);
+		parser.setDiagnostics(diagnostics, "entrada.cl");
+		return parser.parseProgram();
+	}
+
+	private List<Integer> errorLines() {
+		return diagnostics.getDiagnostics().stream().map(d -> d.line).toList();
+	}
+
+	@Test
+	void testBrokenClassIsSkipped() throws Exception {
+		Program program = parse(""
+				+ "class A { x : Int; };\n"
+				+ "class b { y : Int; };\n"
+				+ "class C { z : Int; };\n");
+
+		assertEquals(2, program.classes.length);
+		assertEquals("A", program.classes[0].name.getString());
+		assertEquals("C", program.classes[1].name.getString());
+		assertEquals(Diagnostic.Code.SYNTAX_ERROR, diagnostics.getDiagnostics().get(0).code);
+		assertEquals(2, diagnostics.getDiagnostics().get(0).line);
+	}
+
+	@Test
+	void testEveryBrokenFeatureIsReported() throws Exception {
+		Program program = parse(""
+				+ "class A {\n"
+				+ "  x : Int <- ;\n"
+				+ "  f() : Int { 1 };\n"
+				+ "  y Int;\n"
+				+ "  g() : Int { 2 };\n"
+				+ "};\n");
+
+		assertEquals(List.of(2, 4), errorLines());
+		assertEquals(2, program.classes[0].features.length);
+		assertEquals("f", program.classes[0].features[0].name.getString());
+		assertEquals("g", program.classes[0].features[1].name.getString());
+	}
+
+	@Test
+	void testBlockContinuesAfterBrokenExpression() throws Exception {
+		Program program = parse(""
+				+ "class A {\n"
+				+ "  f() : Int {{\n"
+				+ "    1 + ;\n"
+				+ "    2;\n"
+				+ "    3 4;\n"
+				+ "    5;\n"
+				+ "  }};\n"
+				+ "};\n");
+
+		assertEquals(List.of(3, 5), errorLines());
+		Method f = (Method) program.classes[0].features[0];
+		Block body = assertInstanceOf(Block.class, f.body);
+		assertEquals(2, body.body.length);
+	}
+
+	@Test
+	void testLetContinuesAfterBrokenBinding() throws Exception {
+		Program program = parse(""
+				+ "class A {\n"
+				+ "  f() : Int { let a : Int <- 1, b Int, c : Int in a + c };\n"
+				+ "};\n");
+
+		assertEquals(1, diagnostics.errorCount());
+		Method f = (Method) program.classes[0].features[0];
+		Let a = assertInstanceOf(Let.class, f.body);
+		Let c = assertInstanceOf(Let.class, a.body);
+		assertEquals("a", a.name.getString());
+		assertEquals("c", c.name.getString());
+	}
+
+	@Test
+	void testLetWithInitializerFollowedByMoreVariables() throws Exception {
+		Program program = parse("class A { f() : Int { let a : Int <- 1, b : Int in a + b }; };");
+
+		assertEquals(0, diagnostics.errorCount());
+		Method f = (Method) program.classes[0].features[0];
+		Let a = assertInstanceOf(Let.class, f.body);
+		assertInstanceOf(Let.class, a.body);
+	}
+
+	@Test
+	void testLexicalErrorIsDiscardedAlone() throws Exception {
+		diagnostics = new Diagnostics();
+		Lexer lexer = new Lexer(new StringReader(""
+				+ "class A {\n"
+				+ "  x : Int;\n"
+				+ "  # y : Int;\n"
+				+ "  f() : Int {{ 1; # 2; 3; }};\n"
+				+ "};\n"));
+		lexer.setDiagnostics(diagnostics, "entrada.cl");
+		Parser parser = new Parser(lexer, CoolSymbolFactory.INSTANCE);
+		parser.setDiagnostics(diagnostics, "entrada.cl");
+		Program program = parser.parseProgram();
+
+		// Só os erros léxicos; o que vem depois de cada # continua na AST
+		assertEquals(List.of(3, 4), errorLines());
+		assertEquals("y", program.classes[0].features[0].name.getString());
+		Method f = (Method) program.classes[0].features[1];
+		Block body = assertInstanceOf(Block.class, f.body);
+		assertEquals(2, body.body.length);
+		assertEquals(3, assertInstanceOf(IntConst.class, body.body[1]).value);
+	}
+}
@@ -0,0 +1,252 @@
+package semant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostic;
+import compiler.Diagnostics;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.ClassDecl;
+import compiler.ast.Feature;
+import compiler.ast.Program;
+import compiler.ast.TreeConstants;
+import compiler.semant.ClassTable;
+import compiler.util.AbstractTable;
+import org.junit.jupiter.api.Test;
+
+public class ClassTableTest {
+
+	private static Program parse(String code) throws Exception {
+		return new Parser(new Lexer(SourceFile.of(null, code)), CoolSymbolFactory.INSTANCE).parseProgram();
+	}
+
+	private static List<Diagnostic.Code> codes(Diagnostics diagnostics) {
+		return diagnostics.getDiagnostics().stream().map(d -> d.code).collect(Collectors.toList());
+	}
+
+	private static ClassDecl decl(String name, String parent) {
+		return new ClassDecl(1, 1, AbstractTable.idtable.addString(name), AbstractTable.idtable.addString(parent),
+				new Feature[0]);
+	}
+
+	@Test
+	void testHierarchy() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = ClassTable.of(parse("class B inherits A { };\n"
+				+ "class A { };\n"
+				+ "class Main inherits IO { main() : Object { 0 }; };\n"), "a.cl", diagnostics);
+
+		assertFalse(diagnostics.hasErrors(), diagnostics.getDiagnostics().toString());
+		assertEquals(8, table.size());
+		assertEquals(ClassTable.OBJECT, table.indexOf(TreeConstants.Object_));
+		assertEquals(ClassTable.STRING, table.indexOf(TreeConstants.Str));
+		int a = table.indexOf(AbstractTable.idtable.addString("A"));
+		int b = table.indexOf(AbstractTable.idtable.addString("B"));
+		assertEquals(a, table.parent(b));
+		assertEquals(ClassTable.OBJECT, table.parent(a));
+		assertEquals(ClassTable.NO_CLASS, table.parent(ClassTable.OBJECT));
+		assertEquals(2, table.depth(b));
+		assertEquals(2, table.depth(table.indexOf(TreeConstants.Main)));
+		assertEquals("a.cl", table.file(b));
+		assertTrue(table.isBasic(ClassTable.BOOL));
+		assertFalse(table.isBasic(a));
+
+		int[] order = table.topologicalOrder();
+		int[] position = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			position[order[i]] = i;
+		}
+		for (int c = 1; c < table.size(); c++) {
+			assertTrue(position[table.parent(c)] < position[c]);
+		}
+	}
+
+	@Test
+	void testBasicClassMethods() {
+		ClassTable table = new ClassTable(new Diagnostics());
+
+		assertEquals(3, table.classDecl(ClassTable.OBJECT).features.length);
+		assertEquals(4, table.classDecl(ClassTable.IO).features.length);
+		assertEquals(3, table.classDecl(ClassTable.STRING).features.length);
+		assertEquals(TreeConstants.IO, table.name(ClassTable.IO));
+	}
+
+	@Test
+	void testInvalidParents() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = new ClassTable(diagnostics);
+		table.add("a.cl", parse("class A inherits Nada { };\n"
+				+ "class B inherits Int { };\n"
+				+ "class C inherits SELF_TYPE { };\n"
+				+ "class Main { main() : Object { 0 }; };\n").classes);
+
+		assertFalse(table.build());
+		assertEquals(List.of(Diagnostic.Code.UNDEFINED_PARENT, Diagnostic.Code.INVALID_PARENT,
+				Diagnostic.Code.INVALID_PARENT), codes(diagnostics));
+		assertEquals(1, diagnostics.getDiagnostics().get(0).line);
+		assertEquals("a.cl", diagnostics.getDiagnostics().get(1).file);
+	}
+
+	@Test
+	void testRedefinitions() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = new ClassTable(diagnostics);
+		table.add("a.cl", parse("class Main { main() : Object { 0 }; };\nclass Object { };\n").classes);
+		table.add("b.cl", parse("class Main { };\nclass SELF_TYPE { };\n").classes);
+
+		assertTrue(table.build());
+		assertEquals(List.of(Diagnostic.Code.BASIC_CLASS_REDEFINED, Diagnostic.Code.CLASS_REDEFINED,
+				Diagnostic.Code.BASIC_CLASS_REDEFINED), codes(diagnostics));
+		assertEquals("b.cl", diagnostics.getDiagnostics().get(1).file);
+		assertEquals(6, table.size());
+	}
+
+	@Test
+	void testCycleReportsEachClassOnce() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = new ClassTable(diagnostics);
+		table.add("a.cl", parse("class C inherits A { };\n"
+				+ "class A inherits B { };\n"
+				+ "class B inherits A { };\n"
+				+ "class D inherits D { };\n"
+				+ "class Main { main() : Object { 0 }; };\n").classes);
+
+		assertFalse(table.build());
+		List<String> messages = diagnostics.getDiagnostics().stream().map(d -> d.message).collect(Collectors.toList());
+		assertEquals(3, messages.size(), messages.toString());
+		assertTrue(messages.get(0).contains(" A,"));
+		assertTrue(messages.get(1).contains(" B,"));
+		assertTrue(messages.get(2).contains(" D,"));
+		assertEquals(List.of(Diagnostic.Code.INHERITANCE_CYCLE, Diagnostic.Code.INHERITANCE_CYCLE,
+				Diagnostic.Code.INHERITANCE_CYCLE), codes(diagnostics));
+	}
+
+	@Test
+	void testMissingMain() throws Exception {
+		Diagnostics diagnostics = new Diagnostics();
+
+		ClassTable.of(parse("class A { };"), "a.cl", diagnostics);
+
+		assertEquals(List.of(Diagnostic.Code.MISSING_MAIN), codes(diagnostics));
+	}
+
+	@Test
+	void testVeryDeepChainWithoutRecursion() {
+		int n = 200_000;
+		ClassDecl[] classes = new ClassDecl[n + 1];
+		// Declaradas de trás para frente: cada classe aparece antes do pai
+		for (int i = 0; i < n; i++) {
+			classes[i] = decl("Deep" + (n - 1 - i), i == n - 1 ? "Object" : "Deep" + (n - 2 - i));
+		}
+		classes[n] = decl("Main", "Deep" + (n - 1));
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = new ClassTable(diagnostics);
+		table.add("deep.cl", classes);
+
+		assertTrue(table.build(), diagnostics.getDiagnostics().toString());
+		assertEquals(n + 1, table.depth(table.indexOf(TreeConstants.Main)));
+		assertEquals(n + 6, table.topologicalOrder().length);
+	}
+
+	@Test
+	void testVeryLongCycle() {
+		int n = 50_000;
+		ClassDecl[] classes = new ClassDecl[n + 1];
+		for (int i = 0; i < n; i++) {
+			classes[i] = decl("Ring" + i, "Ring" + ((i + 1) % n));
+		}
+		classes[n] = decl("Main", "Ring0");
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = new ClassTable(diagnostics);
+		table.add("ring.cl", classes);
+
+		assertFalse(table.build());
+		assertEquals(n, diagnostics.errorCount());
+	}
+
+	/* lub pelo caminho até a raiz, para comparar com o índice */
+	private static int naiveLub(ClassTable table, int a, int b) {
+		while (table.depth(a) > table.depth(b)) {
+			a = table.parent(a);
+		}
+		while (table.depth(b) > table.depth(a)) {
+			b = table.parent(b);
+		}
+		while (a != b) {
+			a = table.parent(a);
+			b = table.parent(b);
+		}
+		return a;
+	}
+
+	@Test
+	void testLubAndConformsMatchParentWalk() {
+		SplittableRandom random = new java.util.SplittableRandom(42);
+		int n = 2_000;
+		ClassDecl[] classes = new ClassDecl[n + 1];
+		for (int i = 0; i < n; i++) {
+			// Pai sorteado entre as classes anteriores, com viés para cadeias longas
+			String parent = i == 0 ? "IO" : "R" + (random.nextInt(4) == 0 ? random.nextInt(i) : i - 1);
+			classes[i] = decl("R" + i, parent);
+		}
+		classes[n] = decl("Main", "R0");
+		ClassTable table = new ClassTable(new Diagnostics());
+		table.add("r.cl", classes);
+		assertTrue(table.build());
+
+		for (int q = 0; q < 20_000; q++) {
+			int a = random.nextInt(table.size());
+			int b = random.nextInt(table.size());
+			int lub = naiveLub(table, a, b);
+			assertEquals(lub, table.lub(a, b));
+			assertEquals(lub, table.lub(b, a));
+			assertEquals(lub == b, table.conforms(a, b));
+			assertEquals(lub == a, table.conforms(b, a));
+		}
+	}
+
+	@Test
+	void testLubOnBasicClasses() throws Exception {
+		ClassTable table = ClassTable.of(parse("class A inherits IO { };\nclass Main inherits A { };"), "a.cl",
+				new Diagnostics());
+		int a = table.indexOf(AbstractTable.idtable.addString("A"));
+		int main = table.indexOf(TreeConstants.Main);
+
+		assertEquals(ClassTable.OBJECT, table.lub(ClassTable.INT, ClassTable.STRING));
+		assertEquals(ClassTable.IO, table.lub(ClassTable.IO, main));
+		assertEquals(a, table.lub(main, a));
+		assertEquals(ClassTable.INT, table.lub(ClassTable.INT, ClassTable.INT));
+		assertTrue(table.conforms(main, ClassTable.OBJECT));
+		assertTrue(table.conforms(main, ClassTable.IO));
+		assertFalse(table.conforms(ClassTable.IO, main));
+		assertFalse(table.conforms(ClassTable.INT, ClassTable.BOOL));
+	}
+
+	@Test
+	void testLubOnVeryDeepChain() {
+		int n = 200_000;
+		ClassDecl[] classes = new ClassDecl[n + 2];
+		for (int i = 0; i < n; i++) {
+			classes[i] = decl("Chain" + i, i == 0 ? "Object" : "Chain" + (i - 1));
+		}
+		classes[n] = decl("Side", "Chain" + (n / 2));
+		classes[n + 1] = decl("Main", "Chain" + (n - 1));
+		ClassTable table = new ClassTable(new Diagnostics());
+		table.add("chain.cl", classes);
+		assertTrue(table.build());
+
+		int side = table.indexOf(AbstractTable.idtable.addString("Side"));
+		int main = table.indexOf(TreeConstants.Main);
+		assertEquals(table.indexOf(AbstractTable.idtable.addString("Chain" + (n / 2))), table.lub(side, main));
+		assertTrue(table.conforms(main, table.indexOf(AbstractTable.idtable.addString("Chain0"))));
+		assertFalse(table.conforms(side, main));
+	}
+}
@@ -0,0 +1,145 @@
+package semant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostics;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.Attribute;
+import compiler.ast.Method;
+import compiler.ast.Program;
+import compiler.ast.TreeConstants;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import org.junit.jupiter.api.Test;
+
+public class DispatchTablesTest {
+
+	private ClassTable classes;
+	private DispatchTables tables;
+
+	private void build(String code) throws Exception {
+		Program program = new Parser(new Lexer(SourceFile.of(null, code)), CoolSymbolFactory.INSTANCE).parseProgram();
+		classes = ClassTable.of(program, "t.cl", new Diagnostics());
+		tables = new DispatchTables(classes);
+	}
+
+	private static IdSymbol id(String name) {
+		return AbstractTable.idtable.addString(name);
+	}
+
+	private int cls(String name) {
+		return classes.indexOf(id(name));
+	}
+
+	@Test
+	void testOverridesKeepInheritedSlot() throws Exception {
+		build("class A { f() : Int { 1 }; g() : Int { 2 }; };\n"
+				+ "class B inherits A { h() : Int { 3 }; f() : Int { 4 }; };\n"
+				+ "class Main inherits B { main() : Object { 0 }; };\n");
+		int a = cls("A");
+		int b = cls("B");
+		int main = cls("Main");
+
+		// Object tem abort, type_name e copy nas posições 0..2
+		assertEquals(5, tables.methodCount(a));
+		assertEquals(6, tables.methodCount(b));
+		assertEquals(7, tables.methodCount(main));
+		assertEquals(0, tables.methodSlot(main, TreeConstants.abort));
+		int f = tables.methodSlot(a, id("f"));
+		assertEquals(3, f);
+		assertEquals(f, tables.methodSlot(b, id("f")));
+		assertEquals(f, tables.methodSlot(main, id("f")));
+		assertEquals(5, tables.methodSlot(b, id("h")));
+		assertEquals(6, tables.methodSlot(main, TreeConstants.main_meth));
+
+		assertEquals(a, tables.methodOwner(a, f));
+		assertEquals(b, tables.methodOwner(b, f));
+		assertEquals(b, tables.methodOwner(main, f));
+		assertSame(tables.method(b, f), tables.method(main, f));
+		assertEquals(a, tables.methodOwner(main, tables.methodSlot(main, id("g"))));
+		assertEquals(ClassTable.OBJECT, tables.methodOwner(main, 1));
+		assertEquals(DispatchTables.NONE, tables.methodSlot(a, id("h")));
+		assertNull(tables.findMethod(a, id("h")));
+	}
+
+	@Test
+	void testAttributeLayout() throws Exception {
+		build("class A { x : Int; y : String; };\n"
+				+ "class B inherits A { z : Bool; };\n"
+				+ "class Main inherits IO { main() : Object { 0 }; };\n");
+		int b = cls("B");
+
+		assertEquals(0, tables.attributeCount(ClassTable.OBJECT));
+		assertEquals(2, tables.attributeCount(cls("A")));
+		assertEquals(3, tables.attributeCount(b));
+		assertEquals(0, tables.attributeSlot(b, id("x")));
+		assertEquals(1, tables.attributeSlot(b, id("y")));
+		assertEquals(2, tables.attributeSlot(b, id("z")));
+		Attribute z = tables.attribute(b, 2);
+		assertEquals("Bool", z.type.getString());
+		assertEquals(cls("A"), tables.attributeOwner(b, 0));
+		assertEquals(b, tables.attributeOwner(b, 2));
+	}
+
+	@Test
+	void testBasicClassMethods() throws Exception {
+		build("class Main inherits IO { main() : Object { 0 }; };");
+
+		assertEquals(3, tables.methodCount(ClassTable.OBJECT));
+		assertEquals(7, tables.methodCount(ClassTable.IO));
+		assertEquals(6, tables.methodCount(ClassTable.STRING));
+		assertEquals(3, tables.methodCount(ClassTable.INT));
+		Method substr = tables.findMethod(ClassTable.STRING, TreeConstants.substr);
+		assertEquals(2, substr.formals.length);
+		assertNull(substr.body);
+	}
+
+	@Test
+	void testDuplicatesKeepFirstDefinition() throws Exception {
+		build("class A { f() : Int { 1 }; f() : Int { 2 }; x : Int; x : Bool; };\n"
+				+ "class B inherits A { x : String; };\n"
+				+ "class Main { main() : Object { 0 }; };\n");
+		int a = cls("A");
+		int b = cls("B");
+
+		assertEquals(4, tables.methodCount(a));
+		assertEquals(1, tables.attributeCount(a));
+		assertEquals("Int", tables.attribute(b, 0).type.getString());
+		assertEquals(1, tables.attributeCount(b));
+	}
+
+	@Test
+	void testManyMethodsGrowIndex() throws Exception {
+		StringBuilder code = new StringBuilder("class A {");
+		for (int i = 0; i < 100; i++) {
+			code.append(" m").append(i).append("() : Int { ").append(i).append(" };");
+		}
+		code.append(" };\nclass B inherits A {");
+		for (int i = 0; i < 100; i += 2) {
+			code.append(" m").append(i).append("() : Int { 0 };");
+		}
+		for (int i = 0; i < 100; i++) {
+			code.append(" n").append(i).append("() : Int { 0 };");
+		}
+		code.append(" };\nclass Main { main() : Object { 0 }; };\n");
+		build(code.toString());
+		int a = cls("A");
+		int b = cls("B");
+
+		assertEquals(203, tables.methodCount(b));
+		for (int i = 0; i < 100; i++) {
+			int slot = tables.methodSlot(a, id("m" + i));
+			assertEquals(3 + i, slot);
+			assertEquals(slot, tables.methodSlot(b, id("m" + i)));
+			assertEquals(i % 2 == 0 ? b : a, tables.methodOwner(b, slot));
+			assertEquals(103 + i, tables.methodSlot(b, id("n" + i)));
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package semant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import compiler.semant.SymbolTable;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import org.junit.jupiter.api.Test;
+
+public class SymbolTableTest {
+
+	private static IdSymbol id(String name) {
+		return AbstractTable.idtable.addString(name);
+	}
+
+	@Test
+	void testShadowingAndScopeExit() {
+		SymbolTable t = new SymbolTable();
+		t.enterScope();
+		t.add(id("x"), 1);
+		t.add(id("y"), 2);
+		t.enterScope();
+		t.add(id("x"), 10);
+
+		assertEquals(10, t.lookup(id("x")));
+		assertEquals(2, t.lookup(id("y")));
+		assertEquals(10, t.probe(id("x")));
+		assertEquals(SymbolTable.NOT_FOUND, t.probe(id("y")));
+
+		t.exitScope();
+		assertEquals(1, t.lookup(id("x")));
+		assertEquals(1, t.probe(id("x")));
+		t.exitScope();
+		assertEquals(SymbolTable.NOT_FOUND, t.lookup(id("x")));
+		assertEquals(0, t.depth());
+	}
+
+	@Test
+	void testRedeclarationInSameScope() {
+		SymbolTable t = new SymbolTable();
+		t.enterScope();
+		t.add(id("x"), 1);
+		t.enterScope();
+		t.add(id("x"), 2);
+		t.add(id("x"), 3);
+
+		assertEquals(3, t.lookup(id("x")));
+		t.exitScope();
+		assertEquals(1, t.lookup(id("x")));
+	}
+
+	@Test
+	void testMisuse() {
+		SymbolTable t = new SymbolTable();
+
+		assertThrows(IllegalStateException.class, t::exitScope);
+		assertThrows(IllegalStateException.class, () -> t.add(id("x"), 1));
+	}
+
+	@Test
+	void testReuseAfterManyNames() {
+		SymbolTable t = new SymbolTable();
+		for (int round = 0; round < 3; round++) {
+			t.enterScope();
+			for (int i = 0; i < 10_000; i++) {
+				t.add(id("many" + round + "_" + i), i);
+			}
+			assertEquals(9_999, t.lookup(id("many" + round + "_9999")));
+			t.exitScope();
+			assertEquals(SymbolTable.NOT_FOUND, t.lookup(id("many" + round + "_9999")));
+		}
+		t.enterScope();
+		t.add(id("x"), 5);
+		assertEquals(5, t.probe(id("x")));
+	}
+
+	/* Operações aleatórias, comparadas com uma pilha de HashMaps, passando pelo crescimento do hash */
+	@Test
+	void testMatchesNestedMaps() {
+		SplittableRandom random = new SplittableRandom(7);
+		IdSymbol[] names = new IdSymbol[300];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = id("sym" + i);
+		}
+		SymbolTable t = new SymbolTable();
+		Deque<HashMap<IdSymbol, Integer>> reference = new ArrayDeque<>();
+
+		for (int op = 0; op < 200_000; op++) {
+			int r = random.nextInt(10);
+			if (r < 2 || reference.isEmpty()) {
+				t.enterScope();
+				reference.push(new HashMap<>());
+			} else if (r < 4) {
+				t.exitScope();
+				reference.pop();
+			} else if (r < 7) {
+				IdSymbol name = names[random.nextInt(names.length)];
+				int value = random.nextInt(1000);
+				t.add(name, value);
+				reference.peek().put(name, value);
+			} else {
+				IdSymbol name = names[random.nextInt(names.length)];
+				Integer expected = null;
+				for (HashMap<IdSymbol, Integer> scope : reference) {
+					if ((expected = scope.get(name)) != null) {
+						break;
+					}
+				}
+				assertEquals(expected == null ? SymbolTable.NOT_FOUND : expected, t.lookup(name));
+				Integer inner = reference.peek().get(name);
+				assertEquals(inner == null ? SymbolTable.NOT_FOUND : inner, t.probe(name));
+			}
+			assertEquals(reference.size(), t.depth());
+		}
+	}
+}
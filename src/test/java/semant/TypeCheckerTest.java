@@ -0,0 +1,162 @@
+package semant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostic;
+import compiler.Diagnostics;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.*;
+import compiler.corpus.CorpusGenerator;
+import compiler.corpus.CorpusGenerator.Shape;
+import compiler.semant.ClassTable;
+import compiler.semant.TypeChecker;
+import org.junit.jupiter.api.Test;
+
+public class TypeCheckerTest {
+
+	private static Program parse(String code) throws Exception {
+		return new Parser(new Lexer(SourceFile.of(null, code)), CoolSymbolFactory.INSTANCE).parseProgram();
+	}
+
+	private static List<Diagnostic> check(Program program, int jobs) {
+		Diagnostics diagnostics = new Diagnostics();
+		ClassTable table = ClassTable.of(program, "t.cl", diagnostics);
+		assertFalse(diagnostics.hasErrors(), diagnostics.getDiagnostics().toString());
+		new TypeChecker(table, diagnostics).check(jobs);
+		return diagnostics.getDiagnostics();
+	}
+
+	private static List<Diagnostic.Code> codes(String code) throws Exception {
+		return check(parse(code), 2).stream().map(d -> d.code).collect(Collectors.toList());
+	}
+
+	/* Programa com Main mínimo e as classes dadas */
+	private static String withMain(String classes) {
+		return classes + "\nclass Main { main() : Object { 0 }; };\n";
+	}
+
+	@Test
+	void testTestProgramsAreWellTyped() throws Exception {
+		for (int i = 1; i <= 3; i++) {
+			Program program = parse(Files.readString(Paths.get("src/test/resources/cool/test" + i + ".cl")));
+			assertEquals(List.of(), check(program, 2), "test" + i + ".cl");
+		}
+	}
+
+	@Test
+	void testGeneratedProgramsAreWellTyped() throws Exception {
+		for (Shape shape : new Shape[] { Shape.small(), Shape.deepInheritance(), Shape.deepNesting() }) {
+			assertEquals(List.of(), check(parse(new CorpusGenerator(5, shape).generate()), 4));
+		}
+	}
+
+	@Test
+	void testAnnotatesStaticTypes() throws Exception {
+		Program program = parse(withMain("class A {\n"
+				+ "  me() : SELF_TYPE { self };\n"
+				+ "  f(b : Bool) : Object { if b then new A else new B fi };\n"
+				+ "  g() : Int { me().h() };\n"
+				+ "  h() : Int { case self of a : A => 1; b : B => 2; esac };\n"
+				+ "};\n"
+				+ "class B inherits A { };\n"));
+		assertEquals(List.of(), check(program, 1));
+
+		Feature[] a = program.classes[0].features;
+		assertEquals("SELF_TYPE", ((Method) a[0]).body.getStaticType().getString());
+		assertEquals("A", ((Method) a[1]).body.getStaticType().getString());
+		Dispatch g = assertInstanceOf(Dispatch.class, ((Method) a[2]).body);
+		assertEquals("SELF_TYPE", g.expr.getStaticType().getString());
+		assertEquals("Int", g.getStaticType().getString());
+	}
+
+	@Test
+	void testSelfTypeConformance() throws Exception {
+		assertEquals(List.of(), codes(withMain("class A { f() : SELF_TYPE { new SELF_TYPE }; x : A <- f(); };")));
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { f() : SELF_TYPE { new A }; };")));
+	}
+
+	@Test
+	void testUndefinedIdentifierDoesNotCascade() throws Exception {
+		assertEquals(List.of(Diagnostic.Code.UNDEFINED_IDENTIFIER),
+				codes(withMain("class A inherits IO { f() : Object { out_int(1 + nome.length()).out_string(\"x\") }; };")));
+	}
+
+	@Test
+	void testDispatchErrors() throws Exception {
+		assertEquals(List.of(Diagnostic.Code.UNDEFINED_METHOD),
+				codes(withMain("class A { f() : Object { g() }; };")));
+		assertEquals(List.of(Diagnostic.Code.WRONG_ARGUMENT_COUNT),
+				codes(withMain("class A { f(x : Int) : Int { f(1, 2) }; };")));
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { f(x : Int) : Int { f(\"a\") }; };")));
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { f() : Object { (new Object)@A.f() }; };")));
+		assertEquals(List.of(), codes(withMain("class A { f() : Int { 1 }; };\n"
+				+ "class B inherits A { f() : Int { 2 }; g() : Int { self@A.f() }; };")));
+	}
+
+	@Test
+	void testFeatureErrors() throws Exception {
+		assertEquals(List.of(Diagnostic.Code.BAD_OVERRIDE),
+				codes(withMain("class A { f() : Int { 1 }; };\nclass B inherits A { f(x : Int) : Int { x }; };")));
+		assertEquals(List.of(Diagnostic.Code.ATTRIBUTE_REDEFINED),
+				codes(withMain("class A { x : Int; };\nclass B inherits A { x : Int; };")));
+		assertEquals(List.of(Diagnostic.Code.METHOD_REDEFINED),
+				codes(withMain("class A { f() : Int { 1 }; f() : Int { 2 }; };")));
+		assertEquals(List.of(Diagnostic.Code.DUPLICATE_FORMAL),
+				codes(withMain("class A { f(x : Int, x : Int) : Int { x }; };")));
+		assertEquals(List.of(Diagnostic.Code.UNDEFINED_TYPE),
+				codes(withMain("class A { x : Nada; y : Int <- 1; };")));
+	}
+
+	@Test
+	void testExpressionRules() throws Exception {
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { x : Int <- if 1 then 2 else 3 fi; };")));
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { b : Bool <- 1 = \"1\"; };")));
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { x : Int <- let s : String <- 1 in 2; };")));
+		assertEquals(List.of(Diagnostic.Code.DUPLICATE_BRANCH),
+				codes(withMain("class A { x : Object <- case 1 of a : Int => a; b : Int => b; esac; };")));
+		assertEquals(List.of(Diagnostic.Code.TYPE_MISMATCH),
+				codes(withMain("class A { x : Int <- while true loop 1 pool; };")));
+		assertEquals(List.of(), codes(withMain("class A { x : Int <- let y : Int <- 1, z : Int <- y + 1 in ~z * 2; "
+				+ "b : Bool <- not isvoid self; s : String <- \"a\".concat(\"b\").substr(0, 1); };")));
+	}
+
+	@Test
+	void testMainMethod() throws Exception {
+		assertEquals(List.of(Diagnostic.Code.MISSING_MAIN_METHOD), codes("class Main { f() : Int { 1 }; };"));
+		assertEquals(List.of(Diagnostic.Code.MISSING_MAIN_METHOD), codes("class Main { main(x : Int) : Int { x }; };"));
+		assertEquals(List.of(), codes("class A { main() : Int { 1 }; };\nclass Main inherits A { };"));
+	}
+
+	@Test
+	void testDiagnosticsDoNotDependOnThreads() throws Exception {
+		StringBuilder code = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			code.append("class C").append(i).append(" { f() : Int { \"").append(i).append("\" }; g() : Object { h() }; };\n");
+		}
+		String source = withMain(code.toString());
+
+		List<Diagnostic> sequential = check(parse(source), 1);
+		List<Diagnostic> parallel = check(parse(source), 8);
+
+		assertEquals(400, sequential.size());
+		assertEquals(sequential.toString(), parallel.toString());
+		assertTrue(sequential.get(0).toString().contains("t.cl:1:"));
+	}
+}
@@ -0,0 +1,107 @@
+package support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import compiler.CoolSymbolFactory;
+import compiler.Diagnostics;
+import compiler.Lexer;
+import compiler.Parser;
+import compiler.SourceFile;
+import compiler.ast.Program;
+import compiler.semant.ClassTable;
+import compiler.semant.DispatchTables;
+import compiler.semant.TypeChecker;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+
+/*
+ * Base comum dos testes de backend: análise e checagem de um fonte, execução
+ * com entrada e saída em memória e os programas de regressão de run/.
+ * Cada backend fornece só o seu Runner.
+ */
+public final class CoolPrograms {
+
+	public static final Path RUN = Paths.get("src", "test", "resources", "run");
+
+	/* Recursão que estoura uma pilha ingênua */
+	public static final String DEEP_RECURSION = "class Main inherits IO {\n"
+			+ "  conta(n : Int) : Int { if n = 0 then 0 else 1 + conta(n - 1) fi };\n"
+			+ "  main() : Object { out_int(conta(100000)) };\n"
+			+ "};\n";
+
+	private CoolPrograms() {
+	}
+
+	/* Programa já checado, pronto para um backend */
+	public static final class Checked {
+		public final ClassTable classes;
+		public final DispatchTables tables;
+
+		Checked(ClassTable classes, DispatchTables tables) {
+			this.classes = classes;
+			this.tables = tables;
+		}
+	}
+
+	@FunctionalInterface
+	public interface Runner {
+		void run(Checked program, BufferedReader in, PrintStream out) throws Exception;
+	}
+
+	public static Program parse(String code) throws Exception {
+		return new Parser(new Lexer(SourceFile.of(null, code)), CoolSymbolFactory.INSTANCE).parseProgram();
+	}
+
+	/* Analisa e checa o fonte; falha o teste se houver erros */
+	public static Checked check(String code) throws Exception {
+		Diagnostics diags = new Diagnostics();
+		return check(ClassTable.of(parse(code), "t.cl", diags), diags);
+	}
+
+	/* Checa uma tabela já montada, por exemplo com as classes de vários arquivos */
+	public static Checked check(ClassTable classes, Diagnostics diags) {
+		TypeChecker checker = new TypeChecker(classes, diags);
+		checker.check(1);
+		assertFalse(diags.hasErrors(), () -> diags.getDiagnostics().toString());
+		return new Checked(classes, checker.dispatchTables());
+	}
+
+	/* Executa o fonte com a entrada dada e devolve o que foi escrito na saída */
+	public static String run(Runner runner, String code, String input) throws Exception {
+		Checked program = check(code);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+		try {
+			runner.run(program, new BufferedReader(new StringReader(input)), out);
+		} finally {
+			out.flush();
+		}
+		return bytes.toString(StandardCharsets.UTF_8);
+	}
+
+	/* Regressão: cada run/X.cl é executado com X.in (se existir) e comparado com X.out */
+	public static Stream<DynamicTest> regressionTests(Runner runner) throws Exception {
+		List<Path> programs = new ArrayList<>();
+		try (Stream<Path> files = Files.list(RUN)) {
+			files.filter(p -> p.toString().endsWith(".cl")).sorted().forEach(programs::add);
+		}
+		assertFalse(programs.isEmpty());
+		return programs.stream().map(p -> DynamicTest.dynamicTest(p.getFileName().toString(), () -> {
+			String base = p.toString().substring(0, p.toString().length() - 3);
+			Path in = Paths.get(base + ".in");
+			String input = Files.exists(in) ? Files.readString(in) : "";
+			assertEquals(Files.readString(Paths.get(base + ".out")), run(runner, Files.readString(p), input));
+		}));
+	}
+}
@@ -0,0 +1,95 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+
+import compiler.Lexer;
+import compiler.sym;
+import compiler.util.AbstractTable;
+import compiler.util.IdSymbol;
+import compiler.util.IntSymbol;
+import java_cup.runtime.Symbol;
+import org.junit.jupiter.api.Test;
+
+public class AbstractTableTest {
+
+	@Test
+	void testAddCharsMatchesAddString() {
+		char[] buf = "xx out_string yy".toCharArray();
+
+		IdSymbol fromChars = AbstractTable.idtable.addChars(buf, 3, 10);
+		IdSymbol fromString = AbstractTable.idtable.addString("out_string");
+
+		assertSame(fromString, fromChars);
+		assertEquals("out_string", fromChars.getString());
+		assertSame(fromChars, AbstractTable.idtable.lookup(fromChars.getIndex()));
+	}
+
+	@Test
+	void testTruncateDropsTheNewestSymbols() {
+		int before = AbstractTable.idtable.size();
+		IdSymbol kept = AbstractTable.idtable.addString("truncar_mantido");
+		for (int i = 0; i < 3000; i++) {
+			AbstractTable.idtable.addString("truncar_" + i);
+		}
+		AbstractTable.idtable.truncate(before + 1);
+
+		assertEquals(before + 1, AbstractTable.idtable.size());
+		assertSame(kept, AbstractTable.idtable.addString("truncar_mantido"));
+		assertNull(AbstractTable.idtable.lookup(before + 1));
+		// O índice removido é reaproveitado
+		assertEquals(before + 1, AbstractTable.idtable.addString("truncar_0").getIndex());
+		assertThrows(IllegalArgumentException.class, () -> AbstractTable.idtable.truncate(before + 3));
+	}
+
+	@Test
+	void testIndexesAreDense() {
+		int before = AbstractTable.idtable.size();
+		IdSymbol a = AbstractTable.idtable.addString("tabela_teste_a");
+		IdSymbol b = AbstractTable.idtable.addString("tabela_teste_b");
+
+		assertEquals(before, a.getIndex());
+		assertEquals(before + 1, b.getIndex());
+		assertEquals(before + 2, AbstractTable.idtable.size());
+	}
+
+	@Test
+	void testManyInsertionsSurviveRehash() {
+		IdSymbol[] syms = new IdSymbol[5000];
+		for (int i = 0; i < syms.length; i++) {
+			syms[i] = AbstractTable.idtable.addString("rehash_" + i);
+		}
+		for (int i = 0; i < syms.length; i++) {
+			assertSame(syms[i], AbstractTable.idtable.addString("rehash_" + i));
+		}
+	}
+
+	@Test
+	void testIntTable() {
+		IntSymbol i = AbstractTable.inttable.addInt(42);
+		assertEquals(42, i.getValue());
+		assertSame(i, AbstractTable.inttable.addString("42"));
+	}
+
+	@Test
+	void testLexerReturnsInternedSymbols() throws Exception {
+		Lexer lexer = new Lexer(new StringReader("self \"abc\" self \"abc\""));
+
+		Symbol t1 = lexer.next_token();
+		Symbol t2 = lexer.next_token();
+		Symbol t3 = lexer.next_token();
+		Symbol t4 = lexer.next_token();
+
+		assertEquals(sym.ID, t1.sym);
+		assertSame(t1.value, t3.value);
+		assertSame(AbstractTable.idtable.addString("self"), t1.value);
+
+		assertEquals(sym.STR_CONST, t2.sym);
+		assertSame(t2.value, t4.value);
+		assertSame(AbstractTable.stringtable.addString("abc"), t2.value);
+	}
+}
@@ -43,7 +43,7 @@ class Main inherits IO {
               out_string("A media final nao eh maior que 15.\n")
             fi;
 
-            out_string(nome);
+            out_string(name);
             out_string(", a media incrementada eh: ");
             out_int(media);
             out_string("\n");
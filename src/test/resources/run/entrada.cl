@@ -0,0 +1,24 @@
+(* Lê números até 0 e imprime a soma e o maior, recursivamente *)
+
+class Main inherits IO {
+    maior : Int;
+
+    le(soma : Int) : Int {
+        let x : Int <- in_int() in
+            if x = 0 then soma
+            else {
+                if maior < x then maior <- x else 0 fi;
+                le(soma + x);
+            } fi
+    };
+
+    fat(n : Int) : Int { if n = 0 then 1 else n * fat(n - 1) fi };
+
+    main() : Object {
+        let nome : String <- in_string(), soma : Int <- le(0) in {
+            out_string("Ola, ").out_string(nome).out_string("\n");
+            out_string("soma ").out_int(soma).out_string(" maior ").out_int(maior).out_string("\n");
+            out_string("10! = ").out_int(fat(10)).out_string("\n");
+        }
+    };
+};
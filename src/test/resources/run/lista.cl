@@ -0,0 +1,77 @@
+(* Lista encadeada com case, isvoid, SELF_TYPE e despacho estático *)
+
+class Lista {
+    vazia() : Bool { true };
+    cabeca() : Int { { abort(); 0; } };
+    cauda() : Lista { { abort(); self; } };
+    cons(x : Int) : Lista { (new No).init(x, self) };
+    tamanho() : Int { 0 };
+    soma() : Int { 0 };
+    nome() : String { "Lista" };
+};
+
+class No inherits Lista {
+    valor : Int;
+    resto : Lista;
+
+    init(x : Int, r : Lista) : Lista { { valor <- x; resto <- r; self; } };
+    vazia() : Bool { false };
+    cabeca() : Int { valor };
+    cauda() : Lista { resto };
+    tamanho() : Int { 1 + resto.tamanho() };
+    soma() : Int { valor + resto.soma() };
+    nome() : String { "No de ".concat(self@Lista.nome()) };
+};
+
+class Contador {
+    n : Int;
+    inc() : SELF_TYPE { { n <- n + 1; self; } };
+    valor() : Int { n };
+    clone() : SELF_TYPE { new SELF_TYPE };
+};
+
+class Main inherits IO {
+    lista : Lista <- new Lista;
+    nada : Object;
+
+    descreve(o : Object) : String {
+        case o of
+            i : Int => "Int";
+            s : String => "String ".concat(s);
+            n : No => "No";
+            l : Lista => "Lista";
+            x : Object => x.type_name();
+        esac
+    };
+
+    imprime(l : Lista) : SELF_TYPE {
+        if l.vazia() then out_string("\n")
+        else { out_int(l.cabeca()); out_string(" "); imprime(l.cauda()); } fi
+    };
+
+    main() : Object {
+        let i : Int <- 1, c : Contador <- new Contador, d : Contador in {
+            while i <= 10 loop { lista <- lista.cons(i * i); i <- i + 1; } pool;
+            imprime(lista);
+            out_int(lista.tamanho()).out_string(" ").out_int(lista.soma()).out_string("\n");
+            out_string(lista.nome()).out_string("\n");
+            out_string(descreve(7)).out_string(",");
+            out_string(descreve("cool")).out_string(",");
+            out_string(descreve(lista)).out_string(",");
+            out_string(descreve(new Lista)).out_string(",");
+            out_string(descreve(true)).out_string(",");
+            out_string(descreve(self)).out_string("\n");
+            c.inc().inc().inc();
+            d <- c.copy();
+            c.inc();
+            out_int(c.valor()).out_string(" ").out_int(d.valor()).out_string(" ");
+            out_int(c.clone().valor()).out_string("\n");
+            if isvoid nada then out_string("void\n") else out_string("?\n") fi;
+            out_string("compilador".substr(3, 4)).out_string(" ");
+            out_int("compilador".length()).out_string(" ");
+            if "ab" = "a".concat("b") then out_string("igual") else out_string("diferente") fi;
+            if new Lista = new Lista then out_string(" mesma\n") else out_string(" outra\n") fi;
+            out_int(~7 / 2).out_string(" ").out_int(2147483647 + 1).out_string("\n");
+        }
+    };
+};